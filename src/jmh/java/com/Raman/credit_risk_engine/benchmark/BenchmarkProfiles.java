@@ -0,0 +1,30 @@
+package com.Raman.credit_risk_engine.benchmark;
+
+import com.Raman.credit_risk_engine.dto.CreditRiskRequestDTO;
+import com.Raman.credit_risk_engine.rule.RuleConfiguration;
+import com.Raman.credit_risk_engine.synthetic.PopulationSpec;
+import com.Raman.credit_risk_engine.synthetic.SyntheticProfileGenerator;
+
+import java.util.Properties;
+
+/**
+ * Applicants shared by the benchmarks: a fixed synthetic population, half
+ * of it spread over every rule bucket, so branch prediction cannot settle on
+ * a single path.
+ */
+final class BenchmarkProfiles {
+
+    private static final int SIZE = 1024;
+    private static final long SEED = 42;
+
+    private BenchmarkProfiles() {
+    }
+
+    static CreditRiskRequestDTO[] requests() {
+        Properties settings = new Properties();
+        settings.setProperty("bucket-coverage", "0.5");
+        SyntheticProfileGenerator generator =
+                new SyntheticProfileGenerator(PopulationSpec.parse(settings), RuleConfiguration.defaults(), SEED);
+        return generator.stream(SIZE).toArray(CreditRiskRequestDTO[]::new);
+    }
+}
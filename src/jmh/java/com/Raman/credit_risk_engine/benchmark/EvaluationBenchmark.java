@@ -0,0 +1,84 @@
+package com.Raman.credit_risk_engine.benchmark;
+
+import com.Raman.credit_risk_engine.CreditRiskEngineApplication;
+import com.Raman.credit_risk_engine.dto.CreditRiskRequestDTO;
+import com.Raman.credit_risk_engine.dto.CreditRiskResponseDTO;
+import com.Raman.credit_risk_engine.entity.User;
+import com.Raman.credit_risk_engine.repository.UserRepository;
+import com.Raman.credit_risk_engine.service.CreditRiskEvaluationService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A full {@code CreditRiskEvaluationService.evaluate}: scoring, decision,
+ * user lookup and the inserts, against an in-memory H2 database in the
+ * application context.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class EvaluationBenchmark {
+
+    private ConfigurableApplicationContext context;
+    private CreditRiskEvaluationService evaluationService;
+    private CreditRiskRequestDTO[] requests;
+    private Long userId;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // Command-line arguments outrank application.properties
+        context = new SpringApplicationBuilder(CreditRiskEngineApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(
+                        "--spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.datasource.driver-class-name=org.h2.Driver",
+                        "--spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+                        "--spring.jpa.show-sql=false",
+                        "--logging.level.root=WARN",
+                        "--logging.level.org.hibernate.SQL=WARN",
+                        "--logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN"
+                );
+        evaluationService = context.getBean(CreditRiskEvaluationService.class);
+
+        User user = new User();
+        user.setFullName("Benchmark User");
+        user.setEmail("benchmark@example.com");
+        user.setPassword("secret");
+        userId = context.getBean(UserRepository.class).save(user).getId();
+
+        requests = BenchmarkProfiles.requests();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public CreditRiskResponseDTO evaluate() {
+        CreditRiskRequestDTO request = requests[next];
+        next = next + 1 == requests.length ? 0 : next + 1;
+        return evaluationService.evaluate(request, userId);
+    }
+}
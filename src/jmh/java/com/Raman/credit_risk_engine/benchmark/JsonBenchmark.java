@@ -0,0 +1,72 @@
+package com.Raman.credit_risk_engine.benchmark;
+
+import com.Raman.credit_risk_engine.decision.Decision;
+import com.Raman.credit_risk_engine.decision.RiskLevel;
+import com.Raman.credit_risk_engine.dto.CreditRiskRequestDTO;
+import com.Raman.credit_risk_engine.dto.CreditRiskResponseDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import tools.jackson.databind.ObjectReader;
+import tools.jackson.databind.ObjectWriter;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Request parsing and response writing of {@code /evaluate}, with readers
+ * and writers bound once as the web layer does.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonBenchmark {
+
+    private ObjectReader requestReader;
+    private ObjectWriter responseWriter;
+    private byte[] requestJson;
+    private CreditRiskResponseDTO response;
+
+    @Setup
+    public void setUp() {
+        JsonMapper mapper = JsonMapper.builder().build();
+        requestReader = mapper.readerFor(CreditRiskRequestDTO.class);
+        responseWriter = mapper.writerFor(CreditRiskResponseDTO.class);
+
+        requestJson = mapper.writeValueAsBytes(BenchmarkProfiles.requests()[0]);
+        response = new CreditRiskResponseDTO(
+                1051L,
+                1380,
+                RiskLevel.LOW,
+                Decision.APPROVE,
+                List.of(
+                        "Salaried employment provides stable income",
+                        "Low debt-to-income ratio indicates healthy debt levels",
+                        "No past loan defaults indicate reliable repayment behavior",
+                        "Long credit history improves predictability of borrower behavior",
+                        "High disposable income indicates strong repayment capacity"
+                )
+        );
+    }
+
+    @Benchmark
+    public CreditRiskRequestDTO readRequest() {
+        return requestReader.readValue(requestJson);
+    }
+
+    @Benchmark
+    public byte[] writeResponse() {
+        return responseWriter.writeValueAsBytes(response);
+    }
+}
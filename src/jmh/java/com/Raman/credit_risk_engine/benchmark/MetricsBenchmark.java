@@ -0,0 +1,90 @@
+package com.Raman.credit_risk_engine.benchmark;
+
+import com.Raman.credit_risk_engine.dto.CreditRiskRequestDTO;
+import com.Raman.credit_risk_engine.entity.UserFinancialProfile;
+import com.Raman.credit_risk_engine.metrics.FinancialMetrics;
+import com.Raman.credit_risk_engine.metrics.FinancialMetricsService;
+import com.Raman.credit_risk_engine.metrics.FixedPointMetrics;
+import com.Raman.credit_risk_engine.service.AssessmentMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * DTI, disposable income and LTI through the BigDecimal path and through
+ * {@link FixedPointMetrics} on amounts already held in cents, over the same
+ * applicants.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MetricsBenchmark {
+
+    private final FinancialMetricsService metricsService = new FinancialMetricsService();
+    private final FixedPointMetrics fixedPoint = new FixedPointMetrics();
+
+    private UserFinancialProfile[] profiles;
+    private long[] incomes;
+    private long[] expenses;
+    private long[] emis;
+    private long[] loans;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        AssessmentMapper mapper = new AssessmentMapper();
+        CreditRiskRequestDTO[] requests = BenchmarkProfiles.requests();
+        profiles = new UserFinancialProfile[requests.length];
+        incomes = new long[requests.length];
+        expenses = new long[requests.length];
+        emis = new long[requests.length];
+        loans = new long[requests.length];
+        for (int i = 0; i < requests.length; i++) {
+            profiles[i] = mapper.toProfile(requests[i]);
+            fixedPoint.load(profiles[i]);
+            incomes[i] = fixedPoint.getMonthlyIncomeCents();
+            expenses[i] = fixedPoint.getMonthlyExpensesCents();
+            emis[i] = fixedPoint.getTotalMonthlyEmisCents();
+            loans[i] = fixedPoint.getRequestedLoanAmountCents();
+        }
+    }
+
+    @Benchmark
+    public void bigDecimal(Blackhole blackhole) {
+        FinancialMetrics metrics = metricsService.computeMetrics(profiles[slot()]);
+        blackhole.consume(metrics.getDebtToIncomeRatio());
+        blackhole.consume(metrics.getDisposableIncome());
+        blackhole.consume(metrics.getLoanToIncomeRatio());
+    }
+
+    @Benchmark
+    public void fixedPoint(Blackhole blackhole) {
+        int slot = slot();
+        UserFinancialProfile profile = profiles[slot];
+        fixedPoint.load(incomes[slot], expenses[slot], emis[slot], loans[slot],
+                profile.getPastLoanDefaults(), profile.getCreditHistoryLengthMonths(),
+                profile.getEmploymentType(), profile.getAge());
+        blackhole.consume(fixedPoint.getDebtToIncomeBasisPoints());
+        blackhole.consume(fixedPoint.getDisposableIncomeCents());
+        blackhole.consume(fixedPoint.getLoanToIncomeHundredths());
+    }
+
+    private int slot() {
+        int slot = next;
+        next = slot + 1 == profiles.length ? 0 : slot + 1;
+        return slot;
+    }
+}
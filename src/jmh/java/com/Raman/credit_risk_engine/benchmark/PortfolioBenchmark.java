@@ -0,0 +1,81 @@
+package com.Raman.credit_risk_engine.benchmark;
+
+import com.Raman.credit_risk_engine.decision.RiskDecisionService;
+import com.Raman.credit_risk_engine.dto.CreditRiskRequestDTO;
+import com.Raman.credit_risk_engine.metrics.FinancialMetricsService;
+import com.Raman.credit_risk_engine.service.ApplicantBatch;
+import com.Raman.credit_risk_engine.service.AssessmentMapper;
+import com.Raman.credit_risk_engine.service.BucketScoringEngine;
+import com.Raman.credit_risk_engine.service.ColumnarScoringService;
+import com.Raman.credit_risk_engine.service.PortfolioScoringService;
+import com.Raman.credit_risk_engine.service.RuleRegistry;
+import jakarta.validation.Validation;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Portfolio scoring at 1/2/4/8 workers, reported in rows per second.
+ * Scaling depends on the cores of the machine running it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PortfolioBenchmark {
+
+    private static final int ROWS = 200_000;
+
+    @Param({"1", "2", "4", "8"})
+    private int parallelism;
+
+    private PortfolioScoringService portfolio;
+    private ApplicantBatch batch;
+
+    @Setup
+    public void setUp() {
+        FinancialMetricsService metricsService = new FinancialMetricsService();
+        ColumnarScoringService columnarScoringService = new ColumnarScoringService(
+                new BucketScoringEngine(RuleRegistry.orderedRules(), metricsService, new RiskDecisionService()),
+                metricsService,
+                new AssessmentMapper()
+        );
+        portfolio = new PortfolioScoringService(columnarScoringService, parallelism, 4096);
+
+        CreditRiskRequestDTO[] profiles = BenchmarkProfiles.requests();
+        List<CreditRiskRequestDTO> requests = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            requests.add(profiles[i % profiles.length]);
+        }
+        batch = ApplicantBatch.decode(requests, Validation.buildDefaultValidatorFactory().getValidator());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws InterruptedException {
+        portfolio.destroy();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public ApplicantBatch score() {
+        portfolio.score(batch);
+        return batch;
+    }
+}
@@ -0,0 +1,119 @@
+package com.Raman.credit_risk_engine.benchmark;
+
+import com.Raman.credit_risk_engine.decision.Decision;
+import com.Raman.credit_risk_engine.decision.DecisionOutcome;
+import com.Raman.credit_risk_engine.decision.RiskDecisionService;
+import com.Raman.credit_risk_engine.dto.CreditRiskRequestDTO;
+import com.Raman.credit_risk_engine.entity.UserFinancialProfile;
+import com.Raman.credit_risk_engine.metrics.FinancialMetrics;
+import com.Raman.credit_risk_engine.metrics.FinancialMetricsService;
+import com.Raman.credit_risk_engine.rule.RuleSetHolder;
+import com.Raman.credit_risk_engine.service.AssessmentMapper;
+import com.Raman.credit_risk_engine.service.CreditScoringService;
+import com.Raman.credit_risk_engine.service.RuleRegistry;
+import com.Raman.credit_risk_engine.service.ScoringBuffer;
+import com.Raman.credit_risk_engine.service.ScoringResult;
+import com.Raman.credit_risk_engine.telemetry.EvaluationTimers;
+import io.micrometer.prometheusmetrics.PrometheusConfig;
+import io.micrometer.prometheusmetrics.PrometheusMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The in-memory stages of an evaluation: metrics, rules and decision.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ScoringBenchmark {
+
+    private final FinancialMetricsService metricsService = new FinancialMetricsService();
+    private final RiskDecisionService riskDecisionService = new RiskDecisionService();
+
+    private CreditScoringService scoringService;
+    private CreditScoringService timedScoringService;
+    private UserFinancialProfile[] profiles;
+    private FinancialMetrics[] metrics;
+    private int[] scores;
+    private Decision[] decisions;
+    private ScoringBuffer buffer;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        RuleSetHolder holder = new RuleSetHolder(RuleRegistry.orderedRules());
+        scoringService = new CreditScoringService(holder);
+        // Production sampling, recorded into the registry /actuator/prometheus serves
+        EvaluationTimers timers = new EvaluationTimers(new PrometheusMeterRegistry(PrometheusConfig.DEFAULT), holder, 256);
+        timedScoringService = new CreditScoringService(holder, timers);
+
+        AssessmentMapper mapper = new AssessmentMapper();
+        CreditRiskRequestDTO[] requests = BenchmarkProfiles.requests();
+        profiles = new UserFinancialProfile[requests.length];
+        metrics = new FinancialMetrics[requests.length];
+        scores = new int[requests.length];
+        decisions = new Decision[requests.length];
+        for (int i = 0; i < requests.length; i++) {
+            profiles[i] = mapper.toProfile(requests[i]);
+            metrics[i] = metricsService.computeMetrics(profiles[i]);
+            scores[i] = scoringService.calculateScore(profiles[i], metrics[i]).getFinalScore();
+            decisions[i] = riskDecisionService.evaluate(scores[i]).getDecision();
+        }
+        buffer = scoringService.newBuffer();
+    }
+
+    @Benchmark
+    public void computeMetrics(Blackhole blackhole) {
+        // Metrics are lazy; reading them is what computes them
+        FinancialMetrics computed = metricsService.computeMetrics(profiles[slot()]);
+        blackhole.consume(computed.getDebtToIncomeRatio());
+        blackhole.consume(computed.getDisposableIncome());
+        blackhole.consume(computed.getLoanToIncomeRatio());
+    }
+
+    @Benchmark
+    public ScoringResult calculateScore() {
+        int slot = slot();
+        return scoringService.calculateScore(profiles[slot], metrics[slot]);
+    }
+
+    @Benchmark
+    public int calculateScoreBuffered() {
+        int slot = slot();
+        scoringService.calculateScore(profiles[slot], metrics[slot], buffer);
+        return buffer.getFinalScore();
+    }
+
+    @Benchmark
+    public int calculateScoreBufferedTimed() {
+        int slot = slot();
+        timedScoringService.calculateScore(profiles[slot], metrics[slot], buffer);
+        timedScoringService.recordRuleTimings(buffer, decisions[slot]);
+        return buffer.getFinalScore();
+    }
+
+    @Benchmark
+    public DecisionOutcome decide() {
+        return riskDecisionService.evaluate(scores[slot()]);
+    }
+
+    private int slot() {
+        int slot = next;
+        next = slot + 1 == profiles.length ? 0 : slot + 1;
+        return slot;
+    }
+}
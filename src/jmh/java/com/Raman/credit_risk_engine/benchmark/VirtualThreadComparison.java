@@ -0,0 +1,250 @@
+package com.Raman.credit_risk_engine.benchmark;
+
+import com.Raman.credit_risk_engine.CreditRiskEngineApplication;
+import com.Raman.credit_risk_engine.dto.CreditRiskRequestDTO;
+import com.Raman.credit_risk_engine.entity.User;
+import com.Raman.credit_risk_engine.repository.UserRepository;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import tools.jackson.databind.json.JsonMapper;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Connection;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Side-by-side throughput and latency of {@code POST /credit-risk/evaluate}
+ * with platform and with virtual request threads, under the same fixed
+ * arrival rate.
+ *
+ * Each mode starts the application on a random port and sends requests on
+ * a fixed schedule, whether or not earlier ones have completed. Latency is
+ * measured from the scheduled send time, so time spent queued behind a
+ * saturated server counts.
+ *
+ * By default the application runs on in-memory H2, and every statement and
+ * commit is delayed by {@code load.db-latency-ms} to stand in for the
+ * network round trip to MySQL. Point {@code load.db-url} (with
+ * {@code load.db-username} and {@code load.db-password}) at a real database
+ * to measure against it instead.
+ *
+ * The concurrency limit, Idempotency-Key handling and request coalescing
+ * are turned off, so both modes run every request; any 429 is still
+ * reported in its own column.
+ *
+ * Settings are system properties: {@code load.rate} (requests/s),
+ * {@code load.seconds}, {@code load.warmup-seconds}, {@code load.db-latency-ms},
+ * {@code load.pool-size} and {@code load.tomcat-threads}.
+ */
+public final class VirtualThreadComparison {
+
+    private static final int RATE = Integer.getInteger("load.rate", 300);
+    private static final int SECONDS = Integer.getInteger("load.seconds", 15);
+    private static final int WARMUP_SECONDS = Integer.getInteger("load.warmup-seconds", 5);
+    private static final String DB_URL = System.getProperty("load.db-url");
+    private static final long DB_LATENCY_MS = Long.getLong("load.db-latency-ms", DB_URL == null ? 5 : 0);
+    private static final int POOL_SIZE = Integer.getInteger("load.pool-size", 10);
+    private static final int TOMCAT_THREADS = Integer.getInteger("load.tomcat-threads", 200);
+
+    private VirtualThreadComparison() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        System.out.printf("Fixed load: %d requests/s for %d s after %d s warm-up; pool %d, Tomcat threads %d, "
+                        + "DB latency %d ms per statement%n",
+                RATE, SECONDS, WARMUP_SECONDS, POOL_SIZE, TOMCAT_THREADS, DB_LATENCY_MS);
+
+        List<Result> results = new ArrayList<>();
+        for (boolean virtual : new boolean[]{false, true}) {
+            results.add(run(virtual));
+        }
+
+        System.out.printf("%n%-9s %9s %9s %9s %9s %9s %10s %9s %9s %9s %9s%n",
+                "threads", "sent", "ok", "429", "503", "failed", "ok/s", "p50 ms", "p90 ms", "p99 ms", "max ms");
+        for (Result result : results) {
+            System.out.printf("%-9s %9d %9d %9d %9d %9d %10.1f %9.1f %9.1f %9.1f %9.1f%n",
+                    result.mode, result.sent, result.ok, result.limited, result.unavailable,
+                    result.sent - result.ok - result.limited - result.unavailable,
+                    result.ok / (double) SECONDS,
+                    result.percentile(0.50), result.percentile(0.90), result.percentile(0.99), result.percentile(1));
+        }
+    }
+
+    private static Result run(boolean virtual) throws Exception {
+        String mode = virtual ? "virtual" : "platform";
+        ConfigurableApplicationContext context = start(virtual);
+        try {
+            int port = Integer.parseInt(context.getEnvironment().getProperty("local.server.port"));
+            User user = new User();
+            user.setFullName("Load Test");
+            user.setEmail("load-" + mode + "@example.com");
+            user.setPassword("secret");
+            long userId = context.getBean(UserRepository.class).save(user).getId();
+
+            URI uri = URI.create("http://localhost:" + port + "/credit-risk/evaluate/" + userId);
+            JsonMapper mapper = JsonMapper.builder().build();
+            CreditRiskRequestDTO[] requests = BenchmarkProfiles.requests();
+            byte[][] bodies = new byte[requests.length][];
+            for (int i = 0; i < requests.length; i++) {
+                bodies[i] = mapper.writeValueAsBytes(requests[i]);
+            }
+
+            System.out.printf("Running %s threads...%n", mode);
+            drive(uri, bodies, WARMUP_SECONDS);
+            return new Result(mode, drive(uri, bodies, SECONDS));
+        } finally {
+            context.close();
+        }
+    }
+
+    /**
+     * @return latency in nanoseconds of every request; minus the status for
+     *         error responses, or -1 if no response arrived
+     */
+    private static long[] drive(URI uri, byte[][] bodies, int seconds) throws InterruptedException {
+        int count = RATE * seconds;
+        long interval = TimeUnit.SECONDS.toNanos(1) / RATE;
+        long[] latencies = new long[count];
+
+        try (HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+             ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor()) {
+            long start = System.nanoTime();
+            for (int i = 0; i < count; i++) {
+                long scheduled = start + i * interval;
+                long delay = scheduled - System.nanoTime();
+                if (delay > 0) {
+                    LockSupport.parkNanos(delay);
+                }
+                int index = i;
+                HttpRequest request = HttpRequest.newBuilder(uri)
+                        .header("Content-Type", "application/json")
+                        .timeout(Duration.ofSeconds(30))
+                        .POST(HttpRequest.BodyPublishers.ofByteArray(bodies[i % bodies.length]))
+                        .build();
+                senders.execute(() -> {
+                    try {
+                        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                        latencies[index] = response.statusCode() == 200
+                                ? System.nanoTime() - scheduled
+                                : -response.statusCode();
+                    } catch (Exception ex) {
+                        latencies[index] = -1;
+                    }
+                });
+            }
+            senders.shutdown();
+            senders.awaitTermination(1, TimeUnit.MINUTES);
+        }
+        return latencies;
+    }
+
+    private static ConfigurableApplicationContext start(boolean virtual) {
+        List<String> args = new ArrayList<>(List.of(
+                "--server.port=0",
+                "--spring.threads.virtual.enabled=" + virtual,
+                "--server.tomcat.threads.max=" + TOMCAT_THREADS,
+                "--spring.datasource.hikari.maximum-pool-size=" + POOL_SIZE,
+                "--credit-risk.connection-gate.permits=" + POOL_SIZE,
+                "--credit-risk.concurrency-limit.enabled=false",
+                "--credit-risk.idempotency.enabled=false",
+                "--credit-risk.coalescing.enabled=false",
+                "--spring.jpa.show-sql=false",
+                "--logging.level.root=WARN",
+                "--logging.level.org.hibernate.SQL=WARN",
+                "--logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN"
+        ));
+        if (DB_URL == null) {
+            args.addAll(List.of(
+                    "--spring.datasource.url=jdbc:h2:mem:load-" + virtual + ";DB_CLOSE_DELAY=-1",
+                    "--spring.datasource.username=sa",
+                    "--spring.datasource.password=",
+                    "--spring.datasource.driver-class-name=org.h2.Driver",
+                    "--spring.jpa.database-platform=org.hibernate.dialect.H2Dialect"
+            ));
+        } else {
+            args.addAll(List.of(
+                    "--spring.datasource.url=" + DB_URL,
+                    "--spring.datasource.username=" + System.getProperty("load.db-username", ""),
+                    "--spring.datasource.password=" + System.getProperty("load.db-password", "")
+            ));
+        }
+
+        SpringApplicationBuilder builder = new SpringApplicationBuilder(CreditRiskEngineApplication.class);
+        if (DB_LATENCY_MS > 0) {
+            builder.initializers(context -> context.getBeanFactory().addBeanPostProcessor(new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return bean instanceof DataSource dataSource ? delayed(dataSource) : bean;
+                }
+            }));
+        }
+        return builder.run(args.toArray(String[]::new));
+    }
+
+    // Sleeps before each statement is prepared and before each commit, while the connection is held
+    private static DataSource delayed(DataSource target) {
+        return (DataSource) Proxy.newProxyInstance(
+                DataSource.class.getClassLoader(),
+                new Class<?>[]{DataSource.class},
+                (proxy, method, args) -> {
+                    Object result = invoke(target, method, args);
+                    return result instanceof Connection connection ? delayed(connection) : result;
+                });
+    }
+
+    private static Connection delayed(Connection target) {
+        return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    String name = method.getName();
+                    if (name.startsWith("prepare") || name.equals("createStatement") || name.equals("commit")) {
+                        Thread.sleep(DB_LATENCY_MS);
+                    }
+                    return invoke(target, method, args);
+                });
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException ex) {
+            throw ex.getCause();
+        }
+    }
+
+    private record Result(String mode, int sent, int ok, int limited, int unavailable, double[] sortedMillis) {
+
+        // Latency percentiles cover successful requests only
+        Result(String mode, long[] latencies) {
+            this(mode, latencies.length,
+                    (int) Arrays.stream(latencies).filter(l -> l >= 0).count(),
+                    (int) Arrays.stream(latencies).filter(l -> l == -429).count(),
+                    (int) Arrays.stream(latencies).filter(l -> l == -503).count(),
+                    Arrays.stream(latencies).filter(l -> l >= 0).sorted().mapToDouble(l -> l / 1e6).toArray());
+        }
+
+        double percentile(double p) {
+            if (sortedMillis.length == 0) {
+                return Double.NaN;
+            }
+            int index = (int) Math.ceil(p * sortedMillis.length) - 1;
+            return sortedMillis[Math.max(0, Math.min(sortedMillis.length - 1, index))];
+        }
+    }
+}
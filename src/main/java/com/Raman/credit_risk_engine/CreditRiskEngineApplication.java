@@ -1,5 +1,7 @@
 package com.Raman.credit_risk_engine;
 
+import com.Raman.credit_risk_engine.offline.OfflineScoringConfiguration;
+import com.Raman.credit_risk_engine.synthetic.SyntheticDataConfiguration;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 
@@ -7,6 +9,12 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
 public class CreditRiskEngineApplication {
 
 	public static void main(String[] args) {
+		if (OfflineScoringConfiguration.isRequested(args)) {
+			System.exit(OfflineScoringConfiguration.run(args));
+		}
+		if (SyntheticDataConfiguration.isRequested(args)) {
+			System.exit(SyntheticDataConfiguration.run(args));
+		}
 		SpringApplication.run(CreditRiskEngineApplication.class, args);
 	}
 
@@ -0,0 +1,57 @@
+package com.Raman.credit_risk_engine.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * Puts a {@link GatedDataSource} in front of the application DataSource.
+ *
+ * On by default when {@code spring.threads.virtual.enabled} is set. With
+ * {@code permits=0} the gate admits as many connections as the Hikari pool
+ * holds, so callers queue at the gate rather than inside the pool.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(name = "credit-risk.connection-gate.enabled", havingValue = "true")
+public class ConnectionGateConfiguration {
+
+    private static final Logger log = LoggerFactory.getLogger(ConnectionGateConfiguration.class);
+
+    @Bean
+    public static BeanPostProcessor connectionGatePostProcessor(
+            ObjectProvider<MeterRegistry> meterRegistry,
+            @Value("${credit-risk.connection-gate.permits:0}") int permits,
+            @Value("${credit-risk.connection-gate.max-waiters:1000}") int maxWaiters,
+            @Value("${credit-risk.connection-gate.timeout-ms:2000}") long timeoutMs
+    ) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource) || bean instanceof GatedDataSource) {
+                    return bean;
+                }
+                int gatePermits = permits > 0 ? permits : poolSize(dataSource);
+                log.info("Gating DataSource {} at {} connections, {} waiters, {} ms timeout",
+                        beanName, gatePermits, maxWaiters, timeoutMs);
+                return new GatedDataSource(dataSource, gatePermits, maxWaiters, timeoutMs, meterRegistry.getObject());
+            }
+        };
+    }
+
+    private static int poolSize(DataSource dataSource) {
+        if (dataSource instanceof HikariDataSource hikari) {
+            return hikari.getMaximumPoolSize();
+        }
+        throw new IllegalStateException("credit-risk.connection-gate.permits must be set for "
+                + dataSource.getClass().getName());
+    }
+}
@@ -0,0 +1,149 @@
+package com.Raman.credit_risk_engine.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Admits at most {@code permits} open connections and queues at most
+ * {@code maxWaiters} callers for one.
+ *
+ * With virtual threads every request has its own thread, so nothing but the
+ * pool limits how many of them ask for a connection at once. The pool lets
+ * all of them wait for its full connection timeout. The gate queues callers
+ * in arrival order, fails them after {@code timeout} instead, and fails
+ * callers beyond {@code maxWaiters} at once, so an overload turns into quick
+ * 503s rather than thousands of parked requests.
+ *
+ * A permit is held from {@link #getConnection()} until the connection is
+ * closed.
+ */
+public class GatedDataSource extends DelegatingDataSource {
+
+    private final Semaphore permits;
+    private final int permitCount;
+    private final int maxWaiters;
+    private final long timeoutNanos;
+    private final AtomicInteger waiting = new AtomicInteger();
+    private final Timer waitTimer;
+    private final Counter rejections;
+
+    public GatedDataSource(DataSource target, int permits, int maxWaiters, long timeoutMs, MeterRegistry registry) {
+        super(target);
+        this.permits = new Semaphore(permits, true);
+        this.permitCount = permits;
+        this.maxWaiters = maxWaiters;
+        this.timeoutNanos = TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+
+        this.waitTimer = Timer.builder("credit_risk.db_gate.wait")
+                .description("Time spent waiting for a database connection permit")
+                .publishPercentileHistogram()
+                .register(registry);
+        this.rejections = Counter.builder("credit_risk.db_gate.rejected")
+                .description("Connection requests refused by the gate")
+                .register(registry);
+        Gauge.builder("credit_risk.db_gate.in_use", this, GatedDataSource::inUse)
+                .description("Connections currently held through the gate")
+                .register(registry);
+        Gauge.builder("credit_risk.db_gate.waiting", waiting, AtomicInteger::get)
+                .description("Callers queued for a connection permit")
+                .register(registry);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        acquire();
+        return open(() -> super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        acquire();
+        return open(() -> super.getConnection(username, password));
+    }
+
+    public int inUse() {
+        return permitCount - permits.availablePermits();
+    }
+
+    private void acquire() throws SQLException {
+        if (permits.tryAcquire()) {
+            waitTimer.record(0, TimeUnit.NANOSECONDS);
+            return;
+        }
+        if (waiting.incrementAndGet() > maxWaiters) {
+            waiting.decrementAndGet();
+            rejections.increment();
+            throw new SQLTransientConnectionException("Connection gate queue is full (" + maxWaiters + " waiting)");
+        }
+
+        long start = System.nanoTime();
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(timeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Interrupted while waiting for a connection permit", ex);
+        } finally {
+            waiting.decrementAndGet();
+            waitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+        if (!acquired) {
+            rejections.increment();
+            throw new SQLTransientConnectionException(
+                    "No connection permit within " + TimeUnit.NANOSECONDS.toMillis(timeoutNanos) + " ms");
+        }
+    }
+
+    private Connection open(ConnectionSupplier supplier) throws SQLException {
+        Connection connection;
+        try {
+            connection = supplier.get();
+        } catch (SQLException | RuntimeException ex) {
+            permits.release();
+            throw ex;
+        }
+
+        AtomicBoolean released = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    String name = method.getName();
+                    if (name.equals("equals")) {
+                        return proxy == args[0];
+                    }
+                    if (name.equals("hashCode")) {
+                        return System.identityHashCode(proxy);
+                    }
+                    try {
+                        return method.invoke(connection, args);
+                    } catch (InvocationTargetException ex) {
+                        throw ex.getCause();
+                    } finally {
+                        // Closing twice must not hand out a second permit
+                        if (name.equals("close") && released.compareAndSet(false, true)) {
+                            permits.release();
+                        }
+                    }
+                });
+    }
+
+    @FunctionalInterface
+    private interface ConnectionSupplier {
+        Connection get() throws SQLException;
+    }
+}
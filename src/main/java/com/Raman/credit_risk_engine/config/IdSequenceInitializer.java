@@ -0,0 +1,57 @@
+package com.Raman.credit_risk_engine.config;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Moves table-backed ID sequences past rows that already exist.
+ *
+ * Assessments, audits and profiles used to get AUTO_INCREMENT ids. They now
+ * take ids from pooled sequences. On MySQL, which has no native sequences,
+ * Hibernate keeps each sequence in a one-row table that starts at 1, so on an
+ * existing database it would hand out ids that are already taken. Native
+ * sequences are left untouched.
+ */
+@Component
+public class IdSequenceInitializer {
+
+    private static final Logger log = LoggerFactory.getLogger(IdSequenceInitializer.class);
+
+    // Must match allocationSize of the entities' @SequenceGenerator
+    private static final int ALLOCATION_SIZE = 50;
+
+    private static final Map<String, String> SEQUENCE_TABLES = Map.of(
+            "credit_assessment_seq", "credit_assessment",
+            "assessment_audit_seq", "assessment_audit",
+            "user_financial_profile_seq", "user_financial_profile"
+    );
+
+    // Depends on the EntityManagerFactory so that schema update has created the tables
+    public IdSequenceInitializer(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory) {
+        SEQUENCE_TABLES.forEach((sequence, table) -> align(jdbcTemplate, sequence, table));
+    }
+
+    private static void align(JdbcTemplate jdbcTemplate, String sequence, String table) {
+        Long nextValue;
+        try {
+            nextValue = jdbcTemplate.queryForObject("SELECT next_val FROM " + sequence, Long.class);
+        } catch (DataAccessException ex) {
+            log.debug("{} is not a table-backed sequence; leaving it unchanged", sequence);
+            return;
+        }
+
+        Long maxId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM " + table, Long.class);
+        long floor = maxId + ALLOCATION_SIZE + 1;
+
+        if (nextValue == null || nextValue < floor) {
+            jdbcTemplate.update("UPDATE " + sequence + " SET next_val = ?", floor);
+            log.info("Moved {} from {} to {} past existing ids in {}", sequence, nextValue, floor, table);
+        }
+    }
+}
@@ -1,12 +1,21 @@
 package com.Raman.credit_risk_engine.config;
 
+import com.Raman.credit_risk_engine.limit.ConcurrencyLimitInterceptor;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 @Configuration
 public class WebConfig implements WebMvcConfigurer {
 
+    private final ObjectProvider<ConcurrencyLimitInterceptor> concurrencyLimitInterceptor;
+
+    public WebConfig(ObjectProvider<ConcurrencyLimitInterceptor> concurrencyLimitInterceptor) {
+        this.concurrencyLimitInterceptor = concurrencyLimitInterceptor;
+    }
+
     @Override
     public void addCorsMappings(CorsRegistry registry) {
         registry.addMapping("/**") // Apply to all endpoints
@@ -15,4 +24,13 @@ public class WebConfig implements WebMvcConfigurer {
                 .allowedHeaders("*") // Allow all headers
                 .allowCredentials(true);
     }
-}
\ No newline at end of file
+
+    // Single evaluations only; batch and stream requests are long-running by design
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        ConcurrencyLimitInterceptor interceptor = concurrencyLimitInterceptor.getIfAvailable();
+        if (interceptor != null) {
+            registry.addInterceptor(interceptor).addPathPatterns("/credit-risk/evaluate/{userId}");
+        }
+    }
+}
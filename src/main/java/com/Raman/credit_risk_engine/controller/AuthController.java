@@ -2,8 +2,8 @@ package com.Raman.credit_risk_engine.controller;
 
 import com.Raman.credit_risk_engine.entity.User;
 import com.Raman.credit_risk_engine.repository.UserRepository;
+import com.Raman.credit_risk_engine.service.PasswordHashingService;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.Map;
@@ -14,11 +14,12 @@ import java.util.Map;
 public class AuthController {
 
     private final UserRepository userRepository;
-    private final BCryptPasswordEncoder passwordEncoder;
+    // BCrypt runs on its own bounded executor, not on the request thread
+    private final PasswordHashingService passwordHashing;
 
-    public AuthController(UserRepository userRepository, BCryptPasswordEncoder passwordEncoder) {
+    public AuthController(UserRepository userRepository, PasswordHashingService passwordHashing) {
         this.userRepository = userRepository;
-        this.passwordEncoder = passwordEncoder;
+        this.passwordHashing = passwordHashing;
     }
 
     @PostMapping("/signup")
@@ -26,7 +27,7 @@ public class AuthController {
         if (userRepository.findByEmail(user.getEmail()).isPresent()) {
             return ResponseEntity.badRequest().body(Map.of("message", "Email already exists"));
         }
-        user.setPassword(passwordEncoder.encode(user.getPassword()));
+        user.setPassword(passwordHashing.encode(user.getPassword()));
         userRepository.save(user);
         return ResponseEntity.ok(Map.of("message", "User registered successfully"));
     }
@@ -34,7 +35,7 @@ public class AuthController {
     @PostMapping("/login")
     public ResponseEntity<?> login(@RequestBody Map<String, String> credentials) {
         return userRepository.findByEmail(credentials.get("email"))
-                .filter(u -> passwordEncoder.matches(credentials.get("password"), u.getPassword()))
+                .filter(u -> passwordHashing.matches(credentials.get("password"), u.getPassword()))
                 .map(u -> ResponseEntity.ok(u))
                 .orElse(ResponseEntity.status(401).build());
     }
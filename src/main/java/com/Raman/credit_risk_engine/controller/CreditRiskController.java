@@ -1,17 +1,51 @@
 package com.Raman.credit_risk_engine.controller;
 
+import com.Raman.credit_risk_engine.decision.Decision;
+import com.Raman.credit_risk_engine.dto.AssessmentAuditDTO;
+import com.Raman.credit_risk_engine.dto.AssessmentSummaryDTO;
+import com.Raman.credit_risk_engine.dto.AssessmentWithAuditsDTO;
+import com.Raman.credit_risk_engine.dto.BatchEvaluationItemDTO;
 import com.Raman.credit_risk_engine.dto.CreditRiskRequestDTO;
 import com.Raman.credit_risk_engine.dto.CreditRiskResponseDTO;
-import com.Raman.credit_risk_engine.entity.AssessmentAudit;
+import com.Raman.credit_risk_engine.dto.HistoryPageDTO;
+import com.Raman.credit_risk_engine.dto.LoanCapacityDTO;
+import com.Raman.credit_risk_engine.dto.ShadowStatsDTO;
 import com.Raman.credit_risk_engine.entity.CreditAssessment;
-import com.Raman.credit_risk_engine.repository.AssessmentAuditRepository;
 import com.Raman.credit_risk_engine.repository.CreditAssessmentRepository;
+import com.Raman.credit_risk_engine.service.AssessmentAuditService;
+import com.Raman.credit_risk_engine.service.AssessmentHistoryService;
+import com.Raman.credit_risk_engine.service.BatchEvaluationService;
 import com.Raman.credit_risk_engine.service.CreditRiskEvaluationService;
+import com.Raman.credit_risk_engine.service.EvaluationCoalescer;
+import com.Raman.credit_risk_engine.service.IdempotentEvaluationService;
+import com.Raman.credit_risk_engine.service.LoanCapacityService;
+import com.Raman.credit_risk_engine.service.RuleConfigurationService;
+import com.Raman.credit_risk_engine.service.ShadowScoringService;
+import com.Raman.credit_risk_engine.service.StreamingEvaluationService;
+import com.Raman.credit_risk_engine.service.WriteBehindEvaluationService;
+import com.Raman.credit_risk_engine.telemetry.EvaluationTimers;
+import com.Raman.credit_risk_engine.telemetry.EvaluationTimers.Stage;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ConstraintViolationException;
 import jakarta.validation.Valid;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.WebAsyncTask;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.math.BigDecimal;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
 
 @RestController
 @RequestMapping("/credit-risk")
@@ -19,36 +53,206 @@ public class CreditRiskController {
 
     private final CreditRiskEvaluationService evaluationService;
     private final CreditAssessmentRepository assessmentRepository;
-    private final AssessmentAuditRepository auditRepository;
+    private final AssessmentAuditService auditService;
+    private final AssessmentHistoryService historyService;
+    private final BatchEvaluationService batchEvaluationService;
+    private final StreamingEvaluationService streamingEvaluationService;
+    private final WriteBehindEvaluationService writeBehindEvaluationService;
+    private final LoanCapacityService loanCapacityService;
+    private final ShadowScoringService shadowScoringService;
+    private final RuleConfigurationService ruleConfigurationService;
+    private final IdempotentEvaluationService idempotentEvaluationService;
+    private final EvaluationCoalescer evaluationCoalescer;
+    private final Validator validator;
+    private final EvaluationTimers timers;
+    private final long streamTimeoutMs;
 
     public CreditRiskController(
             CreditRiskEvaluationService evaluationService,
             CreditAssessmentRepository assessmentRepository,
-            AssessmentAuditRepository auditRepository
+            AssessmentAuditService auditService,
+            AssessmentHistoryService historyService,
+            BatchEvaluationService batchEvaluationService,
+            StreamingEvaluationService streamingEvaluationService,
+            ObjectProvider<WriteBehindEvaluationService> writeBehindEvaluationService,
+            LoanCapacityService loanCapacityService,
+            ObjectProvider<ShadowScoringService> shadowScoringService,
+            RuleConfigurationService ruleConfigurationService,
+            ObjectProvider<IdempotentEvaluationService> idempotentEvaluationService,
+            ObjectProvider<EvaluationCoalescer> evaluationCoalescer,
+            Validator validator,
+            EvaluationTimers timers,
+            @Value("${credit-risk.batch.stream-timeout-ms:1800000}") long streamTimeoutMs
     ) {
         this.evaluationService = evaluationService;
         this.assessmentRepository = assessmentRepository;
-        this.auditRepository = auditRepository;
+        this.auditService = auditService;
+        this.historyService = historyService;
+        this.batchEvaluationService = batchEvaluationService;
+        this.streamingEvaluationService = streamingEvaluationService;
+        this.writeBehindEvaluationService = writeBehindEvaluationService.getIfAvailable();
+        this.loanCapacityService = loanCapacityService;
+        this.shadowScoringService = shadowScoringService.getIfAvailable();
+        this.ruleConfigurationService = ruleConfigurationService;
+        this.idempotentEvaluationService = idempotentEvaluationService.getIfAvailable();
+        this.evaluationCoalescer = evaluationCoalescer.getIfAvailable();
+        this.validator = validator;
+        this.timers = timers;
+        this.streamTimeoutMs = streamTimeoutMs;
     }
 
+    // Validated here rather than with @Valid, so the time lands in the validation stage under the decision,
+    // or under FAILED when the body is rejected or the evaluation fails
     @PostMapping("/evaluate/{userId}")
     public ResponseEntity<CreditRiskResponseDTO> evaluateCreditRisk(
-            @Valid @RequestBody CreditRiskRequestDTO request,
+            @RequestBody CreditRiskRequestDTO request,
+            @PathVariable Long userId,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey
+    ) {
+        long validationStarted = System.nanoTime();
+        Set<ConstraintViolation<CreditRiskRequestDTO>> violations = validator.validate(request);
+        long validated = System.nanoTime();
+        Decision decision = null;
+        try {
+            if (!violations.isEmpty()) {
+                throw new ConstraintViolationException(violations);
+            }
+
+            // A repeated key gets the stored response; nothing is scored or written again.
+            // Never written behind: the assessment has to roll back with the key if another instance stored it first
+            if (idempotencyKey != null && idempotentEvaluationService != null) {
+                IdempotentEvaluationService.Result result = idempotentEvaluationService.evaluate(
+                        idempotencyKey, userId, request,
+                        () -> evaluate(request, userId, () -> evaluationService.evaluate(request, userId)));
+                decision = result.response().getDecision();
+                if (result.replayed()) {
+                    return ResponseEntity.ok()
+                            .header(IdempotentEvaluationService.REPLAYED_HEADER, "true")
+                            .body(result.response());
+                }
+                return ResponseEntity.ok(shadow(request, result.response()));
+            }
+            CreditRiskResponseDTO response = evaluate(request, userId, () -> evaluateOnce(request, userId));
+            decision = response.getDecision();
+            return ResponseEntity.ok(shadow(request, response));
+        } finally {
+            timers.record(Stage.VALIDATION, decision, validationStarted, validated);
+        }
+    }
+
+    // Identical requests in flight at the same time share one evaluation
+    private CreditRiskResponseDTO evaluate(
+            CreditRiskRequestDTO request,
+            Long userId,
+            Supplier<CreditRiskResponseDTO> evaluation
+    ) {
+        return evaluationCoalescer != null
+                ? evaluationCoalescer.evaluate(userId, request, evaluation)
+                : evaluation.get();
+    }
+
+    // Write-behind mode answers from the journal; the database insert follows
+    private CreditRiskResponseDTO evaluateOnce(CreditRiskRequestDTO request, Long userId) {
+        return writeBehindEvaluationService != null
+                ? writeBehindEvaluationService.evaluate(request, userId)
+                : evaluationService.evaluate(request, userId);
+    }
+
+    // Only queues the challenger run; it never delays or changes the response
+    private CreditRiskResponseDTO shadow(CreditRiskRequestDTO request, CreditRiskResponseDTO response) {
+        if (shadowScoringService != null) {
+            shadowScoringService.submit(request, response);
+        }
+        return response;
+    }
+
+    // Items are validated individually; results come back in request order
+    @PostMapping("/evaluate/{userId}/batch")
+    public ResponseEntity<List<BatchEvaluationItemDTO>> evaluateCreditRiskBatch(
+            @RequestBody List<CreditRiskRequestDTO> requests,
             @PathVariable Long userId
     ) {
-        CreditRiskResponseDTO response = evaluationService.evaluate(request, userId);
-        return ResponseEntity.ok(response);
+        List<BatchEvaluationItemDTO> results = batchEvaluationService.evaluate(requests, userId);
+        return ResponseEntity.ok(results);
     }
 
+    // NDJSON in, NDJSON out; lines are answered as their chunk is stored. Only this endpoint gets the long timeout
+    @PostMapping(
+            value = "/evaluate/{userId}/stream",
+            consumes = MediaType.APPLICATION_NDJSON_VALUE,
+            produces = MediaType.APPLICATION_NDJSON_VALUE
+    )
+    public WebAsyncTask<Void> evaluateCreditRiskStream(
+            @PathVariable Long userId,
+            HttpServletRequest request,
+            HttpServletResponse response
+    ) throws IOException {
+        InputStream body = request.getInputStream();
+        OutputStream output = response.getOutputStream();
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        return new WebAsyncTask<>(streamTimeoutMs, () -> {
+            streamingEvaluationService.evaluate(body, output, userId);
+            return null;
+        });
+    }
+
+    // What-if: the largest extra EMI and loan amount per decision; persists nothing
+    @PostMapping("/loan-capacity")
+    public ResponseEntity<LoanCapacityDTO> getLoanCapacity(
+            @Valid @RequestBody CreditRiskRequestDTO request,
+            @RequestParam(required = false) Integer tenureMonths,
+            @RequestParam(required = false) BigDecimal annualInterestRate
+    ) {
+        LoanCapacityDTO capacity = loanCapacityService.solve(request, tenureMonths, annualInterestRate);
+        return ResponseEntity.ok(capacity);
+    }
+
+    // Challenger vs live counters; 404 unless shadow scoring is enabled
+    @GetMapping("/shadow/stats")
+    public ResponseEntity<ShadowStatsDTO> getShadowStats() {
+        if (shadowScoringService == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(shadowScoringService.getStats());
+    }
+
+    // Settings of the rule set new evaluations are scored with
+    @GetMapping("/rules")
+    public ResponseEntity<Map<String, String>> getRules() {
+        return ResponseEntity.ok(ruleConfigurationService.current().getConfiguration().toSettings());
+    }
+
+    // Re-reads the configured rule source; a new version takes effect at once
+    @PostMapping("/rules/reload")
+    public ResponseEntity<Map<String, String>> reloadRules() {
+        return ResponseEntity.ok(ruleConfigurationService.reload().getConfiguration().toSettings());
+    }
+
+    // Newest first; pass nextCursor back as cursor for the following page
     @GetMapping("/history/{userId}")
-    public ResponseEntity<List<CreditAssessment>> getAssessmentHistory(@PathVariable Long userId) {
-        List<CreditAssessment> history = assessmentRepository.findByUserIdOrderByCreatedAtDesc(userId);
+    public ResponseEntity<HistoryPageDTO<AssessmentSummaryDTO>> getAssessmentHistory(
+            @PathVariable Long userId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size
+    ) {
+        HistoryPageDTO<AssessmentSummaryDTO> history = historyService.getHistory(userId, cursor, size);
+        return ResponseEntity.ok(history);
+    }
+
+    // Same paging as /history/{userId}, with each row's audit trail in a fixed number of queries
+    @GetMapping("/history/{userId}/with-audits")
+    public ResponseEntity<HistoryPageDTO<AssessmentWithAuditsDTO>> getAssessmentHistoryWithAudits(
+            @PathVariable Long userId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size
+    ) {
+        HistoryPageDTO<AssessmentWithAuditsDTO> history = historyService.getHistoryWithAudits(userId, cursor, size);
         return ResponseEntity.ok(history);
     }
 
     @GetMapping("/history/{id}/audit")
-    public ResponseEntity<List<AssessmentAudit>> getAssessmentAudit(@PathVariable Long id) {
-        List<AssessmentAudit> audits = auditRepository.findByCreditAssessmentId(id);
+    public ResponseEntity<List<AssessmentAuditDTO>> getAssessmentAudit(@PathVariable Long id) {
+        List<AssessmentAuditDTO> audits = auditService.getAuditTrail(id);
         return ResponseEntity.ok(audits);
     }
 
@@ -58,13 +262,14 @@ public class CreditRiskController {
         return ResponseEntity.noContent().build();
     }
 
+    // Same shape as a /history/{userId}/with-audits item
     @PutMapping("/{id}")
-    public ResponseEntity<CreditAssessment> updateAssessment(
+    public ResponseEntity<AssessmentWithAuditsDTO> updateAssessment(
             @PathVariable Long id,
             @RequestBody CreditAssessment updatedData
     ) {
         // Calls the service method that re-runs the scoring engine
         CreditAssessment updated = evaluationService.updateAndReEvaluate(id, updatedData);
-        return ResponseEntity.ok(updated);
+        return ResponseEntity.ok(auditService.withAuditTrail(updated));
     }
 }
\ No newline at end of file
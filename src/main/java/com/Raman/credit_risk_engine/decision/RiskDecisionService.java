@@ -1,16 +1,37 @@
 package com.Raman.credit_risk_engine.decision;
 
+import com.Raman.credit_risk_engine.rule.RuleConfiguration;
+import com.Raman.credit_risk_engine.rule.RuleSetHolder;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import java.util.function.Supplier;
+
 /**
  * Translates a final credit score into a risk level and business decision.
  *
  * This service does NOT perform scoring or rule evaluation.
- * It strictly maps score -> risk -> decision using fixed thresholds.
+ * It strictly maps score -> risk -> decision using the cut-offs of the
+ * current {@link RuleConfiguration}, or of the configuration a score was
+ * computed with.
  */
 @Service
 public class RiskDecisionService {
 
+    private final Supplier<RuleConfiguration> configuration;
+
+    /**
+     * Uses the built-in cut-offs.
+     */
+    public RiskDecisionService() {
+        this.configuration = RuleConfiguration::defaults;
+    }
+
+    @Autowired
+    public RiskDecisionService(RuleSetHolder ruleSetHolder) {
+        this.configuration = () -> ruleSetHolder.current().getConfiguration();
+    }
+
     /**
      * Determines the risk level based on the final credit score.
      *
@@ -18,12 +39,19 @@ public class RiskDecisionService {
      * @return risk level
      */
     public RiskLevel determineRiskLevel(int score) {
+        return determineRiskLevel(score, configuration.get());
+    }
+
+    /**
+     * @param configuration the configuration the score was computed with
+     */
+    public RiskLevel determineRiskLevel(int score, RuleConfiguration configuration) {
 
-        if (score >= 750) {
+        if (score >= configuration.getLowRiskMinScore()) {
             return RiskLevel.LOW;
         }
 
-        if (score >= 600) {
+        if (score >= configuration.getMediumRiskMinScore()) {
             return RiskLevel.MEDIUM;
         }
 
@@ -52,8 +80,15 @@ public class RiskDecisionService {
      * @return decision outcome
      */
     public DecisionOutcome evaluate(int score) {
+        return evaluate(score, configuration.get());
+    }
+
+    /**
+     * @param configuration the configuration the score was computed with
+     */
+    public DecisionOutcome evaluate(int score, RuleConfiguration configuration) {
 
-        RiskLevel riskLevel = determineRiskLevel(score);
+        RiskLevel riskLevel = determineRiskLevel(score, configuration);
         Decision decision = determineDecision(riskLevel);
 
         return new DecisionOutcome(score, riskLevel, decision);
@@ -0,0 +1,86 @@
+package com.Raman.credit_risk_engine.dto;
+
+import com.Raman.credit_risk_engine.entity.AssessmentAudit;
+import com.Raman.credit_risk_engine.rule.ReasonCode;
+import com.Raman.credit_risk_engine.rule.RuleResult;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * One line of an assessment's audit trail.
+ *
+ * Has the same JSON fields as the {@link AssessmentAudit} entity. Entries
+ * rebuilt from reason codes have no row of their own, so their {@code id} is
+ * null and {@code createdAt} is the assessment's timestamp.
+ */
+public class AssessmentAuditDTO {
+
+    private final Long id;
+    private final String ruleName;
+    private final Integer scoreImpact;
+    private final String reason;
+    private final Instant createdAt;
+
+    public AssessmentAuditDTO(Long id, String ruleName, Integer scoreImpact, String reason, Instant createdAt) {
+        this.id = id;
+        this.ruleName = ruleName;
+        this.scoreImpact = scoreImpact;
+        this.reason = reason;
+        this.createdAt = createdAt;
+    }
+
+    public static AssessmentAuditDTO from(AssessmentAudit audit) {
+        return new AssessmentAuditDTO(
+                audit.getId(),
+                audit.getRuleName(),
+                audit.getScoreImpact(),
+                audit.getReason(),
+                audit.getCreatedAt()
+        );
+    }
+
+    public static List<AssessmentAuditDTO> fromAudits(List<AssessmentAudit> audits) {
+        List<AssessmentAuditDTO> trail = new ArrayList<>(audits.size());
+        for (AssessmentAudit audit : audits) {
+            trail.add(from(audit));
+        }
+        return trail;
+    }
+
+    public static List<AssessmentAuditDTO> fromReasonCodes(byte[] codes, Instant createdAt) {
+        List<RuleResult> results = ReasonCode.decode(codes);
+        List<AssessmentAuditDTO> trail = new ArrayList<>(results.size());
+        for (RuleResult result : results) {
+            trail.add(new AssessmentAuditDTO(
+                    null,
+                    result.getRuleName(),
+                    result.getScoreImpact(),
+                    result.getReason(),
+                    createdAt
+            ));
+        }
+        return trail;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getRuleName() {
+        return ruleName;
+    }
+
+    public Integer getScoreImpact() {
+        return scoreImpact;
+    }
+
+    public String getReason() {
+        return reason;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+}
@@ -0,0 +1,54 @@
+package com.Raman.credit_risk_engine.dto;
+
+import com.Raman.credit_risk_engine.decision.Decision;
+import com.Raman.credit_risk_engine.decision.RiskLevel;
+import com.Raman.credit_risk_engine.entity.CreditAssessment;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.time.Instant;
+
+/**
+ * One row of a user's assessment history.
+ *
+ * Selected column by column by the history query, so no entity is loaded
+ * or managed. {@code ruleOutcomes} is kept so the audit trail of a coded
+ * assessment can be rebuilt without another query.
+ */
+public record AssessmentSummaryDTO(
+        Long id,
+        Double monthlyIncome,
+        Double monthlyExpenses,
+        Double totalMonthlyEmis,
+        Double requestedLoanAmount,
+        Integer age,
+        Integer pastLoanDefaults,
+        Integer creditHistoryLengthMonths,
+        String employmentType,
+        Integer creditScore,
+        RiskLevel riskLevel,
+        Decision decision,
+        Instant createdAt,
+        String ruleSetVersion,
+        @JsonIgnore byte[] ruleOutcomes
+) {
+
+    public static AssessmentSummaryDTO from(CreditAssessment assessment) {
+        return new AssessmentSummaryDTO(
+                assessment.getId(),
+                assessment.getMonthlyIncome(),
+                assessment.getMonthlyExpenses(),
+                assessment.getTotalMonthlyEmis(),
+                assessment.getRequestedLoanAmount(),
+                assessment.getAge(),
+                assessment.getPastLoanDefaults(),
+                assessment.getCreditHistoryLengthMonths(),
+                assessment.getEmploymentType(),
+                assessment.getCreditScore(),
+                assessment.getRiskLevel(),
+                assessment.getDecision(),
+                assessment.getCreatedAt(),
+                assessment.getRuleSetVersion(),
+                assessment.getRuleOutcomes()
+        );
+    }
+}
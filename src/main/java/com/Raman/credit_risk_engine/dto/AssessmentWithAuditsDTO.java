@@ -0,0 +1,9 @@
+package com.Raman.credit_risk_engine.dto;
+
+import java.util.List;
+
+/**
+ * A history row together with its rule-level audit trail.
+ */
+public record AssessmentWithAuditsDTO(AssessmentSummaryDTO assessment, List<AssessmentAuditDTO> audits) {
+}
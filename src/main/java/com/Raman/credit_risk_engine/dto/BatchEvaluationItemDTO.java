@@ -0,0 +1,40 @@
+package com.Raman.credit_risk_engine.dto;
+
+/**
+ * Per-item outcome of a batch evaluation.
+ *
+ * Exactly one of {@code result} and {@code error} is set; {@code index} is
+ * the position of the item in the request body.
+ */
+public class BatchEvaluationItemDTO {
+
+    private final int index;
+    private final CreditRiskResponseDTO result;
+    private final String error;
+
+    private BatchEvaluationItemDTO(int index, CreditRiskResponseDTO result, String error) {
+        this.index = index;
+        this.result = result;
+        this.error = error;
+    }
+
+    public static BatchEvaluationItemDTO success(int index, CreditRiskResponseDTO result) {
+        return new BatchEvaluationItemDTO(index, result, null);
+    }
+
+    public static BatchEvaluationItemDTO failure(int index, String error) {
+        return new BatchEvaluationItemDTO(index, null, error);
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public CreditRiskResponseDTO getResult() {
+        return result;
+    }
+
+    public String getError() {
+        return error;
+    }
+}
@@ -13,6 +13,7 @@ import java.util.List;
  */
 public class CreditRiskResponseDTO {
 
+    private final Long assessmentId;
     private final int creditScore;
     private final RiskLevel riskLevel;
     private final Decision decision;
@@ -24,12 +25,27 @@ public class CreditRiskResponseDTO {
             Decision decision,
             List<String> reasons
     ) {
+        this(null, creditScore, riskLevel, decision, reasons);
+    }
+
+    public CreditRiskResponseDTO(
+            Long assessmentId,
+            int creditScore,
+            RiskLevel riskLevel,
+            Decision decision,
+            List<String> reasons
+    ) {
+        this.assessmentId = assessmentId;
         this.creditScore = creditScore;
         this.riskLevel = riskLevel;
         this.decision = decision;
         this.reasons = reasons;
     }
 
+    public Long getAssessmentId() {
+        return assessmentId;
+    }
+
     public int getCreditScore() {
         return creditScore;
     }
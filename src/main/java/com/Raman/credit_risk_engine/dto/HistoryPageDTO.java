@@ -0,0 +1,12 @@
+package com.Raman.credit_risk_engine.dto;
+
+import java.util.List;
+
+/**
+ * One page of a user's history, newest first.
+ *
+ * {@code nextCursor} is passed back as {@code cursor} to get the following
+ * page; it is null on the last page.
+ */
+public record HistoryPageDTO<T>(List<T> items, String nextCursor) {
+}
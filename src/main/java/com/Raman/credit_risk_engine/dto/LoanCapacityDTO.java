@@ -0,0 +1,26 @@
+package com.Raman.credit_risk_engine.dto;
+
+import com.Raman.credit_risk_engine.decision.Decision;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * What-if answer for a profile: how much more it can borrow per decision.
+ *
+ * Each tier gives the largest extra monthly EMI, and the loan amount it
+ * repays over {@code tenureMonths} at {@code annualInterestRate}, that still
+ * yields that decision or a better one. Both are null if the tier cannot be
+ * reached without lowering the profile's current EMIs.
+ */
+public record LoanCapacityDTO(
+        int creditScore,
+        Decision decision,
+        int tenureMonths,
+        BigDecimal annualInterestRate,
+        List<Tier> tiers
+) {
+
+    public record Tier(Decision decision, BigDecimal maxExtraMonthlyEmi, BigDecimal maxLoanAmount) {
+    }
+}
@@ -0,0 +1,29 @@
+package com.Raman.credit_risk_engine.dto;
+
+import com.Raman.credit_risk_engine.decision.Decision;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Running totals of the challenger rule set against the live one.
+ * {@code challengerVersion} is the version named in the challenger's
+ * settings file.
+ *
+ * {@code decisions} counts compared evaluations by live decision, then by
+ * challenger decision. Counters are read one by one while traffic goes on,
+ * so they are not an atomic snapshot.
+ */
+public record ShadowStatsDTO(
+        String challengerVersion,
+        List<String> challengerRules,
+        long submitted,
+        long dropped,
+        long failed,
+        long compared,
+        long scoreDisagreements,
+        long decisionDisagreements,
+        double meanScoreDelta,
+        Map<Decision, Map<Decision, Long>> decisions
+) {
+}
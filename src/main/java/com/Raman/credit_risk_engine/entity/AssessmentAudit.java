@@ -9,7 +9,8 @@ import java.time.Instant;
 public class AssessmentAudit {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "assessment_audit_id")
+    @SequenceGenerator(name = "assessment_audit_id", sequenceName = "assessment_audit_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(optional = false, fetch = FetchType.LAZY)
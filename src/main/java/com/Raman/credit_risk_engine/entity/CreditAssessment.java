@@ -8,11 +8,15 @@ import java.time.Instant;
 import java.util.List;
 
 @Entity
-@Table(name = "credit_assessment")
+@Table(
+        name = "credit_assessment",
+        indexes = @Index(name = "idx_credit_assessment_user_created_id", columnList = "user_id, created_at, id")
+)
 public class CreditAssessment {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "credit_assessment_id")
+    @SequenceGenerator(name = "credit_assessment_id", sequenceName = "credit_assessment_seq", allocationSize = 50)
     private Long id;
 
     // Financial Inputs
@@ -44,9 +48,20 @@ public class CreditAssessment {
     @JsonIgnore
     private User user;
 
+    // Audit rows are written in rule order, so id order is rule order
     @OneToMany(mappedBy = "creditAssessment", cascade = CascadeType.ALL, orphanRemoval = true)
+    @OrderBy("id")
     private List<AssessmentAudit> audits;
 
+    // One ReasonCode per rule, in rule order; null for assessments audited row by row
+    @Column(name = "rule_outcomes", length = 32)
+    @JsonIgnore
+    private byte[] ruleOutcomes;
+
+    // Version of the rule configuration the score was computed with
+    @Column(name = "rule_set_version", length = 64)
+    private String ruleSetVersion;
+
     @PrePersist
     protected void onCreate() { this.createdAt = Instant.now(); }
 
@@ -79,6 +94,12 @@ public class CreditAssessment {
     public void setCreatedAt(Instant createdAt) { this.createdAt = createdAt; }
     public User getUser() { return user; }
     public void setUser(User user) { this.user = user; }
+    @JsonIgnore
     public List<AssessmentAudit> getAudits() { return audits; }
     public void setAudits(List<AssessmentAudit> audits) { this.audits = audits; }
+
+    public byte[] getRuleOutcomes() { return ruleOutcomes; }
+    public void setRuleOutcomes(byte[] ruleOutcomes) { this.ruleOutcomes = ruleOutcomes; }
+    public String getRuleSetVersion() { return ruleSetVersion; }
+    public void setRuleSetVersion(String ruleSetVersion) { this.ruleSetVersion = ruleSetVersion; }
 }
\ No newline at end of file
@@ -0,0 +1,89 @@
+package com.Raman.credit_risk_engine.entity;
+
+import com.Raman.credit_risk_engine.decision.Decision;
+import com.Raman.credit_risk_engine.decision.RiskLevel;
+import jakarta.persistence.*;
+import org.springframework.data.domain.Persistable;
+
+import java.time.Instant;
+
+/**
+ * The first completed evaluation response for an {@code Idempotency-Key}.
+ *
+ * The key is assigned by the client, so the row is inserted with
+ * {@code persist} rather than merged: a second insert of the same key fails
+ * on the primary key instead of overwriting the stored response.
+ */
+@Entity
+@Table(
+        name = "idempotency_key",
+        indexes = @Index(name = "idx_idempotency_key_created_at", columnList = "created_at")
+)
+public class IdempotencyRecord implements Persistable<String> {
+
+    public static final int MAX_KEY_LENGTH = 255;
+
+    @Id
+    @Column(name = "idempotency_key", length = MAX_KEY_LENGTH)
+    private String key;
+
+    // SHA-256 of the user id and request fields, to spot a key reused for another request
+    @Column(name = "request_hash", nullable = false, length = 64)
+    private String requestHash;
+
+    @Column(name = "assessment_id")
+    private Long assessmentId;
+
+    @Column(name = "credit_score", nullable = false)
+    private Integer creditScore;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "risk_level", nullable = false, length = 20)
+    private RiskLevel riskLevel;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "decision", nullable = false, length = 20)
+    private Decision decision;
+
+    // One reason per line, in rule order
+    @Column(name = "reasons", nullable = false, length = 4000)
+    private String reasons;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    @Transient
+    private boolean isNew = true;
+
+    public IdempotencyRecord() {}
+
+    public IdempotencyRecord(String key) {
+        this.key = key;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() { this.isNew = false; }
+
+    @Override
+    public String getId() { return key; }
+
+    @Override
+    public boolean isNew() { return isNew; }
+
+    public String getKey() { return key; }
+    public String getRequestHash() { return requestHash; }
+    public void setRequestHash(String requestHash) { this.requestHash = requestHash; }
+    public Long getAssessmentId() { return assessmentId; }
+    public void setAssessmentId(Long assessmentId) { this.assessmentId = assessmentId; }
+    public Integer getCreditScore() { return creditScore; }
+    public void setCreditScore(Integer creditScore) { this.creditScore = creditScore; }
+    public RiskLevel getRiskLevel() { return riskLevel; }
+    public void setRiskLevel(RiskLevel riskLevel) { this.riskLevel = riskLevel; }
+    public Decision getDecision() { return decision; }
+    public void setDecision(Decision decision) { this.decision = decision; }
+    public String getReasons() { return reasons; }
+    public void setReasons(String reasons) { this.reasons = reasons; }
+    public Instant getCreatedAt() { return createdAt; }
+    public void setCreatedAt(Instant createdAt) { this.createdAt = createdAt; }
+}
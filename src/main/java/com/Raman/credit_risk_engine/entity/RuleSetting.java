@@ -0,0 +1,31 @@
+package com.Raman.credit_risk_engine.entity;
+
+import jakarta.persistence.*;
+
+/**
+ * One {@code key=value} rule setting, read when rules are sourced from the
+ * database. The {@code version} key names the whole set.
+ */
+@Entity
+@Table(name = "rule_settings")
+public class RuleSetting {
+
+    @Id
+    @Column(name = "setting_key", length = 100)
+    private String key;
+
+    @Column(name = "setting_value", nullable = false, length = 100)
+    private String value;
+
+    public RuleSetting() {}
+
+    public RuleSetting(String key, String value) {
+        this.key = key;
+        this.value = value;
+    }
+
+    public String getKey() { return key; }
+    public void setKey(String key) { this.key = key; }
+    public String getValue() { return value; }
+    public void setValue(String value) { this.value = value; }
+}
@@ -9,7 +9,8 @@ import java.time.Instant;
 @Table(name = "user_financial_profile")
 public class UserFinancialProfile {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "user_financial_profile_id")
+    @SequenceGenerator(name = "user_financial_profile_id", sequenceName = "user_financial_profile_seq", allocationSize = 50)
     private long id;
 
     @NotNull
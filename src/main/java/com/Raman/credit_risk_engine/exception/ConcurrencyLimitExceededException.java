@@ -0,0 +1,15 @@
+package com.Raman.credit_risk_engine.exception;
+
+public class ConcurrencyLimitExceededException extends RuntimeException {
+
+    private final int retryAfterSeconds;
+
+    public ConcurrencyLimitExceededException(int limit, int retryAfterSeconds) {
+        super("Too many evaluations in flight (limit " + limit + "), please retry");
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public int getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -1,8 +1,11 @@
 package com.Raman.credit_risk_engine.exception;
 
 import jakarta.validation.ConstraintViolationException;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
@@ -69,9 +72,104 @@ public class GlobalExceptionHandler {
                 .body(response);
     }
 
+    /**
+     * -----------------------------------------
+     * 3️⃣ Idempotency Key Conflicts (409)
+     * -----------------------------------------
+     */
+    @ExceptionHandler(IdempotencyConflictException.class)
+    public ResponseEntity<ErrorResponse> handleIdempotencyConflict(
+            IdempotencyConflictException ex
+    ) {
+
+        ErrorResponse response = new ErrorResponse(
+                Instant.now(),
+                HttpStatus.CONFLICT.value(),
+                "IDEMPOTENCY_KEY_CONFLICT",
+                ex.getMessage()
+        );
+
+        return ResponseEntity
+                .status(HttpStatus.CONFLICT)
+                .body(response);
+    }
+
+    /**
+     * -----------------------------------------
+     * 4️⃣ Concurrency Limit Exceeded (429)
+     * -----------------------------------------
+     */
+    @ExceptionHandler(ConcurrencyLimitExceededException.class)
+    public ResponseEntity<ErrorResponse> handleConcurrencyLimitExceeded(
+            ConcurrencyLimitExceededException ex
+    ) {
+
+        ErrorResponse response = new ErrorResponse(
+                Instant.now(),
+                HttpStatus.TOO_MANY_REQUESTS.value(),
+                "TOO_MANY_REQUESTS",
+                ex.getMessage()
+        );
+
+        return ResponseEntity
+                .status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, Integer.toString(ex.getRetryAfterSeconds()))
+                .body(response);
+    }
+
+    /**
+     * -----------------------------------------
+     * 5️⃣ No Database Connection Available (503)
+     * -----------------------------------------
+     * The connection gate or pool refused a connection: the request did not
+     * run and can be retried.
+     */
+    @ExceptionHandler({
+            CannotCreateTransactionException.class,
+            DataAccessResourceFailureException.class
+    })
+    public ResponseEntity<ErrorResponse> handleDatabaseUnavailable(Exception ex) {
+
+        ErrorResponse response = new ErrorResponse(
+                Instant.now(),
+                HttpStatus.SERVICE_UNAVAILABLE.value(),
+                "DATABASE_BUSY",
+                "No database connection available, please retry"
+        );
+
+        return ResponseEntity
+                .status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(response);
+    }
+
+    /**
+     * -----------------------------------------
+     * 6️⃣ Password Hashing Saturated (503)
+     * -----------------------------------------
+     * Auth requests are shed rather than queued behind BCrypt work.
+     */
+    @ExceptionHandler(PasswordHashingUnavailableException.class)
+    public ResponseEntity<ErrorResponse> handlePasswordHashingUnavailable(
+            PasswordHashingUnavailableException ex
+    ) {
+
+        ErrorResponse response = new ErrorResponse(
+                Instant.now(),
+                HttpStatus.SERVICE_UNAVAILABLE.value(),
+                "AUTH_BUSY",
+                ex.getMessage()
+        );
+
+        return ResponseEntity
+                .status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(response);
+    }
+
     /**
      * -----------------------------------
-     * 3️⃣ Unexpected Errors (500)
+     * 7️⃣ Unexpected Errors (500)
      * -----------------------------------
      */
     @ExceptionHandler(Exception.class)
@@ -0,0 +1,12 @@
+package com.Raman.credit_risk_engine.exception;
+
+/**
+ * An {@code Idempotency-Key} that cannot be answered: it was used before
+ * for a different request, or its first request is still running.
+ */
+public class IdempotencyConflictException extends RuntimeException {
+
+    public IdempotencyConflictException(String message) {
+        super(message);
+    }
+}
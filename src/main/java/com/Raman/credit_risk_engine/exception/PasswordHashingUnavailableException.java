@@ -0,0 +1,12 @@
+package com.Raman.credit_risk_engine.exception;
+
+/**
+ * The password hashing executor could not take or finish the work in time;
+ * the auth request was not processed and can be retried.
+ */
+public class PasswordHashingUnavailableException extends RuntimeException {
+
+    public PasswordHashingUnavailableException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,54 @@
+package com.Raman.credit_risk_engine.journal;
+
+import com.Raman.credit_risk_engine.entity.CreditAssessment;
+import com.Raman.credit_risk_engine.entity.UserFinancialProfile;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.StatelessSession;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Hands out assessment and profile ids before the rows are written.
+ *
+ * Uses the entities' own Hibernate id generators, so ids come from the same
+ * pooled sequences as entities saved through JPA and never collide with
+ * them. Only one call in every allocation block touches the database.
+ */
+@Component
+@ConditionalOnProperty(name = "credit-risk.write-behind.enabled", havingValue = "true")
+public class AssessmentIdAllocator {
+
+    private final SessionFactoryImplementor sessionFactory;
+    private final IdentifierGenerator assessmentIds;
+    private final IdentifierGenerator profileIds;
+
+    public AssessmentIdAllocator(EntityManagerFactory entityManagerFactory) {
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        this.assessmentIds = generatorOf(CreditAssessment.class);
+        this.profileIds = generatorOf(UserFinancialProfile.class);
+    }
+
+    public long nextAssessmentId() {
+        return next(assessmentIds);
+    }
+
+    public long nextProfileId() {
+        return next(profileIds);
+    }
+
+    private long next(IdentifierGenerator generator) {
+        try (StatelessSession session = sessionFactory.openStatelessSession()) {
+            Object id = generator.generate((SharedSessionContractImplementor) session, null);
+            return ((Number) id).longValue();
+        }
+    }
+
+    private IdentifierGenerator generatorOf(Class<?> entity) {
+        return (IdentifierGenerator) sessionFactory.getMappingMetamodel()
+                .getEntityDescriptor(entity)
+                .getGenerator();
+    }
+}
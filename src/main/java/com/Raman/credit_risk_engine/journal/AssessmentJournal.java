@@ -0,0 +1,310 @@
+package com.Raman.credit_risk_engine.journal;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.CRC32C;
+
+/**
+ * Local append-only journal of scored assessments awaiting the database.
+ *
+ * Each record is framed as {@code [length][payload][crc32c]}. Appenders
+ * write under a short lock and then wait for an fsync covering their
+ * record; whichever waiting thread gets to the sync first forces the file
+ * once for everything written so far (group commit), so concurrent requests
+ * share one fsync instead of queuing one each. The locks are
+ * {@link ReentrantLock}s rather than monitors so that virtual threads
+ * waiting for the fsync do not pin their carrier threads.
+ *
+ * A separate checkpoint file holds the offset up to which records are known
+ * to be in the database. On open, records after the checkpoint are verified
+ * and a torn tail left by a crash is cut off; the remaining records are
+ * replayed by the {@link JournalFlusher}. Once the flusher has caught up and
+ * the file has grown past {@code compactThreshold}, it is truncated back to
+ * empty.
+ *
+ * Records the database rejects for good are moved to a dead-letter file in
+ * the same framing, so the flusher can move past them; that file is never
+ * compacted and is left for an operator.
+ */
+@Component
+@ConditionalOnProperty(name = "credit-risk.write-behind.enabled", havingValue = "true")
+public class AssessmentJournal implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(AssessmentJournal.class);
+
+    static final String JOURNAL_FILE = "assessments.journal";
+    static final String CHECKPOINT_FILE = "assessments.checkpoint";
+    static final String DEAD_LETTER_FILE = "assessments.dead-letter";
+
+    private static final int FRAME_OVERHEAD = Integer.BYTES * 2;
+    private static final int MAX_RECORD_BYTES = 64 * 1024;
+
+    private final FileChannel channel;
+    private final FileChannel checkpointChannel;
+    private final FileChannel deadLetterChannel;
+    private final long compactThreshold;
+
+    // Lock order: syncLock before appendLock
+    private final ReentrantLock appendLock = new ReentrantLock();
+    private final ReentrantLock syncLock = new ReentrantLock();
+
+    private long writtenOffset;
+    private volatile long durableOffset;
+    private volatile long checkpoint;
+
+    public AssessmentJournal(
+            @Value("${credit-risk.write-behind.journal-dir:journal}") Path directory,
+            @Value("${credit-risk.write-behind.compact-threshold-bytes:67108864}") long compactThreshold
+    ) throws IOException {
+        Files.createDirectories(directory);
+        this.channel = FileChannel.open(directory.resolve(JOURNAL_FILE),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.checkpointChannel = FileChannel.open(directory.resolve(CHECKPOINT_FILE),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.deadLetterChannel = FileChannel.open(directory.resolve(DEAD_LETTER_FILE),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        this.compactThreshold = compactThreshold;
+
+        long start = readCheckpoint();
+        if (start > channel.size()) {
+            // The journal was compacted but the reset checkpoint never reached the disk
+            start = 0;
+        }
+        long end = validEnd(start);
+        if (end < channel.size()) {
+            log.warn("Discarding {} bytes of torn journal tail at offset {}", channel.size() - end, end);
+            channel.truncate(end);
+        }
+        channel.force(true);
+
+        this.checkpoint = start;
+        this.writtenOffset = end;
+        this.durableOffset = end;
+
+        log.info("Assessment journal opened in {} with {} bytes pending", directory.toAbsolutePath(), end - start);
+    }
+
+    /**
+     * Appends one record and returns once it is durable on disk.
+     */
+    public void append(byte[] payload) throws IOException {
+        if (payload.length > MAX_RECORD_BYTES) {
+            throw new IllegalArgumentException("Journal record of " + payload.length + " bytes is too large");
+        }
+        ByteBuffer frame = frame(payload);
+
+        long end;
+        appendLock.lock();
+        try {
+            long position = writtenOffset;
+            while (frame.hasRemaining()) {
+                position += channel.write(frame, position);
+            }
+            writtenOffset = position;
+            end = position;
+        } finally {
+            appendLock.unlock();
+        }
+        awaitDurable(end);
+    }
+
+    private void awaitDurable(long end) throws IOException {
+        if (durableOffset >= end) {
+            return;
+        }
+        syncLock.lock();
+        try {
+            // A previous leader may have synced our record while we waited
+            if (durableOffset >= end) {
+                return;
+            }
+            long covered;
+            appendLock.lock();
+            try {
+                covered = writtenOffset;
+            } finally {
+                appendLock.unlock();
+            }
+            channel.force(false);
+            durableOffset = covered;
+        } finally {
+            syncLock.unlock();
+        }
+    }
+
+    /**
+     * Appends a record the database will not accept to the dead-letter file
+     * and returns once it is durable. Called by the flusher only, before it
+     * moves the checkpoint past the record.
+     */
+    public void deadLetter(byte[] payload) throws IOException {
+        ByteBuffer frame = frame(payload);
+        while (frame.hasRemaining()) {
+            deadLetterChannel.write(frame);
+        }
+        deadLetterChannel.force(false);
+    }
+
+    /**
+     * Reads up to {@code maxRecords} durable records starting at {@code from},
+     * which must be a record boundary such as {@link #checkpoint()}.
+     */
+    public Segment read(long from, int maxRecords) throws IOException {
+        long limit = durableOffset;
+        List<byte[]> payloads = new ArrayList<>();
+        long position = from;
+        ByteBuffer header = ByteBuffer.allocate(Integer.BYTES);
+
+        while (position < limit && payloads.size() < maxRecords) {
+            header.clear();
+            readFully(header, position);
+            int length = header.getInt(0);
+
+            ByteBuffer body = ByteBuffer.allocate(length + Integer.BYTES);
+            readFully(body, position + Integer.BYTES);
+            byte[] payload = new byte[length];
+            body.get(0, payload);
+            if (body.getInt(length) != crc(payload, 0, length)) {
+                throw new IOException("Journal record at offset " + position + " failed its checksum");
+            }
+            payloads.add(payload);
+            position += length + FRAME_OVERHEAD;
+        }
+        return new Segment(payloads, position);
+    }
+
+    /**
+     * Records that everything before {@code offset} is in the database, and
+     * compacts the file when nothing newer is pending.
+     */
+    public void commit(long offset) throws IOException {
+        writeCheckpoint(offset);
+        checkpoint = offset;
+
+        if (offset < compactThreshold) {
+            return;
+        }
+        syncLock.lock();
+        appendLock.lock();
+        try {
+            if (writtenOffset != offset) {
+                return;
+            }
+            channel.truncate(0);
+            channel.force(true);
+            writeCheckpoint(0);
+            checkpoint = 0;
+            writtenOffset = 0;
+            durableOffset = 0;
+        } finally {
+            appendLock.unlock();
+            syncLock.unlock();
+        }
+        log.info("Compacted assessment journal after {} bytes", offset);
+    }
+
+    public long checkpoint() {
+        return checkpoint;
+    }
+
+    public long durableOffset() {
+        return durableOffset;
+    }
+
+    @Override
+    public void destroy() throws IOException {
+        channel.close();
+        checkpointChannel.close();
+        deadLetterChannel.close();
+    }
+
+    private long validEnd(long start) throws IOException {
+        long size = channel.size();
+        long position = start;
+        ByteBuffer header = ByteBuffer.allocate(Integer.BYTES);
+
+        while (position + FRAME_OVERHEAD <= size) {
+            header.clear();
+            readFully(header, position);
+            int length = header.getInt(0);
+            if (length < 0 || length > MAX_RECORD_BYTES || position + length + FRAME_OVERHEAD > size) {
+                break;
+            }
+            ByteBuffer body = ByteBuffer.allocate(length + Integer.BYTES);
+            readFully(body, position + Integer.BYTES);
+            if (body.getInt(length) != crc(body.array(), 0, length)) {
+                break;
+            }
+            position += length + FRAME_OVERHEAD;
+        }
+        return position;
+    }
+
+    private long readCheckpoint() throws IOException {
+        if (checkpointChannel.size() < Long.BYTES + Integer.BYTES) {
+            return 0;
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(Long.BYTES + Integer.BYTES);
+        checkpointChannel.read(buffer, 0);
+        if (buffer.getInt(Long.BYTES) != crc(buffer.array(), 0, Long.BYTES)) {
+            // Replaying from the start is safe: the flusher skips rows that already exist
+            log.warn("Journal checkpoint is corrupt; replaying the whole journal");
+            return 0;
+        }
+        return buffer.getLong(0);
+    }
+
+    private void writeCheckpoint(long offset) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(Long.BYTES + Integer.BYTES);
+        buffer.putLong(offset);
+        buffer.putInt(crc(buffer.array(), 0, Long.BYTES)).flip();
+        while (buffer.hasRemaining()) {
+            checkpointChannel.write(buffer, buffer.position());
+        }
+        checkpointChannel.force(false);
+    }
+
+    private void readFully(ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("Unexpected end of journal at offset " + position);
+            }
+        }
+    }
+
+    private static ByteBuffer frame(byte[] payload) {
+        ByteBuffer frame = ByteBuffer.allocate(payload.length + FRAME_OVERHEAD);
+        frame.putInt(payload.length).put(payload).putInt(crc(payload, 0, payload.length)).flip();
+        return frame;
+    }
+
+    private static int crc(byte[] bytes, int offset, int length) {
+        CRC32C crc = new CRC32C();
+        crc.update(bytes, offset, length);
+        return (int) crc.getValue();
+    }
+
+    /**
+     * Records read from the journal and the offset just past the last one.
+     */
+    public record Segment(List<byte[]> payloads, long end) {
+
+        public boolean isEmpty() {
+            return payloads.isEmpty();
+        }
+    }
+}
@@ -0,0 +1,299 @@
+package com.Raman.credit_risk_engine.journal;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TimeZone;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Moves journaled assessments into the database in the background.
+ *
+ * Every tick reads the records after the journal checkpoint, batch-inserts
+ * their profile and assessment rows in one transaction, and then advances
+ * the checkpoint. The first tick after startup therefore replays whatever
+ * an earlier process left behind. A crash between the commit and the
+ * checkpoint write makes the next tick see the same records again, so rows
+ * whose assessment id already exists are skipped.
+ *
+ * If the database is unavailable, or fails for any reason other than the
+ * data itself, the records stay in the journal and the next tick retries
+ * them. A batch the database rejects as invalid (a constraint or data error)
+ * is retried one record per transaction; records that still fail are moved
+ * to the journal's dead-letter file and the checkpoint advances past them,
+ * so one bad record cannot hold back the ones behind it.
+ */
+@Component
+@ConditionalOnProperty(name = "credit-risk.write-behind.enabled", havingValue = "true")
+public class JournalFlusher implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(JournalFlusher.class);
+
+    private static final String INSERT_PROFILE = """
+            INSERT INTO user_financial_profile (id, monthly_income, monthly_expenses, total_monthly_emis,
+                past_loan_defaults, credit_history_length_months, employment_type, age, requested_loan_amount,
+                created_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)""";
+
+    private static final String INSERT_ASSESSMENT = """
+            INSERT INTO credit_assessment (id, monthly_income, monthly_expenses, total_monthly_emis,
+                requested_loan_amount, age, past_loan_defaults, credit_history_length_months, employment_type,
+                credit_score, risk_level, decision, created_at, user_id, rule_outcomes, rule_set_version)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)""";
+
+    // Hibernate stores Instant columns as UTC timestamps
+    private static final TimeZone UTC = TimeZone.getTimeZone("UTC");
+
+    private final AssessmentJournal journal;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final long flushIntervalMs;
+    private final ScheduledExecutorService scheduler;
+    private final Counter failedFlushes;
+    private final Counter deadLettered;
+
+    public JournalFlusher(
+            AssessmentJournal journal,
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry registry,
+            @Value("${credit-risk.write-behind.flush-batch-size:500}") int batchSize,
+            @Value("${credit-risk.write-behind.flush-interval-ms:50}") long flushIntervalMs
+    ) {
+        this.journal = journal;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = Math.max(1, batchSize);
+        this.flushIntervalMs = Math.max(1, flushIntervalMs);
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "journal-flusher");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        this.failedFlushes = Counter.builder("credit_risk.write_behind.flush.failed")
+                .description("Journal flushes that failed and left their records for the next attempt")
+                .register(registry);
+        this.deadLettered = Counter.builder("credit_risk.write_behind.dead_lettered")
+                .description("Journaled assessments the database rejected, moved to the dead-letter file")
+                .register(registry);
+        Gauge.builder("credit_risk.write_behind.pending_bytes", journal, JournalFlusher::pendingBytes)
+                .description("Journaled bytes not yet in the database")
+                .baseUnit("bytes")
+                .register(registry);
+    }
+
+    // Started once the schema is in place; the first tick replays the journal
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        scheduler.scheduleWithFixedDelay(this::flushQuietly, 0, flushIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Writes every durable record after the checkpoint to the database.
+     *
+     * @return the number of records written, excluding ones already present
+     */
+    public synchronized int flush() throws IOException {
+        int written = 0;
+        while (true) {
+            AssessmentJournal.Segment segment = journal.read(journal.checkpoint(), batchSize);
+            if (segment.isEmpty()) {
+                return written;
+            }
+
+            List<JournaledAssessment> entries = new ArrayList<>(segment.payloads().size());
+            List<byte[]> payloads = new ArrayList<>(segment.payloads().size());
+            for (byte[] payload : segment.payloads()) {
+                JournaledAssessment entry;
+                try {
+                    entry = JournaledAssessment.decode(payload);
+                } catch (RuntimeException ex) {
+                    deadLetter(payload, "undecodable record", ex);
+                    continue;
+                }
+                entries.add(entry);
+                payloads.add(payload);
+            }
+
+            try {
+                written += insertInTransaction(entries);
+            } catch (DataIntegrityViolationException ex) {
+                written += insertEach(entries, payloads);
+            }
+            journal.commit(segment.end());
+        }
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        scheduler.shutdown();
+        if (!scheduler.awaitTermination(10, TimeUnit.SECONDS)) {
+            scheduler.shutdownNow();
+        }
+        flushQuietly();
+    }
+
+    private void flushQuietly() {
+        try {
+            int written = flush();
+            if (written > 0) {
+                log.debug("Flushed {} journaled assessments", written);
+            }
+        } catch (Exception ex) {
+            failedFlushes.increment();
+            log.warn("Journal flush failed; {} bytes stay pending for the next attempt", pendingBytes(journal), ex);
+        }
+    }
+
+    /**
+     * Inserts the records of a rejected batch one transaction each. Any
+     * failure other than the record's own data still aborts the flush; the
+     * records inserted so far are skipped when it is retried.
+     */
+    private int insertEach(List<JournaledAssessment> entries, List<byte[]> payloads) throws IOException {
+        int written = 0;
+        for (int i = 0; i < entries.size(); i++) {
+            try {
+                written += insertInTransaction(List.of(entries.get(i)));
+            } catch (DataIntegrityViolationException ex) {
+                deadLetter(payloads.get(i), "assessment " + entries.get(i).assessmentId(), ex);
+            }
+        }
+        return written;
+    }
+
+    private int insertInTransaction(List<JournaledAssessment> entries) {
+        if (entries.isEmpty()) {
+            return 0;
+        }
+        Integer inserted = transactionTemplate.execute(status -> insert(entries));
+        return inserted == null ? 0 : inserted;
+    }
+
+    private void deadLetter(byte[] payload, String record, Exception cause) throws IOException {
+        journal.deadLetter(payload);
+        deadLettered.increment();
+        log.error("Database rejected journaled {}; moved it to {}", record, AssessmentJournal.DEAD_LETTER_FILE, cause);
+    }
+
+    private static double pendingBytes(AssessmentJournal journal) {
+        return journal.durableOffset() - journal.checkpoint();
+    }
+
+    private int insert(List<JournaledAssessment> entries) {
+        Set<Long> existing = existingIds(entries);
+        Set<Long> users = knownUsers(entries);
+
+        List<JournaledAssessment> pending = new ArrayList<>(entries.size());
+        for (JournaledAssessment entry : entries) {
+            if (!existing.contains(entry.assessmentId())) {
+                pending.add(entry);
+            }
+        }
+        if (pending.isEmpty()) {
+            return 0;
+        }
+
+        jdbcTemplate.batchUpdate(INSERT_PROFILE, pending, pending.size(), (ps, entry) -> {
+            ps.setLong(1, entry.profileId());
+            ps.setBigDecimal(2, entry.monthlyIncome());
+            ps.setBigDecimal(3, entry.monthlyExpenses());
+            ps.setBigDecimal(4, entry.totalMonthlyEmis());
+            ps.setInt(5, entry.pastLoanDefaults());
+            ps.setInt(6, entry.creditHistoryLengthMonths());
+            ps.setString(7, entry.employmentType().name());
+            ps.setInt(8, entry.age());
+            ps.setBigDecimal(9, entry.requestedLoanAmount());
+            setInstant(ps, 10, entry.createdAt());
+        });
+
+        jdbcTemplate.batchUpdate(INSERT_ASSESSMENT, pending, pending.size(), (ps, entry) -> {
+            ps.setLong(1, entry.assessmentId());
+            ps.setDouble(2, entry.monthlyIncome().doubleValue());
+            ps.setDouble(3, entry.monthlyExpenses().doubleValue());
+            ps.setDouble(4, entry.totalMonthlyEmis().doubleValue());
+            ps.setDouble(5, entry.requestedLoanAmount().doubleValue());
+            ps.setInt(6, entry.age());
+            ps.setInt(7, entry.pastLoanDefaults());
+            ps.setInt(8, entry.creditHistoryLengthMonths());
+            ps.setString(9, entry.employmentType().name());
+            ps.setInt(10, entry.creditScore());
+            ps.setString(11, entry.riskLevel().name());
+            ps.setString(12, entry.decision().name());
+            setInstant(ps, 13, entry.createdAt());
+            // Same as the synchronous path: an unknown user leaves the assessment unlinked
+            if (entry.userId() != null && users.contains(entry.userId())) {
+                ps.setLong(14, entry.userId());
+            } else {
+                ps.setNull(14, Types.BIGINT);
+            }
+            ps.setBytes(15, entry.ruleOutcomes());
+            ps.setString(16, entry.ruleSetVersion());
+        });
+
+        return pending.size();
+    }
+
+    private Set<Long> existingIds(List<JournaledAssessment> entries) {
+        List<Long> ids = new ArrayList<>(entries.size());
+        for (JournaledAssessment entry : entries) {
+            ids.add(entry.assessmentId());
+        }
+        return selectIds("credit_assessment", ids);
+    }
+
+    private Set<Long> knownUsers(List<JournaledAssessment> entries) {
+        Set<Long> ids = new LinkedHashSet<>();
+        for (JournaledAssessment entry : entries) {
+            if (entry.userId() != null) {
+                ids.add(entry.userId());
+            }
+        }
+        return ids.isEmpty() ? Set.of() : selectIds("app_users", ids);
+    }
+
+    private Set<Long> selectIds(String table, Collection<Long> ids) {
+        String placeholders = String.join(",", Collections.nCopies(ids.size(), "?"));
+        List<Long> found = jdbcTemplate.queryForList(
+                "SELECT id FROM " + table + " WHERE id IN (" + placeholders + ")",
+                Long.class,
+                ids.toArray()
+        );
+        return new HashSet<>(found);
+    }
+
+    private static void setInstant(PreparedStatement ps, int index, Instant instant) throws SQLException {
+        ps.setTimestamp(index, Timestamp.from(instant), Calendar.getInstance(UTC));
+    }
+}
@@ -0,0 +1,172 @@
+package com.Raman.credit_risk_engine.journal;
+
+import com.Raman.credit_risk_engine.decision.Decision;
+import com.Raman.credit_risk_engine.decision.RiskLevel;
+import com.Raman.credit_risk_engine.dto.CreditRiskRequestDTO;
+import com.Raman.credit_risk_engine.entity.EmploymentType;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.Instant;
+
+/**
+ * One scored applicant as written to the {@link AssessmentJournal}.
+ *
+ * Carries everything the flusher needs to insert both the profile row and
+ * the assessment row, including the ids already returned to the caller.
+ * Rule outcomes are stored as {@code ReasonCode} bytes only. Records of
+ * format 1 predate rule set versions and decode with a null version.
+ */
+public record JournaledAssessment(
+        long assessmentId,
+        long profileId,
+        Long userId,
+        Instant createdAt,
+        BigDecimal monthlyIncome,
+        BigDecimal monthlyExpenses,
+        BigDecimal totalMonthlyEmis,
+        BigDecimal requestedLoanAmount,
+        int age,
+        int pastLoanDefaults,
+        int creditHistoryLengthMonths,
+        EmploymentType employmentType,
+        int creditScore,
+        RiskLevel riskLevel,
+        Decision decision,
+        byte[] ruleOutcomes,
+        String ruleSetVersion
+) {
+
+    private static final int FORMAT_VERSION = 2;
+    private static final int UNVERSIONED_FORMAT = 1;
+
+    public static JournaledAssessment of(
+            long assessmentId,
+            long profileId,
+            Long userId,
+            CreditRiskRequestDTO request,
+            int creditScore,
+            RiskLevel riskLevel,
+            Decision decision,
+            byte[] ruleOutcomes,
+            String ruleSetVersion
+    ) {
+        return new JournaledAssessment(
+                assessmentId,
+                profileId,
+                userId,
+                Instant.now(),
+                request.getMonthlyIncome(),
+                request.getMonthlyExpenses(),
+                request.getTotalMonthlyEmis(),
+                request.getRequestedLoanAmount(),
+                request.getAge(),
+                request.getPastLoanDefaults(),
+                request.getCreditHistoryLengthMonths(),
+                request.getEmploymentType(),
+                creditScore,
+                riskLevel,
+                decision,
+                ruleOutcomes,
+                ruleSetVersion
+        );
+    }
+
+    public byte[] encode() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(192);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(FORMAT_VERSION);
+            out.writeLong(assessmentId);
+            out.writeLong(profileId);
+            out.writeBoolean(userId != null);
+            out.writeLong(userId == null ? 0 : userId);
+            out.writeLong(createdAt.getEpochSecond());
+            out.writeInt(createdAt.getNano());
+            writeDecimal(out, monthlyIncome);
+            writeDecimal(out, monthlyExpenses);
+            writeDecimal(out, totalMonthlyEmis);
+            writeDecimal(out, requestedLoanAmount);
+            out.writeInt(age);
+            out.writeInt(pastLoanDefaults);
+            out.writeInt(creditHistoryLengthMonths);
+            out.writeUTF(employmentType.name());
+            out.writeInt(creditScore);
+            out.writeUTF(riskLevel.name());
+            out.writeUTF(decision.name());
+            out.writeByte(ruleOutcomes.length);
+            out.write(ruleOutcomes);
+            out.writeUTF(ruleSetVersion);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return bytes.toByteArray();
+    }
+
+    public static JournaledAssessment decode(byte[] payload) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload))) {
+            int version = in.readUnsignedByte();
+            if (version != FORMAT_VERSION && version != UNVERSIONED_FORMAT) {
+                throw new IllegalStateException("Unsupported journal record version " + version);
+            }
+            long assessmentId = in.readLong();
+            long profileId = in.readLong();
+            boolean hasUser = in.readBoolean();
+            long userId = in.readLong();
+            Instant createdAt = Instant.ofEpochSecond(in.readLong(), in.readInt());
+            BigDecimal monthlyIncome = readDecimal(in);
+            BigDecimal monthlyExpenses = readDecimal(in);
+            BigDecimal totalMonthlyEmis = readDecimal(in);
+            BigDecimal requestedLoanAmount = readDecimal(in);
+            int age = in.readInt();
+            int pastLoanDefaults = in.readInt();
+            int creditHistoryLengthMonths = in.readInt();
+            EmploymentType employmentType = EmploymentType.valueOf(in.readUTF());
+            int creditScore = in.readInt();
+            RiskLevel riskLevel = RiskLevel.valueOf(in.readUTF());
+            Decision decision = Decision.valueOf(in.readUTF());
+            byte[] ruleOutcomes = in.readNBytes(in.readUnsignedByte());
+            String ruleSetVersion = version == FORMAT_VERSION ? in.readUTF() : null;
+
+            return new JournaledAssessment(
+                    assessmentId,
+                    profileId,
+                    hasUser ? userId : null,
+                    createdAt,
+                    monthlyIncome,
+                    monthlyExpenses,
+                    totalMonthlyEmis,
+                    requestedLoanAmount,
+                    age,
+                    pastLoanDefaults,
+                    creditHistoryLengthMonths,
+                    employmentType,
+                    creditScore,
+                    riskLevel,
+                    decision,
+                    ruleOutcomes,
+                    ruleSetVersion
+            );
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private static void writeDecimal(DataOutputStream out, BigDecimal value) throws IOException {
+        byte[] unscaled = value.unscaledValue().toByteArray();
+        out.writeInt(value.scale());
+        out.writeShort(unscaled.length);
+        out.write(unscaled);
+    }
+
+    private static BigDecimal readDecimal(DataInputStream in) throws IOException {
+        int scale = in.readInt();
+        byte[] unscaled = in.readNBytes(in.readUnsignedShort());
+        return new BigDecimal(new BigInteger(unscaled), scale);
+    }
+}
@@ -0,0 +1,219 @@
+package com.Raman.credit_risk_engine.limit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Concurrency limit that adapts to observed latency.
+ *
+ * Completed requests are grouped into windows of {@code windowSamples}. At
+ * the end of each window the average latency of the window is compared to
+ * the no-load latency, the lowest latency seen recently:
+ *
+ * <pre>
+ * gradient  = clamp(tolerance * noLoadRtt / windowRtt, 0.5, 1)
+ * new limit = limit * gradient + sqrt(limit)
+ * </pre>
+ *
+ * While latency stays within {@code tolerance} of the no-load latency, the
+ * limit grows by its square root each window. As requests start to queue
+ * (in MySQL, the connection pool or the server) latency rises and the limit
+ * shrinks until the queue drains. The limit only grows while at least half
+ * of it is in use, so a quiet period cannot inflate it. Each new limit is
+ * blended into the current one with weight {@code smoothing}, except after
+ * a window with 503 responses, which cuts the limit by 10% at once.
+ *
+ * The no-load latency is the minimum over {@code baselineWindows} windows,
+ * after which it is re-measured, so it follows a lasting change in the
+ * system instead of treating it as load forever.
+ */
+@Component
+@ConditionalOnProperty(name = "credit-risk.concurrency-limit.enabled", havingValue = "true", matchIfMissing = true)
+public class AdaptiveConcurrencyLimit {
+
+    private static final double MIN_GRADIENT = 0.5;
+    private static final double DROP_BACKOFF = 0.9;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double tolerance;
+    private final int windowSamples;
+    private final double smoothing;
+    private final int baselineWindows;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile int limit;
+    private double smoothedLimit;
+
+    // Current window, guarded by windowLock
+    private final ReentrantLock windowLock = new ReentrantLock();
+    private int samples;
+    private long rttSum;
+    private long windowMinRtt = Long.MAX_VALUE;
+    private int maxInFlight;
+    private boolean dropped;
+    private long noLoadRtt = Long.MAX_VALUE;
+    private long nextNoLoadRtt = Long.MAX_VALUE;
+    private int windowsSinceBaseline;
+
+    private Counter rejections;
+
+    @Autowired
+    public AdaptiveConcurrencyLimit(
+            MeterRegistry registry,
+            @Value("${credit-risk.concurrency-limit.initial:20}") int initialLimit,
+            @Value("${credit-risk.concurrency-limit.min:4}") int minLimit,
+            @Value("${credit-risk.concurrency-limit.max:200}") int maxLimit,
+            @Value("${credit-risk.concurrency-limit.tolerance:1.5}") double tolerance,
+            @Value("${credit-risk.concurrency-limit.window-samples:50}") int windowSamples,
+            @Value("${credit-risk.concurrency-limit.smoothing:0.2}") double smoothing,
+            @Value("${credit-risk.concurrency-limit.baseline-windows:200}") int baselineWindows
+    ) {
+        this(initialLimit, minLimit, maxLimit, tolerance, windowSamples, smoothing, baselineWindows);
+
+        Gauge.builder("credit_risk.concurrency.limit", this, AdaptiveConcurrencyLimit::getLimit)
+                .description("Evaluations currently allowed in flight")
+                .register(registry);
+        Gauge.builder("credit_risk.concurrency.in_flight", this, AdaptiveConcurrencyLimit::getInFlight)
+                .description("Evaluations in flight")
+                .register(registry);
+        Gauge.builder("credit_risk.concurrency.no_load_rtt", this, limit -> limit.getNoLoadRttNanos() / 1e9)
+                .description("Lowest recent evaluation latency, the no-load baseline")
+                .baseUnit("seconds")
+                .register(registry);
+        this.rejections = Counter.builder("credit_risk.concurrency.rejected")
+                .description("Evaluations rejected by the concurrency limit")
+                .register(registry);
+    }
+
+    AdaptiveConcurrencyLimit(
+            int initialLimit,
+            int minLimit,
+            int maxLimit,
+            double tolerance,
+            int windowSamples,
+            double smoothing,
+            int baselineWindows
+    ) {
+        if (minLimit < 1 || minLimit > initialLimit || initialLimit > maxLimit) {
+            throw new IllegalArgumentException("Concurrency limits must satisfy 1 <= min <= initial <= max");
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.tolerance = tolerance;
+        this.windowSamples = Math.max(1, windowSamples);
+        this.smoothing = smoothing;
+        this.baselineWindows = Math.max(1, baselineWindows);
+        this.limit = initialLimit;
+        this.smoothedLimit = initialLimit;
+    }
+
+    /**
+     * @return whether the caller may proceed; if so it must call
+     *         {@link #release} when done
+     */
+    public boolean tryAcquire() {
+        if (inFlight.incrementAndGet() > limit) {
+            inFlight.decrementAndGet();
+            if (rejections != null) {
+                rejections.increment();
+            }
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * @param startNanos {@link System#nanoTime()} when the request was admitted
+     * @param dropped    whether the request failed for lack of capacity
+     */
+    public void release(long startNanos, boolean dropped) {
+        int current = inFlight.getAndDecrement();
+        sample(System.nanoTime() - startNanos, current, dropped);
+    }
+
+    /**
+     * Releases a request without recording its latency, for requests that
+     * did not run an evaluation (rejected input, replays). Their latency says
+     * nothing about the load on the evaluation path, and a fast one would
+     * otherwise become the no-load baseline.
+     */
+    public void releaseUnsampled() {
+        inFlight.decrementAndGet();
+    }
+
+    void sample(long rttNanos, int inFlightAtCompletion, boolean droppedRequest) {
+        windowLock.lock();
+        try {
+            samples++;
+            rttSum += rttNanos;
+            windowMinRtt = Math.min(windowMinRtt, rttNanos);
+            maxInFlight = Math.max(maxInFlight, inFlightAtCompletion);
+            dropped |= droppedRequest;
+
+            if (samples >= windowSamples) {
+                closeWindow();
+            }
+        } finally {
+            windowLock.unlock();
+        }
+    }
+
+    private void closeWindow() {
+        noLoadRtt = Math.min(noLoadRtt, windowMinRtt);
+        nextNoLoadRtt = Math.min(nextNoLoadRtt, windowMinRtt);
+        if (++windowsSinceBaseline >= baselineWindows) {
+            noLoadRtt = nextNoLoadRtt;
+            nextNoLoadRtt = Long.MAX_VALUE;
+            windowsSinceBaseline = 0;
+        }
+
+        double current = smoothedLimit;
+        double next;
+        if (dropped) {
+            next = current * DROP_BACKOFF;
+        } else {
+            double windowRtt = (double) rttSum / samples;
+            double gradient = Math.max(MIN_GRADIENT, Math.min(1, tolerance * noLoadRtt / windowRtt));
+            double target = current * gradient + Math.sqrt(current);
+            if (target > current && maxInFlight < current / 2) {
+                target = current;
+            }
+            next = current * (1 - smoothing) + target * smoothing;
+        }
+
+        smoothedLimit = Math.max(minLimit, Math.min(maxLimit, next));
+        limit = (int) smoothedLimit;
+
+        samples = 0;
+        rttSum = 0;
+        windowMinRtt = Long.MAX_VALUE;
+        maxInFlight = 0;
+        dropped = false;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    public long getNoLoadRttNanos() {
+        windowLock.lock();
+        try {
+            return noLoadRtt == Long.MAX_VALUE ? 0 : noLoadRtt;
+        } finally {
+            windowLock.unlock();
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.Raman.credit_risk_engine.limit;
+
+import com.Raman.credit_risk_engine.exception.ConcurrencyLimitExceededException;
+import com.Raman.credit_risk_engine.service.IdempotentEvaluationService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Admits {@code /evaluate} requests through the {@link AdaptiveConcurrencyLimit}.
+ *
+ * Runs before the request body is read, so a rejected request costs almost
+ * nothing. Only requests that ran an evaluation feed the limit: a 2xx that
+ * was not an Idempotency-Key replay is a latency sample, and a 503 (no
+ * database connection) counts as a drop. Validation failures, 404s, rule
+ * failures and replays finish in microseconds and are not sampled.
+ */
+@Component
+@ConditionalOnProperty(name = "credit-risk.concurrency-limit.enabled", havingValue = "true", matchIfMissing = true)
+public class ConcurrencyLimitInterceptor implements HandlerInterceptor {
+
+    private static final String STARTED = ConcurrencyLimitInterceptor.class.getName() + ".started";
+
+    private final AdaptiveConcurrencyLimit limit;
+    private final int retryAfterSeconds;
+
+    public ConcurrencyLimitInterceptor(
+            AdaptiveConcurrencyLimit limit,
+            @Value("${credit-risk.concurrency-limit.retry-after-seconds:1}") int retryAfterSeconds
+    ) {
+        this.limit = limit;
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!limit.tryAcquire()) {
+            throw new ConcurrencyLimitExceededException(limit.getLimit(), retryAfterSeconds);
+        }
+        request.setAttribute(STARTED, System.nanoTime());
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        Object started = request.getAttribute(STARTED);
+        if (started == null) {
+            return;
+        }
+        int status = response.getStatus();
+        if (status == HttpStatus.SERVICE_UNAVAILABLE.value()) {
+            limit.release((Long) started, true);
+        } else if (status >= 200 && status < 300
+                && response.getHeader(IdempotentEvaluationService.REPLAYED_HEADER) == null) {
+            limit.release((Long) started, false);
+        } else {
+            limit.releaseUnsampled();
+        }
+    }
+}
@@ -1,9 +1,28 @@
 package com.Raman.credit_risk_engine.metrics;
 
+import com.Raman.credit_risk_engine.entity.UserFinancialProfile;
+import com.Raman.credit_risk_engine.exception.RuleEvaluationException;
+import com.Raman.credit_risk_engine.rule.RuleInput;
+
 import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Set;
 
+/**
+ * Derived metrics of one profile.
+ *
+ * Metrics built by {@link FinancialMetricsService} are computed on first
+ * access and cached, so a metric that no rule reads is never computed.
+ * Instances are not thread-safe; each evaluation gets its own.
+ */
 public class FinancialMetrics {
 
+    private static final int SCALE = 2;
+    private static final RoundingMode ROUNDING_MODE = RoundingMode.HALF_UP;
+
+    // Source of lazily computed metrics; null when all metrics were given up front
+    private final UserFinancialProfile profile;
+
     /**
      * Debt-to-Income Ratio (DTI)
      * Unit: Percentage (e.g., 42.5 means 42.5%)
@@ -30,20 +49,100 @@ public class FinancialMetrics {
             BigDecimal disposableIncome,
             BigDecimal loanToIncomeRatio
     ) {
+        this.profile = null;
         this.debtToIncomeRatio = debtToIncomeRatio;
         this.disposableIncome = disposableIncome;
         this.loanToIncomeRatio = loanToIncomeRatio;
     }
 
+    // Lazy metrics of a profile that has already been validated
+    FinancialMetrics(UserFinancialProfile profile) {
+        this.profile = profile;
+    }
+
     public BigDecimal getDebtToIncomeRatio() {
+        if (debtToIncomeRatio == null) {
+            debtToIncomeRatio = computeDebtToIncomeRatio(
+                    profile.getTotalMonthlyEmis(),
+                    profile.getMonthlyIncome()
+            );
+        }
         return debtToIncomeRatio;
     }
 
     public BigDecimal getDisposableIncome() {
+        if (disposableIncome == null) {
+            disposableIncome = computeDisposableIncome(
+                    profile.getMonthlyIncome(),
+                    profile.getMonthlyExpenses(),
+                    profile.getTotalMonthlyEmis()
+            );
+        }
         return disposableIncome;
     }
 
     public BigDecimal getLoanToIncomeRatio() {
+        if (loanToIncomeRatio == null) {
+            loanToIncomeRatio = computeLoanToIncomeRatio(
+                    profile.getRequestedLoanAmount(),
+                    profile.getMonthlyIncome()
+            );
+        }
         return loanToIncomeRatio;
     }
+
+    // Computes the given metrics now; profile fields in the set are ignored
+    void compute(Set<RuleInput> metrics) {
+        for (RuleInput metric : metrics) {
+            switch (metric) {
+                case DEBT_TO_INCOME_RATIO -> getDebtToIncomeRatio();
+                case DISPOSABLE_INCOME -> getDisposableIncome();
+                case LOAN_TO_INCOME_RATIO -> getLoanToIncomeRatio();
+                default -> { }
+            }
+        }
+    }
+
+    private static BigDecimal computeDebtToIncomeRatio(
+            BigDecimal totalMonthlyEmis,
+            BigDecimal monthlyIncome
+    ) {
+        try {
+            return totalMonthlyEmis
+                    .divide(monthlyIncome, SCALE + 2, ROUNDING_MODE)
+                    .multiply(BigDecimal.valueOf(100))
+                    .setScale(SCALE, ROUNDING_MODE);
+        } catch (ArithmeticException ex) {
+            throw new RuleEvaluationException("Metric computation failed", ex);
+        }
+    }
+
+    private static BigDecimal computeDisposableIncome(
+            BigDecimal monthlyIncome,
+            BigDecimal monthlyExpenses,
+            BigDecimal totalMonthlyEmis
+    ) {
+        return monthlyIncome
+                .subtract(monthlyExpenses.add(totalMonthlyEmis))
+                .setScale(SCALE, ROUNDING_MODE);
+    }
+
+    private static BigDecimal computeLoanToIncomeRatio(
+            BigDecimal requestedLoanAmount,
+            BigDecimal monthlyIncome
+    ) {
+        BigDecimal annualIncome = monthlyIncome.multiply(BigDecimal.valueOf(12));
+
+        if (annualIncome.compareTo(BigDecimal.ZERO) <= 0) {
+            throw new RuleEvaluationException("Annual income must be positive");
+        }
+
+        try {
+            return requestedLoanAmount
+                    .divide(annualIncome, SCALE + 2, ROUNDING_MODE)
+                    .setScale(SCALE, ROUNDING_MODE);
+        } catch (ArithmeticException ex) {
+            throw new RuleEvaluationException("Metric computation failed", ex);
+        }
+    }
 }
@@ -2,43 +2,36 @@ package com.Raman.credit_risk_engine.metrics;
 
 import com.Raman.credit_risk_engine.entity.UserFinancialProfile;
 import com.Raman.credit_risk_engine.exception.RuleEvaluationException;
+import com.Raman.credit_risk_engine.rule.RuleInput;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
-import java.math.RoundingMode;
+import java.util.Set;
 
 @Service
 public class FinancialMetricsService {
 
-    private static final int SCALE = 2;
-    private static final RoundingMode ROUNDING_MODE = RoundingMode.HALF_UP;
-
+    /**
+     * Validates the profile and returns its metrics. Each metric is computed
+     * when a rule first reads it, so metrics no active rule uses cost nothing.
+     */
     public FinancialMetrics computeMetrics(UserFinancialProfile profile) {
 
         validateProfile(profile);
 
-        try {
-            BigDecimal dti = computeDebtToIncomeRatio(
-                    profile.getTotalMonthlyEmis(),
-                    profile.getMonthlyIncome()
-            );
-
-            BigDecimal disposableIncome = computeDisposableIncome(
-                    profile.getMonthlyIncome(),
-                    profile.getMonthlyExpenses(),
-                    profile.getTotalMonthlyEmis()
-            );
-
-            BigDecimal lti = computeLoanToIncomeRatio(
-                    profile.getRequestedLoanAmount(),
-                    profile.getMonthlyIncome()
-            );
+        return new FinancialMetrics(profile);
+    }
 
-            return new FinancialMetrics(dti, disposableIncome, lti);
+    /**
+     * Same as {@link #computeMetrics(UserFinancialProfile)}, but computes
+     * {@code metrics} right away, so their cost is spent (and timed) here
+     * rather than in the first rule that reads them.
+     */
+    public FinancialMetrics computeMetrics(UserFinancialProfile profile, Set<RuleInput> metrics) {
 
-        } catch (ArithmeticException ex) {
-            throw new RuleEvaluationException("Metric computation failed", ex);
-        }
+        FinancialMetrics computed = computeMetrics(profile);
+        computed.compute(metrics);
+        return computed;
     }
 
     private void validateProfile(UserFinancialProfile profile) {
@@ -59,39 +52,4 @@ public class FinancialMetricsService {
             throw new RuleEvaluationException("Monthly EMIs exceed income");
         }
     }
-
-    private BigDecimal computeDebtToIncomeRatio(
-            BigDecimal totalMonthlyEmis,
-            BigDecimal monthlyIncome
-    ) {
-        return totalMonthlyEmis
-                .divide(monthlyIncome, SCALE + 2, ROUNDING_MODE)
-                .multiply(BigDecimal.valueOf(100))
-                .setScale(SCALE, ROUNDING_MODE);
-    }
-
-    private BigDecimal computeDisposableIncome(
-            BigDecimal monthlyIncome,
-            BigDecimal monthlyExpenses,
-            BigDecimal totalMonthlyEmis
-    ) {
-        return monthlyIncome
-                .subtract(monthlyExpenses.add(totalMonthlyEmis))
-                .setScale(SCALE, ROUNDING_MODE);
-    }
-
-    private BigDecimal computeLoanToIncomeRatio(
-            BigDecimal requestedLoanAmount,
-            BigDecimal monthlyIncome
-    ) {
-        BigDecimal annualIncome = monthlyIncome.multiply(BigDecimal.valueOf(12));
-
-        if (annualIncome.compareTo(BigDecimal.ZERO) <= 0) {
-            throw new RuleEvaluationException("Annual income must be positive");
-        }
-
-        return requestedLoanAmount
-                .divide(annualIncome, SCALE + 2, ROUNDING_MODE)
-                .setScale(SCALE, ROUNDING_MODE);
-    }
 }
@@ -0,0 +1,328 @@
+package com.Raman.credit_risk_engine.metrics;
+
+import com.Raman.credit_risk_engine.entity.EmploymentType;
+import com.Raman.credit_risk_engine.entity.UserFinancialProfile;
+import com.Raman.credit_risk_engine.exception.RuleEvaluationException;
+
+import java.math.BigDecimal;
+
+/**
+ * Primitive fixed-point counterpart of {@link UserFinancialProfile} plus
+ * {@link FinancialMetrics}.
+ *
+ * Units:
+ * - money: minor units (cents), e.g. 1234.50 -> 123450
+ * - DTI: basis points of a percent, e.g. 42.50% -> 4250
+ * - LTI: hundredths, e.g. 3.57x -> 357
+ *
+ * Every value is identical to what {@link FinancialMetricsService} produces
+ * with HALF_UP at scale 2. For cents inputs E (EMIs), I (income) and L (loan):
+ * - DTI: {@code E.divide(I, 4, HALF_UP) * 100} at scale 2 has unscaled value
+ *   {@code round(E * 10^4 / I)}, because multiplying by 100 and dropping two
+ *   trailing zeros is exact.
+ * - LTI: {@code L.divide(12 * I, 4, HALF_UP).setScale(2, HALF_UP)} is two
+ *   successive HALF_UP roundings, reproduced literally.
+ * - Disposable income is a subtraction and needs no rounding.
+ * Integer HALF_UP division is exact while all intermediates fit in a long,
+ * which {@link #MAX_AMOUNT_CENTS} guarantees.
+ *
+ * Instances are mutable and meant to be reused; {@code load} overwrites all
+ * fields. NOT thread-safe.
+ */
+public final class FixedPointMetrics {
+
+    /**
+     * Largest supported amount: 10^12 in currency units. Keeps
+     * {@code 2 * amount * 10^4 + 12 * income} below {@link Long#MAX_VALUE}.
+     */
+    public static final long MAX_AMOUNT_CENTS = 100_000_000_000_000L;
+
+    private static final int MONEY_SCALE = 2;
+    private static final BigDecimal MAX_AMOUNT = BigDecimal.valueOf(MAX_AMOUNT_CENTS, MONEY_SCALE);
+
+    private long monthlyIncomeCents;
+    private long monthlyExpensesCents;
+    private long totalMonthlyEmisCents;
+    private long requestedLoanAmountCents;
+    private int pastLoanDefaults;
+    private int creditHistoryLengthMonths;
+    private EmploymentType employmentType;
+    private int age;
+
+    private long debtToIncomeBasisPoints;
+    private long disposableIncomeCents;
+    private long loanToIncomeHundredths;
+
+    /**
+     * Loads a profile and computes its metrics.
+     *
+     * @throws RuleEvaluationException if the profile is invalid or an amount
+     *                                 is not representable in whole cents
+     */
+    public FixedPointMetrics load(UserFinancialProfile profile) {
+        return load(
+                toCents(profile.getMonthlyIncome()),
+                toCents(profile.getMonthlyExpenses()),
+                toCents(profile.getTotalMonthlyEmis()),
+                toCents(profile.getRequestedLoanAmount()),
+                profile.getPastLoanDefaults(),
+                profile.getCreditHistoryLengthMonths(),
+                profile.getEmploymentType(),
+                profile.getAge()
+        );
+    }
+
+    /**
+     * Loads raw facts and computes their metrics.
+     *
+     * @throws RuleEvaluationException if the facts are invalid
+     */
+    public FixedPointMetrics load(
+            long monthlyIncomeCents,
+            long monthlyExpensesCents,
+            long totalMonthlyEmisCents,
+            long requestedLoanAmountCents,
+            int pastLoanDefaults,
+            int creditHistoryLengthMonths,
+            EmploymentType employmentType,
+            int age
+    ) {
+        validate(monthlyIncomeCents, monthlyExpensesCents, totalMonthlyEmisCents, requestedLoanAmountCents);
+
+        this.monthlyIncomeCents = monthlyIncomeCents;
+        this.monthlyExpensesCents = monthlyExpensesCents;
+        this.totalMonthlyEmisCents = totalMonthlyEmisCents;
+        this.requestedLoanAmountCents = requestedLoanAmountCents;
+        this.pastLoanDefaults = pastLoanDefaults;
+        this.creditHistoryLengthMonths = creditHistoryLengthMonths;
+        this.employmentType = employmentType;
+        this.age = age;
+
+        this.debtToIncomeBasisPoints = debtToIncomeBasisPoints(totalMonthlyEmisCents, monthlyIncomeCents);
+        this.disposableIncomeCents = disposableIncomeCents(monthlyIncomeCents, monthlyExpensesCents, totalMonthlyEmisCents);
+        this.loanToIncomeHundredths = loanToIncomeHundredths(requestedLoanAmountCents, monthlyIncomeCents);
+        return this;
+    }
+
+    /**
+     * Loads facts together with metrics that were already computed from them
+     * by the static functions of this class, e.g. in a columnar pass over
+     * many applicants. Performs no validation.
+     */
+    public FixedPointMetrics loadComputed(
+            long monthlyIncomeCents,
+            long monthlyExpensesCents,
+            long totalMonthlyEmisCents,
+            long requestedLoanAmountCents,
+            int pastLoanDefaults,
+            int creditHistoryLengthMonths,
+            EmploymentType employmentType,
+            int age,
+            long debtToIncomeBasisPoints,
+            long disposableIncomeCents,
+            long loanToIncomeHundredths
+    ) {
+        this.monthlyIncomeCents = monthlyIncomeCents;
+        this.monthlyExpensesCents = monthlyExpensesCents;
+        this.totalMonthlyEmisCents = totalMonthlyEmisCents;
+        this.requestedLoanAmountCents = requestedLoanAmountCents;
+        this.pastLoanDefaults = pastLoanDefaults;
+        this.creditHistoryLengthMonths = creditHistoryLengthMonths;
+        this.employmentType = employmentType;
+        this.age = age;
+
+        this.debtToIncomeBasisPoints = debtToIncomeBasisPoints;
+        this.disposableIncomeCents = disposableIncomeCents;
+        this.loanToIncomeHundredths = loanToIncomeHundredths;
+        return this;
+    }
+
+    /**
+     * Same checks, in the same order and with the same messages, as
+     * {@link FinancialMetricsService}.
+     */
+    public static void validate(long incomeCents, long expensesCents, long emisCents, long loanCents) {
+
+        if (incomeCents <= 0) {
+            throw new RuleEvaluationException("Monthly income must be greater than zero");
+        }
+
+        if (expensesCents > incomeCents) {
+            throw new RuleEvaluationException("Monthly expenses exceed income");
+        }
+
+        if (emisCents > incomeCents) {
+            throw new RuleEvaluationException("Monthly EMIs exceed income");
+        }
+
+        if (incomeCents > MAX_AMOUNT_CENTS || Math.abs(expensesCents) > MAX_AMOUNT_CENTS
+                || Math.abs(emisCents) > MAX_AMOUNT_CENTS || Math.abs(loanCents) > MAX_AMOUNT_CENTS) {
+            throw new RuleEvaluationException("Amount exceeds supported fixed-point range");
+        }
+    }
+
+    // ------------------------------------------------------------------
+    // Pure metric functions, usable directly over primitive columns
+    // ------------------------------------------------------------------
+
+    /**
+     * DTI in basis points of a percent: {@code round(emis * 10^4 / income)}.
+     */
+    public static long debtToIncomeBasisPoints(long totalMonthlyEmisCents, long monthlyIncomeCents) {
+        return divideHalfUp(totalMonthlyEmisCents * 10_000L, monthlyIncomeCents);
+    }
+
+    public static long disposableIncomeCents(
+            long monthlyIncomeCents,
+            long monthlyExpensesCents,
+            long totalMonthlyEmisCents
+    ) {
+        return monthlyIncomeCents - (monthlyExpensesCents + totalMonthlyEmisCents);
+    }
+
+    /**
+     * LTI in hundredths: rounded to 4 places first, then to 2, both HALF_UP.
+     */
+    public static long loanToIncomeHundredths(long requestedLoanAmountCents, long monthlyIncomeCents) {
+        long tenThousandths = divideHalfUp(requestedLoanAmountCents * 10_000L, monthlyIncomeCents * 12L);
+        return divideHalfUp(tenThousandths, 100L);
+    }
+
+    /**
+     * Integer division rounding half away from zero, as {@code RoundingMode.HALF_UP}.
+     *
+     * @param divisor must be positive
+     */
+    static long divideHalfUp(long dividend, long divisor) {
+        if (dividend >= 0) {
+            return (2 * dividend + divisor) / (2 * divisor);
+        }
+        return -((-2 * dividend + divisor) / (2 * divisor));
+    }
+
+    // ------------------------------------------------------------------
+    // Unit conversion and comparison helpers for rule thresholds
+    // ------------------------------------------------------------------
+
+    /**
+     * @return whether the amount has no more than two significant decimals
+     *         and fits the supported range
+     */
+    public static boolean isRepresentable(BigDecimal amount) {
+        if (amount == null) {
+            return false;
+        }
+        if (amount.scale() > MONEY_SCALE && amount.stripTrailingZeros().scale() > MONEY_SCALE) {
+            return false;
+        }
+        return amount.abs().compareTo(MAX_AMOUNT) <= 0;
+    }
+
+    /**
+     * Converts an amount to cents without rounding.
+     *
+     * @throws RuleEvaluationException if the amount has sub-cent precision or
+     *                                 exceeds {@link #MAX_AMOUNT_CENTS}
+     */
+    public static long toCents(BigDecimal amount) {
+        try {
+            long cents = amount.setScale(MONEY_SCALE).unscaledValue().longValueExact();
+            if (Math.abs(cents) > MAX_AMOUNT_CENTS) {
+                throw new ArithmeticException("Out of range");
+            }
+            return cents;
+        } catch (ArithmeticException ex) {
+            throw new RuleEvaluationException("Amount not representable in whole cents: " + amount, ex);
+        }
+    }
+
+    /**
+     * Whole currency units to cents, for rule thresholds.
+     */
+    public static long cents(long units) {
+        return units * 100L;
+    }
+
+    /**
+     * Whole percent to basis points, for rule thresholds.
+     */
+    public static long basisPoints(long percent) {
+        return percent * 100L;
+    }
+
+    /**
+     * Percent with at most two decimals to basis points, for configured
+     * rule thresholds.
+     *
+     * @throws ArithmeticException if the percent has more than two decimals
+     */
+    public static long basisPoints(BigDecimal percent) {
+        return percent.movePointRight(2).longValueExact();
+    }
+
+    /**
+     * Amount with at most two decimals to cents, for configured rule
+     * thresholds.
+     *
+     * @throws ArithmeticException if the amount has sub-cent precision
+     */
+    public static long cents(BigDecimal units) {
+        return units.movePointRight(2).longValueExact();
+    }
+
+    /**
+     * Converts the metrics to their {@link BigDecimal} form. The result is
+     * {@code equals} to {@link FinancialMetricsService#computeMetrics}.
+     */
+    public FinancialMetrics toFinancialMetrics() {
+        return new FinancialMetrics(
+                BigDecimal.valueOf(debtToIncomeBasisPoints, MONEY_SCALE),
+                BigDecimal.valueOf(disposableIncomeCents, MONEY_SCALE),
+                BigDecimal.valueOf(loanToIncomeHundredths, MONEY_SCALE)
+        );
+    }
+
+    public long getMonthlyIncomeCents() {
+        return monthlyIncomeCents;
+    }
+
+    public long getMonthlyExpensesCents() {
+        return monthlyExpensesCents;
+    }
+
+    public long getTotalMonthlyEmisCents() {
+        return totalMonthlyEmisCents;
+    }
+
+    public long getRequestedLoanAmountCents() {
+        return requestedLoanAmountCents;
+    }
+
+    public int getPastLoanDefaults() {
+        return pastLoanDefaults;
+    }
+
+    public int getCreditHistoryLengthMonths() {
+        return creditHistoryLengthMonths;
+    }
+
+    public EmploymentType getEmploymentType() {
+        return employmentType;
+    }
+
+    public int getAge() {
+        return age;
+    }
+
+    public long getDebtToIncomeBasisPoints() {
+        return debtToIncomeBasisPoints;
+    }
+
+    public long getDisposableIncomeCents() {
+        return disposableIncomeCents;
+    }
+
+    public long getLoanToIncomeHundredths() {
+        return loanToIncomeHundredths;
+    }
+}
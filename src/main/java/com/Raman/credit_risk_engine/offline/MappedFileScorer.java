@@ -0,0 +1,528 @@
+package com.Raman.credit_risk_engine.offline;
+
+import com.Raman.credit_risk_engine.decision.DecisionOutcome;
+import com.Raman.credit_risk_engine.entity.EmploymentType;
+import com.Raman.credit_risk_engine.entity.UserFinancialProfile;
+import com.Raman.credit_risk_engine.exception.RuleEvaluationException;
+import com.Raman.credit_risk_engine.metrics.FinancialMetricsService;
+import com.Raman.credit_risk_engine.metrics.FixedPointMetrics;
+import com.Raman.credit_risk_engine.service.BucketScoringEngine;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.math.BigDecimal;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.StringJoiner;
+
+/**
+ * Scores a CSV extract straight from a memory-mapped file.
+ *
+ * Columns follow the {@code CreditRiskRequestDTO} field order:
+ * monthlyIncome, monthlyExpenses, totalMonthlyEmis, pastLoanDefaults,
+ * creditHistoryLengthMonths, employmentType, age, requestedLoanAmount.
+ * A header line is skipped if present.
+ *
+ * Fields are parsed from the mapped bytes directly into cents and scored
+ * through the {@link BucketScoringEngine} table, without creating a String
+ * per field. A row with sub-cent or out-of-range amounts is re-parsed and
+ * scored through the BigDecimal pipeline instead, so every row gets the same
+ * result as the REST API under the same rule set.
+ *
+ * The file is mapped in windows of at most {@code windowSize} bytes, each cut
+ * at a line boundary, so inputs larger than 2 GB are supported.
+ */
+public class MappedFileScorer {
+
+    static final int DEFAULT_WINDOW_SIZE = 1 << 30;
+
+    private static final int OUTPUT_BUFFER_SIZE = 1 << 16;
+    private static final int FIELD_COUNT = 8;
+    private static final int MAX_FAST_UNIT_DIGITS = 13;
+
+    private static final byte[] HEADER =
+            "record,creditScore,riskLevel,decision,error\n".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[][] EMPLOYMENT_TYPES = names(EmploymentType.values());
+
+    private final BucketScoringEngine bucketScoringEngine;
+    private final FinancialMetricsService financialMetricsService;
+    private final int windowSize;
+
+    public MappedFileScorer(BucketScoringEngine bucketScoringEngine, FinancialMetricsService financialMetricsService) {
+        this(bucketScoringEngine, financialMetricsService, DEFAULT_WINDOW_SIZE);
+    }
+
+    MappedFileScorer(
+            BucketScoringEngine bucketScoringEngine,
+            FinancialMetricsService financialMetricsService,
+            int windowSize
+    ) {
+        this.bucketScoringEngine = bucketScoringEngine;
+        this.financialMetricsService = financialMetricsService;
+        this.windowSize = windowSize;
+    }
+
+    /**
+     * Scores every record of {@code input} and writes one CSV result line per
+     * record to {@code output}, in input order.
+     */
+    public OfflineScoringReport score(Path input, Path output) throws IOException {
+
+        resetHeapPeaks();
+        String ruleSetVersion = bucketScoringEngine.ruleSetVersion();
+        long start = System.nanoTime();
+        Pass pass;
+
+        try (FileChannel channel = FileChannel.open(input, StandardOpenOption.READ);
+             OutputStream out = new BufferedOutputStream(Files.newOutputStream(output), OUTPUT_BUFFER_SIZE)) {
+
+            out.write(HEADER);
+            pass = new Pass(out);
+
+            long size = channel.size();
+            long position = 0;
+
+            while (position < size) {
+                int length = (int) Math.min(windowSize, size - position);
+                MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+
+                int end = position + length == size ? length : lastNewline(window, length) + 1;
+                if (end == 0) {
+                    throw new IOException("Line at offset " + position + " is longer than " + windowSize + " bytes");
+                }
+
+                pass.scan(window, end);
+                position += end;
+            }
+        }
+
+        return new OfflineScoringReport(
+                ruleSetVersion, pass.records, pass.rejected, System.nanoTime() - start, heapPeakBytes());
+    }
+
+    private static int lastNewline(MappedByteBuffer window, int length) {
+        for (int i = length - 1; i >= 0; i--) {
+            if (window.get(i) == '\n') {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * State of one scoring run: the parse cursor, the reusable metrics holder
+     * and the output stream.
+     */
+    private final class Pass {
+
+        private final OutputStream out;
+        private final FixedPointMetrics cursor = new FixedPointMetrics();
+        private final byte[] digits = new byte[20];
+
+        private MappedByteBuffer buffer;
+        private int pos;
+        private int limit;
+        private boolean representable;
+        private boolean headerChecked;
+
+        private long records;
+        private long rejected;
+
+        Pass(OutputStream out) {
+            this.out = out;
+        }
+
+        void scan(MappedByteBuffer window, int end) throws IOException {
+            buffer = window;
+            int lineStart = 0;
+            for (int i = 0; i < end; i++) {
+                if (window.get(i) == '\n') {
+                    line(lineStart, i);
+                    lineStart = i + 1;
+                }
+            }
+            if (lineStart < end) {
+                line(lineStart, end);
+            }
+        }
+
+        private void line(int from, int to) throws IOException {
+            if (to > from && buffer.get(to - 1) == '\r') {
+                to--;
+            }
+            pos = from;
+            limit = to;
+            skipSpaces();
+            if (pos == limit) {
+                return;
+            }
+            if (!headerChecked) {
+                headerChecked = true;
+                if (isLetter(buffer.get(pos))) {
+                    return;
+                }
+            }
+
+            long record = records++;
+            try {
+                writeResult(record, scoreLine(from, to));
+            } catch (RuleEvaluationException | IllegalArgumentException ex) {
+                rejected++;
+                writeError(record, ex.getMessage());
+            }
+        }
+
+        private DecisionOutcome scoreLine(int from, int to) {
+            representable = true;
+
+            long income = amount();
+            long expenses = amount();
+            long emis = amount();
+            int defaults = integer();
+            int history = integer();
+            EmploymentType employmentType = employmentType();
+            int age = integer();
+            long loan = amount();
+            if (pos != limit) {
+                throw new IllegalArgumentException("Expected " + FIELD_COUNT + " fields");
+            }
+
+            if (!representable) {
+                return scoreBigDecimal(from, to);
+            }
+
+            checkConstraints(income, expenses, emis, defaults, history, age, loan);
+            cursor.load(income, expenses, emis, loan, defaults, history, employmentType, age);
+
+            if (bucketScoringEngine.supportsFixedPoint()) {
+                return bucketScoringEngine.evaluate(cursor);
+            }
+            return scoreProfile(profile(
+                    BigDecimal.valueOf(income, 2),
+                    BigDecimal.valueOf(expenses, 2),
+                    BigDecimal.valueOf(emis, 2),
+                    defaults,
+                    history,
+                    employmentType,
+                    age,
+                    BigDecimal.valueOf(loan, 2)
+            ));
+        }
+
+        // Rare path: decode the row as text and score it exactly like the API
+        private DecisionOutcome scoreBigDecimal(int from, int to) {
+            byte[] bytes = new byte[to - from];
+            buffer.get(from, bytes);
+            String[] fields = new String(bytes, StandardCharsets.US_ASCII).split(",", -1);
+
+            BigDecimal income = new BigDecimal(fields[0].trim());
+            BigDecimal expenses = new BigDecimal(fields[1].trim());
+            BigDecimal emis = new BigDecimal(fields[2].trim());
+            int defaults = Integer.parseInt(fields[3].trim());
+            int history = Integer.parseInt(fields[4].trim());
+            EmploymentType employmentType = EmploymentType.valueOf(fields[5].trim());
+            int age = Integer.parseInt(fields[6].trim());
+            BigDecimal loan = new BigDecimal(fields[7].trim());
+
+            checkConstraints(
+                    constraintCents(income),
+                    constraintCents(expenses),
+                    constraintCents(emis),
+                    defaults,
+                    history,
+                    age,
+                    constraintCents(loan)
+            );
+            return scoreProfile(profile(income, expenses, emis, defaults, history, employmentType, age, loan));
+        }
+
+        private DecisionOutcome scoreProfile(UserFinancialProfile profile) {
+            return bucketScoringEngine.evaluate(profile, financialMetricsService.computeMetrics(profile));
+        }
+
+        // ------------------------------------------------------------------
+        // Field parsers; each consumes its field and the following separator
+        // ------------------------------------------------------------------
+
+        private long amount() {
+            skipSpaces();
+            boolean negative = consume('-');
+
+            long units = 0;
+            int unitDigits = 0;
+            while (pos < limit && isDigit(buffer.get(pos))) {
+                units = units * 10 + (buffer.get(pos++) - '0');
+                unitDigits++;
+            }
+
+            long fraction = 0;
+            int fractionDigits = 0;
+            if (consume('.')) {
+                while (pos < limit && isDigit(buffer.get(pos))) {
+                    byte digit = buffer.get(pos++);
+                    if (fractionDigits < 2) {
+                        fraction = fraction * 10 + (digit - '0');
+                    } else if (digit != '0') {
+                        representable = false;
+                    }
+                    fractionDigits++;
+                }
+            }
+
+            if (unitDigits + fractionDigits == 0) {
+                throw new IllegalArgumentException("Malformed amount in record");
+            }
+            endField();
+
+            if (unitDigits > MAX_FAST_UNIT_DIGITS) {
+                representable = false;
+                return 0;
+            }
+            long cents = units * 100 + (fractionDigits == 1 ? fraction * 10 : fraction);
+            if (cents > FixedPointMetrics.MAX_AMOUNT_CENTS) {
+                representable = false;
+            }
+            return negative ? -cents : cents;
+        }
+
+        private int integer() {
+            skipSpaces();
+            boolean negative = consume('-');
+
+            long value = 0;
+            int count = 0;
+            while (pos < limit && isDigit(buffer.get(pos))) {
+                value = value * 10 + (buffer.get(pos++) - '0');
+                if (value > Integer.MAX_VALUE) {
+                    throw new IllegalArgumentException("Integer field out of range");
+                }
+                count++;
+            }
+            if (count == 0) {
+                throw new IllegalArgumentException("Malformed integer in record");
+            }
+            endField();
+            return (int) (negative ? -value : value);
+        }
+
+        private EmploymentType employmentType() {
+            skipSpaces();
+            int start = pos;
+            while (pos < limit && buffer.get(pos) != ',' && buffer.get(pos) != ' ') {
+                pos++;
+            }
+            int length = pos - start;
+
+            EmploymentType match = null;
+            for (int t = 0; t < EMPLOYMENT_TYPES.length && match == null; t++) {
+                byte[] name = EMPLOYMENT_TYPES[t];
+                if (name.length == length && matches(start, name)) {
+                    match = EmploymentType.values()[t];
+                }
+            }
+            if (match == null) {
+                throw new IllegalArgumentException("Unknown employment type in record");
+            }
+            endField();
+            return match;
+        }
+
+        private boolean matches(int start, byte[] name) {
+            for (int i = 0; i < name.length; i++) {
+                if (buffer.get(start + i) != name[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private void endField() {
+            skipSpaces();
+            if (pos < limit && !consume(',')) {
+                throw new IllegalArgumentException("Unexpected character in record");
+            }
+        }
+
+        private boolean consume(char expected) {
+            if (pos < limit && buffer.get(pos) == expected) {
+                pos++;
+                return true;
+            }
+            return false;
+        }
+
+        private void skipSpaces() {
+            while (pos < limit && buffer.get(pos) == ' ') {
+                pos++;
+            }
+        }
+
+        // ------------------------------------------------------------------
+        // Output
+        // ------------------------------------------------------------------
+
+        private void writeResult(long record, DecisionOutcome outcome) throws IOException {
+            writeLong(record);
+            out.write(',');
+            writeLong(outcome.getScore());
+            out.write(',');
+            writeAscii(outcome.getRiskLevel().name());
+            out.write(',');
+            writeAscii(outcome.getDecision().name());
+            out.write(',');
+            out.write('\n');
+        }
+
+        private void writeError(long record, String message) throws IOException {
+            writeLong(record);
+            out.write(",,,,\"".getBytes(StandardCharsets.US_ASCII));
+            out.write(String.valueOf(message).replace("\"", "\"\"").getBytes(StandardCharsets.UTF_8));
+            out.write('"');
+            out.write('\n');
+        }
+
+        private void writeLong(long value) throws IOException {
+            if (value < 0) {
+                out.write('-');
+                value = -value;
+            }
+            int i = digits.length;
+            do {
+                digits[--i] = (byte) ('0' + value % 10);
+                value /= 10;
+            } while (value != 0);
+            out.write(digits, i, digits.length - i);
+        }
+
+        private void writeAscii(String constant) throws IOException {
+            for (int i = 0; i < constant.length(); i++) {
+                out.write(constant.charAt(i));
+            }
+        }
+    }
+
+    // ------------------------------------------------------------------
+    // Helpers
+    // ------------------------------------------------------------------
+
+    /**
+     * Mirrors the bean validation constraints of the request DTO, with the
+     * same messages in the same (sorted) order.
+     */
+    private static void checkConstraints(
+            long income,
+            long expenses,
+            long emis,
+            int defaults,
+            int history,
+            int age,
+            long loan
+    ) {
+        if (age >= 18 && history >= 0 && expenses >= 0 && income >= 1
+                && defaults >= 0 && loan >= 1 && emis >= 0) {
+            return;
+        }
+        StringJoiner violations = new StringJoiner(", ");
+        if (age < 18) {
+            violations.add("age: must be greater than or equal to 18");
+        }
+        if (history < 0) {
+            violations.add("creditHistoryLengthMonths: must be greater than or equal to 0");
+        }
+        if (expenses < 0) {
+            violations.add("monthlyExpenses: must be greater than or equal to 0.0");
+        }
+        if (income < 1) {
+            violations.add("monthlyIncome: must be greater than or equal to 0.01");
+        }
+        if (defaults < 0) {
+            violations.add("pastLoanDefaults: must be greater than or equal to 0");
+        }
+        if (loan < 1) {
+            violations.add("requestedLoanAmount: must be greater than or equal to 0.01");
+        }
+        if (emis < 0) {
+            violations.add("totalMonthlyEmis: must be greater than or equal to 0.0");
+        }
+        throw new IllegalArgumentException(violations.toString());
+    }
+
+    /**
+     * Collapses an amount to -1, 0 or 1 cent, which is all
+     * {@link #checkConstraints} needs to compare against 0 and 0.01.
+     */
+    private static long constraintCents(BigDecimal amount) {
+        if (amount.signum() < 0) {
+            return -1;
+        }
+        return amount.compareTo(new BigDecimal("0.01")) >= 0 ? 1 : 0;
+    }
+
+    private static UserFinancialProfile profile(
+            BigDecimal income,
+            BigDecimal expenses,
+            BigDecimal emis,
+            int defaults,
+            int history,
+            EmploymentType employmentType,
+            int age,
+            BigDecimal loan
+    ) {
+        UserFinancialProfile profile = new UserFinancialProfile();
+        profile.setMonthlyIncome(income);
+        profile.setMonthlyExpenses(expenses);
+        profile.setTotalMonthlyEmis(emis);
+        profile.setPastLoanDefaults(defaults);
+        profile.setCreditHistoryLengthMonths(history);
+        profile.setEmploymentType(employmentType);
+        profile.setAge(age);
+        profile.setRequestedLoanAmount(loan);
+        return profile;
+    }
+
+    private static boolean isDigit(byte b) {
+        return b >= '0' && b <= '9';
+    }
+
+    private static boolean isLetter(byte b) {
+        return (b >= 'a' && b <= 'z') || (b >= 'A' && b <= 'Z');
+    }
+
+    private static byte[][] names(EmploymentType[] values) {
+        byte[][] names = new byte[values.length][];
+        for (int i = 0; i < values.length; i++) {
+            names[i] = values[i].name().getBytes(StandardCharsets.US_ASCII);
+        }
+        return names;
+    }
+
+    private static void resetHeapPeaks() {
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                pool.resetPeakUsage();
+            }
+        }
+    }
+
+    /**
+     * Sum of the per-pool heap peaks since the run started; an upper bound
+     * on the real peak, since pools do not peak at the same moment.
+     */
+    private static long heapPeakBytes() {
+        long peak = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                peak += pool.getPeakUsage().getUsed();
+            }
+        }
+        return peak;
+    }
+}
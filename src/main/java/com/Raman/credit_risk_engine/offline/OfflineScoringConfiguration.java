@@ -0,0 +1,77 @@
+package com.Raman.credit_risk_engine.offline;
+
+import com.Raman.credit_risk_engine.decision.RiskDecisionService;
+import com.Raman.credit_risk_engine.metrics.FinancialMetricsService;
+import com.Raman.credit_risk_engine.rule.CreditRule;
+import com.Raman.credit_risk_engine.rule.RuleSetHolder;
+import com.Raman.credit_risk_engine.service.BucketScoringEngine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.annotation.Profile;
+
+/**
+ * Non-web run mode for scoring large extract files.
+ *
+ * Started with {@code --offline --input=<csv> --output=<csv>} and optionally
+ * {@code --rules=<properties>}. Only the rule, metrics and decision beans are
+ * loaded: no auto-configuration, so no web server, DataSource or JPA. The rule
+ * set is loaded once before scoring and not reloaded. The profile keeps this
+ * configuration out of the regular web application's component scan.
+ */
+@Configuration
+@Profile(OfflineScoringConfiguration.PROFILE)
+@ComponentScan(basePackageClasses = {CreditRule.class, FinancialMetricsService.class, RiskDecisionService.class})
+@Import(BucketScoringEngine.class)
+public class OfflineScoringConfiguration {
+
+    public static final String PROFILE = "offline";
+
+    private static final String FLAG = "--offline";
+
+    @Bean
+    public MappedFileScorer mappedFileScorer(
+            BucketScoringEngine bucketScoringEngine,
+            FinancialMetricsService financialMetricsService
+    ) {
+        return new MappedFileScorer(bucketScoringEngine, financialMetricsService);
+    }
+
+    @Bean
+    public OfflineScoringRunner offlineScoringRunner(
+            MappedFileScorer mappedFileScorer,
+            RuleSetHolder ruleSetHolder,
+            @Value("${credit-risk.rules.source:none}") String rulesSource,
+            @Value("${credit-risk.rules.file:rules.properties}") String rulesFile
+    ) {
+        return new OfflineScoringRunner(mappedFileScorer, ruleSetHolder, rulesSource, rulesFile);
+    }
+
+    public static boolean isRequested(String[] args) {
+        for (String arg : args) {
+            if (FLAG.equals(arg)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Runs the offline mode to completion.
+     *
+     * @return the process exit code
+     */
+    public static int run(String[] args) {
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(OfflineScoringConfiguration.class)
+                .web(WebApplicationType.NONE)
+                .profiles(PROFILE)
+                .run(args);
+        return SpringApplication.exit(context);
+    }
+}
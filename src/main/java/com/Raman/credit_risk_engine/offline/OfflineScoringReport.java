@@ -0,0 +1,23 @@
+package com.Raman.credit_risk_engine.offline;
+
+/**
+ * Summary of one offline scoring run.
+ *
+ * @param ruleSetVersion version of the rule set the records were scored with
+ * @param records        data lines read, including rejected ones
+ * @param rejected       lines that failed parsing or validation
+ * @param elapsedNanos   wall-clock time of the run
+ * @param heapPeakBytes  sum of the heap pool peaks during the run
+ */
+public record OfflineScoringReport(
+        String ruleSetVersion,
+        long records,
+        long rejected,
+        long elapsedNanos,
+        long heapPeakBytes
+) {
+
+    public double recordsPerSecond() {
+        return elapsedNanos == 0 ? 0 : records * 1e9 / elapsedNanos;
+    }
+}
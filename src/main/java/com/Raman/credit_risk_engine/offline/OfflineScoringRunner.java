@@ -0,0 +1,104 @@
+package com.Raman.credit_risk_engine.offline;
+
+import com.Raman.credit_risk_engine.rule.RuleConfiguration;
+import com.Raman.credit_risk_engine.rule.RuleSetHolder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+import java.util.Properties;
+
+/**
+ * Runs one offline scoring pass using the {@code --input} and
+ * {@code --output} command-line options.
+ *
+ * Records are scored with the rule file given by {@code --rules}, otherwise
+ * with the configured {@code credit-risk.rules.source}. The database source
+ * is not available offline and needs {@code --rules}.
+ */
+public class OfflineScoringRunner implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(OfflineScoringRunner.class);
+
+    private final MappedFileScorer mappedFileScorer;
+    private final RuleSetHolder ruleSetHolder;
+    private final String rulesSource;
+    private final String rulesFile;
+
+    public OfflineScoringRunner(
+            MappedFileScorer mappedFileScorer,
+            RuleSetHolder ruleSetHolder,
+            String rulesSource,
+            String rulesFile
+    ) {
+        this.mappedFileScorer = mappedFileScorer;
+        this.ruleSetHolder = ruleSetHolder;
+        this.rulesSource = rulesSource.trim().toLowerCase(Locale.ROOT);
+        this.rulesFile = rulesFile;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        Path input = Path.of(requiredOption(args, "input"));
+        Path output = Path.of(requiredOption(args, "output"));
+
+        String rules = option(args, "rules");
+        if (rules != null) {
+            ruleSetHolder.publish(RuleConfiguration.parse(load(rules)));
+        } else {
+            switch (rulesSource) {
+                case "none" -> { }
+                case "file" -> ruleSetHolder.publish(RuleConfiguration.parse(load(rulesFile)));
+                case "db" -> throw new IllegalArgumentException(
+                        "Offline mode cannot read rules from the database; pass --rules=<file>");
+                default -> throw new IllegalArgumentException("Unknown rule source " + rulesSource);
+            }
+        }
+
+        log.info("Offline scoring {} -> {} with rule set {}", input, output, ruleSetHolder.current().getVersion());
+        OfflineScoringReport report = mappedFileScorer.score(input, output);
+
+        log.info("Scored {} records ({} rejected) with rule set {} in {} ms: {} records/s, peak heap {} MB",
+                report.records(),
+                report.rejected(),
+                report.ruleSetVersion(),
+                report.elapsedNanos() / 1_000_000,
+                String.format("%,.0f", report.recordsPerSecond()),
+                report.heapPeakBytes() / (1024 * 1024));
+    }
+
+    private static Properties load(String file) throws IOException {
+        Properties settings = new Properties();
+        try (Reader reader = Files.newBufferedReader(Path.of(file), StandardCharsets.UTF_8)) {
+            settings.load(reader);
+        }
+        return settings;
+    }
+
+    private static String requiredOption(ApplicationArguments args, String name) {
+        String value = option(args, name);
+        if (value == null) {
+            throw new IllegalArgumentException("Offline mode requires exactly one --" + name + "=<path>");
+        }
+        return value;
+    }
+
+    private static String option(ApplicationArguments args, String name) {
+        List<String> values = args.getOptionValues(name);
+        if (values == null) {
+            return null;
+        }
+        if (values.size() != 1) {
+            throw new IllegalArgumentException("Offline mode accepts one --" + name + "=<path>");
+        }
+        return values.get(0);
+    }
+}
@@ -1,12 +1,23 @@
 package com.Raman.credit_risk_engine.repository;
 
 import com.Raman.credit_risk_engine.entity.AssessmentAudit;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface AssessmentAuditRepository extends JpaRepository<AssessmentAudit, Long> {
     // 🔍 Efficiently find audits for a specific assessment ID
     List<AssessmentAudit> findByCreditAssessmentId(Long assessmentId);
-}
\ No newline at end of file
+
+    // Audits of a whole history page in one statement; loaded read-only, so never dirty-checked
+    @Query("SELECT au FROM AssessmentAudit au WHERE au.creditAssessment.id IN :assessmentIds ORDER BY au.id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    List<AssessmentAudit> findReadOnlyByCreditAssessmentIdIn(@Param("assessmentIds") Collection<Long> assessmentIds);
+}
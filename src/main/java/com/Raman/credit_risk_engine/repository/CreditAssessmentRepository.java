@@ -1,12 +1,42 @@
 package com.Raman.credit_risk_engine.repository;
 
+import com.Raman.credit_risk_engine.dto.AssessmentSummaryDTO;
 import com.Raman.credit_risk_engine.entity.CreditAssessment;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
 import java.util.List;
 
 @Repository
 public interface CreditAssessmentRepository extends JpaRepository<CreditAssessment, Long> {
-    // New query for User Isolation
-    List<CreditAssessment> findByUserIdOrderByCreatedAtDesc(Long userId);
-}
\ No newline at end of file
+    // Keyset pages over idx_credit_assessment_user_created_id; newest first, id breaks ties
+    String SUMMARY = """
+            SELECT new com.Raman.credit_risk_engine.dto.AssessmentSummaryDTO(
+                a.id, a.monthlyIncome, a.monthlyExpenses, a.totalMonthlyEmis, a.requestedLoanAmount, a.age,
+                a.pastLoanDefaults, a.creditHistoryLengthMonths, a.employmentType, a.creditScore, a.riskLevel,
+                a.decision, a.createdAt, a.ruleSetVersion, a.ruleOutcomes)
+            FROM CreditAssessment a
+            """;
+
+    @Query(SUMMARY + """
+            WHERE a.user.id = :userId
+            ORDER BY a.createdAt DESC, a.id DESC
+            """)
+    List<AssessmentSummaryDTO> findSummaries(@Param("userId") Long userId, Limit limit);
+
+    @Query(SUMMARY + """
+            WHERE a.user.id = :userId
+              AND (a.createdAt < :createdAt OR (a.createdAt = :createdAt AND a.id < :id))
+            ORDER BY a.createdAt DESC, a.id DESC
+            """)
+    List<AssessmentSummaryDTO> findSummariesBefore(
+            @Param("userId") Long userId,
+            @Param("createdAt") Instant createdAt,
+            @Param("id") Long id,
+            Limit limit
+    );
+}
@@ -0,0 +1,7 @@
+package com.Raman.credit_risk_engine.repository;
+
+import com.Raman.credit_risk_engine.entity.RuleSetting;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface RuleSettingRepository extends JpaRepository<RuleSetting, String> {
+}
@@ -0,0 +1,44 @@
+package com.Raman.credit_risk_engine.rule;
+
+import com.Raman.credit_risk_engine.entity.UserFinancialProfile;
+import com.Raman.credit_risk_engine.metrics.FinancialMetrics;
+import com.Raman.credit_risk_engine.metrics.FixedPointMetrics;
+
+/**
+ * A rule whose outcome is a step function of its inputs.
+ *
+ * Every evaluation falls into one of {@link #bucketCount()} buckets and each
+ * bucket maps to exactly one fixed {@link RuleResult}. This lets the scoring
+ * engine precompute the final score for every bucket combination.
+ */
+public interface BucketedRule extends CreditRule {
+
+    /**
+     * @return number of distinct outcomes this rule can produce
+     */
+    int bucketCount();
+
+    /**
+     * Classifies the applicant into a bucket.
+     *
+     * @return bucket index in {@code [0, bucketCount())}
+     */
+    int bucketOf(UserFinancialProfile profile, FinancialMetrics metrics);
+
+    /**
+     * Fixed-point counterpart of {@link #bucketOf(UserFinancialProfile, FinancialMetrics)}.
+     * Must return the same bucket for the same applicant.
+     */
+    int bucketOf(FixedPointMetrics metrics);
+
+    /**
+     * @param bucket bucket index in {@code [0, bucketCount())}
+     * @return the fixed outcome for that bucket
+     */
+    RuleResult outcomeOf(int bucket);
+
+    @Override
+    default RuleResult evaluate(UserFinancialProfile profile, FinancialMetrics metrics) {
+        return outcomeOf(bucketOf(profile, metrics));
+    }
+}
@@ -0,0 +1,16 @@
+package com.Raman.credit_risk_engine.rule;
+
+/**
+ * A rule whose thresholds and score impacts come from a
+ * {@link RuleConfiguration}.
+ *
+ * Configured rules are immutable; a new configuration produces new rule
+ * instances rather than changing the ones that may be scoring right now.
+ */
+public interface ConfigurableRule extends CreditRule {
+
+    /**
+     * @return a copy of this rule using the configuration's values
+     */
+    CreditRule configure(RuleConfiguration configuration);
+}
@@ -2,36 +2,87 @@ package com.Raman.credit_risk_engine.rule;
 
 import com.Raman.credit_risk_engine.entity.UserFinancialProfile;
 import com.Raman.credit_risk_engine.metrics.FinancialMetrics;
+import com.Raman.credit_risk_engine.metrics.FixedPointMetrics;
 import org.springframework.stereotype.Component;
 
+import java.util.Set;
+
 @Component
-public class CreditHistoryRule implements CreditRule {
+public class CreditHistoryRule implements BucketedRule, ConfigurableRule {
+
+    private static final Set<RuleInput> INPUTS = Set.of(RuleInput.CREDIT_HISTORY_LENGTH_MONTHS);
+
+    private static final int LONG_HISTORY_BUCKET = 0;
+    private static final int MODERATE_HISTORY_BUCKET = 1;
+    private static final int SHORT_HISTORY_BUCKET = 2;
+
+    private final int longHistoryMonths;
+    private final int moderateHistoryMonths;
+    private final RuleResult[] outcomes;
+
+    public CreditHistoryRule() {
+        this(RuleConfiguration.defaults());
+    }
+
+    public CreditHistoryRule(RuleConfiguration configuration) {
+        this.longHistoryMonths = configuration.getLongHistoryMonths();
+        this.moderateHistoryMonths = configuration.getModerateHistoryMonths();
+        this.outcomes = new RuleResult[]{
+                configuration.outcome(ReasonCode.LONG_HISTORY),
+                configuration.outcome(ReasonCode.MODERATE_HISTORY),
+                configuration.outcome(ReasonCode.SHORT_HISTORY)
+        };
+    }
 
     @Override
-    public RuleResult evaluate(UserFinancialProfile profile, FinancialMetrics metrics) {
+    public CreditHistoryRule configure(RuleConfiguration configuration) {
+        return new CreditHistoryRule(configuration);
+    }
+
+    @Override
+    public int bucketOf(UserFinancialProfile profile, FinancialMetrics metrics) {
 
         int historyMonths = profile.getCreditHistoryLengthMonths();
 
-        if (historyMonths >= 36) {
-            return new RuleResult(
-                    "CreditHistoryRule",
-                    70,
-                    "Long credit history improves predictability of borrower behavior"
-            );
+        if (historyMonths >= longHistoryMonths) {
+            return LONG_HISTORY_BUCKET;
         }
 
-        if (historyMonths >= 12) {
-            return new RuleResult(
-                    "CreditHistoryRule",
-                    30,
-                    "Moderate credit history provides some predictability"
-            );
+        if (historyMonths >= moderateHistoryMonths) {
+            return MODERATE_HISTORY_BUCKET;
         }
 
-        return new RuleResult(
-                "CreditHistoryRule",
-                -50,
-                "Short credit history reduces confidence in repayment behavior"
-        );
+        return SHORT_HISTORY_BUCKET;
+    }
+
+    @Override
+    public int bucketOf(FixedPointMetrics metrics) {
+
+        int historyMonths = metrics.getCreditHistoryLengthMonths();
+
+        if (historyMonths >= longHistoryMonths) {
+            return LONG_HISTORY_BUCKET;
+        }
+
+        if (historyMonths >= moderateHistoryMonths) {
+            return MODERATE_HISTORY_BUCKET;
+        }
+
+        return SHORT_HISTORY_BUCKET;
+    }
+
+    @Override
+    public Set<RuleInput> inputs() {
+        return INPUTS;
+    }
+
+    @Override
+    public int bucketCount() {
+        return outcomes.length;
+    }
+
+    @Override
+    public RuleResult outcomeOf(int bucket) {
+        return outcomes[bucket];
     }
 }
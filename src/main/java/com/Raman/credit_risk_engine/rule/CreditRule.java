@@ -3,6 +3,9 @@ package com.Raman.credit_risk_engine.rule;
 import com.Raman.credit_risk_engine.entity.UserFinancialProfile;
 import com.Raman.credit_risk_engine.metrics.FinancialMetrics;
 
+import java.util.EnumSet;
+import java.util.Set;
+
 public interface CreditRule {
 
     /**
@@ -10,7 +13,18 @@ public interface CreditRule {
      *
      * @param profile  validated user financial profile (raw facts)
      * @param metrics  derived financial metrics
-     * @return RuleResult containing score impact and explanation
+     * @return RuleResult containing score impact and explanation.
+     *         Outcomes come from a small fixed set, so implementations should
+     *         return shared immutable constants rather than new instances.
      */
     RuleResult evaluate(UserFinancialProfile profile, FinancialMetrics metrics);
+
+    /**
+     * Profile fields and metrics this rule reads. A rule is re-evaluated
+     * after an update only if one of its inputs changed, so the set must be
+     * complete; the default (everything) is always safe.
+     */
+    default Set<RuleInput> inputs() {
+        return EnumSet.allOf(RuleInput.class);
+    }
 }
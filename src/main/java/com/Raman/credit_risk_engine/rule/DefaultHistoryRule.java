@@ -2,36 +2,83 @@ package com.Raman.credit_risk_engine.rule;
 
 import com.Raman.credit_risk_engine.entity.UserFinancialProfile;
 import com.Raman.credit_risk_engine.metrics.FinancialMetrics;
+import com.Raman.credit_risk_engine.metrics.FixedPointMetrics;
 import org.springframework.stereotype.Component;
 
+import java.util.Set;
+
 @Component
-public class DefaultHistoryRule implements CreditRule {
+public class DefaultHistoryRule implements BucketedRule, ConfigurableRule {
+
+    private static final Set<RuleInput> INPUTS = Set.of(RuleInput.PAST_LOAN_DEFAULTS);
+
+    private static final int NO_DEFAULTS_BUCKET = 0;
+    private static final int ONE_DEFAULT_BUCKET = 1;
+    private static final int MULTIPLE_DEFAULTS_BUCKET = 2;
+
+    private final RuleResult[] outcomes;
+
+    public DefaultHistoryRule() {
+        this(RuleConfiguration.defaults());
+    }
+
+    public DefaultHistoryRule(RuleConfiguration configuration) {
+        this.outcomes = new RuleResult[]{
+                configuration.outcome(ReasonCode.NO_DEFAULTS),
+                configuration.outcome(ReasonCode.ONE_DEFAULT),
+                configuration.outcome(ReasonCode.MULTIPLE_DEFAULTS)
+        };
+    }
 
     @Override
-    public RuleResult evaluate(UserFinancialProfile profile, FinancialMetrics metrics) {
+    public DefaultHistoryRule configure(RuleConfiguration configuration) {
+        return new DefaultHistoryRule(configuration);
+    }
+
+    @Override
+    public int bucketOf(UserFinancialProfile profile, FinancialMetrics metrics) {
 
         int defaults = profile.getPastLoanDefaults();
 
         if (defaults == 0) {
-            return new RuleResult(
-                    "DefaultHistoryRule",
-                    100,
-                    "No past loan defaults indicate reliable repayment behavior"
-            );
+            return NO_DEFAULTS_BUCKET;
         }
 
         if (defaults == 1) {
-            return new RuleResult(
-                    "DefaultHistoryRule",
-                    -100,
-                    "One past loan default indicates increased behavioral risk"
-            );
+            return ONE_DEFAULT_BUCKET;
         }
 
-        return new RuleResult(
-                "DefaultHistoryRule",
-                -250,
-                "Multiple past loan defaults indicate high behavioral risk"
-        );
+        return MULTIPLE_DEFAULTS_BUCKET;
+    }
+
+    @Override
+    public int bucketOf(FixedPointMetrics metrics) {
+
+        int defaults = metrics.getPastLoanDefaults();
+
+        if (defaults == 0) {
+            return NO_DEFAULTS_BUCKET;
+        }
+
+        if (defaults == 1) {
+            return ONE_DEFAULT_BUCKET;
+        }
+
+        return MULTIPLE_DEFAULTS_BUCKET;
+    }
+
+    @Override
+    public Set<RuleInput> inputs() {
+        return INPUTS;
+    }
+
+    @Override
+    public int bucketCount() {
+        return outcomes.length;
+    }
+
+    @Override
+    public RuleResult outcomeOf(int bucket) {
+        return outcomes[bucket];
     }
 }
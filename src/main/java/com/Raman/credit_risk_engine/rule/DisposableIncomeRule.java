@@ -2,38 +2,117 @@ package com.Raman.credit_risk_engine.rule;
 
 import com.Raman.credit_risk_engine.entity.UserFinancialProfile;
 import com.Raman.credit_risk_engine.metrics.FinancialMetrics;
+import com.Raman.credit_risk_engine.metrics.FixedPointMetrics;
 import org.springframework.stereotype.Component;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Set;
 
 @Component
-public class DisposableIncomeRule implements CreditRule {
+public class DisposableIncomeRule implements EmiThresholdRule, ConfigurableRule {
+
+    private static final Set<RuleInput> INPUTS = Set.of(RuleInput.DISPOSABLE_INCOME);
+
+    // Disposable income is rounded half-up to cents, so an amount counts as
+    // the floor from half a cent below it
+    private static final BigDecimal HALF_CENT = new BigDecimal("0.005");
+
+    private static final int HIGH_DISPOSABLE_INCOME_BUCKET = 0;
+    private static final int MODERATE_DISPOSABLE_INCOME_BUCKET = 1;
+    private static final int LOW_DISPOSABLE_INCOME_BUCKET = 2;
+
+    private final BigDecimal highIncomeFloor;
+    private final BigDecimal moderateIncomeFloor;
+    private final long highIncomeFloorCents;
+    private final long moderateIncomeFloorCents;
+    private final RuleResult[] outcomes;
+
+    public DisposableIncomeRule() {
+        this(RuleConfiguration.defaults());
+    }
+
+    public DisposableIncomeRule(RuleConfiguration configuration) {
+        this.highIncomeFloor = configuration.getHighDisposableIncomeFloor();
+        this.moderateIncomeFloor = configuration.getModerateDisposableIncomeFloor();
+        this.highIncomeFloorCents = FixedPointMetrics.cents(highIncomeFloor);
+        this.moderateIncomeFloorCents = FixedPointMetrics.cents(moderateIncomeFloor);
+        this.outcomes = new RuleResult[]{
+                configuration.outcome(ReasonCode.HIGH_DISPOSABLE_INCOME),
+                configuration.outcome(ReasonCode.MODERATE_DISPOSABLE_INCOME),
+                configuration.outcome(ReasonCode.LOW_DISPOSABLE_INCOME)
+        };
+    }
+
+    @Override
+    public DisposableIncomeRule configure(RuleConfiguration configuration) {
+        return new DisposableIncomeRule(configuration);
+    }
 
     @Override
-    public RuleResult evaluate(UserFinancialProfile profile, FinancialMetrics metrics) {
+    public int bucketOf(UserFinancialProfile profile, FinancialMetrics metrics) {
 
         BigDecimal disposableIncome = metrics.getDisposableIncome();
 
-        if (disposableIncome.compareTo(BigDecimal.valueOf(25000)) >= 0) {
-            return new RuleResult(
-                    "DisposableIncomeRule",
-                    80,
-                    "High disposable income indicates strong repayment capacity"
-            );
+        if (disposableIncome.compareTo(highIncomeFloor) >= 0) {
+            return HIGH_DISPOSABLE_INCOME_BUCKET;
+        }
+
+        if (disposableIncome.compareTo(moderateIncomeFloor) >= 0) {
+            return MODERATE_DISPOSABLE_INCOME_BUCKET;
+        }
+
+        return LOW_DISPOSABLE_INCOME_BUCKET;
+    }
+
+    @Override
+    public int bucketOf(FixedPointMetrics metrics) {
+
+        long disposableIncomeCents = metrics.getDisposableIncomeCents();
+
+        if (disposableIncomeCents >= highIncomeFloorCents) {
+            return HIGH_DISPOSABLE_INCOME_BUCKET;
         }
 
-        if (disposableIncome.compareTo(BigDecimal.valueOf(10000)) >= 0) {
-            return new RuleResult(
-                    "DisposableIncomeRule",
-                    30,
-                    "Moderate disposable income provides limited repayment buffer"
-            );
+        if (disposableIncomeCents >= moderateIncomeFloorCents) {
+            return MODERATE_DISPOSABLE_INCOME_BUCKET;
+        }
+
+        return LOW_DISPOSABLE_INCOME_BUCKET;
+    }
+
+    @Override
+    public BigDecimal maxTotalEmis(UserFinancialProfile profile, int bucket) {
+
+        BigDecimal floor = switch (bucket) {
+            case HIGH_DISPOSABLE_INCOME_BUCKET -> highIncomeFloor;
+            case MODERATE_DISPOSABLE_INCOME_BUCKET -> moderateIncomeFloor;
+            default -> null;
+        };
+
+        if (floor == null) {
+            return null;
         }
 
-        return new RuleResult(
-                "DisposableIncomeRule",
-                -100,
-                "Low disposable income indicates affordability constraints"
-        );
+        // income - expenses - EMIs >= floor - 0.005
+        return profile.getMonthlyIncome()
+                .subtract(profile.getMonthlyExpenses())
+                .subtract(floor.subtract(HALF_CENT))
+                .setScale(2, RoundingMode.FLOOR);
+    }
+
+    @Override
+    public Set<RuleInput> inputs() {
+        return INPUTS;
+    }
+
+    @Override
+    public int bucketCount() {
+        return outcomes.length;
+    }
+
+    @Override
+    public RuleResult outcomeOf(int bucket) {
+        return outcomes[bucket];
     }
 }
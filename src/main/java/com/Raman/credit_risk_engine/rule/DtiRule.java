@@ -2,37 +2,119 @@ package com.Raman.credit_risk_engine.rule;
 
 import com.Raman.credit_risk_engine.entity.UserFinancialProfile;
 import com.Raman.credit_risk_engine.metrics.FinancialMetrics;
+import com.Raman.credit_risk_engine.metrics.FixedPointMetrics;
 import org.springframework.stereotype.Component;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Set;
+
 @Component
-public class DtiRule implements CreditRule {
+public class DtiRule implements EmiThresholdRule, ConfigurableRule {
+
+    private static final Set<RuleInput> INPUTS = Set.of(RuleInput.DEBT_TO_INCOME_RATIO);
+
+    // DTI is EMIs / income rounded half-up to 4 places, so a ratio counts as
+    // the limit from half a step below it
+    private static final BigDecimal HALF_ROUNDING_STEP = new BigDecimal("0.00005");
+    private static final BigDecimal HUNDRED = BigDecimal.valueOf(100);
+    private static final BigDecimal CENT = new BigDecimal("0.01");
+
+    private static final int LOW_DTI_BUCKET = 0;
+    private static final int MODERATE_DTI_BUCKET = 1;
+    private static final int HIGH_DTI_BUCKET = 2;
+
+    private final BigDecimal lowDtiLimit;
+    private final BigDecimal moderateDtiLimit;
+    private final long lowDtiLimitBp;
+    private final long moderateDtiLimitBp;
+    private final RuleResult[] outcomes;
+
+    public DtiRule() {
+        this(RuleConfiguration.defaults());
+    }
+
+    public DtiRule(RuleConfiguration configuration) {
+        this.lowDtiLimit = configuration.getLowDtiLimit();
+        this.moderateDtiLimit = configuration.getModerateDtiLimit();
+        this.lowDtiLimitBp = FixedPointMetrics.basisPoints(lowDtiLimit);
+        this.moderateDtiLimitBp = FixedPointMetrics.basisPoints(moderateDtiLimit);
+        this.outcomes = new RuleResult[]{
+                configuration.outcome(ReasonCode.LOW_DTI),
+                configuration.outcome(ReasonCode.MODERATE_DTI),
+                configuration.outcome(ReasonCode.HIGH_DTI)
+        };
+    }
 
     @Override
-    public RuleResult evaluate(UserFinancialProfile profile, FinancialMetrics metrics) {
+    public DtiRule configure(RuleConfiguration configuration) {
+        return new DtiRule(configuration);
+    }
+
+    @Override
+    public int bucketOf(UserFinancialProfile profile, FinancialMetrics metrics) {
 
         BigDecimal dti = metrics.getDebtToIncomeRatio();
 
-        if (dti.compareTo(BigDecimal.valueOf(30)) < 0) {
-            return new RuleResult(
-                    "DtiRule",
-                    80,
-                    "Low debt-to-income ratio indicates healthy debt levels"
-            );
+        if (dti.compareTo(lowDtiLimit) < 0) {
+            return LOW_DTI_BUCKET;
         }
 
-        if (dti.compareTo(BigDecimal.valueOf(50)) <= 0) {
-            return new RuleResult(
-                    "DtiRule",
-                    30,
-                    "Moderate debt-to-income ratio indicates manageable risk"
-            );
+        if (dti.compareTo(moderateDtiLimit) <= 0) {
+            return MODERATE_DTI_BUCKET;
+        }
+
+        return HIGH_DTI_BUCKET;
+    }
+
+    @Override
+    public int bucketOf(FixedPointMetrics metrics) {
+
+        long dtiBasisPoints = metrics.getDebtToIncomeBasisPoints();
+
+        if (dtiBasisPoints < lowDtiLimitBp) {
+            return LOW_DTI_BUCKET;
         }
 
-        return new RuleResult(
-                "DtiRule",
-                -100,
-                "High debt-to-income ratio indicates heavy existing debt burden"
-        );
+        if (dtiBasisPoints <= moderateDtiLimitBp) {
+            return MODERATE_DTI_BUCKET;
+        }
+
+        return HIGH_DTI_BUCKET;
+    }
+
+    @Override
+    public BigDecimal maxTotalEmis(UserFinancialProfile profile, int bucket) {
+
+        BigDecimal limit = switch (bucket) {
+            // e.g. dti < 30 <=> EMIs / income < 0.29995
+            case LOW_DTI_BUCKET -> lowDtiLimit.divide(HUNDRED).subtract(HALF_ROUNDING_STEP);
+            // e.g. dti <= 50 <=> EMIs / income < 0.50005
+            case MODERATE_DTI_BUCKET -> moderateDtiLimit.divide(HUNDRED).add(HALF_ROUNDING_STEP);
+            default -> null;
+        };
+
+        if (limit == null) {
+            return null;
+        }
+
+        // Largest whole cent strictly below the bound
+        BigDecimal bound = profile.getMonthlyIncome().multiply(limit);
+        return bound.setScale(2, RoundingMode.CEILING).subtract(CENT);
+    }
+
+    @Override
+    public Set<RuleInput> inputs() {
+        return INPUTS;
+    }
+
+    @Override
+    public int bucketCount() {
+        return outcomes.length;
+    }
+
+    @Override
+    public RuleResult outcomeOf(int bucket) {
+        return outcomes[bucket];
     }
 }
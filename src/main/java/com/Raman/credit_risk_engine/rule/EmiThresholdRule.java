@@ -0,0 +1,23 @@
+package com.Raman.credit_risk_engine.rule;
+
+import com.Raman.credit_risk_engine.entity.UserFinancialProfile;
+
+import java.math.BigDecimal;
+
+/**
+ * A bucketed rule whose thresholds can be solved for the applicant's total
+ * monthly EMIs.
+ *
+ * Buckets must be ordered by EMIs: raising the EMIs of a profile moves it to
+ * the same or a later bucket, never an earlier one.
+ */
+public interface EmiThresholdRule extends BucketedRule {
+
+    /**
+     * @param bucket bucket index in {@code [0, bucketCount())}
+     * @return the largest total monthly EMIs, to the cent, at which the
+     *         profile still falls into {@code bucket} or an earlier one;
+     *         {@code null} if the bucket has no upper limit
+     */
+    BigDecimal maxTotalEmis(UserFinancialProfile profile, int bucket);
+}
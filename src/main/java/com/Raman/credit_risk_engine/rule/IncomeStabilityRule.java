@@ -3,26 +3,69 @@ package com.Raman.credit_risk_engine.rule;
 import com.Raman.credit_risk_engine.entity.EmploymentType;
 import com.Raman.credit_risk_engine.entity.UserFinancialProfile;
 import com.Raman.credit_risk_engine.metrics.FinancialMetrics;
+import com.Raman.credit_risk_engine.metrics.FixedPointMetrics;
 import org.springframework.stereotype.Component;
 
+import java.util.Set;
+
 @Component
-public class IncomeStabilityRule implements CreditRule {
+public class IncomeStabilityRule implements BucketedRule, ConfigurableRule {
+
+    private static final Set<RuleInput> INPUTS = Set.of(RuleInput.EMPLOYMENT_TYPE);
+
+    private static final int SALARIED_BUCKET = 0;
+    private static final int SELF_EMPLOYED_BUCKET = 1;
+
+    private final RuleResult[] outcomes;
+
+    public IncomeStabilityRule() {
+        this(RuleConfiguration.defaults());
+    }
+
+    public IncomeStabilityRule(RuleConfiguration configuration) {
+        this.outcomes = new RuleResult[]{
+                configuration.outcome(ReasonCode.SALARIED),
+                configuration.outcome(ReasonCode.SELF_EMPLOYED)
+        };
+    }
+
+    @Override
+    public IncomeStabilityRule configure(RuleConfiguration configuration) {
+        return new IncomeStabilityRule(configuration);
+    }
 
     @Override
-    public RuleResult evaluate(UserFinancialProfile profile, FinancialMetrics metrics) {
+    public int bucketOf(UserFinancialProfile profile, FinancialMetrics metrics) {
 
         if (profile.getEmploymentType() == EmploymentType.SALARIED) {
-            return new RuleResult(
-                    "IncomeStabilityRule",
-                    50,
-                    "Salaried employment provides stable income"
-            );
+            return SALARIED_BUCKET;
+        }
+
+        return SELF_EMPLOYED_BUCKET;
+    }
+
+    @Override
+    public int bucketOf(FixedPointMetrics metrics) {
+
+        if (metrics.getEmploymentType() == EmploymentType.SALARIED) {
+            return SALARIED_BUCKET;
         }
 
-        return new RuleResult(
-                "IncomeStabilityRule",
-                20,
-                "Self-employed income considered moderately stable"
-        );
+        return SELF_EMPLOYED_BUCKET;
+    }
+
+    @Override
+    public Set<RuleInput> inputs() {
+        return INPUTS;
+    }
+
+    @Override
+    public int bucketCount() {
+        return outcomes.length;
+    }
+
+    @Override
+    public RuleResult outcomeOf(int bucket) {
+        return outcomes[bucket];
     }
 }
@@ -0,0 +1,97 @@
+package com.Raman.credit_risk_engine.rule;
+
+import java.util.List;
+
+/**
+ * Catalog of every fixed rule outcome, each with a stable one-byte code.
+ *
+ * Assessments store one code per rule instead of repeating rule names and
+ * reasons in audit rows; the audit trail is rebuilt from this catalog when
+ * read. Codes are persisted, so they must never be reused or renumbered: a
+ * changed reason or score impact gets a new constant with a new code, and
+ * retired constants stay here so old assessments remain readable.
+ */
+public enum ReasonCode {
+
+    SALARIED(1, "IncomeStabilityRule", 50, "Salaried employment provides stable income"),
+    SELF_EMPLOYED(2, "IncomeStabilityRule", 20, "Self-employed income considered moderately stable"),
+
+    LOW_DTI(10, "DtiRule", 80, "Low debt-to-income ratio indicates healthy debt levels"),
+    MODERATE_DTI(11, "DtiRule", 30, "Moderate debt-to-income ratio indicates manageable risk"),
+    HIGH_DTI(12, "DtiRule", -100, "High debt-to-income ratio indicates heavy existing debt burden"),
+
+    NO_DEFAULTS(20, "DefaultHistoryRule", 100, "No past loan defaults indicate reliable repayment behavior"),
+    ONE_DEFAULT(21, "DefaultHistoryRule", -100, "One past loan default indicates increased behavioral risk"),
+    MULTIPLE_DEFAULTS(22, "DefaultHistoryRule", -250, "Multiple past loan defaults indicate high behavioral risk"),
+
+    LONG_HISTORY(30, "CreditHistoryRule", 70, "Long credit history improves predictability of borrower behavior"),
+    MODERATE_HISTORY(31, "CreditHistoryRule", 30, "Moderate credit history provides some predictability"),
+    SHORT_HISTORY(32, "CreditHistoryRule", -50, "Short credit history reduces confidence in repayment behavior"),
+
+    HIGH_DISPOSABLE_INCOME(40, "DisposableIncomeRule", 80, "High disposable income indicates strong repayment capacity"),
+    MODERATE_DISPOSABLE_INCOME(41, "DisposableIncomeRule", 30, "Moderate disposable income provides limited repayment buffer"),
+    LOW_DISPOSABLE_INCOME(42, "DisposableIncomeRule", -100, "Low disposable income indicates affordability constraints");
+
+    private static final ReasonCode[] BY_CODE = indexByCode();
+
+    private final byte code;
+    private final RuleResult result;
+
+    ReasonCode(int code, String ruleName, int scoreImpact, String reason) {
+        this.code = (byte) code;
+        this.result = new RuleResult(ruleName, scoreImpact, reason, this);
+    }
+
+    public byte code() {
+        return code;
+    }
+
+    public RuleResult result() {
+        return result;
+    }
+
+    public static ReasonCode fromCode(byte code) {
+        ReasonCode reasonCode = code > 0 ? BY_CODE[code] : null;
+        if (reasonCode == null) {
+            throw new IllegalStateException("Unknown reason code " + code);
+        }
+        return reasonCode;
+    }
+
+    /**
+     * Encodes rule outcomes as one code per rule, in rule order.
+     *
+     * @return the codes, or {@code null} if an outcome is not in the catalog
+     *         (for example a custom rule that builds its own results)
+     */
+    public static byte[] encode(List<RuleResult> results) {
+        byte[] codes = new byte[results.size()];
+        for (int i = 0; i < codes.length; i++) {
+            ReasonCode reasonCode = results.get(i).getReasonCode();
+            if (reasonCode == null) {
+                return null;
+            }
+            codes[i] = reasonCode.code;
+        }
+        return codes;
+    }
+
+    public static List<RuleResult> decode(byte[] codes) {
+        RuleResult[] results = new RuleResult[codes.length];
+        for (int i = 0; i < codes.length; i++) {
+            results[i] = fromCode(codes[i]).result;
+        }
+        return List.of(results);
+    }
+
+    private static ReasonCode[] indexByCode() {
+        ReasonCode[] byCode = new ReasonCode[Byte.MAX_VALUE + 1];
+        for (ReasonCode reasonCode : values()) {
+            if (reasonCode.code <= 0 || byCode[reasonCode.code] != null) {
+                throw new IllegalStateException("Invalid or duplicate reason code " + reasonCode.code);
+            }
+            byCode[reasonCode.code] = reasonCode;
+        }
+        return byCode;
+    }
+}
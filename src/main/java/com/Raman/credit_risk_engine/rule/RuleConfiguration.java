@@ -0,0 +1,277 @@
+package com.Raman.credit_risk_engine.rule;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+
+/**
+ * Versioned thresholds, score impacts and risk cut-offs of the rule set.
+ *
+ * Instances are immutable. They are read from flat {@code key=value}
+ * settings; any key that is not given keeps its built-in value, so an empty
+ * source with only a {@code version} reproduces {@link #defaults()}:
+ *
+ * <pre>
+ * version=2026-10-18.1
+ * dti.low-limit=30
+ * dti.moderate-limit=50
+ * disposable-income.high-floor=25000
+ * disposable-income.moderate-floor=10000
+ * credit-history.long-months=36
+ * credit-history.moderate-months=12
+ * risk.low-min-score=750
+ * risk.medium-min-score=600
+ * impact.LOW_DTI=80
+ * </pre>
+ *
+ * Impacts are keyed by {@link ReasonCode} name. An outcome whose impact
+ * differs from its catalog entry no longer has a reason code, so assessments
+ * scored with it keep full audit rows.
+ */
+public final class RuleConfiguration {
+
+    public static final String BUILTIN_VERSION = "builtin";
+    static final int MAX_VERSION_LENGTH = 64;
+
+    private static final String VERSION = "version";
+    private static final String DTI_LOW_LIMIT = "dti.low-limit";
+    private static final String DTI_MODERATE_LIMIT = "dti.moderate-limit";
+    private static final String DISPOSABLE_HIGH_FLOOR = "disposable-income.high-floor";
+    private static final String DISPOSABLE_MODERATE_FLOOR = "disposable-income.moderate-floor";
+    private static final String HISTORY_LONG_MONTHS = "credit-history.long-months";
+    private static final String HISTORY_MODERATE_MONTHS = "credit-history.moderate-months";
+    private static final String RISK_LOW_MIN_SCORE = "risk.low-min-score";
+    private static final String RISK_MEDIUM_MIN_SCORE = "risk.medium-min-score";
+    private static final String IMPACT_PREFIX = "impact.";
+
+    private static final RuleConfiguration DEFAULTS = new RuleConfiguration(
+            BUILTIN_VERSION,
+            BigDecimal.valueOf(30),
+            BigDecimal.valueOf(50),
+            BigDecimal.valueOf(25000),
+            BigDecimal.valueOf(10000),
+            36,
+            12,
+            750,
+            600,
+            catalogImpacts()
+    );
+
+    private final String version;
+    private final BigDecimal lowDtiLimit;
+    private final BigDecimal moderateDtiLimit;
+    private final BigDecimal highDisposableIncomeFloor;
+    private final BigDecimal moderateDisposableIncomeFloor;
+    private final int longHistoryMonths;
+    private final int moderateHistoryMonths;
+    private final int lowRiskMinScore;
+    private final int mediumRiskMinScore;
+    private final int[] impacts;
+    private final RuleResult[] outcomes;
+
+    private RuleConfiguration(
+            String version,
+            BigDecimal lowDtiLimit,
+            BigDecimal moderateDtiLimit,
+            BigDecimal highDisposableIncomeFloor,
+            BigDecimal moderateDisposableIncomeFloor,
+            int longHistoryMonths,
+            int moderateHistoryMonths,
+            int lowRiskMinScore,
+            int mediumRiskMinScore,
+            int[] impacts
+    ) {
+        this.version = version;
+        this.lowDtiLimit = lowDtiLimit;
+        this.moderateDtiLimit = moderateDtiLimit;
+        this.highDisposableIncomeFloor = highDisposableIncomeFloor;
+        this.moderateDisposableIncomeFloor = moderateDisposableIncomeFloor;
+        this.longHistoryMonths = longHistoryMonths;
+        this.moderateHistoryMonths = moderateHistoryMonths;
+        this.lowRiskMinScore = lowRiskMinScore;
+        this.mediumRiskMinScore = mediumRiskMinScore;
+        this.impacts = impacts;
+
+        ReasonCode[] codes = ReasonCode.values();
+        this.outcomes = new RuleResult[codes.length];
+        for (ReasonCode code : codes) {
+            RuleResult catalog = code.result();
+            int impact = impacts[code.ordinal()];
+            // Catalog outcomes are shared and keep their code
+            outcomes[code.ordinal()] = impact == catalog.getScoreImpact()
+                    ? catalog
+                    : new RuleResult(catalog.getRuleName(), impact, catalog.getReason());
+        }
+    }
+
+    /**
+     * @return the thresholds the rules were written with
+     */
+    public static RuleConfiguration defaults() {
+        return DEFAULTS;
+    }
+
+    /**
+     * Parses and validates settings.
+     *
+     * @throws IllegalArgumentException if a setting is unknown, malformed or
+     *                                  inconsistent, or the version is missing
+     */
+    public static RuleConfiguration parse(Properties settings) {
+        Map<String, String> remaining = new TreeMap<>();
+        for (String key : settings.stringPropertyNames()) {
+            remaining.put(key.trim(), settings.getProperty(key).trim());
+        }
+
+        String version = remaining.remove(VERSION);
+        if (version == null || version.isEmpty()) {
+            throw new IllegalArgumentException("Rule configuration has no version");
+        }
+        if (version.length() > MAX_VERSION_LENGTH || version.equals(BUILTIN_VERSION)) {
+            throw new IllegalArgumentException("Invalid rule configuration version: " + version);
+        }
+
+        BigDecimal lowDti = decimal(remaining, DTI_LOW_LIMIT, DEFAULTS.lowDtiLimit);
+        BigDecimal moderateDti = decimal(remaining, DTI_MODERATE_LIMIT, DEFAULTS.moderateDtiLimit);
+        BigDecimal highFloor = decimal(remaining, DISPOSABLE_HIGH_FLOOR, DEFAULTS.highDisposableIncomeFloor);
+        BigDecimal moderateFloor = decimal(remaining, DISPOSABLE_MODERATE_FLOOR, DEFAULTS.moderateDisposableIncomeFloor);
+        int longMonths = integer(remaining, HISTORY_LONG_MONTHS, DEFAULTS.longHistoryMonths);
+        int moderateMonths = integer(remaining, HISTORY_MODERATE_MONTHS, DEFAULTS.moderateHistoryMonths);
+        int lowRisk = integer(remaining, RISK_LOW_MIN_SCORE, DEFAULTS.lowRiskMinScore);
+        int mediumRisk = integer(remaining, RISK_MEDIUM_MIN_SCORE, DEFAULTS.mediumRiskMinScore);
+
+        int[] impacts = catalogImpacts();
+        for (ReasonCode code : ReasonCode.values()) {
+            impacts[code.ordinal()] = integer(remaining, IMPACT_PREFIX + code.name(), impacts[code.ordinal()]);
+        }
+
+        if (!remaining.isEmpty()) {
+            throw new IllegalArgumentException("Unknown rule settings " + remaining.keySet());
+        }
+        if (lowDti.signum() <= 0 || lowDti.compareTo(moderateDti) >= 0) {
+            throw new IllegalArgumentException("DTI limits must satisfy 0 < low < moderate");
+        }
+        if (moderateFloor.signum() < 0 || moderateFloor.compareTo(highFloor) >= 0) {
+            throw new IllegalArgumentException("Disposable income floors must satisfy 0 <= moderate < high");
+        }
+        if (moderateMonths < 0 || moderateMonths >= longMonths) {
+            throw new IllegalArgumentException("Credit history months must satisfy 0 <= moderate < long");
+        }
+        if (mediumRisk >= lowRisk) {
+            throw new IllegalArgumentException("Risk cut-offs must satisfy medium < low");
+        }
+
+        return new RuleConfiguration(version, lowDti, moderateDti, highFloor, moderateFloor,
+                longMonths, moderateMonths, lowRisk, mediumRisk, impacts);
+    }
+
+    /**
+     * @return the settings of this configuration, every key included
+     */
+    public Map<String, String> toSettings() {
+        Map<String, String> settings = new TreeMap<>();
+        settings.put(VERSION, version);
+        settings.put(DTI_LOW_LIMIT, lowDtiLimit.toPlainString());
+        settings.put(DTI_MODERATE_LIMIT, moderateDtiLimit.toPlainString());
+        settings.put(DISPOSABLE_HIGH_FLOOR, highDisposableIncomeFloor.toPlainString());
+        settings.put(DISPOSABLE_MODERATE_FLOOR, moderateDisposableIncomeFloor.toPlainString());
+        settings.put(HISTORY_LONG_MONTHS, Integer.toString(longHistoryMonths));
+        settings.put(HISTORY_MODERATE_MONTHS, Integer.toString(moderateHistoryMonths));
+        settings.put(RISK_LOW_MIN_SCORE, Integer.toString(lowRiskMinScore));
+        settings.put(RISK_MEDIUM_MIN_SCORE, Integer.toString(mediumRiskMinScore));
+        for (ReasonCode code : ReasonCode.values()) {
+            settings.put(IMPACT_PREFIX + code.name(), Integer.toString(impacts[code.ordinal()]));
+        }
+        return settings;
+    }
+
+    public String getVersion() {
+        return version;
+    }
+
+    /**
+     * DTI (percent) below which debt levels are low
+     */
+    public BigDecimal getLowDtiLimit() {
+        return lowDtiLimit;
+    }
+
+    /**
+     * DTI (percent) up to which debt levels are moderate
+     */
+    public BigDecimal getModerateDtiLimit() {
+        return moderateDtiLimit;
+    }
+
+    public BigDecimal getHighDisposableIncomeFloor() {
+        return highDisposableIncomeFloor;
+    }
+
+    public BigDecimal getModerateDisposableIncomeFloor() {
+        return moderateDisposableIncomeFloor;
+    }
+
+    public int getLongHistoryMonths() {
+        return longHistoryMonths;
+    }
+
+    public int getModerateHistoryMonths() {
+        return moderateHistoryMonths;
+    }
+
+    public int getLowRiskMinScore() {
+        return lowRiskMinScore;
+    }
+
+    public int getMediumRiskMinScore() {
+        return mediumRiskMinScore;
+    }
+
+    /**
+     * @return the outcome for a catalog entry with this configuration's score
+     *         impact; the shared catalog result when the impact is unchanged
+     */
+    public RuleResult outcome(ReasonCode code) {
+        return outcomes[code.ordinal()];
+    }
+
+    private static int[] catalogImpacts() {
+        ReasonCode[] codes = ReasonCode.values();
+        int[] impacts = new int[codes.length];
+        for (ReasonCode code : codes) {
+            impacts[code.ordinal()] = code.result().getScoreImpact();
+        }
+        return impacts;
+    }
+
+    // Thresholds are compared in whole cents and basis points on the fixed-point path
+    private static BigDecimal decimal(Map<String, String> settings, String key, BigDecimal fallback) {
+        String value = settings.remove(key);
+        if (value == null) {
+            return fallback;
+        }
+        BigDecimal parsed;
+        try {
+            parsed = new BigDecimal(value);
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException("Rule setting " + key + " is not a number: " + value, ex);
+        }
+        if (parsed.stripTrailingZeros().scale() > 2) {
+            throw new IllegalArgumentException("Rule setting " + key + " has more than two decimals: " + value);
+        }
+        return parsed;
+    }
+
+    private static int integer(Map<String, String> settings, String key, int fallback) {
+        String value = settings.remove(key);
+        if (value == null) {
+            return fallback;
+        }
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException("Rule setting " + key + " is not an integer: " + value, ex);
+        }
+    }
+}
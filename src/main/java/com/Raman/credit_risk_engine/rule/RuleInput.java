@@ -0,0 +1,59 @@
+package com.Raman.credit_risk_engine.rule;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * A value a {@link CreditRule} can read: a raw profile field or a derived
+ * metric. Metrics list the profile fields they are computed from, so a
+ * change to a field also marks every metric derived from it as changed.
+ */
+public enum RuleInput {
+
+    MONTHLY_INCOME,
+    MONTHLY_EXPENSES,
+    TOTAL_MONTHLY_EMIS,
+    PAST_LOAN_DEFAULTS,
+    CREDIT_HISTORY_LENGTH_MONTHS,
+    EMPLOYMENT_TYPE,
+    AGE,
+    REQUESTED_LOAN_AMOUNT,
+
+    DEBT_TO_INCOME_RATIO(TOTAL_MONTHLY_EMIS, MONTHLY_INCOME),
+    DISPOSABLE_INCOME(MONTHLY_INCOME, MONTHLY_EXPENSES, TOTAL_MONTHLY_EMIS),
+    LOAN_TO_INCOME_RATIO(REQUESTED_LOAN_AMOUNT, MONTHLY_INCOME);
+
+    private final Set<RuleInput> sources;
+
+    RuleInput(RuleInput... sources) {
+        // EnumSet cannot be used while the enum itself is being initialized
+        this.sources = Set.of(sources);
+    }
+
+    public boolean isMetric() {
+        return !sources.isEmpty();
+    }
+
+    /**
+     * @return the profile fields this metric is derived from; empty for profile fields
+     */
+    public Set<RuleInput> sources() {
+        return sources;
+    }
+
+    /**
+     * @return {@code changedFields} plus every metric derived from one of them
+     */
+    public static Set<RuleInput> withDerivedMetrics(Set<RuleInput> changedFields) {
+        Set<RuleInput> affected = changedFields.isEmpty()
+                ? EnumSet.noneOf(RuleInput.class)
+                : EnumSet.copyOf(changedFields);
+        for (RuleInput input : values()) {
+            if (input.isMetric() && !Collections.disjoint(input.sources, changedFields)) {
+                affected.add(input);
+            }
+        }
+        return affected;
+    }
+}
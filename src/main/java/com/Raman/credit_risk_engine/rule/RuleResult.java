@@ -1,15 +1,28 @@
 package com.Raman.credit_risk_engine.rule;
 
-public class RuleResult {
+/**
+ * Immutable outcome of a single rule evaluation.
+ *
+ * Instances are shared across evaluations, so this class must stay immutable.
+ * Outcomes of the built-in rules come from the {@link ReasonCode} catalog;
+ * results built by custom rules have no reason code.
+ */
+public final class RuleResult {
 
     private final String ruleName;
     private final int scoreImpact;
     private final String reason;
+    private final ReasonCode reasonCode;
 
     public RuleResult(String ruleName, int scoreImpact, String reason) {
+        this(ruleName, scoreImpact, reason, null);
+    }
+
+    RuleResult(String ruleName, int scoreImpact, String reason, ReasonCode reasonCode) {
         this.ruleName = ruleName;
         this.scoreImpact = scoreImpact;
         this.reason = reason;
+        this.reasonCode = reasonCode;
     }
 
     public String getRuleName() {
@@ -23,4 +36,12 @@ public class RuleResult {
     public String getReason() {
         return reason;
     }
+
+    /**
+     * @return the catalog entry of this outcome, or {@code null} if it is not
+     *         a catalog outcome
+     */
+    public ReasonCode getReasonCode() {
+        return reasonCode;
+    }
 }
@@ -0,0 +1,51 @@
+package com.Raman.credit_risk_engine.rule;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Immutable, compiled rule set: one {@link RuleConfiguration} applied to
+ * every {@link ConfigurableRule}, in scoring order.
+ *
+ * An evaluation reads the current rule set once and uses it throughout, so
+ * a reload never mixes two versions within one assessment.
+ */
+public final class RuleSet {
+
+    private final RuleConfiguration configuration;
+    private final List<CreditRule> rules;
+
+    private RuleSet(RuleConfiguration configuration, List<CreditRule> rules) {
+        this.configuration = configuration;
+        this.rules = rules;
+    }
+
+    /**
+     * Rules that are not configurable are kept as they are.
+     */
+    public static RuleSet compile(RuleConfiguration configuration, List<CreditRule> rules) {
+        List<CreditRule> configured = new ArrayList<>(rules.size());
+        for (CreditRule rule : rules) {
+            configured.add(rule instanceof ConfigurableRule configurable
+                    ? configurable.configure(configuration)
+                    : rule);
+        }
+        return new RuleSet(configuration, List.copyOf(configured));
+    }
+
+    public String getVersion() {
+        return configuration.getVersion();
+    }
+
+    public RuleConfiguration getConfiguration() {
+        return configuration;
+    }
+
+    public List<CreditRule> getRules() {
+        return rules;
+    }
+
+    public int size() {
+        return rules.size();
+    }
+}
@@ -0,0 +1,81 @@
+package com.Raman.credit_risk_engine.rule;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+/**
+ * Publishes the current {@link RuleSet}.
+ *
+ * Readers take {@link #current()} with a single volatile read and no lock.
+ * A new configuration is compiled into a fresh rule set, every listener
+ * builds its derived state (such as score tables) for it, and only then is it
+ * swapped in. If a listener cannot prepare, nothing is swapped, so all
+ * scoring paths stay on the same version.
+ */
+@Component
+public class RuleSetHolder {
+
+    private static final Logger log = LoggerFactory.getLogger(RuleSetHolder.class);
+
+    private final List<CreditRule> rules;
+    private final AtomicReference<RuleSet> current;
+    private final List<Function<RuleSet, Runnable>> listeners = new CopyOnWriteArrayList<>();
+
+    @Autowired
+    public RuleSetHolder(List<CreditRule> rules) {
+        this(rules, RuleConfiguration.defaults());
+    }
+
+    public RuleSetHolder(List<CreditRule> rules, RuleConfiguration configuration) {
+        this.rules = List.copyOf(rules);
+        this.current = new AtomicReference<>(RuleSet.compile(configuration, this.rules));
+    }
+
+    public RuleSet current() {
+        return current.get();
+    }
+
+    /**
+     * Compiles the configuration against the registered rules, lets every
+     * listener prepare for it and makes it current.
+     *
+     * @throws IllegalStateException if a listener rejects the rule set; the
+     *                               current rule set is kept
+     */
+    public synchronized RuleSet publish(RuleConfiguration configuration) {
+        RuleSet ruleSet = RuleSet.compile(configuration, rules);
+
+        List<Runnable> commits = new ArrayList<>(listeners.size());
+        for (Function<RuleSet, Runnable> listener : listeners) {
+            try {
+                commits.add(listener.apply(ruleSet));
+            } catch (RuntimeException ex) {
+                throw new IllegalStateException(
+                        "Rule set " + ruleSet.getVersion() + " rejected; keeping " + current().getVersion(), ex);
+            }
+        }
+
+        RuleSet previous = current.getAndSet(ruleSet);
+        // Only reference swaps from here on, so the versions cannot diverge
+        commits.forEach(Runnable::run);
+        log.info("Rule set {} replaced by {}", previous.getVersion(), ruleSet.getVersion());
+        return ruleSet;
+    }
+
+    /**
+     * @param listener called with every rule set before it is published from
+     *                 now on; throws to reject it, or returns the action that
+     *                 switches to the state it prepared, run right after the swap
+     */
+    public void addListener(Function<RuleSet, Runnable> listener) {
+        listeners.add(listener);
+    }
+}
@@ -0,0 +1,205 @@
+package com.Raman.credit_risk_engine.service;
+
+import com.Raman.credit_risk_engine.decision.DecisionOutcome;
+import com.Raman.credit_risk_engine.dto.CreditRiskRequestDTO;
+import com.Raman.credit_risk_engine.entity.EmploymentType;
+import com.Raman.credit_risk_engine.exception.RuleEvaluationException;
+import com.Raman.credit_risk_engine.metrics.FixedPointMetrics;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Columnar (structure-of-arrays) view of many applicants.
+ *
+ * Raw facts, derived metrics and results live in parallel primitive arrays
+ * indexed by request position, so scoring runs as tight loops over columns.
+ *
+ * Every row is in one of three states:
+ * - {@link #FIXED_POINT}: scored from the primitive columns
+ * - {@link #BIG_DECIMAL}: amounts have sub-cent precision; scored through
+ *   the BigDecimal pipeline from the original request
+ * - {@link #INVALID}: rejected, {@link #getError(int)} says why
+ *
+ * Non fixed-point rows hold harmless placeholder values in the fact columns
+ * so the metric loops can run without branches.
+ */
+public final class ApplicantBatch {
+
+    public static final byte FIXED_POINT = 0;
+    public static final byte BIG_DECIMAL = 1;
+    public static final byte INVALID = 2;
+
+    private static final EmploymentType[] EMPLOYMENT_TYPES = EmploymentType.values();
+
+    private final int size;
+    private final CreditRiskRequestDTO[] requests;
+    private final byte[] rowState;
+    private final String[] errors;
+
+    // Facts
+    final long[] monthlyIncomeCents;
+    final long[] monthlyExpensesCents;
+    final long[] totalMonthlyEmisCents;
+    final long[] requestedLoanAmountCents;
+    final int[] pastLoanDefaults;
+    final int[] creditHistoryLengthMonths;
+    final int[] age;
+    final byte[] employmentType;
+
+    // Derived metrics
+    final long[] debtToIncomeBasisPoints;
+    final long[] disposableIncomeCents;
+    final long[] loanToIncomeHundredths;
+
+    // Results; packed indexes belong to the table the batch was pinned to
+    BucketScoringEngine.Table table;
+    final int[] packedIndex;
+    final DecisionOutcome[] outcomes;
+    final ScoringResult[] bigDecimalResults;
+
+    private ApplicantBatch(int size) {
+        this.size = size;
+        this.requests = new CreditRiskRequestDTO[size];
+        this.rowState = new byte[size];
+        this.errors = new String[size];
+
+        this.monthlyIncomeCents = new long[size];
+        this.monthlyExpensesCents = new long[size];
+        this.totalMonthlyEmisCents = new long[size];
+        this.requestedLoanAmountCents = new long[size];
+        this.pastLoanDefaults = new int[size];
+        this.creditHistoryLengthMonths = new int[size];
+        this.age = new int[size];
+        this.employmentType = new byte[size];
+
+        this.debtToIncomeBasisPoints = new long[size];
+        this.disposableIncomeCents = new long[size];
+        this.loanToIncomeHundredths = new long[size];
+
+        this.packedIndex = new int[size];
+        this.outcomes = new DecisionOutcome[size];
+        this.bigDecimalResults = new ScoringResult[size];
+    }
+
+    /**
+     * Validates each request independently and decodes valid ones into
+     * primitive columns. One bad row never affects the others.
+     */
+    public static ApplicantBatch decode(List<CreditRiskRequestDTO> requests, Validator validator) {
+
+        ApplicantBatch batch = new ApplicantBatch(requests.size());
+
+        for (int i = 0; i < batch.size; i++) {
+            CreditRiskRequestDTO request = requests.get(i);
+            batch.requests[i] = request;
+            batch.monthlyIncomeCents[i] = 1;
+
+            if (request == null) {
+                batch.reject(i, "Request must not be null");
+                continue;
+            }
+
+            Set<ConstraintViolation<CreditRiskRequestDTO>> violations = validator.validate(request);
+            if (!violations.isEmpty()) {
+                batch.reject(i, describe(violations));
+                continue;
+            }
+
+            if (!FixedPointMetrics.isRepresentable(request.getMonthlyIncome())
+                    || !FixedPointMetrics.isRepresentable(request.getMonthlyExpenses())
+                    || !FixedPointMetrics.isRepresentable(request.getTotalMonthlyEmis())
+                    || !FixedPointMetrics.isRepresentable(request.getRequestedLoanAmount())) {
+                batch.rowState[i] = BIG_DECIMAL;
+                continue;
+            }
+
+            long income = FixedPointMetrics.toCents(request.getMonthlyIncome());
+            long expenses = FixedPointMetrics.toCents(request.getMonthlyExpenses());
+            long emis = FixedPointMetrics.toCents(request.getTotalMonthlyEmis());
+            long loan = FixedPointMetrics.toCents(request.getRequestedLoanAmount());
+
+            try {
+                FixedPointMetrics.validate(income, expenses, emis, loan);
+            } catch (RuleEvaluationException ex) {
+                batch.reject(i, ex.getMessage());
+                continue;
+            }
+
+            batch.monthlyIncomeCents[i] = income;
+            batch.monthlyExpensesCents[i] = expenses;
+            batch.totalMonthlyEmisCents[i] = emis;
+            batch.requestedLoanAmountCents[i] = loan;
+            batch.pastLoanDefaults[i] = request.getPastLoanDefaults();
+            batch.creditHistoryLengthMonths[i] = request.getCreditHistoryLengthMonths();
+            batch.age[i] = request.getAge();
+            batch.employmentType[i] = (byte) request.getEmploymentType().ordinal();
+        }
+        return batch;
+    }
+
+    static String describe(Set<ConstraintViolation<CreditRiskRequestDTO>> violations) {
+        return violations.stream()
+                .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                .sorted()
+                .collect(Collectors.joining(", "));
+    }
+
+    void reject(int row, String error) {
+        rowState[row] = INVALID;
+        errors[row] = error;
+    }
+
+    /**
+     * Positions a reusable cursor on a fixed-point row.
+     */
+    FixedPointMetrics loadRow(int row, FixedPointMetrics cursor) {
+        return cursor.loadComputed(
+                monthlyIncomeCents[row],
+                monthlyExpensesCents[row],
+                totalMonthlyEmisCents[row],
+                requestedLoanAmountCents[row],
+                pastLoanDefaults[row],
+                creditHistoryLengthMonths[row],
+                EMPLOYMENT_TYPES[employmentType[row]],
+                age[row],
+                debtToIncomeBasisPoints[row],
+                disposableIncomeCents[row],
+                loanToIncomeHundredths[row]
+        );
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public byte getRowState(int row) {
+        return rowState[row];
+    }
+
+    public CreditRiskRequestDTO getRequest(int row) {
+        return requests[row];
+    }
+
+    public String getError(int row) {
+        return errors[row];
+    }
+
+    /**
+     * @return the version of the rule set the batch was scored with, or null
+     *         before scoring
+     */
+    public String getRuleSetVersion() {
+        return table != null ? table.ruleSet.getVersion() : null;
+    }
+
+    /**
+     * @return the decision outcome of a scored row, or null if the row was rejected
+     */
+    public DecisionOutcome getOutcome(int row) {
+        return outcomes[row];
+    }
+}
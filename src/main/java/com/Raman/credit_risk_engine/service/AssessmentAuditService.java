@@ -0,0 +1,58 @@
+package com.Raman.credit_risk_engine.service;
+
+import com.Raman.credit_risk_engine.dto.AssessmentAuditDTO;
+import com.Raman.credit_risk_engine.dto.AssessmentSummaryDTO;
+import com.Raman.credit_risk_engine.dto.AssessmentWithAuditsDTO;
+import com.Raman.credit_risk_engine.entity.CreditAssessment;
+import com.Raman.credit_risk_engine.repository.AssessmentAuditRepository;
+import com.Raman.credit_risk_engine.repository.CreditAssessmentRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Reads the audit trail of an assessment.
+ *
+ * New assessments store one reason code per rule and are decoded through
+ * the catalog; assessments written before that still have audit rows.
+ */
+@Service
+public class AssessmentAuditService {
+
+    private final CreditAssessmentRepository creditAssessmentRepository;
+    private final AssessmentAuditRepository assessmentAuditRepository;
+
+    public AssessmentAuditService(
+            CreditAssessmentRepository creditAssessmentRepository,
+            AssessmentAuditRepository assessmentAuditRepository
+    ) {
+        this.creditAssessmentRepository = creditAssessmentRepository;
+        this.assessmentAuditRepository = assessmentAuditRepository;
+    }
+
+    @Transactional(readOnly = true)
+    public List<AssessmentAuditDTO> getAuditTrail(Long assessmentId) {
+        return creditAssessmentRepository.findById(assessmentId)
+                .filter(assessment -> assessment.getRuleOutcomes() != null)
+                .map(assessment -> AssessmentAuditDTO.fromReasonCodes(
+                        assessment.getRuleOutcomes(),
+                        assessment.getCreatedAt()
+                ))
+                .orElseGet(() -> AssessmentAuditDTO.fromAudits(
+                        assessmentAuditRepository.findByCreditAssessmentId(assessmentId)
+                ));
+    }
+
+    /**
+     * An assessment that is already loaded, with its audit trail; only an
+     * assessment without reason codes costs a query.
+     */
+    @Transactional(readOnly = true)
+    public AssessmentWithAuditsDTO withAuditTrail(CreditAssessment assessment) {
+        List<AssessmentAuditDTO> audits = assessment.getRuleOutcomes() != null
+                ? AssessmentAuditDTO.fromReasonCodes(assessment.getRuleOutcomes(), assessment.getCreatedAt())
+                : AssessmentAuditDTO.fromAudits(assessmentAuditRepository.findByCreditAssessmentId(assessment.getId()));
+        return new AssessmentWithAuditsDTO(AssessmentSummaryDTO.from(assessment), audits);
+    }
+}
@@ -0,0 +1,120 @@
+package com.Raman.credit_risk_engine.service;
+
+import com.Raman.credit_risk_engine.dto.AssessmentAuditDTO;
+import com.Raman.credit_risk_engine.dto.AssessmentSummaryDTO;
+import com.Raman.credit_risk_engine.dto.AssessmentWithAuditsDTO;
+import com.Raman.credit_risk_engine.dto.HistoryPageDTO;
+import com.Raman.credit_risk_engine.entity.AssessmentAudit;
+import com.Raman.credit_risk_engine.repository.AssessmentAuditRepository;
+import com.Raman.credit_risk_engine.repository.CreditAssessmentRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Pages through a user's assessments, newest first.
+ *
+ * Pages are cut by keyset on {@code (created_at, id)} rather than by offset,
+ * so every page is one range scan of the user's index entries no matter how
+ * deep the client has paged. Rows are read as projections, never as
+ * managed entities.
+ *
+ * Pages with audits cost at most two queries: coded assessments rebuild their
+ * trail from the reason codes already on the row, and the audit rows of any
+ * older assessments on the page are loaded together in one IN query.
+ */
+@Service
+public class AssessmentHistoryService {
+
+    private final CreditAssessmentRepository creditAssessmentRepository;
+    private final AssessmentAuditRepository assessmentAuditRepository;
+    private final int defaultPageSize;
+    private final int maxPageSize;
+
+    public AssessmentHistoryService(
+            CreditAssessmentRepository creditAssessmentRepository,
+            AssessmentAuditRepository assessmentAuditRepository,
+            @Value("${credit-risk.history.default-page-size:20}") int defaultPageSize,
+            @Value("${credit-risk.history.max-page-size:100}") int maxPageSize
+    ) {
+        this.creditAssessmentRepository = creditAssessmentRepository;
+        this.assessmentAuditRepository = assessmentAuditRepository;
+        this.maxPageSize = Math.max(1, maxPageSize);
+        this.defaultPageSize = Math.min(Math.max(1, defaultPageSize), this.maxPageSize);
+    }
+
+    /**
+     * @param cursor the {@code nextCursor} of the previous page, or null for the first page
+     * @param size   requested page size, or null for the default; capped at the maximum
+     */
+    @Transactional(readOnly = true)
+    public HistoryPageDTO<AssessmentSummaryDTO> getHistory(Long userId, String cursor, Integer size) {
+        int pageSize = pageSize(size);
+
+        // One extra row tells us whether another page exists
+        Limit limit = Limit.of(pageSize + 1);
+        List<AssessmentSummaryDTO> rows;
+        if (cursor == null || cursor.isEmpty()) {
+            rows = creditAssessmentRepository.findSummaries(userId, limit);
+        } else {
+            HistoryCursor position = HistoryCursor.decode(cursor);
+            rows = creditAssessmentRepository.findSummariesBefore(userId, position.createdAt(), position.id(), limit);
+        }
+
+        if (rows.size() <= pageSize) {
+            return new HistoryPageDTO<>(rows, null);
+        }
+        List<AssessmentSummaryDTO> page = rows.subList(0, pageSize);
+        AssessmentSummaryDTO last = page.get(pageSize - 1);
+        return new HistoryPageDTO<>(page, new HistoryCursor(last.createdAt(), last.id()).encode());
+    }
+
+    /**
+     * Same page as {@link #getHistory}, with each assessment's audit trail.
+     */
+    @Transactional(readOnly = true)
+    public HistoryPageDTO<AssessmentWithAuditsDTO> getHistoryWithAudits(Long userId, String cursor, Integer size) {
+        HistoryPageDTO<AssessmentSummaryDTO> page = getHistory(userId, cursor, size);
+
+        List<Long> uncoded = new ArrayList<>();
+        for (AssessmentSummaryDTO summary : page.items()) {
+            if (summary.ruleOutcomes() == null) {
+                uncoded.add(summary.id());
+            }
+        }
+
+        Map<Long, List<AssessmentAuditDTO>> auditRows = new HashMap<>();
+        if (!uncoded.isEmpty()) {
+            for (AssessmentAudit audit : assessmentAuditRepository.findReadOnlyByCreditAssessmentIdIn(uncoded)) {
+                // getId() on the lazy association does not initialize it
+                auditRows.computeIfAbsent(audit.getCreditAssessment().getId(), id -> new ArrayList<>())
+                        .add(AssessmentAuditDTO.from(audit));
+            }
+        }
+
+        List<AssessmentWithAuditsDTO> items = new ArrayList<>(page.items().size());
+        for (AssessmentSummaryDTO summary : page.items()) {
+            List<AssessmentAuditDTO> audits = summary.ruleOutcomes() != null
+                    ? AssessmentAuditDTO.fromReasonCodes(summary.ruleOutcomes(), summary.createdAt())
+                    : auditRows.getOrDefault(summary.id(), List.of());
+            items.add(new AssessmentWithAuditsDTO(summary, audits));
+        }
+        return new HistoryPageDTO<>(items, page.nextCursor());
+    }
+
+    private int pageSize(Integer size) {
+        if (size == null) {
+            return defaultPageSize;
+        }
+        if (size < 1) {
+            throw new IllegalArgumentException("Page size must be at least 1");
+        }
+        return Math.min(size, maxPageSize);
+    }
+}
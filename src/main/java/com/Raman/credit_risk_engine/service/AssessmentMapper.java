@@ -0,0 +1,163 @@
+package com.Raman.credit_risk_engine.service;
+
+import com.Raman.credit_risk_engine.decision.Decision;
+import com.Raman.credit_risk_engine.decision.RiskLevel;
+import com.Raman.credit_risk_engine.dto.CreditRiskRequestDTO;
+import com.Raman.credit_risk_engine.entity.AssessmentAudit;
+import com.Raman.credit_risk_engine.entity.CreditAssessment;
+import com.Raman.credit_risk_engine.entity.UserFinancialProfile;
+import com.Raman.credit_risk_engine.rule.ReasonCode;
+import com.Raman.credit_risk_engine.rule.RuleResult;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Maps request DTOs and scoring outcomes to persistent entities.
+ *
+ * Shared by the single, batch and streaming evaluation paths so every path
+ * stores assessments the same way.
+ */
+@Component
+public class AssessmentMapper {
+
+    public UserFinancialProfile toProfile(CreditRiskRequestDTO request) {
+        UserFinancialProfile profile = new UserFinancialProfile();
+        profile.setMonthlyIncome(request.getMonthlyIncome());
+        profile.setMonthlyExpenses(request.getMonthlyExpenses());
+        profile.setTotalMonthlyEmis(request.getTotalMonthlyEmis());
+        profile.setPastLoanDefaults(request.getPastLoanDefaults());
+        profile.setCreditHistoryLengthMonths(request.getCreditHistoryLengthMonths());
+        profile.setEmploymentType(request.getEmploymentType());
+        profile.setAge(request.getAge());
+        profile.setRequestedLoanAmount(request.getRequestedLoanAmount());
+        return profile;
+    }
+
+    public CreditAssessment toAssessment(
+            CreditRiskRequestDTO request,
+            int creditScore,
+            RiskLevel riskLevel,
+            Decision decision,
+            String ruleSetVersion
+    ) {
+        CreditAssessment assessment = new CreditAssessment();
+        // Convert BigDecimal/Enum to Double/String for storage
+        assessment.setMonthlyIncome(request.getMonthlyIncome().doubleValue());
+        assessment.setMonthlyExpenses(request.getMonthlyExpenses().doubleValue());
+        assessment.setTotalMonthlyEmis(request.getTotalMonthlyEmis().doubleValue());
+        assessment.setRequestedLoanAmount(request.getRequestedLoanAmount().doubleValue());
+        assessment.setAge(request.getAge());
+        assessment.setPastLoanDefaults(request.getPastLoanDefaults());
+        assessment.setCreditHistoryLengthMonths(request.getCreditHistoryLengthMonths());
+        assessment.setEmploymentType(request.getEmploymentType().name());
+
+        assessment.setCreditScore(creditScore);
+        assessment.setRiskLevel(riskLevel);
+        assessment.setDecision(decision);
+        assessment.setRuleSetVersion(ruleSetVersion);
+        return assessment;
+    }
+
+    public AssessmentAudit toAudit(CreditAssessment assessment, RuleResult result) {
+        AssessmentAudit audit = new AssessmentAudit();
+        audit.setCreditAssessment(assessment);
+        audit.setRuleName(result.getRuleName());
+        audit.setScoreImpact(result.getScoreImpact());
+        audit.setReason(result.getReason());
+        return audit;
+    }
+
+    /**
+     * Records the rule outcomes of a new assessment: as one reason code per
+     * rule when every outcome is in the {@link ReasonCode} catalog, otherwise
+     * as audit rows saved through the cascade.
+     */
+    public void recordOutcomes(CreditAssessment assessment, List<RuleResult> results) {
+        byte[] codes = ReasonCode.encode(results);
+        assessment.setRuleOutcomes(codes);
+        assessment.setAudits(codes == null ? toAudits(assessment, results) : new ArrayList<>());
+    }
+
+    /**
+     * Same as {@link #recordOutcomes} for a managed assessment, keeping its
+     * audit collection so orphan removal deletes the old rows.
+     */
+    public void replaceOutcomes(CreditAssessment assessment, List<RuleResult> results) {
+        byte[] codes = ReasonCode.encode(results);
+        assessment.setRuleOutcomes(codes);
+        assessment.getAudits().clear();
+        if (codes == null) {
+            assessment.getAudits().addAll(toAudits(assessment, results));
+        }
+    }
+
+    /**
+     * Applies re-scored outcomes to a managed assessment. Audit rows are
+     * updated in place, and only for rules whose outcome changed; coded
+     * assessments just get their new codes.
+     *
+     * @param previous the outcomes returned by {@link #storedOutcomes}
+     */
+    public void patchOutcomes(CreditAssessment assessment, List<RuleResult> previous, List<RuleResult> current) {
+        List<AssessmentAudit> audits = assessment.getAudits();
+        if (assessment.getRuleOutcomes() != null || audits == null || audits.size() != current.size()) {
+            replaceOutcomes(assessment, current);
+            return;
+        }
+        for (int i = 0; i < current.size(); i++) {
+            RuleResult result = current.get(i);
+            if (sameOutcome(previous.get(i), result)) {
+                continue;
+            }
+            AssessmentAudit audit = audits.get(i);
+            audit.setRuleName(result.getRuleName());
+            audit.setScoreImpact(result.getScoreImpact());
+            audit.setReason(result.getReason());
+        }
+    }
+
+    /**
+     * Rule outcomes stored for an assessment, in rule order, from its reason
+     * codes or its audit rows.
+     *
+     * @return the outcomes, or {@code null} if none are stored
+     */
+    public List<RuleResult> storedOutcomes(CreditAssessment assessment) {
+        if (assessment.getRuleOutcomes() != null) {
+            return ReasonCode.decode(assessment.getRuleOutcomes());
+        }
+        List<AssessmentAudit> audits = assessment.getAudits();
+        if (audits == null || audits.isEmpty()) {
+            return null;
+        }
+        List<RuleResult> results = new ArrayList<>(audits.size());
+        for (AssessmentAudit audit : audits) {
+            results.add(new RuleResult(audit.getRuleName(), audit.getScoreImpact(), audit.getReason()));
+        }
+        return results;
+    }
+
+    private static boolean sameOutcome(RuleResult a, RuleResult b) {
+        return a.getRuleName().equals(b.getRuleName())
+                && a.getScoreImpact() == b.getScoreImpact()
+                && a.getReason().equals(b.getReason());
+    }
+
+    public List<AssessmentAudit> toAudits(CreditAssessment assessment, List<RuleResult> results) {
+        List<AssessmentAudit> audits = new ArrayList<>(results.size());
+        for (RuleResult result : results) {
+            audits.add(toAudit(assessment, result));
+        }
+        return audits;
+    }
+
+    public List<String> toReasons(List<RuleResult> results) {
+        List<String> reasons = new ArrayList<>(results.size());
+        for (RuleResult res : results) {
+            reasons.add(res.getReason());
+        }
+        return reasons;
+    }
+}
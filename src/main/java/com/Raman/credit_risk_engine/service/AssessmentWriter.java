@@ -0,0 +1,54 @@
+package com.Raman.credit_risk_engine.service;
+
+import com.Raman.credit_risk_engine.entity.CreditAssessment;
+import com.Raman.credit_risk_engine.entity.UserFinancialProfile;
+import com.Raman.credit_risk_engine.repository.CreditAssessmentRepository;
+import com.Raman.credit_risk_engine.repository.UserFinancialProfileRepository;
+import jakarta.persistence.EntityManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Persists scored applicants one chunk per transaction, or as part of the
+ * caller's transaction if one is active.
+ *
+ * Used by the batch and streaming paths; rule outcomes must already be
+ * recorded on each assessment so any audit rows go through the cascade. The persistence
+ * context is cleared after every chunk, so a long stream does not keep every
+ * saved entity managed when the request thread's EntityManager is reused.
+ */
+@Component
+public class AssessmentWriter {
+
+    private final UserFinancialProfileRepository userFinancialProfileRepository;
+    private final CreditAssessmentRepository creditAssessmentRepository;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+
+    public AssessmentWriter(
+            UserFinancialProfileRepository userFinancialProfileRepository,
+            CreditAssessmentRepository creditAssessmentRepository,
+            EntityManager entityManager,
+            PlatformTransactionManager transactionManager
+    ) {
+        this.userFinancialProfileRepository = userFinancialProfileRepository;
+        this.creditAssessmentRepository = creditAssessmentRepository;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    public void writeChunk(List<UserFinancialProfile> profiles, List<CreditAssessment> assessments) {
+        if (profiles.isEmpty() && assessments.isEmpty()) {
+            return;
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            userFinancialProfileRepository.saveAll(profiles);
+            creditAssessmentRepository.saveAll(assessments);
+            entityManager.flush();
+            entityManager.clear();
+        });
+    }
+}
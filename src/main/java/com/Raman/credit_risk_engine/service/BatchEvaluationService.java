@@ -0,0 +1,145 @@
+package com.Raman.credit_risk_engine.service;
+
+import com.Raman.credit_risk_engine.decision.DecisionOutcome;
+import com.Raman.credit_risk_engine.dto.BatchEvaluationItemDTO;
+import com.Raman.credit_risk_engine.dto.CreditRiskRequestDTO;
+import com.Raman.credit_risk_engine.dto.CreditRiskResponseDTO;
+import com.Raman.credit_risk_engine.entity.CreditAssessment;
+import com.Raman.credit_risk_engine.entity.User;
+import com.Raman.credit_risk_engine.entity.UserFinancialProfile;
+import com.Raman.credit_risk_engine.repository.UserRepository;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Evaluates many applicants in one call.
+ *
+ * Requests are decoded into an {@link ApplicantBatch}, scored column by
+ * column, and persisted in one transaction, flushed and cleared chunk by
+ * chunk so the persistence context stays small. Either every scored item is
+ * stored or, if any chunk fails, none is and the call fails. Invalid items
+ * are reported per item and never fail the whole batch.
+ */
+@Service
+public class BatchEvaluationService {
+
+    private final Validator validator;
+    private final ColumnarScoringService columnarScoringService;
+    private final PortfolioScoringService portfolioScoringService;
+    private final AssessmentMapper assessmentMapper;
+    private final AssessmentWriter assessmentWriter;
+    private final UserRepository userRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int maxBatchSize;
+    private final int persistChunkSize;
+
+    public BatchEvaluationService(
+            Validator validator,
+            ColumnarScoringService columnarScoringService,
+            PortfolioScoringService portfolioScoringService,
+            AssessmentMapper assessmentMapper,
+            AssessmentWriter assessmentWriter,
+            UserRepository userRepository,
+            PlatformTransactionManager transactionManager,
+            @Value("${credit-risk.batch.max-size:50000}") int maxBatchSize,
+            @Value("${credit-risk.batch.persist-chunk-size:500}") int persistChunkSize
+    ) {
+        this.validator = validator;
+        this.columnarScoringService = columnarScoringService;
+        this.portfolioScoringService = portfolioScoringService;
+        this.assessmentMapper = assessmentMapper;
+        this.assessmentWriter = assessmentWriter;
+        this.userRepository = userRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.maxBatchSize = maxBatchSize;
+        this.persistChunkSize = persistChunkSize;
+    }
+
+    public List<BatchEvaluationItemDTO> evaluate(List<CreditRiskRequestDTO> requests, Long userId) {
+
+        if (requests == null || requests.isEmpty()) {
+            throw new IllegalArgumentException("Batch must contain at least one request");
+        }
+        if (requests.size() > maxBatchSize) {
+            throw new IllegalArgumentException(
+                    "Batch size " + requests.size() + " exceeds the maximum of " + maxBatchSize
+            );
+        }
+
+        ApplicantBatch batch = ApplicantBatch.decode(requests, validator);
+        portfolioScoringService.score(batch);
+
+        // Chunks join this transaction, so a failed chunk rolls back the ones before it
+        long[] assessmentIds = transactionTemplate.execute(status -> persist(batch, userId));
+
+        return toItems(batch, assessmentIds);
+    }
+
+    // Returns the saved assessment id of each scored row
+    private long[] persist(ApplicantBatch batch, Long userId) {
+
+        User user = userRepository.findById(userId).orElse(null);
+        long[] assessmentIds = new long[batch.size()];
+
+        for (int from = 0; from < batch.size(); from += persistChunkSize) {
+            int to = Math.min(batch.size(), from + persistChunkSize);
+            List<UserFinancialProfile> profiles = new ArrayList<>(to - from);
+            List<CreditAssessment> assessments = new ArrayList<>(to - from);
+            List<Integer> rows = new ArrayList<>(to - from);
+
+            for (int i = from; i < to; i++) {
+                DecisionOutcome outcome = batch.getOutcome(i);
+                if (outcome == null) {
+                    continue;
+                }
+                CreditRiskRequestDTO request = batch.getRequest(i);
+                profiles.add(assessmentMapper.toProfile(request));
+
+                CreditAssessment assessment = assessmentMapper.toAssessment(
+                        request,
+                        outcome.getScore(),
+                        outcome.getRiskLevel(),
+                        outcome.getDecision(),
+                        batch.getRuleSetVersion()
+                );
+                assessment.setUser(user);
+                assessmentMapper.recordOutcomes(assessment, columnarScoringService.ruleResults(batch, i));
+                assessments.add(assessment);
+                rows.add(i);
+            }
+
+            assessmentWriter.writeChunk(profiles, assessments);
+            for (int j = 0; j < assessments.size(); j++) {
+                assessmentIds[rows.get(j)] = assessments.get(j).getId();
+            }
+        }
+        return assessmentIds;
+    }
+
+    private List<BatchEvaluationItemDTO> toItems(ApplicantBatch batch, long[] assessmentIds) {
+
+        List<BatchEvaluationItemDTO> items = new ArrayList<>(batch.size());
+
+        for (int i = 0; i < batch.size(); i++) {
+            DecisionOutcome outcome = batch.getOutcome(i);
+            if (outcome == null) {
+                items.add(BatchEvaluationItemDTO.failure(i, batch.getError(i)));
+                continue;
+            }
+            items.add(BatchEvaluationItemDTO.success(i, new CreditRiskResponseDTO(
+                    assessmentIds[i],
+                    outcome.getScore(),
+                    outcome.getRiskLevel(),
+                    outcome.getDecision(),
+                    assessmentMapper.toReasons(columnarScoringService.ruleResults(batch, i))
+            )));
+        }
+        return items;
+    }
+}
@@ -0,0 +1,580 @@
+package com.Raman.credit_risk_engine.service;
+
+import com.Raman.credit_risk_engine.decision.DecisionOutcome;
+import com.Raman.credit_risk_engine.decision.RiskDecisionService;
+import com.Raman.credit_risk_engine.entity.EmploymentType;
+import com.Raman.credit_risk_engine.entity.UserFinancialProfile;
+import com.Raman.credit_risk_engine.exception.RuleEvaluationException;
+import com.Raman.credit_risk_engine.metrics.FinancialMetrics;
+import com.Raman.credit_risk_engine.metrics.FinancialMetricsService;
+import com.Raman.credit_risk_engine.metrics.FixedPointMetrics;
+import com.Raman.credit_risk_engine.rule.BucketedRule;
+import com.Raman.credit_risk_engine.rule.CreditRule;
+import com.Raman.credit_risk_engine.rule.RuleConfiguration;
+import com.Raman.credit_risk_engine.rule.RuleResult;
+import com.Raman.credit_risk_engine.rule.RuleSet;
+import com.Raman.credit_risk_engine.rule.RuleSetHolder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Table-driven scoring engine for step-function rules.
+ *
+ * Every {@link BucketedRule} contributes one digit to a mixed-radix index.
+ * The final score and decision for every digit combination are computed
+ * once per rule set, so scoring an applicant is one packed index followed by
+ * a single array lookup.
+ *
+ * Rules that are not bucketed, or that disagree with their own bucket
+ * outcomes (BigDecimal or fixed-point) during the table self-check, are
+ * evaluated rule-by-rule and added on top of the table score.
+ *
+ * Each table belongs to one {@link RuleSet}. When a new rule set is
+ * published, a new table is built and checked off the scoring path before
+ * the rule set is swapped in, and a rule set whose table cannot be built is
+ * rejected; a caller that needs several lookups from the same
+ * version pins a table with {@link #currentTable()}.
+ */
+@Service
+public class BucketScoringEngine {
+
+    private static final Logger log = LoggerFactory.getLogger(BucketScoringEngine.class);
+
+    static final int MAX_TABLE_SIZE = 1 << 16;
+
+    private static final BigDecimal CENT = new BigDecimal("0.01");
+    // One hundredth of a DTI percentage point, as an EMI-to-income ratio
+    private static final BigDecimal DTI_STEP = new BigDecimal("0.0001");
+
+    private final FinancialMetricsService financialMetricsService;
+    private final RiskDecisionService riskDecisionService;
+    private final AtomicReference<Table> table;
+
+    /**
+     * Scores with a fixed rule set, configured with the built-in values.
+     */
+    public BucketScoringEngine(
+            List<CreditRule> rules,
+            FinancialMetricsService financialMetricsService,
+            RiskDecisionService riskDecisionService
+    ) {
+        this(new RuleSetHolder(rules), financialMetricsService, riskDecisionService);
+    }
+
+    @Autowired
+    public BucketScoringEngine(
+            RuleSetHolder ruleSetHolder,
+            FinancialMetricsService financialMetricsService,
+            RiskDecisionService riskDecisionService
+    ) {
+        this.financialMetricsService = financialMetricsService;
+        this.riskDecisionService = riskDecisionService;
+        this.table = new AtomicReference<>(buildVerifiedTable(ruleSetHolder.current()));
+        ruleSetHolder.addListener(ruleSet -> {
+            Table next = buildVerifiedTable(ruleSet);
+            return () -> table.set(next);
+        });
+    }
+
+    /**
+     * Scores an applicant through the precomputed table.
+     */
+    public DecisionOutcome evaluate(UserFinancialProfile profile, FinancialMetrics metrics) {
+        Table table = currentTable();
+
+        int index = 0;
+        int fallbackScore = 0;
+
+        for (int i = 0; i < table.rules.length; i++) {
+            BucketedRule bucketed = table.bucketedRules[i];
+            if (bucketed != null) {
+                index += table.strides[i] * bucketOf(table, i, bucketed, profile, metrics);
+            } else {
+                fallbackScore += evaluateFallback(table, i, profile, metrics).getScoreImpact();
+            }
+        }
+
+        return lookup(table, index, fallbackScore);
+    }
+
+    /**
+     * Scores an applicant through the precomputed table and also records the
+     * individual rule outcomes into the supplied buffer, in rule order.
+     */
+    public DecisionOutcome evaluate(
+            UserFinancialProfile profile,
+            FinancialMetrics metrics,
+            ScoringBuffer buffer
+    ) {
+        return evaluate(currentTable(), profile, metrics, buffer);
+    }
+
+    DecisionOutcome evaluate(
+            Table table,
+            UserFinancialProfile profile,
+            FinancialMetrics metrics,
+            ScoringBuffer buffer
+    ) {
+        buffer.reset(CreditScoringService.BASE_SCORE, table.ruleSet);
+
+        int index = 0;
+        int fallbackScore = 0;
+
+        for (int i = 0; i < table.rules.length; i++) {
+            BucketedRule bucketed = table.bucketedRules[i];
+            if (bucketed != null) {
+                int bucket = bucketOf(table, i, bucketed, profile, metrics);
+                index += table.strides[i] * bucket;
+                buffer.add(bucketed.outcomeOf(bucket));
+            } else {
+                RuleResult result = evaluateFallback(table, i, profile, metrics);
+                fallbackScore += result.getScoreImpact();
+                buffer.add(result);
+            }
+        }
+
+        return lookup(table, index, fallbackScore);
+    }
+
+    /**
+     * @return whether {@link #evaluate(FixedPointMetrics)} is available, i.e.
+     *         every configured rule is served by the table
+     */
+    public boolean supportsFixedPoint() {
+        return currentTable().outcomes != null;
+    }
+
+    /**
+     * Scores a fixed-point applicant through the precomputed table.
+     *
+     * @throws IllegalStateException if {@link #supportsFixedPoint()} is false
+     */
+    public DecisionOutcome evaluate(FixedPointMetrics metrics) {
+        Table table = currentTable();
+        return outcomeAt(table, packedIndex(table, metrics));
+    }
+
+    /**
+     * Computes the packed bucket index of a fixed-point applicant. The index
+     * alone identifies the outcome ({@link #outcomeAt(int)}) and every rule
+     * result ({@link #ruleOutcomeAt(int, int)}), so columnar callers can keep
+     * one {@code int} per row.
+     *
+     * @throws IllegalStateException if {@link #supportsFixedPoint()} is false
+     */
+    public int packedIndex(FixedPointMetrics metrics) {
+        return packedIndex(currentTable(), metrics);
+    }
+
+    int packedIndex(Table table, FixedPointMetrics metrics) {
+        requireFixedPoint(table);
+
+        int index = 0;
+        for (int i = 0; i < table.rules.length; i++) {
+            index += table.strides[i] * bucketOf(table, i, table.bucketedRules[i], metrics);
+        }
+        return index;
+    }
+
+    public DecisionOutcome outcomeAt(int packedIndex) {
+        return outcomeAt(currentTable(), packedIndex);
+    }
+
+    DecisionOutcome outcomeAt(Table table, int packedIndex) {
+        return table.outcomes[packedIndex];
+    }
+
+    /**
+     * @param position rule position in scoring order, {@code [0, ruleCount())}
+     */
+    public RuleResult ruleOutcomeAt(int packedIndex, int position) {
+        return ruleOutcomeAt(currentTable(), packedIndex, position);
+    }
+
+    RuleResult ruleOutcomeAt(Table table, int packedIndex, int position) {
+        int bucket = (packedIndex / table.strides[position]) % table.radices[position];
+        return table.bucketedRules[position].outcomeOf(bucket);
+    }
+
+    public int ruleCount() {
+        return currentTable().rules.length;
+    }
+
+    /**
+     * @return the table of the current rule set; packed indexes are only
+     *         meaningful against the table that produced them
+     */
+    Table currentTable() {
+        return table.get();
+    }
+
+    /**
+     * Fixed-point variant of {@link #evaluate(UserFinancialProfile, FinancialMetrics, ScoringBuffer)}.
+     *
+     * @throws IllegalStateException if {@link #supportsFixedPoint()} is false
+     */
+    public DecisionOutcome evaluate(FixedPointMetrics metrics, ScoringBuffer buffer) {
+        Table table = currentTable();
+        requireFixedPoint(table);
+        buffer.reset(CreditScoringService.BASE_SCORE, table.ruleSet);
+
+        int index = 0;
+        for (int i = 0; i < table.rules.length; i++) {
+            BucketedRule bucketed = table.bucketedRules[i];
+            int bucket = bucketOf(table, i, bucketed, metrics);
+            index += table.strides[i] * bucket;
+            buffer.add(bucketed.outcomeOf(bucket));
+        }
+        return table.outcomes[index];
+    }
+
+    /**
+     * @return the version of the rule set the current table was built from
+     */
+    public String ruleSetVersion() {
+        return currentTable().ruleSet.getVersion();
+    }
+
+    public int tableSize() {
+        return currentTable().size();
+    }
+
+    public List<String> fallbackRuleNames() {
+        return currentTable().fallbackRuleNames();
+    }
+
+    private DecisionOutcome lookup(Table table, int index, int fallbackScore) {
+        if (table.outcomes != null) {
+            return table.outcomes[index];
+        }
+        return riskDecisionService.evaluate(
+                table.partialScores[index] + fallbackScore,
+                table.ruleSet.getConfiguration()
+        );
+    }
+
+    private static void requireFixedPoint(Table table) {
+        if (table.outcomes == null) {
+            throw new IllegalStateException(
+                    "Fixed-point scoring needs every rule to be bucketed; fallback rules: " + table.fallbackRuleNames()
+            );
+        }
+    }
+
+    private static int bucketOf(
+            Table table,
+            int position,
+            BucketedRule rule,
+            UserFinancialProfile profile,
+            FinancialMetrics metrics
+    ) {
+        int bucket;
+        try {
+            bucket = rule.bucketOf(profile, metrics);
+        } catch (Exception ex) {
+            throw new RuleEvaluationException(
+                    "Failed to evaluate rule: " + rule.getClass().getSimpleName(),
+                    ex
+            );
+        }
+        return checkBucket(table, position, rule, bucket);
+    }
+
+    private static int bucketOf(Table table, int position, BucketedRule rule, FixedPointMetrics metrics) {
+        int bucket;
+        try {
+            bucket = rule.bucketOf(metrics);
+        } catch (Exception ex) {
+            throw new RuleEvaluationException(
+                    "Failed to evaluate rule: " + rule.getClass().getSimpleName(),
+                    ex
+            );
+        }
+        return checkBucket(table, position, rule, bucket);
+    }
+
+    private static int checkBucket(Table table, int position, BucketedRule rule, int bucket) {
+        if (bucket < 0 || bucket >= table.radices[position]) {
+            throw new RuleEvaluationException(
+                    "Rule " + rule.getClass().getSimpleName() + " returned out-of-range bucket " + bucket
+            );
+        }
+        return bucket;
+    }
+
+    private static RuleResult evaluateFallback(
+            Table table,
+            int position,
+            UserFinancialProfile profile,
+            FinancialMetrics metrics
+    ) {
+        CreditRule rule = table.rules[position];
+        try {
+            return rule.evaluate(profile, metrics);
+        } catch (Exception ex) {
+            throw new RuleEvaluationException(
+                    "Failed to evaluate rule: " + rule.getClass().getSimpleName(),
+                    ex
+            );
+        }
+    }
+
+    // ------------------------------------------------------------------
+    // Table construction and self-check
+    // ------------------------------------------------------------------
+
+    private Table buildVerifiedTable(RuleSet ruleSet) {
+
+        List<Probe> probes = probeCorpus(financialMetricsService, ruleSet.getConfiguration());
+        CreditRule[] rules = ruleSet.getRules().toArray(new CreditRule[0]);
+        boolean[] tabled = new boolean[rules.length];
+        long size = 1;
+        for (int i = 0; i < rules.length; i++) {
+            if (rules[i] instanceof BucketedRule bucketed
+                    && bucketed.bucketCount() > 0
+                    && size * bucketed.bucketCount() <= MAX_TABLE_SIZE) {
+                tabled[i] = true;
+                size *= bucketed.bucketCount();
+            }
+        }
+
+        while (true) {
+            Table candidate = new Table(ruleSet, rules, tabled, riskDecisionService);
+            int mismatch = findMismatchingRule(candidate, probes);
+            if (mismatch < 0) {
+                log.info("Bucket score table for rule set {} built with {} entries; rule-by-rule fallback for {}",
+                        ruleSet.getVersion(), candidate.size(), candidate.fallbackRuleNames());
+                return candidate;
+            }
+            log.warn("Rule {} disagrees with its bucket outcomes; scoring it rule-by-rule",
+                    rules[mismatch].getClass().getSimpleName());
+            tabled[mismatch] = false;
+        }
+    }
+
+    /**
+     * Compares each bucketed rule with its own rule-by-rule evaluation and the
+     * table outcome with the {@link CreditScoringService} path.
+     *
+     * @return position of the first disagreeing rule, or -1 if none
+     */
+    private int findMismatchingRule(Table candidate, List<Probe> probes) {
+
+        CreditRule[] rules = candidate.rules;
+        for (Probe probe : probes) {
+            int index = 0;
+            int ruleByRuleScore = CreditScoringService.BASE_SCORE;
+            int fallbackScore = 0;
+
+            for (int i = 0; i < rules.length; i++) {
+                RuleResult expected = rules[i].evaluate(probe.profile, probe.metrics);
+                ruleByRuleScore += expected.getScoreImpact();
+
+                BucketedRule bucketed = candidate.bucketedRules[i];
+                if (bucketed == null) {
+                    fallbackScore += expected.getScoreImpact();
+                    continue;
+                }
+
+                int bucket = bucketed.bucketOf(probe.profile, probe.metrics);
+                if (bucket < 0 || bucket >= candidate.radices[i]
+                        || !sameOutcome(expected, bucketed.outcomeOf(bucket))
+                        || bucketed.bucketOf(probe.fixedPoint) != bucket) {
+                    return i;
+                }
+                index += candidate.strides[i] * bucket;
+            }
+
+            DecisionOutcome expected = riskDecisionService.evaluate(ruleByRuleScore, candidate.ruleSet.getConfiguration());
+            DecisionOutcome actual = candidate.outcomes != null
+                    ? candidate.outcomes[index]
+                    : riskDecisionService.evaluate(candidate.partialScores[index] + fallbackScore,
+                            candidate.ruleSet.getConfiguration());
+
+            if (expected.getScore() != actual.getScore()
+                    || expected.getRiskLevel() != actual.getRiskLevel()
+                    || expected.getDecision() != actual.getDecision()) {
+                throw new IllegalStateException(
+                        "Bucket score table disagrees with rule-by-rule scoring: expected "
+                                + expected.getScore() + " but table produced " + actual.getScore()
+                );
+            }
+        }
+        return -1;
+    }
+
+    private static boolean sameOutcome(RuleResult a, RuleResult b) {
+        return a.getScoreImpact() == b.getScoreImpact()
+                && a.getRuleName().equals(b.getRuleName())
+                && a.getReason().equals(b.getReason());
+    }
+
+    /**
+     * Grid of synthetic applicants straddling the thresholds of the given
+     * configuration, used only for the self-check of its table.
+     */
+    private static List<Probe> probeCorpus(FinancialMetricsService metricsService, RuleConfiguration configuration) {
+
+        // With no expenses and no EMIs the disposable income is the income itself
+        Set<BigDecimal> incomes = new TreeSet<>();
+        for (String income : new String[]{"8000", "15000", "30000", "50000", "100000", "250000"}) {
+            incomes.add(new BigDecimal(income));
+        }
+        for (BigDecimal floor : List.of(configuration.getHighDisposableIncomeFloor(),
+                configuration.getModerateDisposableIncomeFloor())) {
+            addStraddling(incomes, floor, CENT);
+        }
+        incomes.removeIf(income -> income.signum() <= 0);
+
+        String[] expenseRatios = {"0", "0.2", "0.5", "0.8"};
+
+        Set<BigDecimal> emiRatios = new TreeSet<>();
+        for (String ratio : new String[]{"0", "0.1", "0.7", "1"}) {
+            emiRatios.add(new BigDecimal(ratio));
+        }
+        BigDecimal lowDtiRatio = configuration.getLowDtiLimit().movePointLeft(2);
+        BigDecimal moderateDtiRatio = configuration.getModerateDtiLimit().movePointLeft(2);
+        addStraddling(emiRatios, lowDtiRatio, DTI_STEP);
+        addStraddling(emiRatios, moderateDtiRatio, DTI_STEP);
+        emiRatios.add(lowDtiRatio.add(moderateDtiRatio).divide(BigDecimal.TWO));
+        emiRatios.removeIf(ratio -> ratio.signum() < 0);
+
+        int[] defaults = {0, 1, 2, 7};
+
+        Set<Integer> historyMonths = new TreeSet<>(List.of(0, 240));
+        for (int months : new int[]{configuration.getModerateHistoryMonths(), configuration.getLongHistoryMonths()}) {
+            historyMonths.add(months - 1);
+            historyMonths.add(months);
+        }
+        historyMonths.removeIf(months -> months < 0);
+
+        List<Probe> probes = new ArrayList<>();
+
+        for (EmploymentType employmentType : EmploymentType.values()) {
+            for (BigDecimal monthlyIncome : incomes) {
+                for (String expenseRatio : expenseRatios) {
+                    for (BigDecimal emiRatio : emiRatios) {
+                        for (int defaultCount : defaults) {
+                            for (int history : historyMonths) {
+                                UserFinancialProfile profile = new UserFinancialProfile();
+                                profile.setEmploymentType(employmentType);
+                                profile.setMonthlyIncome(monthlyIncome);
+                                profile.setMonthlyExpenses(monthlyIncome.multiply(new BigDecimal(expenseRatio)));
+                                profile.setTotalMonthlyEmis(monthlyIncome.multiply(emiRatio));
+                                profile.setPastLoanDefaults(defaultCount);
+                                profile.setCreditHistoryLengthMonths(history);
+                                profile.setAge(30);
+                                profile.setRequestedLoanAmount(monthlyIncome.multiply(BigDecimal.valueOf(24)));
+
+                                try {
+                                    probes.add(new Probe(
+                                            profile,
+                                            metricsService.computeMetrics(profile),
+                                            new FixedPointMetrics().load(profile)
+                                    ));
+                                } catch (RuleEvaluationException ignored) {
+                                    // Not a valid applicant; nothing to check.
+                                }
+                            }
+                        }
+                    }
+                }
+            }
+        }
+        return probes;
+    }
+
+    private static void addStraddling(Set<BigDecimal> values, BigDecimal threshold, BigDecimal step) {
+        values.add(threshold.subtract(step));
+        values.add(threshold);
+        values.add(threshold.add(step));
+    }
+
+    private record Probe(
+            UserFinancialProfile profile,
+            FinancialMetrics metrics,
+            FixedPointMetrics fixedPoint
+    ) {
+    }
+
+    /**
+     * Immutable precomputed outcome table for one rule set and one partition
+     * of its rules.
+     */
+    static final class Table {
+
+        final RuleSet ruleSet;
+        final CreditRule[] rules;
+        final BucketedRule[] bucketedRules;
+        final int[] radices;
+        final int[] strides;
+        final int[] partialScores;
+        final DecisionOutcome[] outcomes;
+
+        Table(RuleSet ruleSet, CreditRule[] rules, boolean[] tabled, RiskDecisionService riskDecisionService) {
+
+            this.ruleSet = ruleSet;
+            this.rules = rules;
+            bucketedRules = new BucketedRule[rules.length];
+            radices = new int[rules.length];
+            strides = new int[rules.length];
+
+            int size = 1;
+            boolean hasFallback = false;
+            for (int i = 0; i < rules.length; i++) {
+                if (tabled[i]) {
+                    bucketedRules[i] = (BucketedRule) rules[i];
+                    radices[i] = bucketedRules[i].bucketCount();
+                    strides[i] = size;
+                    size *= radices[i];
+                } else {
+                    hasFallback = true;
+                }
+            }
+
+            partialScores = new int[size];
+            for (int index = 0; index < size; index++) {
+                int score = CreditScoringService.BASE_SCORE;
+                for (int i = 0; i < rules.length; i++) {
+                    if (bucketedRules[i] != null) {
+                        int bucket = (index / strides[i]) % radices[i];
+                        score += bucketedRules[i].outcomeOf(bucket).getScoreImpact();
+                    }
+                }
+                partialScores[index] = score;
+            }
+
+            if (hasFallback) {
+                outcomes = null;
+            } else {
+                outcomes = new DecisionOutcome[size];
+                for (int index = 0; index < size; index++) {
+                    outcomes[index] = riskDecisionService.evaluate(partialScores[index], ruleSet.getConfiguration());
+                }
+            }
+        }
+
+        int size() {
+            return partialScores.length;
+        }
+
+        List<String> fallbackRuleNames() {
+            List<String> names = new ArrayList<>();
+            for (int i = 0; i < rules.length; i++) {
+                if (bucketedRules[i] == null) {
+                    names.add(rules[i].getClass().getSimpleName());
+                }
+            }
+            return names;
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.Raman.credit_risk_engine.service;
+
+import com.Raman.credit_risk_engine.entity.UserFinancialProfile;
+import com.Raman.credit_risk_engine.exception.RuleEvaluationException;
+import com.Raman.credit_risk_engine.metrics.FinancialMetrics;
+import com.Raman.credit_risk_engine.metrics.FinancialMetricsService;
+import com.Raman.credit_risk_engine.metrics.FixedPointMetrics;
+import com.Raman.credit_risk_engine.rule.RuleResult;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Scores an {@link ApplicantBatch} column by column.
+ *
+ * Metrics are computed in one tight loop per metric over the primitive
+ * columns, then every fixed-point row is classified by the
+ * {@link BucketScoringEngine} table. Rows that cannot use the fixed-point
+ * path go through the BigDecimal pipeline instead.
+ *
+ * A batch is pinned to one rule set before its first row is scored, so a
+ * rule reload while it is being scored never mixes versions within it.
+ */
+@Service
+public class ColumnarScoringService {
+
+    private final BucketScoringEngine bucketScoringEngine;
+    private final FinancialMetricsService financialMetricsService;
+    private final AssessmentMapper assessmentMapper;
+
+    public ColumnarScoringService(
+            BucketScoringEngine bucketScoringEngine,
+            FinancialMetricsService financialMetricsService,
+            AssessmentMapper assessmentMapper
+    ) {
+        this.bucketScoringEngine = bucketScoringEngine;
+        this.financialMetricsService = financialMetricsService;
+        this.assessmentMapper = assessmentMapper;
+    }
+
+    public void score(ApplicantBatch batch) {
+        pin(batch);
+        score(batch, 0, batch.size());
+    }
+
+    /**
+     * Pins the batch to the current rule set; later calls keep the first pin.
+     */
+    public void pin(ApplicantBatch batch) {
+        if (batch.table == null) {
+            batch.table = bucketScoringEngine.currentTable();
+        }
+    }
+
+    /**
+     * Scores rows {@code [from, to)} of a pinned batch. Disjoint ranges of the
+     * same batch may be scored concurrently.
+     */
+    public void score(ApplicantBatch batch, int from, int to) {
+        BucketScoringEngine.Table table = batch.table;
+        if (table == null) {
+            throw new IllegalStateException("Batch must be pinned before scoring a range");
+        }
+
+        long[] income = batch.monthlyIncomeCents;
+        long[] expenses = batch.monthlyExpensesCents;
+        long[] emis = batch.totalMonthlyEmisCents;
+        long[] loan = batch.requestedLoanAmountCents;
+
+        long[] dti = batch.debtToIncomeBasisPoints;
+        for (int i = from; i < to; i++) {
+            dti[i] = FixedPointMetrics.debtToIncomeBasisPoints(emis[i], income[i]);
+        }
+
+        long[] disposable = batch.disposableIncomeCents;
+        for (int i = from; i < to; i++) {
+            disposable[i] = FixedPointMetrics.disposableIncomeCents(income[i], expenses[i], emis[i]);
+        }
+
+        long[] lti = batch.loanToIncomeHundredths;
+        for (int i = from; i < to; i++) {
+            lti[i] = FixedPointMetrics.loanToIncomeHundredths(loan[i], income[i]);
+        }
+
+        boolean fixedPoint = table.outcomes != null;
+        FixedPointMetrics cursor = new FixedPointMetrics();
+
+        for (int i = from; i < to; i++) {
+            byte state = batch.getRowState(i);
+            if (state == ApplicantBatch.INVALID) {
+                continue;
+            }
+            try {
+                if (state == ApplicantBatch.FIXED_POINT && fixedPoint) {
+                    int packed = bucketScoringEngine.packedIndex(table, batch.loadRow(i, cursor));
+                    batch.packedIndex[i] = packed;
+                    batch.outcomes[i] = bucketScoringEngine.outcomeAt(table, packed);
+                } else {
+                    scoreBigDecimal(table, batch, i);
+                }
+            } catch (RuleEvaluationException ex) {
+                batch.reject(i, ex.getMessage());
+            }
+        }
+    }
+
+    /**
+     * @return the individual rule outcomes of a scored row, in rule order
+     */
+    public List<RuleResult> ruleResults(ApplicantBatch batch, int row) {
+        ScoringResult bigDecimalResult = batch.bigDecimalResults[row];
+        if (bigDecimalResult != null) {
+            return bigDecimalResult.getRuleResults();
+        }
+
+        BucketScoringEngine.Table table = batch.table;
+        List<RuleResult> results = new ArrayList<>(table.rules.length);
+        for (int r = 0; r < table.rules.length; r++) {
+            results.add(bucketScoringEngine.ruleOutcomeAt(table, batch.packedIndex[row], r));
+        }
+        return results;
+    }
+
+    private void scoreBigDecimal(BucketScoringEngine.Table table, ApplicantBatch batch, int row) {
+        UserFinancialProfile profile = assessmentMapper.toProfile(batch.getRequest(row));
+        FinancialMetrics metrics = financialMetricsService.computeMetrics(profile);
+
+        ScoringBuffer buffer = new ScoringBuffer(table.rules.length);
+        batch.outcomes[row] = bucketScoringEngine.evaluate(table, profile, metrics, buffer);
+        batch.bigDecimalResults[row] = new ScoringResult(buffer.getFinalScore(), buffer.toList(), buffer.getRuleSet());
+    }
+}
@@ -5,11 +5,19 @@ import com.Raman.credit_risk_engine.dto.*;
 import com.Raman.credit_risk_engine.entity.*;
 import com.Raman.credit_risk_engine.metrics.*;
 import com.Raman.credit_risk_engine.repository.*;
+import com.Raman.credit_risk_engine.rule.RuleConfiguration;
+import com.Raman.credit_risk_engine.rule.RuleInput;
 import com.Raman.credit_risk_engine.rule.RuleResult;
+import com.Raman.credit_risk_engine.rule.RuleSet;
+import com.Raman.credit_risk_engine.telemetry.EvaluationTimers;
+import com.Raman.credit_risk_engine.telemetry.EvaluationTimers.Stage;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+
+import java.util.EnumSet;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Objects;
+import java.util.Set;
 
 @Service
 public class CreditRiskEvaluationService {
@@ -18,63 +26,94 @@ public class CreditRiskEvaluationService {
     private final CreditScoringService creditScoringService;
     private final RiskDecisionService riskDecisionService;
     private final CreditAssessmentRepository creditAssessmentRepository;
-    private final AssessmentAuditRepository assessmentAuditRepository;
     private final UserFinancialProfileRepository userFinancialProfileRepository;
     private final UserRepository userRepository;
+    private final AssessmentMapper assessmentMapper;
+    private final EvaluationTimers timers;
 
     public CreditRiskEvaluationService(
             FinancialMetricsService financialMetricsService,
             CreditScoringService creditScoringService,
             RiskDecisionService riskDecisionService,
             CreditAssessmentRepository creditAssessmentRepository,
-            AssessmentAuditRepository assessmentAuditRepository,
             UserFinancialProfileRepository userFinancialProfileRepository,
-            UserRepository userRepository
+            UserRepository userRepository,
+            AssessmentMapper assessmentMapper,
+            EvaluationTimers timers
     ) {
         this.financialMetricsService = financialMetricsService;
         this.creditScoringService = creditScoringService;
         this.riskDecisionService = riskDecisionService;
         this.creditAssessmentRepository = creditAssessmentRepository;
-        this.assessmentAuditRepository = assessmentAuditRepository;
         this.userFinancialProfileRepository = userFinancialProfileRepository;
         this.userRepository = userRepository;
+        this.assessmentMapper = assessmentMapper;
+        this.timers = timers;
     }
 
+    /**
+     * Scores, decides and stores one evaluation, timing each stage. The
+     * inserts are flushed inside the persistence stage rather than at commit.
+     */
     @Transactional
     public CreditRiskResponseDTO evaluate(CreditRiskRequestDTO request, Long userId) {
-        UserFinancialProfile profile = mapToEntity(request);
-        userFinancialProfileRepository.save(profile);
+        long started = System.nanoTime();
+        UserFinancialProfile profile = assessmentMapper.toProfile(request);
 
-        FinancialMetrics metrics = financialMetricsService.computeMetrics(profile);
-        ScoringResult scoringResult = creditScoringService.calculateScore(profile, metrics);
+        // Computed up front, so the metrics stage is not charged to the first rule that reads them
+        long metricsStarted = System.nanoTime();
+        FinancialMetrics metrics = financialMetricsService.computeMetrics(profile, creditScoringService.requiredMetrics());
 
-        CreditAssessment assessment = new CreditAssessment();
-        // Convert BigDecimal/Enum to Double/String for storage
-        assessment.setMonthlyIncome(request.getMonthlyIncome().doubleValue());
-        assessment.setMonthlyExpenses(request.getMonthlyExpenses().doubleValue());
-        assessment.setTotalMonthlyEmis(request.getTotalMonthlyEmis().doubleValue());
-        assessment.setRequestedLoanAmount(request.getRequestedLoanAmount().doubleValue());
-        assessment.setAge(request.getAge());
-        assessment.setPastLoanDefaults(request.getPastLoanDefaults());
-        assessment.setCreditHistoryLengthMonths(request.getCreditHistoryLengthMonths());
-        assessment.setEmploymentType(request.getEmploymentType().name());
-
-        assessment.setCreditScore(scoringResult.getFinalScore());
-        assessment.setRiskLevel(riskDecisionService.determineRiskLevel(scoringResult.getFinalScore()));
-        assessment.setDecision(riskDecisionService.determineDecision(assessment.getRiskLevel()));
+        long rulesStarted = System.nanoTime();
+        ScoringResult scoringResult = creditScoringService.calculateScore(profile, metrics);
 
+        long decisionStarted = System.nanoTime();
+        RuleSet ruleSet = scoringResult.getRuleSet();
+        DecisionOutcome outcome = riskDecisionService.evaluate(scoringResult.getFinalScore(), ruleSet.getConfiguration());
+        Decision decision = outcome.getDecision();
+        timers.record(Stage.METRICS, decision, metricsStarted, rulesStarted);
+        timers.record(Stage.RULES, decision, rulesStarted, decisionStarted);
+        timers.record(Stage.DECISION, decision, decisionStarted);
+        creditScoringService.recordRuleTimings(scoringResult, decision);
+
+        CreditAssessment assessment = assessmentMapper.toAssessment(
+                request,
+                scoringResult.getFinalScore(),
+                outcome.getRiskLevel(),
+                decision,
+                ruleSet.getVersion()
+        );
+
+        long stage = System.nanoTime();
         userRepository.findById(userId).ifPresent(assessment::setUser);
-        CreditAssessment savedAssessment = creditAssessmentRepository.save(assessment);
+        timers.record(Stage.USER_LOOKUP, decision, stage);
 
-        saveAudits(savedAssessment, scoringResult.getRuleResults());
+        // Reason codes on the assessment row, or audit rows batched through the cascade
+        stage = System.nanoTime();
+        assessmentMapper.recordOutcomes(assessment, scoringResult.getRuleResults());
+        userFinancialProfileRepository.save(profile);
+        creditAssessmentRepository.saveAndFlush(assessment);
+        timers.record(Stage.PERSISTENCE, decision, stage);
+
+        timers.recordEvaluation(decision, started);
 
-        return new CreditRiskResponseDTO(assessment.getCreditScore(), assessment.getRiskLevel(), assessment.getDecision(),
-                scoringResult.getRuleResults().stream().map(RuleResult::getReason).collect(Collectors.toList()));
+        return new CreditRiskResponseDTO(assessment.getId(), assessment.getCreditScore(), assessment.getRiskLevel(), assessment.getDecision(),
+                assessmentMapper.toReasons(scoringResult.getRuleResults()));
     }
 
+    /**
+     * Applies updated financial inputs and re-scores the assessment.
+     *
+     * Only rules that read a changed field, or a metric derived from one, are
+     * re-evaluated; the other rules keep their stored outcome, and only the
+     * outcomes that changed are written back. Stored outcomes are only reused
+     * when they were produced by the current rule set version.
+     */
     @Transactional
     public CreditAssessment updateAndReEvaluate(Long id, CreditAssessment updatedData) {
         return creditAssessmentRepository.findById(id).map(existing -> {
+            Set<RuleInput> changed = changedInputs(existing, updatedData);
+
             existing.setMonthlyIncome(updatedData.getMonthlyIncome());
             existing.setMonthlyExpenses(updatedData.getMonthlyExpenses());
             existing.setTotalMonthlyEmis(updatedData.getTotalMonthlyEmis());
@@ -90,41 +129,59 @@ public class CreditRiskEvaluationService {
             profile.setCreditHistoryLengthMonths(existing.getCreditHistoryLengthMonths());
             profile.setRequestedLoanAmount(java.math.BigDecimal.valueOf(existing.getRequestedLoanAmount()));
 
-            FinancialMetrics metrics = financialMetricsService.computeMetrics(profile);
-            ScoringResult scoringResult = creditScoringService.calculateScore(profile, metrics);
-
+            List<RuleResult> previous = assessmentMapper.storedOutcomes(existing);
+            RuleSet ruleSet = creditScoringService.currentRuleSet();
+            ScoringResult scoringResult;
+
+            if (previous != null
+                    && previous.size() == ruleSet.size()
+                    && ruleSet.getVersion().equals(scoredWith(existing))) {
+                FinancialMetrics metrics = creditScoringService.requiresMetrics(ruleSet, changed)
+                        ? financialMetricsService.computeMetrics(profile)
+                        : null;
+                scoringResult = creditScoringService.rescore(ruleSet, profile, metrics, previous, changed);
+                assessmentMapper.patchOutcomes(existing, previous, scoringResult.getRuleResults());
+            } else {
+                // Nothing usable stored (or the rule set changed): full evaluation
+                FinancialMetrics metrics = financialMetricsService.computeMetrics(profile);
+                scoringResult = creditScoringService.calculateScore(ruleSet, profile, metrics);
+                assessmentMapper.replaceOutcomes(existing, scoringResult.getRuleResults());
+            }
+
+            DecisionOutcome outcome = riskDecisionService.evaluate(
+                    scoringResult.getFinalScore(), ruleSet.getConfiguration());
+            creditScoringService.recordRuleTimings(scoringResult, outcome.getDecision());
             existing.setCreditScore(scoringResult.getFinalScore());
-            existing.setRiskLevel(riskDecisionService.determineRiskLevel(scoringResult.getFinalScore()));
-            existing.setDecision(riskDecisionService.determineDecision(existing.getRiskLevel()));
-
-            existing.getAudits().clear();
-            saveAudits(existing, scoringResult.getRuleResults());
+            existing.setRiskLevel(outcome.getRiskLevel());
+            existing.setDecision(outcome.getDecision());
+            existing.setRuleSetVersion(ruleSet.getVersion());
 
             return creditAssessmentRepository.save(existing);
         }).orElseThrow(() -> new RuntimeException("Assessment not found"));
     }
 
-    private void saveAudits(CreditAssessment assessment, List<RuleResult> results) {
-        for (RuleResult res : results) {
-            AssessmentAudit audit = new AssessmentAudit();
-            audit.setCreditAssessment(assessment);
-            audit.setRuleName(res.getRuleName());
-            audit.setScoreImpact(res.getScoreImpact());
-            audit.setReason(res.getReason());
-            assessmentAuditRepository.save(audit);
-        }
+    // Rows written before versions were recorded were scored with the built-in rules
+    private static String scoredWith(CreditAssessment assessment) {
+        return assessment.getRuleSetVersion() != null
+                ? assessment.getRuleSetVersion()
+                : RuleConfiguration.BUILTIN_VERSION;
     }
 
-    private UserFinancialProfile mapToEntity(CreditRiskRequestDTO request) {
-        UserFinancialProfile profile = new UserFinancialProfile();
-        profile.setMonthlyIncome(request.getMonthlyIncome());
-        profile.setMonthlyExpenses(request.getMonthlyExpenses());
-        profile.setTotalMonthlyEmis(request.getTotalMonthlyEmis());
-        profile.setPastLoanDefaults(request.getPastLoanDefaults());
-        profile.setCreditHistoryLengthMonths(request.getCreditHistoryLengthMonths());
-        profile.setEmploymentType(request.getEmploymentType());
-        profile.setAge(request.getAge());
-        profile.setRequestedLoanAmount(request.getRequestedLoanAmount());
-        return profile;
+    // Only these four inputs can be updated
+    private static Set<RuleInput> changedInputs(CreditAssessment existing, CreditAssessment updated) {
+        Set<RuleInput> changed = EnumSet.noneOf(RuleInput.class);
+        if (!Objects.equals(existing.getMonthlyIncome(), updated.getMonthlyIncome())) {
+            changed.add(RuleInput.MONTHLY_INCOME);
+        }
+        if (!Objects.equals(existing.getMonthlyExpenses(), updated.getMonthlyExpenses())) {
+            changed.add(RuleInput.MONTHLY_EXPENSES);
+        }
+        if (!Objects.equals(existing.getTotalMonthlyEmis(), updated.getTotalMonthlyEmis())) {
+            changed.add(RuleInput.TOTAL_MONTHLY_EMIS);
+        }
+        if (!Objects.equals(existing.getPastLoanDefaults(), updated.getPastLoanDefaults())) {
+            changed.add(RuleInput.PAST_LOAN_DEFAULTS);
+        }
+        return changed;
     }
 }
\ No newline at end of file
@@ -1,45 +1,290 @@
 package com.Raman.credit_risk_engine.service;
 
+import com.Raman.credit_risk_engine.decision.Decision;
 import com.Raman.credit_risk_engine.entity.UserFinancialProfile;
 import com.Raman.credit_risk_engine.exception.RuleEvaluationException;
 import com.Raman.credit_risk_engine.metrics.FinancialMetrics;
 import com.Raman.credit_risk_engine.rule.CreditRule;
+import com.Raman.credit_risk_engine.rule.RuleInput;
 import com.Raman.credit_risk_engine.rule.RuleResult;
+import com.Raman.credit_risk_engine.rule.RuleSet;
+import com.Raman.credit_risk_engine.rule.RuleSetHolder;
+import com.Raman.credit_risk_engine.telemetry.EvaluationTimers;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
-import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Set;
 
 @Service
 public class CreditScoringService {
 
-    private static final int BASE_SCORE = 1000;
-    private final List<CreditRule> rules;
+    private static final Logger log = LoggerFactory.getLogger(CreditScoringService.class);
 
+    static final int BASE_SCORE = 1000;
+    private final RuleSetHolder ruleSetHolder;
+    // Null when rule timings are not recorded
+    private final EvaluationTimers timers;
+    // Reloads change rule values, never the rules, so this is fixed
+    private final Set<RuleInput> requiredMetrics;
+
+    /**
+     * Scores with a fixed rule set, configured with the built-in values.
+     */
     public CreditScoringService(List<CreditRule> rules) {
-        this.rules = rules;
+        this(new RuleSetHolder(rules));
+    }
+
+    public CreditScoringService(RuleSetHolder ruleSetHolder) {
+        this(ruleSetHolder, null);
+    }
+
+    @Autowired
+    public CreditScoringService(RuleSetHolder ruleSetHolder, EvaluationTimers timers) {
+        this.ruleSetHolder = ruleSetHolder;
+        this.timers = timers;
+
+        Set<RuleInput> required = EnumSet.noneOf(RuleInput.class);
+        for (CreditRule rule : currentRuleSet().getRules()) {
+            for (RuleInput input : rule.inputs()) {
+                if (input.isMetric()) {
+                    required.add(input);
+                }
+            }
+        }
+        this.requiredMetrics = Collections.unmodifiableSet(required);
+
+        Set<RuleInput> unused = EnumSet.noneOf(RuleInput.class);
+        for (RuleInput input : RuleInput.values()) {
+            if (input.isMetric() && !required.contains(input)) {
+                unused.add(input);
+            }
+        }
+        log.info("{} rules read metrics {}; never computed: {}", ruleCount(), required, unused);
+    }
+
+    /**
+     * @return the rule set new evaluations are scored with
+     */
+    public RuleSet currentRuleSet() {
+        return ruleSetHolder.current();
+    }
+
+    /**
+     * @return the metrics read by at least one configured rule
+     */
+    public Set<RuleInput> requiredMetrics() {
+        return requiredMetrics;
     }
 
     public ScoringResult calculateScore(
             UserFinancialProfile profile,
             FinancialMetrics metrics
     ) {
-        int score = BASE_SCORE;
-        List<RuleResult> ruleResults = new ArrayList<>();
-
-        for (CreditRule rule : rules) {
-            try {
-                RuleResult result = rule.evaluate(profile, metrics);
-                score += result.getScoreImpact();
-                ruleResults.add(result);
-            } catch (Exception ex) {
-                throw new RuleEvaluationException(
-                        "Failed to evaluate rule: " + rule.getClass().getSimpleName(),
-                        ex
-                );
+        return calculateScore(currentRuleSet(), profile, metrics);
+    }
+
+    /**
+     * Scores with a rule set the caller has already taken, e.g. to score
+     * several variants of a profile with the same version.
+     */
+    public ScoringResult calculateScore(
+            RuleSet ruleSet,
+            UserFinancialProfile profile,
+            FinancialMetrics metrics
+    ) {
+        ScoringBuffer buffer = new ScoringBuffer(ruleSet.size());
+        calculateScore(ruleSet, profile, metrics, buffer);
+        return toResult(buffer);
+    }
+
+    /**
+     * Allocation-free scoring mode.
+     *
+     * Rules return shared outcome constants, so filling a reused buffer
+     * creates no garbage once the JIT has warmed up.
+     *
+     * @param buffer holder obtained from {@link #newBuffer()}; overwritten
+     */
+    public void calculateScore(
+            UserFinancialProfile profile,
+            FinancialMetrics metrics,
+            ScoringBuffer buffer
+    ) {
+        calculateScore(currentRuleSet(), profile, metrics, buffer);
+    }
+
+    private void calculateScore(
+            RuleSet ruleSet,
+            UserFinancialProfile profile,
+            FinancialMetrics metrics,
+            ScoringBuffer buffer
+    ) {
+        List<CreditRule> rules = ruleSet.getRules();
+        buffer.reset(BASE_SCORE, ruleSet);
+
+        boolean timed = timers != null && timers.sampleRules();
+        buffer.rulesTimed = timed;
+        int index = 0;
+        try {
+            for (; index < rules.size(); index++) {
+                long start = timed ? System.nanoTime() : 0;
+                buffer.add(rules.get(index).evaluate(profile, metrics));
+                if (timed) {
+                    buffer.ruleNanos[index] = System.nanoTime() - start;
+                }
+            }
+        } catch (RuleEvaluationException ex) {
+            // Already describes the failure, e.g. a lazily computed metric
+            throw ex;
+        } catch (Exception ex) {
+            throw new RuleEvaluationException(
+                    "Failed to evaluate rule: " + rules.get(index).getClass().getSimpleName(),
+                    ex
+            );
+        }
+    }
+
+    /**
+     * Records the rule timings sampled while scoring {@code buffer}, if any,
+     * tagged with the decision the caller reached from its score.
+     */
+    public void recordRuleTimings(ScoringBuffer buffer, Decision decision) {
+        if (buffer.rulesTimed) {
+            recordRuleTimings(buffer.ruleNanos, buffer.size(), decision);
+        }
+    }
+
+    /**
+     * Same as {@link #recordRuleTimings(ScoringBuffer, Decision)} for a
+     * {@link ScoringResult}.
+     */
+    public void recordRuleTimings(ScoringResult result, Decision decision) {
+        long[] ruleNanos = result.getRuleNanos();
+        if (ruleNanos != null) {
+            recordRuleTimings(ruleNanos, ruleNanos.length, decision);
+        }
+    }
+
+    private void recordRuleTimings(long[] ruleNanos, int count, Decision decision) {
+        for (int i = 0; i < count; i++) {
+            if (ruleNanos[i] >= 0) {
+                timers.recordRule(i, decision, ruleNanos[i]);
+            }
+        }
+    }
+
+    private static ScoringResult toResult(ScoringBuffer buffer) {
+        long[] ruleNanos = buffer.rulesTimed ? Arrays.copyOf(buffer.ruleNanos, buffer.size()) : null;
+        return new ScoringResult(buffer.getFinalScore(), buffer.toList(), buffer.getRuleSet(), ruleNanos);
+    }
+
+    /**
+     * Re-scores an updated profile, re-evaluating only the rules that read a
+     * changed field or a metric derived from one. Every other rule keeps its
+     * {@code previous} outcome, so {@code previous} must come from the same
+     * rule set version.
+     *
+     * @param metrics       may be null if {@link #requiresMetrics(Set)} is false
+     * @param previous      stored outcomes, one per rule in rule order
+     * @param changedFields profile fields whose value changed
+     */
+    public ScoringResult rescore(
+            UserFinancialProfile profile,
+            FinancialMetrics metrics,
+            List<RuleResult> previous,
+            Set<RuleInput> changedFields
+    ) {
+        return rescore(currentRuleSet(), profile, metrics, previous, changedFields);
+    }
+
+    public ScoringResult rescore(
+            RuleSet ruleSet,
+            UserFinancialProfile profile,
+            FinancialMetrics metrics,
+            List<RuleResult> previous,
+            Set<RuleInput> changedFields
+    ) {
+        List<CreditRule> rules = ruleSet.getRules();
+        if (previous.size() != rules.size()) {
+            throw new IllegalArgumentException(
+                    "Expected " + rules.size() + " stored outcomes, got " + previous.size()
+            );
+        }
+        Set<RuleInput> changed = RuleInput.withDerivedMetrics(changedFields);
+
+        ScoringBuffer buffer = new ScoringBuffer(rules.size());
+        buffer.reset(BASE_SCORE, ruleSet);
+
+        boolean timed = timers != null && timers.sampleRules();
+        buffer.rulesTimed = timed;
+        if (timed) {
+            // Rules that keep their stored outcome are not timed
+            Arrays.fill(buffer.ruleNanos, -1);
+        }
+        int index = 0;
+        try {
+            for (; index < rules.size(); index++) {
+                CreditRule rule = rules.get(index);
+                if (Collections.disjoint(rule.inputs(), changed)) {
+                    buffer.add(previous.get(index));
+                    continue;
+                }
+                long start = timed ? System.nanoTime() : 0;
+                buffer.add(rule.evaluate(profile, metrics));
+                if (timed) {
+                    buffer.ruleNanos[index] = System.nanoTime() - start;
+                }
+            }
+        } catch (RuleEvaluationException ex) {
+            // Already describes the failure, e.g. a lazily computed metric
+            throw ex;
+        } catch (Exception ex) {
+            throw new RuleEvaluationException(
+                    "Failed to evaluate rule: " + rules.get(index).getClass().getSimpleName(),
+                    ex
+            );
+        }
+        return toResult(buffer);
+    }
+
+    /**
+     * @return whether a {@link #rescore} for these changed fields re-evaluates
+     *         a rule that reads a metric
+     */
+    public boolean requiresMetrics(Set<RuleInput> changedFields) {
+        return requiresMetrics(currentRuleSet(), changedFields);
+    }
+
+    public boolean requiresMetrics(RuleSet ruleSet, Set<RuleInput> changedFields) {
+        Set<RuleInput> changed = RuleInput.withDerivedMetrics(changedFields);
+        for (CreditRule rule : ruleSet.getRules()) {
+            if (Collections.disjoint(rule.inputs(), changed)) {
+                continue;
+            }
+            for (RuleInput input : rule.inputs()) {
+                if (input.isMetric()) {
+                    return true;
+                }
             }
         }
+        return false;
+    }
+
+    public int ruleCount() {
+        return currentRuleSet().size();
+    }
 
-        return new ScoringResult(score, ruleResults);
+    /**
+     * Creates a buffer large enough for the configured rule set. Reloads keep
+     * the rules and only change their values, so the size stays valid.
+     */
+    public ScoringBuffer newBuffer() {
+        return new ScoringBuffer(ruleCount());
     }
 }
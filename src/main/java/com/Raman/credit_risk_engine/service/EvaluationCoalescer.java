@@ -0,0 +1,113 @@
+package com.Raman.credit_risk_engine.service;
+
+import com.Raman.credit_risk_engine.dto.CreditRiskRequestDTO;
+import com.Raman.credit_risk_engine.dto.CreditRiskResponseDTO;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Runs identical concurrent evaluations once.
+ *
+ * Requests are keyed on their {@link RequestFingerprint}. The first one
+ * runs the evaluation, scoring and persistence included; requests with the
+ * same fingerprint that arrive before it finishes wait for it and return the
+ * same response, assessment id included. Nothing is remembered once it
+ * finishes: a later identical request is evaluated again.
+ *
+ * The in-flight map is a {@link ConcurrentHashMap}, so lookups take no lock
+ * and inserts only contend within one hash bin.
+ *
+ * When the first request runs inside a transaction, the others are released
+ * only once it commits, so they never return an assessment that is later
+ * rolled back. After a rollback they evaluate again themselves.
+ */
+@Service
+@ConditionalOnProperty(name = "credit-risk.coalescing.enabled", havingValue = "true", matchIfMissing = true)
+public class EvaluationCoalescer {
+
+    private final ConcurrentHashMap<RequestFingerprint, CompletableFuture<CreditRiskResponseDTO>> inFlight =
+            new ConcurrentHashMap<>();
+    private final Counter shared;
+
+    public EvaluationCoalescer(MeterRegistry registry) {
+        this.shared = Counter.builder("credit_risk.coalescing.shared")
+                .description("Evaluations answered with the result of an identical one in flight")
+                .register(registry);
+        Gauge.builder("credit_risk.coalescing.in_flight", inFlight, ConcurrentHashMap::size)
+                .description("Distinct evaluations in flight")
+                .register(registry);
+    }
+
+    public CreditRiskResponseDTO evaluate(
+            Long userId,
+            CreditRiskRequestDTO request,
+            Supplier<CreditRiskResponseDTO> evaluation
+    ) {
+        RequestFingerprint fingerprint = RequestFingerprint.of(userId, request);
+        while (true) {
+            CompletableFuture<CreditRiskResponseDTO> running = new CompletableFuture<>();
+            CompletableFuture<CreditRiskResponseDTO> earlier = inFlight.putIfAbsent(fingerprint, running);
+            if (earlier == null) {
+                return lead(fingerprint, running, evaluation);
+            }
+
+            shared.increment();
+            CreditRiskResponseDTO response = join(earlier);
+            // null: the first evaluation was rolled back, so run (or join) another
+            if (response != null) {
+                return response;
+            }
+        }
+    }
+
+    private CreditRiskResponseDTO lead(
+            RequestFingerprint fingerprint,
+            CompletableFuture<CreditRiskResponseDTO> running,
+            Supplier<CreditRiskResponseDTO> evaluation
+    ) {
+        CreditRiskResponseDTO response;
+        try {
+            response = evaluation.get();
+        } catch (RuntimeException ex) {
+            inFlight.remove(fingerprint, running);
+            running.completeExceptionally(ex);
+            throw ex;
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    inFlight.remove(fingerprint, running);
+                    running.complete(status == STATUS_COMMITTED ? response : null);
+                }
+            });
+        } else {
+            inFlight.remove(fingerprint, running);
+            running.complete(response);
+        }
+        return response;
+    }
+
+    private static CreditRiskResponseDTO join(CompletableFuture<CreditRiskResponseDTO> earlier) {
+        try {
+            return earlier.join();
+        } catch (CompletionException ex) {
+            // The first evaluation's own exception, e.g. a rule failure or 503
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.Raman.credit_risk_engine.service;
+
+import java.nio.ByteBuffer;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * Position in a user's history: the last row of the previous page.
+ *
+ * History is ordered by {@code (created_at, id)} descending, so the next page
+ * starts strictly after this pair. Clients get it as an opaque URL-safe
+ * token and must not build one themselves.
+ */
+record HistoryCursor(Instant createdAt, long id) {
+
+    private static final int TOKEN_BYTES = Long.BYTES + Integer.BYTES + Long.BYTES;
+
+    String encode() {
+        ByteBuffer buffer = ByteBuffer.allocate(TOKEN_BYTES)
+                .putLong(createdAt.getEpochSecond())
+                .putInt(createdAt.getNano())
+                .putLong(id);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(buffer.array());
+    }
+
+    static HistoryCursor decode(String token) {
+        byte[] bytes;
+        try {
+            bytes = Base64.getUrlDecoder().decode(token);
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalArgumentException("Invalid history cursor");
+        }
+        if (bytes.length != TOKEN_BYTES) {
+            throw new IllegalArgumentException("Invalid history cursor");
+        }
+
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        long seconds = buffer.getLong();
+        int nanos = buffer.getInt();
+        long id = buffer.getLong();
+        if (nanos < 0 || nanos > 999_999_999 || id < 0) {
+            throw new IllegalArgumentException("Invalid history cursor");
+        }
+        try {
+            return new HistoryCursor(Instant.ofEpochSecond(seconds, nanos), id);
+        } catch (DateTimeException ex) {
+            throw new IllegalArgumentException("Invalid history cursor");
+        }
+    }
+}
@@ -0,0 +1,280 @@
+package com.Raman.credit_risk_engine.service;
+
+import com.Raman.credit_risk_engine.decision.Decision;
+import com.Raman.credit_risk_engine.decision.RiskLevel;
+import com.Raman.credit_risk_engine.dto.CreditRiskRequestDTO;
+import com.Raman.credit_risk_engine.dto.CreditRiskResponseDTO;
+import com.Raman.credit_risk_engine.entity.IdempotencyRecord;
+import com.Raman.credit_risk_engine.exception.IdempotencyConflictException;
+import com.Raman.credit_risk_engine.repository.IdempotencyRecordRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Runs each {@code Idempotency-Key} through the evaluation at most once.
+ *
+ * The first completed response for a key is stored in the
+ * {@code idempotency_key} table, in the same transaction as the evaluation's
+ * own inserts, and kept in a bounded LRU cache. A later request with the key
+ * gets the stored response back without being scored or writing any rows;
+ * one that arrives while the first is still running waits for its result.
+ * A key sent with a different user or request body is refused.
+ *
+ * Failed evaluations are not stored, so the key can be retried. When two
+ * instances race on the same key, the loser's transaction rolls back on the
+ * primary key and it answers with the winner's response. Stored keys expire
+ * after {@code retention-hours}.
+ */
+@Service
+@ConditionalOnProperty(name = "credit-risk.idempotency.enabled", havingValue = "true", matchIfMissing = true)
+public class IdempotentEvaluationService implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(IdempotentEvaluationService.class);
+
+    // Set on responses served from a stored result
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private final IdempotencyRecordRepository repository;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration retention;
+    private final long waitTimeoutMs;
+    private final long purgeIntervalMinutes;
+    private final ResponseCache cache;
+    private final Map<String, CompletableFuture<StoredResponse>> inFlight = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService scheduler;
+
+    public IdempotentEvaluationService(
+            IdempotencyRecordRepository repository,
+            PlatformTransactionManager transactionManager,
+            @Value("${credit-risk.idempotency.cache-size:10000}") int cacheSize,
+            @Value("${credit-risk.idempotency.retention-hours:24}") long retentionHours,
+            @Value("${credit-risk.idempotency.wait-timeout-ms:10000}") long waitTimeoutMs,
+            @Value("${credit-risk.idempotency.purge-interval-minutes:60}") long purgeIntervalMinutes
+    ) {
+        this.repository = repository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.retention = Duration.ofHours(retentionHours);
+        this.waitTimeoutMs = waitTimeoutMs;
+        this.purgeIntervalMinutes = Math.max(1, purgeIntervalMinutes);
+        this.cache = new ResponseCache(Math.max(1, cacheSize));
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "idempotency-purge");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /** A response, and whether it was stored by an earlier request with the same key. */
+    public record Result(CreditRiskResponseDTO response, boolean replayed) {}
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        scheduler.scheduleWithFixedDelay(this::purgeQuietly, purgeIntervalMinutes, purgeIntervalMinutes, TimeUnit.MINUTES);
+    }
+
+    /**
+     * @param evaluation runs the evaluation; called at most once per key,
+     *                   inside the transaction that stores its response. It
+     *                   must write only in that transaction, not to the
+     *                   write-behind journal, or a rollback leaves its rows.
+     */
+    public Result evaluate(String key, Long userId, CreditRiskRequestDTO request, Supplier<CreditRiskResponseDTO> evaluation) {
+        if (key.isBlank() || key.length() > IdempotencyRecord.MAX_KEY_LENGTH) {
+            throw new IllegalArgumentException(
+                    "Idempotency-Key must be 1 to " + IdempotencyRecord.MAX_KEY_LENGTH + " characters");
+        }
+        String requestHash = RequestFingerprint.of(userId, request).sha256();
+
+        StoredResponse cached = cache.get(key);
+        if (cached != null && !expired(cached.createdAt())) {
+            return replay(key, cached, requestHash);
+        }
+
+        CompletableFuture<StoredResponse> running = new CompletableFuture<>();
+        CompletableFuture<StoredResponse> earlier = inFlight.putIfAbsent(key, running);
+        if (earlier != null) {
+            return replay(key, await(key, earlier), requestHash);
+        }
+
+        try {
+            Completion completion;
+            try {
+                completion = transactionTemplate.execute(status -> loadOrEvaluate(key, requestHash, evaluation));
+            } catch (DataIntegrityViolationException ex) {
+                // Another instance stored the key first; this transaction's rows were rolled back
+                completion = repository.findById(key)
+                        .map(record -> new Completion(toStored(record), false))
+                        .orElseThrow(() -> ex);
+            }
+            cache.put(key, completion.stored());
+            running.complete(completion.stored());
+
+            return completion.evaluated()
+                    ? new Result(completion.stored().response(), false)
+                    : replay(key, completion.stored(), requestHash);
+        } catch (RuntimeException ex) {
+            running.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            inFlight.remove(key, running);
+        }
+    }
+
+    /**
+     * Deletes stored keys older than the retention period.
+     *
+     * @return the number of keys deleted
+     */
+    public int purge() {
+        Instant cutoff = Instant.now().minus(retention);
+        Integer deleted = transactionTemplate.execute(status -> repository.deleteCreatedBefore(cutoff));
+        return deleted == null ? 0 : deleted;
+    }
+
+    private Completion loadOrEvaluate(String key, String requestHash, Supplier<CreditRiskResponseDTO> evaluation) {
+        IdempotencyRecord record = repository.findById(key).orElse(null);
+        if (record != null && !expired(record.getCreatedAt())) {
+            return new Completion(toStored(record), false);
+        }
+        if (record == null) {
+            record = new IdempotencyRecord(key);
+        }
+
+        CreditRiskResponseDTO response = evaluation.get();
+        record.setRequestHash(requestHash);
+        record.setAssessmentId(response.getAssessmentId());
+        record.setCreditScore(response.getCreditScore());
+        record.setRiskLevel(response.getRiskLevel());
+        record.setDecision(response.getDecision());
+        record.setReasons(String.join("\n", response.getReasons()));
+        record.setCreatedAt(Instant.now());
+        repository.saveAndFlush(record);
+
+        return new Completion(toStored(record), true);
+    }
+
+    private Result replay(String key, StoredResponse stored, String requestHash) {
+        if (!stored.requestHash().equals(requestHash)) {
+            throw new IdempotencyConflictException(
+                    "Idempotency-Key " + key + " was already used for a different request");
+        }
+        log.debug("Replaying stored response for Idempotency-Key {}", key);
+        return new Result(stored.response(), true);
+    }
+
+    private StoredResponse await(String key, CompletableFuture<StoredResponse> earlier) {
+        try {
+            return earlier.get(waitTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException ex) {
+            // Duplicates of a failed request fail the same way; a later retry runs again
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(ex.getCause());
+        } catch (TimeoutException ex) {
+            throw new IdempotencyConflictException(
+                    "A request with Idempotency-Key " + key + " is still being processed");
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IdempotencyConflictException(
+                    "Interrupted while waiting for the request with Idempotency-Key " + key);
+        }
+    }
+
+    private boolean expired(Instant createdAt) {
+        return createdAt.isBefore(Instant.now().minus(retention));
+    }
+
+    private static StoredResponse toStored(IdempotencyRecord record) {
+        List<String> reasons = record.getReasons().isEmpty()
+                ? List.of()
+                : Arrays.asList(record.getReasons().split("\n", -1));
+        CreditRiskResponseDTO response = new CreditRiskResponseDTO(
+                record.getAssessmentId(),
+                record.getCreditScore(),
+                record.getRiskLevel(),
+                record.getDecision(),
+                List.copyOf(reasons)
+        );
+        return new StoredResponse(record.getRequestHash(), response, record.getCreatedAt());
+    }
+
+    private void purgeQuietly() {
+        try {
+            int deleted = purge();
+            if (deleted > 0) {
+                log.debug("Purged {} expired idempotency keys", deleted);
+            }
+        } catch (RuntimeException ex) {
+            log.warn("Could not purge expired idempotency keys: {}", ex.getMessage());
+        }
+    }
+
+    @Override
+    public void destroy() {
+        scheduler.shutdownNow();
+    }
+
+    private record StoredResponse(String requestHash, CreditRiskResponseDTO response, Instant createdAt) {}
+
+    private record Completion(StoredResponse stored, boolean evaluated) {}
+
+    // Least recently used entries are evicted first
+    private static final class ResponseCache {
+
+        private final ReentrantLock lock = new ReentrantLock();
+        private final LinkedHashMap<String, StoredResponse> entries;
+
+        ResponseCache(int capacity) {
+            this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, StoredResponse> eldest) {
+                    return size() > capacity;
+                }
+            };
+        }
+
+        StoredResponse get(String key) {
+            lock.lock();
+            try {
+                return entries.get(key);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void put(String key, StoredResponse response) {
+            lock.lock();
+            try {
+                entries.put(key, response);
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package com.Raman.credit_risk_engine.service;
+
+import com.Raman.credit_risk_engine.decision.Decision;
+import com.Raman.credit_risk_engine.decision.DecisionOutcome;
+import com.Raman.credit_risk_engine.decision.RiskDecisionService;
+import com.Raman.credit_risk_engine.dto.CreditRiskRequestDTO;
+import com.Raman.credit_risk_engine.dto.LoanCapacityDTO;
+import com.Raman.credit_risk_engine.entity.UserFinancialProfile;
+import com.Raman.credit_risk_engine.exception.RuleEvaluationException;
+import com.Raman.credit_risk_engine.metrics.FinancialMetrics;
+import com.Raman.credit_risk_engine.metrics.FinancialMetricsService;
+import com.Raman.credit_risk_engine.rule.CreditRule;
+import com.Raman.credit_risk_engine.rule.EmiThresholdRule;
+import com.Raman.credit_risk_engine.rule.RuleInput;
+import com.Raman.credit_risk_engine.rule.RuleSet;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Solves for the largest new loan a profile can take on per decision tier.
+ *
+ * A new loan only adds to the profile's monthly EMIs, and a score can only
+ * change where an EMI-reading rule crosses one of its thresholds. So instead
+ * of probing amounts, the solver asks each {@link EmiThresholdRule} for the
+ * EMIs at which it changes bucket, scores the profile once at each of those
+ * points, and keeps the highest point that still reaches each decision.
+ * Every point is scored with the rule set current when solving started.
+ * Nothing is persisted.
+ */
+@Service
+public class LoanCapacityService {
+
+    private static final BigDecimal MONTHS_PER_YEAR_PERCENT = BigDecimal.valueOf(1200);
+
+    private static final Set<RuleInput> EMI_INPUTS =
+            RuleInput.withDerivedMetrics(EnumSet.of(RuleInput.TOTAL_MONTHLY_EMIS));
+
+    private final FinancialMetricsService financialMetricsService;
+    private final CreditScoringService creditScoringService;
+    private final RiskDecisionService riskDecisionService;
+    private final AssessmentMapper assessmentMapper;
+    private final int defaultTenureMonths;
+    private final BigDecimal defaultAnnualInterestRate;
+
+    public LoanCapacityService(
+            FinancialMetricsService financialMetricsService,
+            CreditScoringService creditScoringService,
+            RiskDecisionService riskDecisionService,
+            AssessmentMapper assessmentMapper,
+            @Value("${credit-risk.loan-capacity.tenure-months:60}") int defaultTenureMonths,
+            @Value("${credit-risk.loan-capacity.annual-interest-rate:12}") BigDecimal defaultAnnualInterestRate
+    ) {
+        this.financialMetricsService = financialMetricsService;
+        this.creditScoringService = creditScoringService;
+        this.riskDecisionService = riskDecisionService;
+        this.assessmentMapper = assessmentMapper;
+        this.defaultTenureMonths = defaultTenureMonths;
+        this.defaultAnnualInterestRate = defaultAnnualInterestRate;
+    }
+
+    /**
+     * @param tenureMonths       repayment period of the new loan, or null for the default
+     * @param annualInterestRate yearly rate in percent, or null for the default
+     */
+    public LoanCapacityDTO solve(CreditRiskRequestDTO request, Integer tenureMonths, BigDecimal annualInterestRate) {
+        int tenure = tenureMonths != null ? tenureMonths : defaultTenureMonths;
+        BigDecimal rate = annualInterestRate != null ? annualInterestRate : defaultAnnualInterestRate;
+        if (tenure < 1) {
+            throw new IllegalArgumentException("Tenure must be at least one month");
+        }
+        if (rate.signum() < 0) {
+            throw new IllegalArgumentException("Interest rate must not be negative");
+        }
+
+        RuleSet ruleSet = creditScoringService.currentRuleSet();
+        List<EmiThresholdRule> thresholdRules = new ArrayList<>();
+        List<String> unsolvableRules = new ArrayList<>();
+        for (CreditRule rule : ruleSet.getRules()) {
+            if (rule instanceof EmiThresholdRule thresholdRule) {
+                thresholdRules.add(thresholdRule);
+            } else if (!Collections.disjoint(rule.inputs(), EMI_INPUTS)) {
+                // Reads EMIs, but its thresholds are unknown
+                unsolvableRules.add(rule.getClass().getSimpleName());
+            }
+        }
+        if (!unsolvableRules.isEmpty()) {
+            throw new RuleEvaluationException("Loan capacity cannot be solved for rules " + unsolvableRules);
+        }
+
+        UserFinancialProfile profile = assessmentMapper.toProfile(request);
+        BigDecimal currentEmis = profile.getTotalMonthlyEmis();
+        DecisionOutcome current = outcomeAt(ruleSet, profile, currentEmis);
+
+        // Each stretch of constant score ends at a rule threshold, at the
+        // income (metrics reject EMIs above it) or, trivially, right here
+        TreeSet<BigDecimal> candidates = new TreeSet<>();
+        candidates.add(currentEmis);
+        candidates.add(profile.getMonthlyIncome().setScale(2, RoundingMode.FLOOR));
+        for (EmiThresholdRule rule : thresholdRules) {
+            for (int bucket = 0; bucket < rule.bucketCount(); bucket++) {
+                BigDecimal limit = rule.maxTotalEmis(profile, bucket);
+                if (limit != null) {
+                    candidates.add(limit);
+                }
+            }
+        }
+
+        // Walking down, the first point seen for a decision is its highest
+        Map<Decision, BigDecimal> maxEmis = new EnumMap<>(Decision.class);
+        for (BigDecimal emis : candidates.tailSet(currentEmis, true).descendingSet()) {
+            maxEmis.putIfAbsent(outcomeAt(ruleSet, profile, emis).getDecision(), emis);
+        }
+
+        List<LoanCapacityDTO.Tier> tiers = new ArrayList<>();
+        BigDecimal best = null;
+        // Decisions are declared best first; a tier also accepts any better decision
+        for (Decision decision : Decision.values()) {
+            BigDecimal emis = maxEmis.get(decision);
+            if (emis != null && (best == null || emis.compareTo(best) > 0)) {
+                best = emis;
+            }
+            if (best == null) {
+                tiers.add(new LoanCapacityDTO.Tier(decision, null, null));
+            } else {
+                BigDecimal extraEmi = best.subtract(currentEmis);
+                tiers.add(new LoanCapacityDTO.Tier(decision, extraEmi, principalFor(extraEmi, tenure, rate)));
+            }
+        }
+
+        return new LoanCapacityDTO(current.getScore(), current.getDecision(), tenure, rate, tiers);
+    }
+
+    private DecisionOutcome outcomeAt(RuleSet ruleSet, UserFinancialProfile profile, BigDecimal totalMonthlyEmis) {
+        profile.setTotalMonthlyEmis(totalMonthlyEmis);
+        FinancialMetrics metrics = financialMetricsService.computeMetrics(profile);
+        return riskDecisionService.evaluate(
+                creditScoringService.calculateScore(ruleSet, profile, metrics).getFinalScore(),
+                ruleSet.getConfiguration()
+        );
+    }
+
+    // Present value of an annuity; rounded down so its EMI never exceeds the one given
+    static BigDecimal principalFor(BigDecimal monthlyEmi, int tenureMonths, BigDecimal annualInterestRate) {
+        if (annualInterestRate.signum() == 0) {
+            return monthlyEmi.multiply(BigDecimal.valueOf(tenureMonths)).setScale(2, RoundingMode.FLOOR);
+        }
+        MathContext mc = MathContext.DECIMAL64;
+        BigDecimal monthlyRate = annualInterestRate.divide(MONTHS_PER_YEAR_PERCENT, mc);
+        BigDecimal discount = BigDecimal.ONE.add(monthlyRate).pow(-tenureMonths, mc);
+        return monthlyEmi
+                .multiply(BigDecimal.ONE.subtract(discount), mc)
+                .divide(monthlyRate, mc)
+                .setScale(2, RoundingMode.FLOOR);
+    }
+}
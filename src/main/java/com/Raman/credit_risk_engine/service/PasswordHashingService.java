@@ -0,0 +1,161 @@
+package com.Raman.credit_risk_engine.service;
+
+import com.Raman.credit_risk_engine.exception.PasswordHashingUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Hashes and verifies passwords on a small private executor.
+ *
+ * BCrypt is deliberately slow, so a burst of logins or signups run on
+ * request threads can take every core away from scoring. Here at most
+ * {@code threads} hashes run at once and at most {@code queue-capacity}
+ * wait. A request that finds the queue full, or whose hash has not finished
+ * within {@code timeout-ms}, fails with
+ * {@link PasswordHashingUnavailableException} instead of waiting longer.
+ */
+@Service
+public class PasswordHashingService implements DisposableBean {
+
+    private final BCryptPasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor executor;
+    private final long timeoutMs;
+
+    private final Timer encodeTimer;
+    private final Timer matchesTimer;
+    private final Timer waitTimer;
+    private final Counter queueFull;
+    private final Counter timedOut;
+
+    public PasswordHashingService(
+            BCryptPasswordEncoder passwordEncoder,
+            MeterRegistry registry,
+            @Value("${credit-risk.auth.hashing-threads:0}") int threads,
+            @Value("${credit-risk.auth.hashing-queue-capacity:64}") int queueCapacity,
+            @Value("${credit-risk.auth.hashing-timeout-ms:2000}") long timeoutMs
+    ) {
+        this.passwordEncoder = passwordEncoder;
+        this.timeoutMs = timeoutMs;
+        // 0: half the cores, so hashing never takes all of them
+        int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        this.executor = newExecutor(poolSize, Math.max(1, queueCapacity));
+
+        this.encodeTimer = hashTimer(registry, "encode");
+        this.matchesTimer = hashTimer(registry, "matches");
+        this.waitTimer = Timer.builder("credit_risk.auth.hashing.wait")
+                .description("Time password hashing work spent queued")
+                .register(registry);
+        this.queueFull = rejections(registry, "queue_full");
+        this.timedOut = rejections(registry, "timeout");
+        Gauge.builder("credit_risk.auth.hashing.queue", executor, pool -> pool.getQueue().size())
+                .description("Password hashing work waiting for a thread")
+                .register(registry);
+        Gauge.builder("credit_risk.auth.hashing.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Password hashes running")
+                .register(registry);
+    }
+
+    public String encode(CharSequence rawPassword) {
+        return run(encodeTimer, () -> passwordEncoder.encode(rawPassword));
+    }
+
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return run(matchesTimer, () -> passwordEncoder.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        executor.shutdown();
+        if (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
+            executor.shutdownNow();
+        }
+    }
+
+    private <T> T run(Timer timer, Callable<T> hash) {
+        long queued = System.nanoTime();
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                long started = System.nanoTime();
+                waitTimer.record(started - queued, TimeUnit.NANOSECONDS);
+                try {
+                    return hash.call();
+                } finally {
+                    timer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+                }
+            });
+        } catch (RejectedExecutionException ex) {
+            queueFull.increment();
+            throw new PasswordHashingUnavailableException("Too many authentication requests, please retry");
+        }
+
+        try {
+            return future.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException ex) {
+            // Still queued: leaves the queue. Already hashing: finishes, and the result is dropped
+            future.cancel(false);
+            executor.remove((Runnable) future);
+            timedOut.increment();
+            throw new PasswordHashingUnavailableException("Authentication timed out, please retry");
+        } catch (InterruptedException ex) {
+            future.cancel(false);
+            Thread.currentThread().interrupt();
+            throw new PasswordHashingUnavailableException("Interrupted while waiting for password hashing");
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(ex.getCause());
+        }
+    }
+
+    private static Timer hashTimer(MeterRegistry registry, String operation) {
+        return Timer.builder("credit_risk.auth.hashing")
+                .description("Time spent computing a password hash")
+                .tag("operation", operation)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    private static Counter rejections(MeterRegistry registry, String reason) {
+        return Counter.builder("credit_risk.auth.hashing.rejected")
+                .description("Authentication requests refused by the password hashing executor")
+                .tag("reason", reason)
+                .register(registry);
+    }
+
+    private static ThreadPoolExecutor newExecutor(int threads, int queueCapacity) {
+        AtomicInteger index = new AtomicInteger();
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(
+                threads,
+                threads,
+                0,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                task -> {
+                    Thread thread = new Thread(task, "password-hashing-" + index.getAndIncrement());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+        pool.prestartAllCoreThreads();
+        return pool;
+    }
+}
@@ -0,0 +1,115 @@
+package com.Raman.credit_risk_engine.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parallel scorer for large portfolios.
+ *
+ * Splits an {@link ApplicantBatch} into row ranges and scores them on a
+ * dedicated {@link ForkJoinPool}. Each task writes only its own rows, so
+ * results stay in input order without any merging.
+ *
+ * The pool is private to this service and capped at its configured
+ * parallelism (no compensation threads), so portfolio runs never use the
+ * common pool and never grow beyond the cores assigned to them. Servlet
+ * threads that submit work simply wait for it.
+ */
+@Service
+public class PortfolioScoringService implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(PortfolioScoringService.class);
+
+    private final ColumnarScoringService columnarScoringService;
+    private final ForkJoinPool pool;
+    private final int splitThreshold;
+
+    public PortfolioScoringService(
+            ColumnarScoringService columnarScoringService,
+            @Value("${credit-risk.portfolio.parallelism:0}") int parallelism,
+            @Value("${credit-risk.portfolio.split-threshold:4096}") int splitThreshold
+    ) {
+        this.columnarScoringService = columnarScoringService;
+        this.splitThreshold = Math.max(1, splitThreshold);
+        this.pool = newPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+
+        log.info("Portfolio scoring pool started with parallelism {}", pool.getParallelism());
+    }
+
+    /**
+     * Scores every row of the batch, in parallel when it is large enough.
+     */
+    public void score(ApplicantBatch batch) {
+        if (batch.size() <= splitThreshold || pool.getParallelism() == 1) {
+            columnarScoringService.score(batch);
+            return;
+        }
+        columnarScoringService.pin(batch);
+        pool.invoke(new ScoreRange(batch, 0, batch.size()));
+    }
+
+    public int getParallelism() {
+        return pool.getParallelism();
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        pool.shutdown();
+        if (!pool.awaitTermination(10, TimeUnit.SECONDS)) {
+            pool.shutdownNow();
+        }
+    }
+
+    private static ForkJoinPool newPool(int parallelism) {
+        ForkJoinPool.ForkJoinWorkerThreadFactory factory = p -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(p);
+            thread.setName("portfolio-scoring-" + thread.getPoolIndex());
+            thread.setDaemon(true);
+            return thread;
+        };
+
+        return new ForkJoinPool(
+                parallelism,
+                factory,
+                null,
+                false,
+                0,
+                parallelism,
+                1,
+                p -> true,
+                60,
+                TimeUnit.SECONDS
+        );
+    }
+
+    private final class ScoreRange extends RecursiveAction {
+
+        private final ApplicantBatch batch;
+        private final int from;
+        private final int to;
+
+        ScoreRange(ApplicantBatch batch, int from, int to) {
+            this.batch = batch;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= splitThreshold) {
+                columnarScoringService.score(batch, from, to);
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new ScoreRange(batch, from, mid), new ScoreRange(batch, mid, to));
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.Raman.credit_risk_engine.service;
+
+import com.Raman.credit_risk_engine.dto.CreditRiskRequestDTO;
+import com.Raman.credit_risk_engine.entity.EmploymentType;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Canonical form of one evaluation request: the user id and every
+ * {@link CreditRiskRequestDTO} field. Amounts are compared by value, so
+ * {@code 50000} and {@code 50000.00} give equal fingerprints.
+ */
+public record RequestFingerprint(
+        Long userId,
+        BigDecimal monthlyIncome,
+        BigDecimal monthlyExpenses,
+        BigDecimal totalMonthlyEmis,
+        Integer pastLoanDefaults,
+        Integer creditHistoryLengthMonths,
+        EmploymentType employmentType,
+        Integer age,
+        BigDecimal requestedLoanAmount
+) {
+
+    public static RequestFingerprint of(Long userId, CreditRiskRequestDTO request) {
+        return new RequestFingerprint(
+                userId,
+                canonical(request.getMonthlyIncome()),
+                canonical(request.getMonthlyExpenses()),
+                canonical(request.getTotalMonthlyEmis()),
+                request.getPastLoanDefaults(),
+                request.getCreditHistoryLengthMonths(),
+                request.getEmploymentType(),
+                request.getAge(),
+                canonical(request.getRequestedLoanAmount())
+        );
+    }
+
+    /**
+     * @return hex SHA-256 of the fields, for storing alongside a response
+     */
+    public String sha256() {
+        String canonical = String.join("|",
+                String.valueOf(userId),
+                plain(monthlyIncome),
+                plain(monthlyExpenses),
+                plain(totalMonthlyEmis),
+                String.valueOf(pastLoanDefaults),
+                String.valueOf(creditHistoryLengthMonths),
+                String.valueOf(employmentType),
+                String.valueOf(age),
+                plain(requestedLoanAmount));
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(canonical.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    // BigDecimal equality and hashCode include the scale
+    private static BigDecimal canonical(BigDecimal value) {
+        return value == null ? null : value.stripTrailingZeros();
+    }
+
+    private static String plain(BigDecimal value) {
+        return value == null ? "null" : value.toPlainString();
+    }
+}
@@ -0,0 +1,142 @@
+package com.Raman.credit_risk_engine.service;
+
+import com.Raman.credit_risk_engine.entity.RuleSetting;
+import com.Raman.credit_risk_engine.repository.RuleSettingRepository;
+import com.Raman.credit_risk_engine.rule.RuleConfiguration;
+import com.Raman.credit_risk_engine.rule.RuleSet;
+import com.Raman.credit_risk_engine.rule.RuleSetHolder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.Properties;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Loads rule thresholds from an external source and publishes them.
+ *
+ * The source is a properties file or the {@code rule_settings} table. It is
+ * read once at startup, where a missing or invalid configuration stops the
+ * application, and then again on every reload. A reload that fails keeps the
+ * rule set in use. Settings that changed without a new {@code version} are
+ * ignored, because assessments record the version they were scored with.
+ */
+@Service
+public class RuleConfigurationService implements SmartInitializingSingleton, DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(RuleConfigurationService.class);
+
+    enum Source { NONE, FILE, DB }
+
+    private final RuleSetHolder ruleSetHolder;
+    private final RuleSettingRepository ruleSettingRepository;
+    private final Source source;
+    private final Path file;
+    private final long reloadIntervalMs;
+    private final ScheduledExecutorService scheduler;
+
+    public RuleConfigurationService(
+            RuleSetHolder ruleSetHolder,
+            RuleSettingRepository ruleSettingRepository,
+            @Value("${credit-risk.rules.source:none}") String source,
+            @Value("${credit-risk.rules.file:rules.properties}") String file,
+            @Value("${credit-risk.rules.reload-interval-ms:0}") long reloadIntervalMs
+    ) {
+        this.ruleSetHolder = ruleSetHolder;
+        this.ruleSettingRepository = ruleSettingRepository;
+        this.source = Source.valueOf(source.trim().toUpperCase(Locale.ROOT));
+        this.file = Path.of(file);
+        this.reloadIntervalMs = reloadIntervalMs;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "rule-reloader");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    // Runs once every scoring component is listening for new rule sets
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (source == Source.NONE) {
+            log.info("No external rule source; using rule set {}", ruleSetHolder.current().getVersion());
+            return;
+        }
+        reload();
+        if (reloadIntervalMs > 0) {
+            scheduler.scheduleWithFixedDelay(this::reloadQuietly, reloadIntervalMs, reloadIntervalMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    public RuleSet current() {
+        return ruleSetHolder.current();
+    }
+
+    /**
+     * Reads the source and publishes it if its version is new.
+     *
+     * @return the rule set in use afterwards
+     * @throws IllegalArgumentException if no source is configured or the
+     *                                  settings are invalid
+     */
+    public synchronized RuleSet reload() {
+        RuleConfiguration loaded = RuleConfiguration.parse(read());
+        RuleSet current = ruleSetHolder.current();
+
+        if (loaded.toSettings().equals(current.getConfiguration().toSettings())) {
+            return current;
+        }
+        if (loaded.getVersion().equals(current.getVersion())) {
+            log.warn("Rule settings changed but version {} did not; keeping the loaded rule set", loaded.getVersion());
+            return current;
+        }
+        return ruleSetHolder.publish(loaded);
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        scheduler.shutdown();
+        if (!scheduler.awaitTermination(10, TimeUnit.SECONDS)) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    private void reloadQuietly() {
+        try {
+            reload();
+        } catch (Exception ex) {
+            log.warn("Rule reload from {} failed; keeping rule set {}", source, ruleSetHolder.current().getVersion(), ex);
+        }
+    }
+
+    private Properties read() {
+        Properties settings = new Properties();
+        switch (source) {
+            case NONE -> throw new IllegalArgumentException("No rule source configured (credit-risk.rules.source)");
+            case FILE -> {
+                try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+                    settings.load(reader);
+                } catch (IOException ex) {
+                    throw new UncheckedIOException("Could not read rule file " + file, ex);
+                }
+            }
+            case DB -> {
+                for (RuleSetting setting : ruleSettingRepository.findAll()) {
+                    settings.setProperty(setting.getKey(), setting.getValue());
+                }
+            }
+        }
+        return settings;
+    }
+}
@@ -0,0 +1,71 @@
+package com.Raman.credit_risk_engine.service;
+
+import com.Raman.credit_risk_engine.rule.RuleResult;
+import com.Raman.credit_risk_engine.rule.RuleSet;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Reusable, fixed-size holder for the outcome of one scoring pass.
+ *
+ * Filled by {@link CreditScoringService#calculateScore(com.Raman.credit_risk_engine.entity.UserFinancialProfile,
+ * com.Raman.credit_risk_engine.metrics.FinancialMetrics, ScoringBuffer)} without allocating.
+ * A buffer is NOT thread-safe; keep one per thread and reuse it across evaluations.
+ */
+public final class ScoringBuffer {
+
+    private final RuleResult[] ruleResults;
+    // Sampled rule timings, held until the caller records them with its decision; -1 = not timed
+    final long[] ruleNanos;
+    // Whether ruleNanos belongs to the current outcome
+    boolean rulesTimed;
+    private int size;
+    private int finalScore;
+    private RuleSet ruleSet;
+
+    ScoringBuffer(int capacity) {
+        this.ruleResults = new RuleResult[capacity];
+        this.ruleNanos = new long[capacity];
+    }
+
+    void reset(int baseScore, RuleSet ruleSet) {
+        this.size = 0;
+        this.finalScore = baseScore;
+        this.ruleSet = ruleSet;
+    }
+
+    void add(RuleResult result) {
+        ruleResults[size++] = result;
+        finalScore += result.getScoreImpact();
+    }
+
+    public int getFinalScore() {
+        return finalScore;
+    }
+
+    /**
+     * @return the rule set that produced the current outcome
+     */
+    public RuleSet getRuleSet() {
+        return ruleSet;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public RuleResult get(int index) {
+        if (index >= size) {
+            throw new IndexOutOfBoundsException(index);
+        }
+        return ruleResults[index];
+    }
+
+    /**
+     * Copies the current outcome into an immutable list (allocates).
+     */
+    public List<RuleResult> toList() {
+        return List.of(Arrays.copyOf(ruleResults, size));
+    }
+}
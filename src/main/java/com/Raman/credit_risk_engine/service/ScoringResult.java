@@ -1,16 +1,27 @@
 package com.Raman.credit_risk_engine.service;
 
 import com.Raman.credit_risk_engine.rule.RuleResult;
+import com.Raman.credit_risk_engine.rule.RuleSet;
+
 import java.util.List;
 
 public class ScoringResult {
 
     private final int finalScore;
     private final List<RuleResult> ruleResults;
+    private final RuleSet ruleSet;
+    // Sampled rule timings, null when this evaluation was not sampled
+    private final long[] ruleNanos;
+
+    public ScoringResult(int finalScore, List<RuleResult> ruleResults, RuleSet ruleSet) {
+        this(finalScore, ruleResults, ruleSet, null);
+    }
 
-    public ScoringResult(int finalScore, List<RuleResult> ruleResults) {
+    ScoringResult(int finalScore, List<RuleResult> ruleResults, RuleSet ruleSet, long[] ruleNanos) {
         this.finalScore = finalScore;
         this.ruleResults = ruleResults;
+        this.ruleSet = ruleSet;
+        this.ruleNanos = ruleNanos;
     }
 
     public int getFinalScore() {
@@ -20,4 +31,16 @@ public class ScoringResult {
     public List<RuleResult> getRuleResults() {
         return ruleResults;
     }
+
+    /**
+     * @return the rule set the score was computed with; its configuration
+     *         holds the risk cut-offs that belong to this score
+     */
+    public RuleSet getRuleSet() {
+        return ruleSet;
+    }
+
+    long[] getRuleNanos() {
+        return ruleNanos;
+    }
 }
@@ -0,0 +1,286 @@
+package com.Raman.credit_risk_engine.service;
+
+import com.Raman.credit_risk_engine.decision.Decision;
+import com.Raman.credit_risk_engine.decision.DecisionOutcome;
+import com.Raman.credit_risk_engine.decision.RiskDecisionService;
+import com.Raman.credit_risk_engine.dto.CreditRiskRequestDTO;
+import com.Raman.credit_risk_engine.dto.CreditRiskResponseDTO;
+import com.Raman.credit_risk_engine.dto.ShadowStatsDTO;
+import com.Raman.credit_risk_engine.entity.UserFinancialProfile;
+import com.Raman.credit_risk_engine.metrics.FinancialMetrics;
+import com.Raman.credit_risk_engine.metrics.FinancialMetricsService;
+import com.Raman.credit_risk_engine.rule.CreditRule;
+import com.Raman.credit_risk_engine.rule.RuleConfiguration;
+import com.Raman.credit_risk_engine.rule.RuleSet;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.AutowireCapableBeanFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import org.springframework.util.ClassUtils;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Champion/challenger scoring on live traffic.
+ *
+ * After a live evaluation has been answered, the same request is scored
+ * again with a challenger rule set on a small private executor, and the two
+ * outcomes are compared. The challenger has its own versioned thresholds,
+ * impacts and cut-offs, read once at startup from a settings file in the
+ * {@link RuleConfiguration} format. Results only go into {@link LongAdder} counters and
+ * a sampled diff log; the challenger never affects a response or the
+ * database. The executor's queue is bounded and work that does not fit is
+ * dropped and counted, so a slow challenger cannot slow the live path.
+ */
+@Service
+@ConditionalOnProperty(name = "credit-risk.shadow.enabled", havingValue = "true")
+public class ShadowScoringService implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(ShadowScoringService.class);
+    private static final Logger diffLog = LoggerFactory.getLogger(ShadowScoringService.class.getName() + ".diff");
+
+    private final FinancialMetricsService financialMetricsService;
+    private final RuleSet challengerRuleSet;
+    private final CreditScoringService challenger;
+    private final RiskDecisionService riskDecisionService;
+    private final AssessmentMapper assessmentMapper;
+    private final List<String> challengerRules;
+    private final double diffSampleRate;
+    private final ThreadPoolExecutor executor;
+
+    private final LongAdder submitted = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder compared = new LongAdder();
+    private final LongAdder scoreDisagreements = new LongAdder();
+    private final LongAdder decisionDisagreements = new LongAdder();
+    private final LongAdder scoreDeltaSum = new LongAdder();
+    // [live decision][challenger decision]
+    private final LongAdder[][] decisions;
+
+    @Autowired
+    public ShadowScoringService(
+            List<CreditRule> liveRules,
+            AutowireCapableBeanFactory beanFactory,
+            FinancialMetricsService financialMetricsService,
+            RiskDecisionService riskDecisionService,
+            AssessmentMapper assessmentMapper,
+            @Value("${credit-risk.shadow.rules-file:shadow-rules.properties}") String rulesFile,
+            @Value("${credit-risk.shadow.rules:}") List<String> ruleNames,
+            @Value("${credit-risk.shadow.threads:1}") int threads,
+            @Value("${credit-risk.shadow.queue-capacity:1000}") int queueCapacity,
+            @Value("${credit-risk.shadow.diff-sample-rate:0.01}") double diffSampleRate
+    ) {
+        this(RuleSet.compile(readConfiguration(Path.of(rulesFile)), resolveRules(ruleNames, liveRules, beanFactory)),
+                financialMetricsService, riskDecisionService, assessmentMapper, threads, queueCapacity, diffSampleRate);
+    }
+
+    ShadowScoringService(
+            RuleSet challengerRuleSet,
+            FinancialMetricsService financialMetricsService,
+            RiskDecisionService riskDecisionService,
+            AssessmentMapper assessmentMapper,
+            int threads,
+            int queueCapacity,
+            double diffSampleRate
+    ) {
+        this.financialMetricsService = financialMetricsService;
+        this.challengerRuleSet = challengerRuleSet;
+        this.challenger = new CreditScoringService(challengerRuleSet.getRules());
+        this.riskDecisionService = riskDecisionService;
+        this.assessmentMapper = assessmentMapper;
+        this.challengerRules = challengerRuleSet.getRules().stream().map(rule -> rule.getClass().getSimpleName()).toList();
+        this.diffSampleRate = diffSampleRate;
+        this.executor = newExecutor(Math.max(1, threads), Math.max(1, queueCapacity));
+
+        int outcomes = Decision.values().length;
+        this.decisions = new LongAdder[outcomes][outcomes];
+        for (LongAdder[] row : decisions) {
+            for (int i = 0; i < row.length; i++) {
+                row[i] = new LongAdder();
+            }
+        }
+
+        log.info("Shadow scoring enabled with challenger rule set {} rules {}",
+                challengerRuleSet.getVersion(), this.challengerRules);
+    }
+
+    /**
+     * Queues the request for challenger scoring; never blocks.
+     *
+     * @param live the response already computed by the live rule set
+     */
+    public void submit(CreditRiskRequestDTO request, CreditRiskResponseDTO live) {
+        submitted.increment();
+        // A full queue (or a shut down executor) goes to the rejection handler
+        executor.execute(() -> compare(request, live));
+    }
+
+    public ShadowStatsDTO getStats() {
+        Map<Decision, Map<Decision, Long>> matrix = new EnumMap<>(Decision.class);
+        for (Decision live : Decision.values()) {
+            Map<Decision, Long> row = new EnumMap<>(Decision.class);
+            for (Decision shadow : Decision.values()) {
+                row.put(shadow, decisions[live.ordinal()][shadow.ordinal()].sum());
+            }
+            matrix.put(live, row);
+        }
+
+        long comparedCount = compared.sum();
+        return new ShadowStatsDTO(
+                challengerRuleSet.getVersion(),
+                challengerRules,
+                submitted.sum(),
+                dropped.sum(),
+                failed.sum(),
+                comparedCount,
+                scoreDisagreements.sum(),
+                decisionDisagreements.sum(),
+                comparedCount == 0 ? 0 : (double) scoreDeltaSum.sum() / comparedCount,
+                matrix
+        );
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        executor.shutdown();
+        if (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
+            executor.shutdownNow();
+        }
+    }
+
+    private void compare(CreditRiskRequestDTO request, CreditRiskResponseDTO live) {
+        ScoringResult result;
+        DecisionOutcome outcome;
+        try {
+            UserFinancialProfile profile = assessmentMapper.toProfile(request);
+            FinancialMetrics metrics = financialMetricsService.computeMetrics(profile);
+            result = challenger.calculateScore(challengerRuleSet, profile, metrics);
+            outcome = riskDecisionService.evaluate(result.getFinalScore(), challengerRuleSet.getConfiguration());
+        } catch (RuntimeException ex) {
+            failed.increment();
+            log.debug("Challenger scoring failed", ex);
+            return;
+        }
+
+        int delta = outcome.getScore() - live.getCreditScore();
+        compared.increment();
+        scoreDeltaSum.add(delta);
+        decisions[live.getDecision().ordinal()][outcome.getDecision().ordinal()].increment();
+        // Candidate cut-offs can change the decision of an unchanged score
+        boolean decisionDiffers = outcome.getDecision() != live.getDecision();
+        if (delta == 0 && !decisionDiffers) {
+            return;
+        }
+
+        if (delta != 0) {
+            scoreDisagreements.increment();
+        }
+        if (decisionDiffers) {
+            decisionDisagreements.increment();
+        }
+        if (diffLog.isInfoEnabled() && ThreadLocalRandom.current().nextDouble() < diffSampleRate) {
+            diffLog.info("live {} {} {} | challenger {} {} {} {}",
+                    live.getCreditScore(), live.getDecision(), live.getReasons(), challengerRuleSet.getVersion(),
+                    outcome.getScore(), outcome.getDecision(), assessmentMapper.toReasons(result.getRuleResults()));
+        }
+    }
+
+    private ThreadPoolExecutor newExecutor(int threads, int queueCapacity) {
+        AtomicInteger index = new AtomicInteger();
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(
+                threads,
+                threads,
+                0,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                task -> {
+                    Thread thread = new Thread(task, "shadow-scoring-" + index.getAndIncrement());
+                    thread.setDaemon(true);
+                    thread.setPriority(Thread.MIN_PRIORITY);
+                    return thread;
+                },
+                (task, p) -> dropped.increment()
+        );
+        pool.prestartAllCoreThreads();
+        return pool;
+    }
+
+    /**
+     * Reads the challenger's settings; like the live rule file, it must name
+     * its own {@code version}.
+     */
+    static RuleConfiguration readConfiguration(Path file) {
+        Properties settings = new Properties();
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            settings.load(reader);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Could not read challenger rule file " + file, ex);
+        }
+        return RuleConfiguration.parse(settings);
+    }
+
+    /**
+     * Rule names are simple names of classes in the rule package or fully
+     * qualified names; a live rule bean of that class is reused, any other
+     * class is created and autowired just for the challenger. Without names
+     * the challenger runs the live rules.
+     */
+    private static List<CreditRule> resolveRules(
+            List<String> ruleNames,
+            List<CreditRule> liveRules,
+            AutowireCapableBeanFactory beanFactory
+    ) {
+        List<CreditRule> rules = new ArrayList<>();
+        if (ruleNames.stream().allMatch(String::isBlank)) {
+            return liveRules;
+        }
+        for (String name : ruleNames) {
+            String className = name.trim();
+            if (className.isEmpty()) {
+                continue;
+            }
+            if (!className.contains(".")) {
+                className = CreditRule.class.getPackageName() + "." + className;
+            }
+
+            Class<?> type;
+            try {
+                type = ClassUtils.forName(className, ShadowScoringService.class.getClassLoader());
+            } catch (ClassNotFoundException | LinkageError ex) {
+                throw new IllegalStateException("Unknown challenger rule " + name, ex);
+            }
+            if (!CreditRule.class.isAssignableFrom(type)) {
+                throw new IllegalStateException(name + " is not a CreditRule");
+            }
+
+            CreditRule rule = liveRules.stream()
+                    .filter(live -> ClassUtils.getUserClass(live) == type)
+                    .findFirst()
+                    .orElseGet(() -> (CreditRule) beanFactory.createBean(type));
+            rules.add(rule);
+        }
+
+        return rules;
+    }
+}
@@ -0,0 +1,338 @@
+package com.Raman.credit_risk_engine.service;
+
+import com.Raman.credit_risk_engine.decision.Decision;
+import com.Raman.credit_risk_engine.decision.RiskDecisionService;
+import com.Raman.credit_risk_engine.decision.RiskLevel;
+import com.Raman.credit_risk_engine.dto.BatchEvaluationItemDTO;
+import com.Raman.credit_risk_engine.dto.CreditRiskRequestDTO;
+import com.Raman.credit_risk_engine.dto.CreditRiskResponseDTO;
+import com.Raman.credit_risk_engine.entity.CreditAssessment;
+import com.Raman.credit_risk_engine.entity.User;
+import com.Raman.credit_risk_engine.entity.UserFinancialProfile;
+import com.Raman.credit_risk_engine.exception.RuleEvaluationException;
+import com.Raman.credit_risk_engine.metrics.FinancialMetrics;
+import com.Raman.credit_risk_engine.metrics.FinancialMetricsService;
+import com.Raman.credit_risk_engine.repository.UserRepository;
+import com.Raman.credit_risk_engine.rule.RuleResult;
+import com.Raman.credit_risk_engine.rule.RuleSet;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.ObjectReader;
+import tools.jackson.databind.ObjectWriter;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Evaluates a newline-delimited JSON stream of applicants.
+ *
+ * Records are read and scored one line at a time, so neither the request
+ * nor the response is buffered as a whole. Output lines use the batch item
+ * shape ({@code index} plus {@code result} or {@code error}) and follow
+ * input order. Records are persisted one chunk at a time, and a chunk's
+ * lines are written only after its transaction commits, so a result line
+ * always means a stored assessment. A chunk is committed when it holds
+ * {@code persist-chunk-size} records or {@code stream-linger-ms} after its
+ * first record, whichever comes first; memory is bounded by the chunk size,
+ * not the stream. Lines are read on a dedicated thread into a queue of the
+ * same size, so a stalled upload is waited for with a timed poll.
+ */
+@Service
+public class StreamingEvaluationService {
+
+    private static final int IO_BUFFER_SIZE = 64 * 1024;
+
+    static final String NOT_STORED = "Could not be stored; the stream was aborted";
+
+    private final Validator validator;
+    private final FinancialMetricsService financialMetricsService;
+    private final CreditScoringService creditScoringService;
+    private final RiskDecisionService riskDecisionService;
+    private final AssessmentMapper assessmentMapper;
+    private final AssessmentWriter assessmentWriter;
+    private final UserRepository userRepository;
+    private final ObjectReader requestReader;
+    private final ObjectWriter itemWriter;
+    private final int persistChunkSize;
+    private final long lingerNanos;
+
+    public StreamingEvaluationService(
+            Validator validator,
+            FinancialMetricsService financialMetricsService,
+            CreditScoringService creditScoringService,
+            RiskDecisionService riskDecisionService,
+            AssessmentMapper assessmentMapper,
+            AssessmentWriter assessmentWriter,
+            UserRepository userRepository,
+            ObjectMapper objectMapper,
+            @Value("${credit-risk.batch.persist-chunk-size:500}") int persistChunkSize,
+            @Value("${credit-risk.batch.stream-linger-ms:20}") long lingerMs
+    ) {
+        this.validator = validator;
+        this.financialMetricsService = financialMetricsService;
+        this.creditScoringService = creditScoringService;
+        this.riskDecisionService = riskDecisionService;
+        this.assessmentMapper = assessmentMapper;
+        this.assessmentWriter = assessmentWriter;
+        this.userRepository = userRepository;
+        this.requestReader = objectMapper.readerFor(CreditRiskRequestDTO.class);
+        this.itemWriter = objectMapper.writerFor(BatchEvaluationItemDTO.class);
+        this.persistChunkSize = Math.max(1, persistChunkSize);
+        this.lingerNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, lingerMs));
+    }
+
+    /**
+     * Scores every record of {@code input} and writes one result line per
+     * record to {@code output}. Blank lines are skipped and do not count
+     * towards the item index.
+     *
+     * @return the number of records read
+     */
+    public int evaluate(InputStream input, OutputStream output, Long userId) throws IOException {
+
+        User user = userRepository.findById(userId).orElse(null);
+
+        BufferedReader reader = new BufferedReader(
+                new InputStreamReader(input, StandardCharsets.UTF_8), IO_BUFFER_SIZE);
+        OutputStream out = new BufferedOutputStream(output, IO_BUFFER_SIZE);
+
+        ScoringBuffer buffer = creditScoringService.newBuffer();
+        List<UserFinancialProfile> profiles = new ArrayList<>(persistChunkSize);
+        List<CreditAssessment> assessments = new ArrayList<>(persistChunkSize);
+        List<BatchEvaluationItemDTO> pending = new ArrayList<>(persistChunkSize);
+
+        int index = 0;
+        long deadline = 0;
+        try (LineFeed lines = new LineFeed(reader, persistChunkSize)) {
+            while (true) {
+                // A client that uploads slower than we score must not get one transaction per line
+                Line next = pending.isEmpty() ? lines.take() : lines.poll(deadline);
+                if (next == null) {
+                    commit(profiles, assessments, pending, out);
+                    continue;
+                }
+                if (next == LineFeed.END) {
+                    break;
+                }
+                if (next.text().isBlank()) {
+                    continue;
+                }
+
+                if (pending.isEmpty()) {
+                    deadline = System.nanoTime() + lingerNanos;
+                }
+                pending.add(evaluateRecord(index++, next.text(), buffer, user, profiles, assessments));
+
+                if (pending.size() >= persistChunkSize || deadline - System.nanoTime() <= 0) {
+                    commit(profiles, assessments, pending, out);
+                }
+            }
+        }
+
+        commit(profiles, assessments, pending, out);
+        return index;
+    }
+
+    /**
+     * Persists the chunk, then writes and flushes its lines. If the chunk
+     * cannot be stored, its scored records are answered with an error and the
+     * exception ends the stream.
+     */
+    private void commit(
+            List<UserFinancialProfile> profiles,
+            List<CreditAssessment> assessments,
+            List<BatchEvaluationItemDTO> pending,
+            OutputStream out
+    ) throws IOException {
+        try {
+            assessmentWriter.writeChunk(profiles, assessments);
+        } catch (RuntimeException ex) {
+            for (BatchEvaluationItemDTO item : pending) {
+                write(item.getResult() != null ? BatchEvaluationItemDTO.failure(item.getIndex(), NOT_STORED) : item, out);
+            }
+            out.flush();
+            throw ex;
+        }
+
+        // Success items line up with the stored assessments, which now carry their ids
+        int stored = 0;
+        for (BatchEvaluationItemDTO item : pending) {
+            CreditRiskResponseDTO result = item.getResult();
+            if (result != null) {
+                item = BatchEvaluationItemDTO.success(item.getIndex(), new CreditRiskResponseDTO(
+                        assessments.get(stored++).getId(),
+                        result.getCreditScore(),
+                        result.getRiskLevel(),
+                        result.getDecision(),
+                        result.getReasons()
+                ));
+            }
+            write(item, out);
+        }
+        out.flush();
+        profiles.clear();
+        assessments.clear();
+        pending.clear();
+    }
+
+    private void write(BatchEvaluationItemDTO item, OutputStream out) throws IOException {
+        out.write(itemWriter.writeValueAsBytes(item));
+        out.write('\n');
+    }
+
+    private BatchEvaluationItemDTO evaluateRecord(
+            int index,
+            String line,
+            ScoringBuffer buffer,
+            User user,
+            List<UserFinancialProfile> profiles,
+            List<CreditAssessment> assessments
+    ) {
+        CreditRiskRequestDTO request;
+        try {
+            request = requestReader.readValue(line);
+        } catch (JacksonException ex) {
+            return BatchEvaluationItemDTO.failure(index, "Malformed record: " + ex.getOriginalMessage());
+        }
+
+        if (request == null) {
+            return BatchEvaluationItemDTO.failure(index, "Request must not be null");
+        }
+
+        Set<ConstraintViolation<CreditRiskRequestDTO>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            return BatchEvaluationItemDTO.failure(index, ApplicantBatch.describe(violations));
+        }
+
+        UserFinancialProfile profile = assessmentMapper.toProfile(request);
+        try {
+            FinancialMetrics metrics = financialMetricsService.computeMetrics(profile);
+            creditScoringService.calculateScore(profile, metrics, buffer);
+        } catch (RuleEvaluationException ex) {
+            return BatchEvaluationItemDTO.failure(index, ex.getMessage());
+        }
+
+        int score = buffer.getFinalScore();
+        RuleSet ruleSet = buffer.getRuleSet();
+        RiskLevel riskLevel = riskDecisionService.determineRiskLevel(score, ruleSet.getConfiguration());
+        Decision decision = riskDecisionService.determineDecision(riskLevel);
+        creditScoringService.recordRuleTimings(buffer, decision);
+        List<RuleResult> results = buffer.toList();
+
+        CreditAssessment assessment = assessmentMapper.toAssessment(
+                request, score, riskLevel, decision, ruleSet.getVersion());
+        assessment.setUser(user);
+        assessmentMapper.recordOutcomes(assessment, results);
+
+        profiles.add(profile);
+        assessments.add(assessment);
+
+        return BatchEvaluationItemDTO.success(index, new CreditRiskResponseDTO(
+                score,
+                riskLevel,
+                decision,
+                assessmentMapper.toReasons(results)
+        ));
+    }
+
+    private record Line(String text, IOException failure) {
+    }
+
+    /**
+     * Reads the input on its own thread, so waiting for the next line blocks
+     * on the queue with a timeout instead of checking the input in a loop.
+     * The thread ends with the input; closing the feed interrupts it when the
+     * stream is abandoned early.
+     */
+    private static final class LineFeed implements AutoCloseable {
+
+        static final Line END = new Line(null, null);
+
+        private final BufferedReader reader;
+        private final BlockingQueue<Line> lines;
+        private final Thread thread;
+
+        LineFeed(BufferedReader reader, int capacity) {
+            this.reader = reader;
+            this.lines = new ArrayBlockingQueue<>(capacity);
+            this.thread = Thread.ofPlatform().name("stream-reader").daemon().start(this::read);
+        }
+
+        /**
+         * @return the next line, or {@link #END}
+         */
+        Line take() throws IOException {
+            try {
+                return checked(lines.take());
+            } catch (InterruptedException ex) {
+                throw interrupted();
+            }
+        }
+
+        /**
+         * @return the next line, {@link #END}, or null if none arrived before
+         *         {@code deadline}
+         */
+        Line poll(long deadline) throws IOException {
+            try {
+                return checked(lines.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS));
+            } catch (InterruptedException ex) {
+                throw interrupted();
+            }
+        }
+
+        @Override
+        public void close() {
+            thread.interrupt();
+        }
+
+        private void read() {
+            Line last;
+            try {
+                String text;
+                while ((text = reader.readLine()) != null) {
+                    lines.put(new Line(text, null));
+                }
+                last = END;
+            } catch (IOException ex) {
+                last = new Line(null, ex);
+            } catch (InterruptedException ex) {
+                // The stream was abandoned; nobody is waiting for more lines
+                return;
+            }
+            try {
+                lines.put(last);
+            } catch (InterruptedException ignored) {
+                // As above
+            }
+        }
+
+        private static Line checked(Line line) throws IOException {
+            if (line != null && line.failure() != null) {
+                throw line.failure();
+            }
+            return line;
+        }
+
+        private static InterruptedIOException interrupted() {
+            Thread.currentThread().interrupt();
+            return new InterruptedIOException("Interrupted while waiting for the next record");
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.Raman.credit_risk_engine.service;
+
+import com.Raman.credit_risk_engine.decision.Decision;
+import com.Raman.credit_risk_engine.decision.RiskDecisionService;
+import com.Raman.credit_risk_engine.decision.RiskLevel;
+import com.Raman.credit_risk_engine.dto.CreditRiskRequestDTO;
+import com.Raman.credit_risk_engine.dto.CreditRiskResponseDTO;
+import com.Raman.credit_risk_engine.entity.UserFinancialProfile;
+import com.Raman.credit_risk_engine.journal.AssessmentIdAllocator;
+import com.Raman.credit_risk_engine.journal.AssessmentJournal;
+import com.Raman.credit_risk_engine.journal.JournaledAssessment;
+import com.Raman.credit_risk_engine.metrics.FinancialMetrics;
+import com.Raman.credit_risk_engine.metrics.FinancialMetricsService;
+import com.Raman.credit_risk_engine.rule.ReasonCode;
+import com.Raman.credit_risk_engine.rule.RuleSet;
+import com.Raman.credit_risk_engine.telemetry.EvaluationTimers;
+import com.Raman.credit_risk_engine.telemetry.EvaluationTimers.Stage;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * Single evaluation that answers before the database write.
+ *
+ * The assessment is scored, given its ids, and appended to the local
+ * {@link AssessmentJournal}; the response is returned once the journal
+ * record is durable, and the {@code JournalFlusher} inserts the rows shortly
+ * after. Outcomes outside the {@link ReasonCode} catalog still need audit
+ * rows, so those evaluations go through {@link CreditRiskEvaluationService}.
+ */
+@Service
+@ConditionalOnProperty(name = "credit-risk.write-behind.enabled", havingValue = "true")
+public class WriteBehindEvaluationService {
+
+    private final FinancialMetricsService financialMetricsService;
+    private final CreditScoringService creditScoringService;
+    private final RiskDecisionService riskDecisionService;
+    private final AssessmentMapper assessmentMapper;
+    private final AssessmentIdAllocator idAllocator;
+    private final AssessmentJournal journal;
+    private final CreditRiskEvaluationService evaluationService;
+    private final EvaluationTimers timers;
+
+    public WriteBehindEvaluationService(
+            FinancialMetricsService financialMetricsService,
+            CreditScoringService creditScoringService,
+            RiskDecisionService riskDecisionService,
+            AssessmentMapper assessmentMapper,
+            AssessmentIdAllocator idAllocator,
+            AssessmentJournal journal,
+            CreditRiskEvaluationService evaluationService,
+            EvaluationTimers timers
+    ) {
+        this.financialMetricsService = financialMetricsService;
+        this.creditScoringService = creditScoringService;
+        this.riskDecisionService = riskDecisionService;
+        this.assessmentMapper = assessmentMapper;
+        this.idAllocator = idAllocator;
+        this.journal = journal;
+        this.evaluationService = evaluationService;
+        this.timers = timers;
+    }
+
+    public CreditRiskResponseDTO evaluate(CreditRiskRequestDTO request, Long userId) {
+        UserFinancialProfile profile = assessmentMapper.toProfile(request);
+        long started = System.nanoTime();
+        FinancialMetrics metrics = financialMetricsService.computeMetrics(profile, creditScoringService.requiredMetrics());
+
+        long rulesStarted = System.nanoTime();
+        ScoringResult scoringResult = creditScoringService.calculateScore(profile, metrics);
+
+        byte[] codes = ReasonCode.encode(scoringResult.getRuleResults());
+        if (codes == null) {
+            return evaluationService.evaluate(request, userId);
+        }
+
+        long decisionStarted = System.nanoTime();
+        int score = scoringResult.getFinalScore();
+        RuleSet ruleSet = scoringResult.getRuleSet();
+        RiskLevel riskLevel = riskDecisionService.determineRiskLevel(score, ruleSet.getConfiguration());
+        Decision decision = riskDecisionService.determineDecision(riskLevel);
+        timers.record(Stage.METRICS, decision, started, rulesStarted);
+        timers.record(Stage.RULES, decision, rulesStarted, decisionStarted);
+        timers.record(Stage.DECISION, decision, decisionStarted);
+        creditScoringService.recordRuleTimings(scoringResult, decision);
+
+        JournaledAssessment entry = JournaledAssessment.of(
+                idAllocator.nextAssessmentId(),
+                idAllocator.nextProfileId(),
+                userId,
+                request,
+                score,
+                riskLevel,
+                decision,
+                codes,
+                ruleSet.getVersion()
+        );
+        // Persistence here is the durable journal append; the insert follows later
+        long stage = System.nanoTime();
+        try {
+            journal.append(entry.encode());
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Could not journal assessment " + entry.assessmentId(), ex);
+        }
+        timers.record(Stage.PERSISTENCE, decision, stage);
+        timers.recordEvaluation(decision, started);
+
+        return new CreditRiskResponseDTO(
+                entry.assessmentId(),
+                score,
+                riskLevel,
+                decision,
+                assessmentMapper.toReasons(scoringResult.getRuleResults())
+        );
+    }
+}
@@ -0,0 +1,323 @@
+package com.Raman.credit_risk_engine.synthetic;
+
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+
+/**
+ * Distributions of a synthetic borrower population.
+ *
+ * Instances are immutable. They are read from flat {@code key=value}
+ * settings in the style of the rule configuration; any key that is not given
+ * keeps its default:
+ *
+ * <pre>
+ * income.median=45000
+ * income.sigma=0.6
+ * income.min=8000
+ * income.max=2000000
+ * expenses.min-ratio=0.2
+ * expenses.max-ratio=0.6
+ * emis.zero-share=0.25
+ * emis.max-ratio=0.7
+ * defaults.weights=0.8,0.15,0.05
+ * history.mean-months=48
+ * history.max-months=360
+ * salaried-share=0.7
+ * age.min=21
+ * age.max=65
+ * loan.min-multiple=2
+ * loan.max-multiple=60
+ * bucket-coverage=0
+ * </pre>
+ *
+ * Income is log-normal around its median; expenses and EMIs are shares of
+ * income, EMIs skewed towards small shares, and together they may exceed
+ * income; defaults are drawn as 0, 1 or
+ * 2-5 by weight; credit history is exponential and never longer than the
+ * applicant's adult life. The requested loan is a multiple of monthly
+ * income.
+ *
+ * A {@code bucket-coverage} share of records ignores the income-ratio
+ * distributions and is built to land in a uniformly chosen bucket of every
+ * rule instead, so rare combinations (such as a long history with a high DTI
+ * and low disposable income) are covered at any population size.
+ */
+public final class PopulationSpec {
+
+    private static final String INCOME_MEDIAN = "income.median";
+    private static final String INCOME_SIGMA = "income.sigma";
+    private static final String INCOME_MIN = "income.min";
+    private static final String INCOME_MAX = "income.max";
+    private static final String EXPENSES_MIN_RATIO = "expenses.min-ratio";
+    private static final String EXPENSES_MAX_RATIO = "expenses.max-ratio";
+    private static final String EMIS_ZERO_SHARE = "emis.zero-share";
+    private static final String EMIS_MAX_RATIO = "emis.max-ratio";
+    private static final String DEFAULTS_WEIGHTS = "defaults.weights";
+    private static final String HISTORY_MEAN_MONTHS = "history.mean-months";
+    private static final String HISTORY_MAX_MONTHS = "history.max-months";
+    private static final String SALARIED_SHARE = "salaried-share";
+    private static final String AGE_MIN = "age.min";
+    private static final String AGE_MAX = "age.max";
+    private static final String LOAN_MIN_MULTIPLE = "loan.min-multiple";
+    private static final String LOAN_MAX_MULTIPLE = "loan.max-multiple";
+    private static final String BUCKET_COVERAGE = "bucket-coverage";
+
+    private static final PopulationSpec DEFAULTS = new PopulationSpec(
+            45_000, 0.6, 8_000, 2_000_000,
+            0.2, 0.6,
+            0.25, 0.7,
+            new double[]{0.8, 0.15, 0.05},
+            48, 360,
+            0.7,
+            21, 65,
+            2, 60,
+            0
+    );
+
+    private final long incomeMedian;
+    private final double incomeSigma;
+    private final long incomeMin;
+    private final long incomeMax;
+    private final double expensesMinRatio;
+    private final double expensesMaxRatio;
+    private final double emisZeroShare;
+    private final double emisMaxRatio;
+    private final double[] defaultWeights;
+    private final double historyMeanMonths;
+    private final int historyMaxMonths;
+    private final double salariedShare;
+    private final int ageMin;
+    private final int ageMax;
+    private final double loanMinMultiple;
+    private final double loanMaxMultiple;
+    private final double bucketCoverage;
+
+    private PopulationSpec(
+            long incomeMedian,
+            double incomeSigma,
+            long incomeMin,
+            long incomeMax,
+            double expensesMinRatio,
+            double expensesMaxRatio,
+            double emisZeroShare,
+            double emisMaxRatio,
+            double[] defaultWeights,
+            double historyMeanMonths,
+            int historyMaxMonths,
+            double salariedShare,
+            int ageMin,
+            int ageMax,
+            double loanMinMultiple,
+            double loanMaxMultiple,
+            double bucketCoverage
+    ) {
+        this.incomeMedian = incomeMedian;
+        this.incomeSigma = incomeSigma;
+        this.incomeMin = incomeMin;
+        this.incomeMax = incomeMax;
+        this.expensesMinRatio = expensesMinRatio;
+        this.expensesMaxRatio = expensesMaxRatio;
+        this.emisZeroShare = emisZeroShare;
+        this.emisMaxRatio = emisMaxRatio;
+        this.defaultWeights = defaultWeights;
+        this.historyMeanMonths = historyMeanMonths;
+        this.historyMaxMonths = historyMaxMonths;
+        this.salariedShare = salariedShare;
+        this.ageMin = ageMin;
+        this.ageMax = ageMax;
+        this.loanMinMultiple = loanMinMultiple;
+        this.loanMaxMultiple = loanMaxMultiple;
+        this.bucketCoverage = bucketCoverage;
+    }
+
+    public static PopulationSpec defaults() {
+        return DEFAULTS;
+    }
+
+    /**
+     * Parses and validates settings.
+     *
+     * @throws IllegalArgumentException if a setting is unknown, malformed or
+     *                                  out of range
+     */
+    public static PopulationSpec parse(Properties settings) {
+        Map<String, String> remaining = new TreeMap<>();
+        for (String key : settings.stringPropertyNames()) {
+            remaining.put(key.trim(), settings.getProperty(key).trim());
+        }
+
+        long incomeMedian = whole(remaining, INCOME_MEDIAN, DEFAULTS.incomeMedian);
+        double incomeSigma = fraction(remaining, INCOME_SIGMA, DEFAULTS.incomeSigma, 0, 3);
+        long incomeMin = whole(remaining, INCOME_MIN, DEFAULTS.incomeMin);
+        long incomeMax = whole(remaining, INCOME_MAX, DEFAULTS.incomeMax);
+        double expensesMin = fraction(remaining, EXPENSES_MIN_RATIO, DEFAULTS.expensesMinRatio, 0, 1);
+        double expensesMax = fraction(remaining, EXPENSES_MAX_RATIO, DEFAULTS.expensesMaxRatio, 0, 1);
+        double emisZero = fraction(remaining, EMIS_ZERO_SHARE, DEFAULTS.emisZeroShare, 0, 1);
+        double emisMax = fraction(remaining, EMIS_MAX_RATIO, DEFAULTS.emisMaxRatio, 0, 1);
+        double[] defaultWeights = weights(remaining, DEFAULTS_WEIGHTS, DEFAULTS.defaultWeights);
+        double historyMean = fraction(remaining, HISTORY_MEAN_MONTHS, DEFAULTS.historyMeanMonths, 0, 600);
+        int historyMax = (int) whole(remaining, HISTORY_MAX_MONTHS, DEFAULTS.historyMaxMonths);
+        double salaried = fraction(remaining, SALARIED_SHARE, DEFAULTS.salariedShare, 0, 1);
+        int ageMin = (int) whole(remaining, AGE_MIN, DEFAULTS.ageMin);
+        int ageMax = (int) whole(remaining, AGE_MAX, DEFAULTS.ageMax);
+        double loanMin = fraction(remaining, LOAN_MIN_MULTIPLE, DEFAULTS.loanMinMultiple, 0, 1_000);
+        double loanMax = fraction(remaining, LOAN_MAX_MULTIPLE, DEFAULTS.loanMaxMultiple, 0, 1_000);
+        double coverage = fraction(remaining, BUCKET_COVERAGE, DEFAULTS.bucketCoverage, 0, 1);
+
+        if (!remaining.isEmpty()) {
+            throw new IllegalArgumentException("Unknown population settings " + remaining.keySet());
+        }
+        if (incomeMin < 1 || incomeMin > incomeMedian || incomeMedian > incomeMax) {
+            throw new IllegalArgumentException("Income must satisfy 1 <= min <= median <= max");
+        }
+        if (expensesMin > expensesMax) {
+            throw new IllegalArgumentException("Expense ratios must satisfy min <= max");
+        }
+        if (historyMax < 1 || ageMin < 18 || ageMin > ageMax) {
+            throw new IllegalArgumentException("History and age must satisfy history.max-months >= 1 and 18 <= min <= max");
+        }
+        if (loanMin <= 0 || loanMin > loanMax) {
+            throw new IllegalArgumentException("Loan multiples must satisfy 0 < min <= max");
+        }
+
+        return new PopulationSpec(incomeMedian, incomeSigma, incomeMin, incomeMax, expensesMin, expensesMax,
+                emisZero, emisMax, defaultWeights, historyMean, historyMax, salaried, ageMin, ageMax,
+                loanMin, loanMax, coverage);
+    }
+
+    private static long whole(Map<String, String> settings, String key, long fallback) {
+        String value = settings.remove(key);
+        if (value == null) {
+            return fallback;
+        }
+        try {
+            long parsed = Long.parseLong(value);
+            if (parsed < 0) {
+                throw new IllegalArgumentException("Population setting " + key + " must not be negative");
+            }
+            return parsed;
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException("Population setting " + key + " is not a whole number: " + value);
+        }
+    }
+
+    private static double fraction(Map<String, String> settings, String key, double fallback, double min, double max) {
+        String value = settings.remove(key);
+        if (value == null) {
+            return fallback;
+        }
+        double parsed;
+        try {
+            parsed = Double.parseDouble(value);
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException("Population setting " + key + " is not a number: " + value);
+        }
+        if (!(parsed >= min && parsed <= max)) {
+            throw new IllegalArgumentException("Population setting " + key + " must be within [" + min + ", " + max + "]");
+        }
+        return parsed;
+    }
+
+    private static double[] weights(Map<String, String> settings, String key, double[] fallback) {
+        String value = settings.remove(key);
+        if (value == null) {
+            return fallback;
+        }
+        String[] parts = value.split(",");
+        if (parts.length != fallback.length) {
+            throw new IllegalArgumentException("Population setting " + key + " needs " + fallback.length + " weights");
+        }
+        double[] parsed = new double[parts.length];
+        double total = 0;
+        for (int i = 0; i < parts.length; i++) {
+            try {
+                parsed[i] = Double.parseDouble(parts[i].trim());
+            } catch (NumberFormatException ex) {
+                throw new IllegalArgumentException("Population setting " + key + " is not a list of numbers: " + value);
+            }
+            if (!(parsed[i] >= 0)) {
+                throw new IllegalArgumentException("Population setting " + key + " must not have negative weights");
+            }
+            total += parsed[i];
+        }
+        if (total <= 0) {
+            throw new IllegalArgumentException("Population setting " + key + " must have a positive weight");
+        }
+        for (int i = 0; i < parsed.length; i++) {
+            parsed[i] /= total;
+        }
+        return parsed;
+    }
+
+    long getIncomeMedian() {
+        return incomeMedian;
+    }
+
+    double getIncomeSigma() {
+        return incomeSigma;
+    }
+
+    long getIncomeMin() {
+        return incomeMin;
+    }
+
+    long getIncomeMax() {
+        return incomeMax;
+    }
+
+    double getExpensesMinRatio() {
+        return expensesMinRatio;
+    }
+
+    double getExpensesMaxRatio() {
+        return expensesMaxRatio;
+    }
+
+    double getEmisZeroShare() {
+        return emisZeroShare;
+    }
+
+    double getEmisMaxRatio() {
+        return emisMaxRatio;
+    }
+
+    /**
+     * @return normalized weights of 0, 1 and 2+ past defaults
+     */
+    double getDefaultWeight(int bucket) {
+        return defaultWeights[bucket];
+    }
+
+    double getHistoryMeanMonths() {
+        return historyMeanMonths;
+    }
+
+    int getHistoryMaxMonths() {
+        return historyMaxMonths;
+    }
+
+    double getSalariedShare() {
+        return salariedShare;
+    }
+
+    int getAgeMin() {
+        return ageMin;
+    }
+
+    int getAgeMax() {
+        return ageMax;
+    }
+
+    double getLoanMinMultiple() {
+        return loanMinMultiple;
+    }
+
+    double getLoanMaxMultiple() {
+        return loanMaxMultiple;
+    }
+
+    public double getBucketCoverage() {
+        return bucketCoverage;
+    }
+}
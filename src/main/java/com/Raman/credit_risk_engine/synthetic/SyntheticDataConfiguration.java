@@ -0,0 +1,52 @@
+package com.Raman.credit_risk_engine.synthetic;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+/**
+ * Non-web run mode that writes a synthetic borrower population.
+ *
+ * Started with {@code --generate --count=<n> --output=<file>}. Nothing but
+ * the runner is loaded; the profile keeps this configuration out of the
+ * regular web application's component scan.
+ */
+@Configuration
+@Profile(SyntheticDataConfiguration.PROFILE)
+public class SyntheticDataConfiguration {
+
+    public static final String PROFILE = "generate";
+
+    private static final String FLAG = "--generate";
+
+    @Bean
+    public SyntheticDataRunner syntheticDataRunner() {
+        return new SyntheticDataRunner();
+    }
+
+    public static boolean isRequested(String[] args) {
+        for (String arg : args) {
+            if (FLAG.equals(arg)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Runs the generator to completion.
+     *
+     * @return the process exit code
+     */
+    public static int run(String[] args) {
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(SyntheticDataConfiguration.class)
+                .web(WebApplicationType.NONE)
+                .profiles(PROFILE)
+                .run(args);
+        return SpringApplication.exit(context);
+    }
+}
@@ -0,0 +1,96 @@
+package com.Raman.credit_risk_engine.synthetic;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Streams a synthetic population to a file, one record at a time.
+ *
+ * CSV output uses the offline scoring input layout, header included, so a
+ * generated file can be passed to {@code --offline} as is. NDJSON output has
+ * one {@code /credit-risk/evaluate} request body per line.
+ */
+public class SyntheticDataWriter {
+
+    public enum Format {
+        NDJSON,
+        CSV
+    }
+
+    static final String CSV_HEADER = "monthlyIncome,monthlyExpenses,totalMonthlyEmis,pastLoanDefaults,"
+            + "creditHistoryLengthMonths,employmentType,age,requestedLoanAmount\n";
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private SyntheticDataWriter() {
+    }
+
+    public static void write(SyntheticProfileGenerator generator, long count, Format format, Path output)
+            throws IOException {
+        try (Writer writer = new BufferedWriter(
+                new OutputStreamWriter(Files.newOutputStream(output), StandardCharsets.US_ASCII), BUFFER_SIZE)) {
+            write(generator, count, format, writer);
+        }
+    }
+
+    public static void write(SyntheticProfileGenerator generator, long count, Format format, Writer writer)
+            throws IOException {
+        SyntheticRecord record = new SyntheticRecord();
+        StringBuilder line = new StringBuilder(256);
+
+        if (format == Format.CSV) {
+            writer.write(CSV_HEADER);
+        }
+        for (long i = 0; i < count; i++) {
+            generator.fill(i, record);
+            line.setLength(0);
+            if (format == Format.CSV) {
+                appendCsv(record, line);
+            } else {
+                appendJson(record, line);
+            }
+            writer.append(line);
+        }
+    }
+
+    static void appendCsv(SyntheticRecord record, StringBuilder line) {
+        appendAmount(record.monthlyIncomeCents, line).append(',');
+        appendAmount(record.monthlyExpensesCents, line).append(',');
+        appendAmount(record.totalMonthlyEmisCents, line).append(',');
+        line.append(record.pastLoanDefaults).append(',');
+        line.append(record.creditHistoryLengthMonths).append(',');
+        line.append(record.employmentType.name()).append(',');
+        line.append(record.age).append(',');
+        appendAmount(record.requestedLoanAmountCents, line).append('\n');
+    }
+
+    static void appendJson(SyntheticRecord record, StringBuilder line) {
+        appendAmount(record.monthlyIncomeCents, line.append("{\"monthlyIncome\":"));
+        appendAmount(record.monthlyExpensesCents, line.append(",\"monthlyExpenses\":"));
+        appendAmount(record.totalMonthlyEmisCents, line.append(",\"totalMonthlyEmis\":"));
+        line.append(",\"pastLoanDefaults\":").append(record.pastLoanDefaults);
+        line.append(",\"creditHistoryLengthMonths\":").append(record.creditHistoryLengthMonths);
+        line.append(",\"employmentType\":\"").append(record.employmentType.name()).append('"');
+        line.append(",\"age\":").append(record.age);
+        appendAmount(record.requestedLoanAmountCents, line.append(",\"requestedLoanAmount\":"));
+        line.append("}\n");
+    }
+
+    private static StringBuilder appendAmount(long cents, StringBuilder line) {
+        long units = Math.abs(cents) / 100;
+        int fraction = (int) (Math.abs(cents) % 100);
+        if (cents < 0) {
+            line.append('-');
+        }
+        line.append(units).append('.');
+        if (fraction < 10) {
+            line.append('0');
+        }
+        return line.append(fraction);
+    }
+}
@@ -0,0 +1,182 @@
+package com.Raman.credit_risk_engine.synthetic;
+
+import com.Raman.credit_risk_engine.dto.CreditRiskRequestDTO;
+import com.Raman.credit_risk_engine.entity.EmploymentType;
+import com.Raman.credit_risk_engine.rule.RuleConfiguration;
+
+import java.util.SplittableRandom;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+/**
+ * Deterministic generator of synthetic borrowers.
+ *
+ * Record {@code i} depends only on the seed, the {@link PopulationSpec} and
+ * {@code i}: each record draws from its own random generator seeded from
+ * both. A population is therefore never held in memory, any slice of it can
+ * be regenerated on its own, and a parallel stream yields the same records
+ * as a sequential one.
+ *
+ * Records steered towards rule buckets (see
+ * {@link PopulationSpec#getBucketCoverage()}) are built against the
+ * thresholds of the given rule configuration, so they keep covering every
+ * bucket after the thresholds change.
+ */
+public class SyntheticProfileGenerator {
+
+    // Steered ratios keep this distance from DTI limits so rounding never
+    // moves a record into the neighbouring bucket
+    private static final double DTI_MARGIN = 0.001;
+    private static final double MAX_HIGH_DTI = 0.9;
+    private static final long LOAN_STEP_CENTS = 1_000_00;
+
+    private final PopulationSpec spec;
+    private final long seed;
+    private final double lowDtiRatio;
+    private final double moderateDtiRatio;
+    private final long highDisposableCents;
+    private final long moderateDisposableCents;
+    private final int longHistoryMonths;
+    private final int moderateHistoryMonths;
+
+    public SyntheticProfileGenerator(PopulationSpec spec, RuleConfiguration rules, long seed) {
+        this.spec = spec;
+        this.seed = seed;
+        this.lowDtiRatio = rules.getLowDtiLimit().doubleValue() / 100;
+        this.moderateDtiRatio = rules.getModerateDtiLimit().doubleValue() / 100;
+        this.highDisposableCents = rules.getHighDisposableIncomeFloor().movePointRight(2).longValue();
+        this.moderateDisposableCents = rules.getModerateDisposableIncomeFloor().movePointRight(2).longValue();
+        this.longHistoryMonths = rules.getLongHistoryMonths();
+        this.moderateHistoryMonths = rules.getModerateHistoryMonths();
+    }
+
+    public CreditRiskRequestDTO generate(long index) {
+        SyntheticRecord record = new SyntheticRecord();
+        fill(index, record);
+        return record.toRequest();
+    }
+
+    /**
+     * @return records {@code 0} to {@code count - 1}, generated lazily
+     */
+    public Stream<CreditRiskRequestDTO> stream(long count) {
+        return LongStream.range(0, count).mapToObj(this::generate);
+    }
+
+    /**
+     * Overwrites {@code record} with record {@code index} of the population.
+     */
+    public void fill(long index, SyntheticRecord record) {
+        SplittableRandom random = new SplittableRandom(mix(seed ^ mix(index)));
+        boolean steered = random.nextDouble() < spec.getBucketCoverage();
+
+        long incomeRupees = incomeRupees(random);
+        record.employmentType = random.nextDouble() < spec.getSalariedShare()
+                ? EmploymentType.SALARIED
+                : EmploymentType.SELF_EMPLOYED;
+        record.pastLoanDefaults = defaultsIn(steered ? random.nextInt(3) : weightedDefaultsBucket(random), random);
+        record.creditHistoryLengthMonths = steered
+                ? historyIn(random.nextInt(3), random)
+                : (int) Math.min(spec.getHistoryMaxMonths(),
+                        -spec.getHistoryMeanMonths() * Math.log(1 - random.nextDouble()));
+        // Nobody has a credit history from before they turned 18
+        int age = spec.getAgeMin() + random.nextInt(spec.getAgeMax() - spec.getAgeMin() + 1);
+        record.age = Math.max(age, 18 + (record.creditHistoryLengthMonths + 11) / 12);
+
+        if (steered) {
+            steerAmounts(incomeRupees, random, record);
+        } else {
+            long incomeCents = incomeRupees * 100;
+            double expensesRatio = uniform(random, spec.getExpensesMinRatio(), spec.getExpensesMaxRatio());
+            double emisShare = random.nextDouble();
+            record.monthlyIncomeCents = incomeCents;
+            record.monthlyExpensesCents = Math.round(incomeRupees * expensesRatio) * 100;
+            record.totalMonthlyEmisCents = random.nextDouble() < spec.getEmisZeroShare()
+                    ? 0
+                    : (long) (incomeCents * spec.getEmisMaxRatio() * emisShare * emisShare);
+        }
+
+        double loanMultiple = uniform(random, spec.getLoanMinMultiple(), spec.getLoanMaxMultiple());
+        long loanSteps = Math.round(record.monthlyIncomeCents * loanMultiple / LOAN_STEP_CENTS);
+        record.requestedLoanAmountCents = Math.max(1, loanSteps) * LOAN_STEP_CENTS;
+    }
+
+    /**
+     * Picks a DTI and a disposable-income bucket and derives EMIs and
+     * expenses that land in both. Income is raised when it is too small to
+     * leave the chosen disposable income.
+     */
+    private void steerAmounts(long incomeRupees, SplittableRandom random, SyntheticRecord record) {
+        double emisRatio = switch (random.nextInt(3)) {
+            case 0 -> uniform(random, 0, lowDtiRatio - DTI_MARGIN);
+            case 1 -> uniform(random, lowDtiRatio + DTI_MARGIN, moderateDtiRatio - DTI_MARGIN);
+            default -> uniform(random, moderateDtiRatio + DTI_MARGIN, Math.max(MAX_HIGH_DTI, moderateDtiRatio + DTI_MARGIN));
+        };
+        int disposableBucket = random.nextInt(3);
+        long minDisposableCents = switch (disposableBucket) {
+            case 0 -> highDisposableCents;
+            case 1 -> moderateDisposableCents;
+            default -> 0;
+        };
+
+        long incomeCents = incomeRupees * 100;
+        if (incomeCents * (1 - emisRatio) < minDisposableCents * 1.2) {
+            incomeCents = (long) Math.ceil(minDisposableCents * 1.2 / (1 - emisRatio) / 100) * 100;
+        }
+        long emisCents = (long) (incomeCents * emisRatio);
+        long remainingCents = incomeCents - emisCents;
+
+        long disposableCents = switch (disposableBucket) {
+            case 0 -> between(random, highDisposableCents, remainingCents);
+            case 1 -> between(random, moderateDisposableCents, Math.min(highDisposableCents - 1, remainingCents));
+            // Low disposable income includes spending more than is left,
+            // as long as expenses alone stay within income
+            default -> between(random, -Math.min(incomeCents / 5, emisCents),
+                    Math.min(moderateDisposableCents - 1, remainingCents));
+        };
+
+        record.monthlyIncomeCents = incomeCents;
+        record.totalMonthlyEmisCents = emisCents;
+        record.monthlyExpensesCents = remainingCents - disposableCents;
+    }
+
+    private long incomeRupees(SplittableRandom random) {
+        double income = spec.getIncomeMedian() * Math.exp(spec.getIncomeSigma() * random.nextGaussian());
+        return Math.clamp(Math.round(income), spec.getIncomeMin(), spec.getIncomeMax());
+    }
+
+    private int weightedDefaultsBucket(SplittableRandom random) {
+        double draw = random.nextDouble();
+        if (draw < spec.getDefaultWeight(0)) {
+            return 0;
+        }
+        return draw < spec.getDefaultWeight(0) + spec.getDefaultWeight(1) ? 1 : 2;
+    }
+
+    private static int defaultsIn(int bucket, SplittableRandom random) {
+        return bucket < 2 ? bucket : 2 + random.nextInt(4);
+    }
+
+    private int historyIn(int bucket, SplittableRandom random) {
+        return switch (bucket) {
+            case 0 -> (int) between(random, 0, Math.max(0, moderateHistoryMonths - 1));
+            case 1 -> (int) between(random, moderateHistoryMonths, longHistoryMonths - 1);
+            default -> (int) between(random, longHistoryMonths, Math.max(longHistoryMonths, spec.getHistoryMaxMonths()));
+        };
+    }
+
+    private static double uniform(SplittableRandom random, double min, double max) {
+        return max <= min ? min : min + (max - min) * random.nextDouble();
+    }
+
+    private static long between(SplittableRandom random, long min, long max) {
+        return max <= min ? min : random.nextLong(min, max + 1);
+    }
+
+    // SplitMix64 finalizer: neighbouring indexes get unrelated seeds
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
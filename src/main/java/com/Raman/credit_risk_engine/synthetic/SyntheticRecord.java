@@ -0,0 +1,69 @@
+package com.Raman.credit_risk_engine.synthetic;
+
+import com.Raman.credit_risk_engine.dto.CreditRiskRequestDTO;
+import com.Raman.credit_risk_engine.entity.EmploymentType;
+
+import java.math.BigDecimal;
+
+/**
+ * One generated borrower, with amounts in cents.
+ *
+ * Mutable so that writers can reuse a single instance for every record;
+ * {@link #toRequest()} copies it into a request.
+ */
+public final class SyntheticRecord {
+
+    long monthlyIncomeCents;
+    long monthlyExpensesCents;
+    long totalMonthlyEmisCents;
+    int pastLoanDefaults;
+    int creditHistoryLengthMonths;
+    EmploymentType employmentType;
+    int age;
+    long requestedLoanAmountCents;
+
+    public CreditRiskRequestDTO toRequest() {
+        CreditRiskRequestDTO request = new CreditRiskRequestDTO();
+        request.setMonthlyIncome(BigDecimal.valueOf(monthlyIncomeCents, 2));
+        request.setMonthlyExpenses(BigDecimal.valueOf(monthlyExpensesCents, 2));
+        request.setTotalMonthlyEmis(BigDecimal.valueOf(totalMonthlyEmisCents, 2));
+        request.setPastLoanDefaults(pastLoanDefaults);
+        request.setCreditHistoryLengthMonths(creditHistoryLengthMonths);
+        request.setEmploymentType(employmentType);
+        request.setAge(age);
+        request.setRequestedLoanAmount(BigDecimal.valueOf(requestedLoanAmountCents, 2));
+        return request;
+    }
+
+    public long getMonthlyIncomeCents() {
+        return monthlyIncomeCents;
+    }
+
+    public long getMonthlyExpensesCents() {
+        return monthlyExpensesCents;
+    }
+
+    public long getTotalMonthlyEmisCents() {
+        return totalMonthlyEmisCents;
+    }
+
+    public int getPastLoanDefaults() {
+        return pastLoanDefaults;
+    }
+
+    public int getCreditHistoryLengthMonths() {
+        return creditHistoryLengthMonths;
+    }
+
+    public EmploymentType getEmploymentType() {
+        return employmentType;
+    }
+
+    public int getAge() {
+        return age;
+    }
+
+    public long getRequestedLoanAmountCents() {
+        return requestedLoanAmountCents;
+    }
+}
@@ -0,0 +1,146 @@
+package com.Raman.credit_risk_engine.telemetry;
+
+import com.Raman.credit_risk_engine.decision.Decision;
+import com.Raman.credit_risk_engine.rule.CreditRule;
+import com.Raman.credit_risk_engine.rule.RuleSetHolder;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency timers of the evaluation pipeline.
+ *
+ * Every timer is registered up front and kept in an array indexed by stage
+ * or rule position and by decision, so recording is a
+ * {@link System#nanoTime()} difference and a lookup: no tags, meter ids or
+ * {@code Timer.Sample}s are created per evaluation. Timers publish
+ * percentile histograms, which the Prometheus registry exports as buckets.
+ *
+ * The decision is only known once the score is decided, so stages and rules
+ * that run before it are recorded afterwards from their start and end times.
+ * A stage of a request that ended without a decision (rejected input or a
+ * failed evaluation) is tagged {@code FAILED}.
+ *
+ * A histogram record costs more than evaluating a rule, so rules are timed
+ * on a random sample of evaluations ({@code rule-sample-interval}, rounded
+ * up to a power of two); stages are timed on every evaluation.
+ *
+ * The evaluation paths compute the metrics the active rules read inside
+ * the {@code metrics} stage, so that cost is not charged to the rules.
+ */
+@Component
+public class EvaluationTimers {
+
+    public enum Stage {
+        VALIDATION,
+        METRICS,
+        RULES,
+        DECISION,
+        USER_LOOKUP,
+        PERSISTENCE
+    }
+
+    static final String STAGE_TIMER = "credit_risk.evaluation.stage";
+    static final String RULE_TIMER = "credit_risk.rule";
+    static final String EVALUATION_TIMER = "credit_risk.evaluation";
+    static final String FAILED = "FAILED";
+
+    private static final int DECISIONS = Decision.values().length;
+    // Stage timers also have a slot for requests that ended without a decision
+    private static final int STAGE_OUTCOMES = DECISIONS + 1;
+
+    private final Timer[] stages;
+    private final Timer[] rules;
+    private final Timer[] evaluations;
+    private final int ruleSampleMask;
+
+    public EvaluationTimers(
+            MeterRegistry registry,
+            RuleSetHolder ruleSetHolder,
+            @Value("${credit-risk.telemetry.rule-sample-interval:256}") int ruleSampleInterval
+    ) {
+        this.ruleSampleMask = Integer.highestOneBit(Math.max(1, ruleSampleInterval) * 2 - 1) - 1;
+
+        Decision[] decisions = Decision.values();
+        Stage[] stageValues = Stage.values();
+        this.stages = new Timer[stageValues.length * STAGE_OUTCOMES];
+        for (Stage stage : stageValues) {
+            for (int outcome = 0; outcome < STAGE_OUTCOMES; outcome++) {
+                stages[stage.ordinal() * STAGE_OUTCOMES + outcome] = Timer.builder(STAGE_TIMER)
+                        .description("Time spent in one stage of an evaluation")
+                        .tag("stage", stage.name().toLowerCase(Locale.ROOT))
+                        .tag("decision", outcome < DECISIONS ? decisions[outcome].name() : FAILED)
+                        .publishPercentileHistogram()
+                        .register(registry);
+            }
+        }
+
+        // Reloads change rule values, never the rules or their order
+        List<CreditRule> ruleList = ruleSetHolder.current().getRules();
+        this.rules = new Timer[ruleList.size() * DECISIONS];
+        for (int i = 0; i < ruleList.size(); i++) {
+            for (Decision decision : decisions) {
+                rules[index(i, decision)] = Timer.builder(RULE_TIMER)
+                        .description("Time spent evaluating one rule")
+                        .tag("rule", ruleList.get(i).getClass().getSimpleName())
+                        .tag("decision", decision.name())
+                        .publishPercentileHistogram()
+                        .register(registry);
+            }
+        }
+
+        this.evaluations = new Timer[DECISIONS];
+        for (Decision decision : decisions) {
+            evaluations[decision.ordinal()] = Timer.builder(EVALUATION_TIMER)
+                    .description("Time to score, decide and store one evaluation")
+                    .tag("decision", decision.name())
+                    .publishPercentileHistogram()
+                    .register(registry);
+        }
+    }
+
+    /**
+     * @param startNanos {@link System#nanoTime()} when the stage began; it ends now
+     */
+    public void record(Stage stage, Decision decision, long startNanos) {
+        record(stage, decision, startNanos, System.nanoTime());
+    }
+
+    /**
+     * @param decision   the decision the request ended in; null if it failed
+     * @param startNanos {@link System#nanoTime()} when the stage began
+     * @param endNanos   {@link System#nanoTime()} when it ended
+     */
+    public void record(Stage stage, Decision decision, long startNanos, long endNanos) {
+        int outcome = decision == null ? DECISIONS : decision.ordinal();
+        stages[stage.ordinal() * STAGE_OUTCOMES + outcome].record(endNanos - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * @return whether the rules of the evaluation about to run should be timed
+     */
+    public boolean sampleRules() {
+        return (ThreadLocalRandom.current().nextInt() & ruleSampleMask) == 0;
+    }
+
+    /**
+     * @param position rule position in scoring order
+     */
+    public void recordRule(int position, Decision decision, long nanos) {
+        rules[index(position, decision)].record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordEvaluation(Decision decision, long startNanos) {
+        evaluations[decision.ordinal()].record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private static int index(int position, Decision decision) {
+        return position * DECISIONS + decision.ordinal();
+    }
+}
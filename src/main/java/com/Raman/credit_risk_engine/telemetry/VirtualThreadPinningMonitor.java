@@ -0,0 +1,135 @@
+package com.Raman.credit_risk_engine.telemetry;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Reports virtual threads that block while pinned to their carrier.
+ *
+ * A virtual thread that blocks inside a {@code synchronized} block or a
+ * native frame keeps its carrier thread, so a few of them can stall every
+ * other virtual thread. The JDK reports each such block longer than
+ * {@code pinning-threshold-ms} as a {@code jdk.VirtualThreadPinned} JFR
+ * event; this monitor streams those events in-process.
+ *
+ * Every event is recorded under {@code credit_risk.virtual_thread.pinned},
+ * tagged with the pinning site: the first stack frame outside the JDK, such
+ * as a JDBC driver method. The first event of each site is logged with its
+ * stack trace.
+ */
+@Component
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadPinningMonitor implements SmartInitializingSingleton, DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+
+    static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    static final String PINNED_TIMER = "credit_risk.virtual_thread.pinned";
+
+    // Bounds the site tag's cardinality
+    private static final int MAX_SITES = 64;
+    private static final String OTHER_SITE = "other";
+    private static final int LOGGED_FRAMES = 16;
+    private static final List<String> JDK_PACKAGES = List.of("java.", "javax.", "jdk.", "sun.", "com.sun.");
+
+    private final MeterRegistry registry;
+    private final Duration threshold;
+    private final Map<String, Timer> sites = new ConcurrentHashMap<>();
+    private RecordingStream stream;
+
+    public VirtualThreadPinningMonitor(
+            MeterRegistry registry,
+            @Value("${credit-risk.virtual-threads.pinning-threshold-ms:20}") long thresholdMs
+    ) {
+        this.registry = registry;
+        this.threshold = Duration.ofMillis(thresholdMs);
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        stream = new RecordingStream();
+        stream.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+        stream.onEvent(PINNED_EVENT, this::onPinned);
+        stream.startAsync();
+        log.info("Reporting virtual threads pinned for more than {} ms", threshold.toMillis());
+    }
+
+    void onPinned(RecordedEvent event) {
+        RecordedStackTrace stackTrace = event.getStackTrace();
+        List<RecordedFrame> frames = stackTrace == null ? List.of() : stackTrace.getFrames();
+        String site = site(frames);
+
+        Timer timer = sites.get(site);
+        if (timer == null) {
+            timer = register(site, frames, event.getDuration());
+        }
+        timer.record(event.getDuration());
+    }
+
+    /**
+     * @return the timers recorded so far, by pinning site
+     */
+    public Map<String, Timer> sites() {
+        return Map.copyOf(sites);
+    }
+
+    private synchronized Timer register(String site, List<RecordedFrame> frames, Duration duration) {
+        Timer timer = sites.get(site);
+        if (timer != null) {
+            return timer;
+        }
+        String tag = sites.size() < MAX_SITES ? site : OTHER_SITE;
+        timer = Timer.builder(PINNED_TIMER)
+                .description("Time virtual threads spent blocked while pinned to a carrier")
+                .tag("site", tag)
+                .register(registry);
+        sites.put(site, timer);
+
+        log.warn("Virtual thread pinned for {} ms at {}:\n\t{}",
+                duration.toMillis(),
+                site,
+                frames.stream()
+                        .limit(LOGGED_FRAMES)
+                        .map(VirtualThreadPinningMonitor::describe)
+                        .collect(Collectors.joining("\n\t")));
+        return timer;
+    }
+
+    static String site(List<RecordedFrame> frames) {
+        for (RecordedFrame frame : frames) {
+            String type = frame.getMethod().getType().getName();
+            if (JDK_PACKAGES.stream().noneMatch(type::startsWith)) {
+                return describe(frame);
+            }
+        }
+        return frames.isEmpty() ? "unknown" : describe(frames.get(0));
+    }
+
+    private static String describe(RecordedFrame frame) {
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName();
+    }
+
+    @Override
+    public void destroy() {
+        if (stream != null) {
+            stream.close();
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.Raman.credit_risk_engine.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.SQLTransientConnectionException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GatedDataSourceTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    void permitIsHeldUntilTheConnectionIsClosedOnce() throws Exception {
+        GatedDataSource gate = new GatedDataSource(h2(), 1, 10, 50, registry);
+
+        Connection connection = gate.getConnection();
+        assertEquals(1, gate.inUse());
+        assertThrows(SQLTransientConnectionException.class, gate::getConnection);
+
+        connection.close();
+        connection.close();
+        assertEquals(0, gate.inUse());
+
+        try (Connection again = gate.getConnection()) {
+            assertTrue(again.isValid(1));
+            assertEquals(1, gate.inUse());
+        }
+        assertEquals(0, gate.inUse());
+        assertEquals(1, registry.get("credit_risk.db_gate.rejected").counter().count());
+    }
+
+    @Test
+    void virtualThreadsNeverHoldMoreThanThePermits() throws Exception {
+        int permits = 4;
+        GatedDataSource gate = new GatedDataSource(h2(), permits, 10_000, 10_000, registry);
+        AtomicInteger open = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> tasks = new ArrayList<>();
+            for (int i = 0; i < 2_000; i++) {
+                tasks.add(executor.submit(() -> {
+                    try (Connection ignored = gate.getConnection()) {
+                        peak.accumulateAndGet(open.incrementAndGet(), Math::max);
+                        Thread.sleep(1);
+                        open.decrementAndGet();
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> task : tasks) {
+                task.get(30, TimeUnit.SECONDS);
+            }
+        }
+
+        assertEquals(permits, peak.get());
+        assertEquals(0, gate.inUse());
+    }
+
+    @Test
+    void callersBeyondTheQueueLimitFailAtOnce() throws Exception {
+        GatedDataSource gate = new GatedDataSource(h2(), 1, 1, 10_000, registry);
+        Connection held = gate.getConnection();
+        CountDownLatch queued = new CountDownLatch(1);
+
+        Thread waiter = Thread.ofVirtual().start(() -> {
+            queued.countDown();
+            try (Connection ignored = gate.getConnection()) {
+                // Gets the permit once the held connection is closed
+            } catch (Exception ex) {
+                throw new IllegalStateException(ex);
+            }
+        });
+        queued.await();
+        while (registry.get("credit_risk.db_gate.waiting").gauge().value() < 1) {
+            Thread.onSpinWait();
+        }
+
+        long start = System.nanoTime();
+        assertThrows(SQLTransientConnectionException.class, gate::getConnection);
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(1));
+
+        held.close();
+        waiter.join(5_000);
+        assertEquals(0, gate.inUse());
+    }
+
+    private static JdbcDataSource h2() {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:gate;DB_CLOSE_DELAY=-1");
+        return dataSource;
+    }
+}
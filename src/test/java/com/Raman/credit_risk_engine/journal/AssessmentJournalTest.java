@@ -0,0 +1,124 @@
+package com.Raman.credit_risk_engine.journal;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class AssessmentJournalTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void concurrentAppendsAreAllDurableAndReadable() throws Exception {
+        AssessmentJournal journal = new AssessmentJournal(dir, Long.MAX_VALUE);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < 400; i++) {
+            byte[] payload = ("record-" + i).getBytes();
+            futures.add(executor.submit(() -> {
+                journal.append(payload);
+                return null;
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        Set<String> read = new HashSet<>();
+        long offset = 0;
+        AssessmentJournal.Segment segment;
+        while (!(segment = journal.read(offset, 64)).isEmpty()) {
+            segment.payloads().forEach(payload -> read.add(new String(payload)));
+            offset = segment.end();
+        }
+        assertEquals(400, read.size());
+        assertEquals(journal.durableOffset(), offset);
+        journal.destroy();
+    }
+
+    @Test
+    void reopenResumesAfterCheckpointAndDropsTornTail() throws Exception {
+        AssessmentJournal journal = new AssessmentJournal(dir, Long.MAX_VALUE);
+        journal.append(new byte[]{1});
+        journal.append(new byte[]{2});
+        journal.append(new byte[]{3});
+        journal.commit(journal.read(0, 1).end());
+        long validEnd = journal.durableOffset();
+        journal.destroy();
+
+        // A crash in the middle of the next append leaves half a frame behind
+        try (FileChannel channel = FileChannel.open(dir.resolve(AssessmentJournal.JOURNAL_FILE),
+                StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            channel.write(ByteBuffer.allocate(6).putInt(100).put((byte) 9).put((byte) 9).flip());
+        }
+
+        AssessmentJournal reopened = new AssessmentJournal(dir, Long.MAX_VALUE);
+        assertEquals(validEnd, Files.size(dir.resolve(AssessmentJournal.JOURNAL_FILE)));
+
+        AssessmentJournal.Segment pending = reopened.read(reopened.checkpoint(), 10);
+        assertEquals(2, pending.payloads().size());
+        assertArrayEquals(new byte[]{2}, pending.payloads().get(0));
+        assertArrayEquals(new byte[]{3}, pending.payloads().get(1));
+
+        reopened.append(new byte[]{4});
+        assertEquals(3, reopened.read(reopened.checkpoint(), 10).payloads().size());
+        reopened.destroy();
+    }
+
+    @Test
+    void caughtUpJournalIsCompacted() throws Exception {
+        AssessmentJournal journal = new AssessmentJournal(dir, 1);
+        journal.append(new byte[]{1});
+        journal.append(new byte[]{2});
+        journal.commit(journal.read(0, 10).end());
+
+        assertEquals(0, journal.checkpoint());
+        assertEquals(0, Files.size(dir.resolve(AssessmentJournal.JOURNAL_FILE)));
+
+        journal.append(new byte[]{3});
+        journal.destroy();
+
+        AssessmentJournal reopened = new AssessmentJournal(dir, 1);
+        AssessmentJournal.Segment pending = reopened.read(reopened.checkpoint(), 10);
+        assertEquals(1, pending.payloads().size());
+        assertArrayEquals(new byte[]{3}, pending.payloads().get(0));
+        reopened.destroy();
+    }
+
+    @Test
+    void checkpointPastTheEndRestartsFromZero() throws Exception {
+        AssessmentJournal journal = new AssessmentJournal(dir, Long.MAX_VALUE);
+        journal.append(new byte[]{1});
+        journal.commit(journal.read(0, 10).end());
+        journal.destroy();
+
+        // Compaction truncated the file but the reset checkpoint was lost
+        try (FileChannel channel = FileChannel.open(dir.resolve(AssessmentJournal.JOURNAL_FILE),
+                StandardOpenOption.WRITE)) {
+            channel.truncate(0);
+        }
+
+        AssessmentJournal reopened = new AssessmentJournal(dir, Long.MAX_VALUE);
+        assertEquals(0, reopened.checkpoint());
+        reopened.append(new byte[]{7});
+        assertEquals(1, reopened.read(reopened.checkpoint(), 10).payloads().size());
+        reopened.destroy();
+    }
+}
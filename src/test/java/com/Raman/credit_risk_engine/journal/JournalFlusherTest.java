@@ -0,0 +1,208 @@
+package com.Raman.credit_risk_engine.journal;
+
+import com.Raman.credit_risk_engine.decision.Decision;
+import com.Raman.credit_risk_engine.decision.RiskDecisionService;
+import com.Raman.credit_risk_engine.decision.RiskLevel;
+import com.Raman.credit_risk_engine.dto.CreditRiskRequestDTO;
+import com.Raman.credit_risk_engine.dto.CreditRiskResponseDTO;
+import com.Raman.credit_risk_engine.entity.CreditAssessment;
+import com.Raman.credit_risk_engine.entity.EmploymentType;
+import com.Raman.credit_risk_engine.entity.User;
+import com.Raman.credit_risk_engine.metrics.FinancialMetricsService;
+import com.Raman.credit_risk_engine.repository.CreditAssessmentRepository;
+import com.Raman.credit_risk_engine.repository.UserFinancialProfileRepository;
+import com.Raman.credit_risk_engine.repository.UserRepository;
+import com.Raman.credit_risk_engine.rule.RuleSetHolder;
+import com.Raman.credit_risk_engine.service.AssessmentMapper;
+import com.Raman.credit_risk_engine.service.CreditRiskEvaluationService;
+import com.Raman.credit_risk_engine.service.CreditScoringService;
+import com.Raman.credit_risk_engine.service.RuleRegistry;
+import com.Raman.credit_risk_engine.service.WriteBehindEvaluationService;
+import com.Raman.credit_risk_engine.telemetry.EvaluationTimers;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest(properties = "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect")
+class JournalFlusherTest {
+
+    @TempDir
+    Path dir;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private CreditAssessmentRepository creditAssessmentRepository;
+
+    @Autowired
+    private UserFinancialProfileRepository userFinancialProfileRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void journaledAssessmentsReachTheDatabaseOnceEvenWhenReplayed() throws Exception {
+        User user = new User();
+        user.setFullName("Asha Rao");
+        user.setEmail("asha@example.com");
+        user.setPassword("secret");
+        Long userId = userRepository.save(user).getId();
+        entityManager.flush();
+
+        AssessmentJournal journal = new AssessmentJournal(dir, Long.MAX_VALUE);
+        WriteBehindEvaluationService service = service(journal);
+
+        List<CreditRiskResponseDTO> responses = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            responses.add(service.evaluate(request(i), userId));
+        }
+        CreditRiskResponseDTO unknownUser = service.evaluate(request(3), userId + 100);
+
+        assertEquals(0, creditAssessmentRepository.count());
+        assertEquals(4, flusher(journal).flush());
+        entityManager.clear();
+
+        for (CreditRiskResponseDTO response : responses) {
+            CreditAssessment saved = creditAssessmentRepository.findById(response.getAssessmentId()).orElseThrow();
+            assertEquals(response.getCreditScore(), saved.getCreditScore());
+            assertEquals(response.getDecision(), saved.getDecision());
+            assertEquals(userId, saved.getUser().getId());
+            assertEquals(response.getReasons().size(), saved.getRuleOutcomes().length);
+            assertNotNull(saved.getCreatedAt());
+        }
+        assertNull(creditAssessmentRepository.findById(unknownUser.getAssessmentId()).orElseThrow().getUser());
+        assertEquals(4, userFinancialProfileRepository.count());
+        journal.destroy();
+
+        // Losing the checkpoint replays the whole journal; nothing is inserted twice
+        Files.delete(dir.resolve(AssessmentJournal.CHECKPOINT_FILE));
+        AssessmentJournal reopened = new AssessmentJournal(dir, Long.MAX_VALUE);
+        assertTrue(reopened.durableOffset() > reopened.checkpoint());
+        assertEquals(0, flusher(reopened).flush());
+        assertEquals(4, creditAssessmentRepository.count());
+        assertEquals(reopened.durableOffset(), reopened.checkpoint());
+        reopened.destroy();
+    }
+
+    // Outside the test transaction, so a rejected batch really rolls back
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void recordsTheDatabaseRejectsAreDeadLetteredWithoutBlockingTheRest() throws Exception {
+        AssessmentJournal journal = new AssessmentJournal(dir, Long.MAX_VALUE);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        JournalFlusher flusher = new JournalFlusher(journal, jdbcTemplate, transactionManager, registry, 2, 50);
+
+        try {
+            journal.append(entry(90_001, "v1").encode());
+            // Longer than the rule_set_version column
+            journal.append(entry(90_002, "v".repeat(100)).encode());
+            journal.append(entry(90_003, "v1").encode());
+            assertTrue(registry.get("credit_risk.write_behind.pending_bytes").gauge().value() > 0);
+
+            assertEquals(2, flusher.flush());
+
+            assertTrue(creditAssessmentRepository.existsById(90_001L));
+            assertFalse(creditAssessmentRepository.existsById(90_002L));
+            assertTrue(creditAssessmentRepository.existsById(90_003L));
+            assertFalse(userFinancialProfileRepository.existsById(90_002L));
+            assertEquals(journal.durableOffset(), journal.checkpoint());
+            assertEquals(0, registry.get("credit_risk.write_behind.pending_bytes").gauge().value());
+            assertEquals(1, registry.get("credit_risk.write_behind.dead_lettered").counter().count());
+
+            DataInputStream deadLetters = new DataInputStream(
+                    new ByteArrayInputStream(Files.readAllBytes(dir.resolve(AssessmentJournal.DEAD_LETTER_FILE))));
+            byte[] payload = new byte[deadLetters.readInt()];
+            deadLetters.readFully(payload);
+            assertEquals(90_002, JournaledAssessment.decode(payload).assessmentId());
+        } finally {
+            journal.destroy();
+            jdbcTemplate.update("DELETE FROM credit_assessment WHERE id BETWEEN 90001 AND 90003");
+            jdbcTemplate.update("DELETE FROM user_financial_profile WHERE id BETWEEN 90001 AND 90003");
+        }
+    }
+
+    private WriteBehindEvaluationService service(AssessmentJournal journal) {
+        FinancialMetricsService metricsService = new FinancialMetricsService();
+        CreditScoringService scoringService = new CreditScoringService(RuleRegistry.orderedRules());
+        RiskDecisionService riskDecisionService = new RiskDecisionService();
+        AssessmentMapper assessmentMapper = new AssessmentMapper();
+        EvaluationTimers timers = new EvaluationTimers(new SimpleMeterRegistry(), new RuleSetHolder(RuleRegistry.orderedRules()), 64);
+
+        return new WriteBehindEvaluationService(
+                metricsService,
+                scoringService,
+                riskDecisionService,
+                assessmentMapper,
+                new AssessmentIdAllocator(entityManagerFactory),
+                journal,
+                new CreditRiskEvaluationService(
+                        metricsService,
+                        scoringService,
+                        riskDecisionService,
+                        creditAssessmentRepository,
+                        userFinancialProfileRepository,
+                        userRepository,
+                        assessmentMapper,
+                        timers
+                ),
+                timers
+        );
+    }
+
+    private JournalFlusher flusher(AssessmentJournal journal) {
+        return new JournalFlusher(journal, new JdbcTemplate(dataSource), transactionManager,
+                new SimpleMeterRegistry(), 2, 50);
+    }
+
+    private static JournaledAssessment entry(long id, String ruleSetVersion) {
+        return JournaledAssessment.of(id, id, null, request(0), 900, RiskLevel.LOW, Decision.APPROVE,
+                new byte[0], ruleSetVersion);
+    }
+
+    private static CreditRiskRequestDTO request(int i) {
+        CreditRiskRequestDTO request = new CreditRiskRequestDTO();
+        request.setMonthlyIncome(new BigDecimal("90000.50").add(BigDecimal.valueOf(i)));
+        request.setMonthlyExpenses(new BigDecimal("20000"));
+        request.setTotalMonthlyEmis(new BigDecimal("5000"));
+        request.setPastLoanDefaults(i % 3);
+        request.setCreditHistoryLengthMonths(12 * i);
+        request.setEmploymentType(i % 2 == 0 ? EmploymentType.SALARIED : EmploymentType.SELF_EMPLOYED);
+        request.setAge(35);
+        request.setRequestedLoanAmount(new BigDecimal("500000"));
+        return request;
+    }
+}
@@ -0,0 +1,90 @@
+package com.Raman.credit_risk_engine.limit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AdaptiveConcurrencyLimitTest {
+
+    private static final long BASELINE = TimeUnit.MILLISECONDS.toNanos(10);
+
+    @Test
+    void growsWhileLatencyStaysAtTheBaselineAndShrinksAsItRises() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(20, 4, 200, 1.5, 10, 0.2, 1_000);
+
+        for (int window = 0; window < 200; window++) {
+            completeWindow(limit, BASELINE, limit.getLimit());
+        }
+        assertEquals(200, limit.getLimit());
+
+        // The database slows down: latency at 5x the baseline
+        for (int window = 0; window < 200; window++) {
+            completeWindow(limit, 5 * BASELINE, limit.getLimit());
+        }
+        assertTrue(limit.getLimit() < 20, "limit " + limit.getLimit());
+
+        // It recovers once latency is back to normal
+        for (int window = 0; window < 200; window++) {
+            completeWindow(limit, BASELINE, limit.getLimit());
+        }
+        assertEquals(200, limit.getLimit());
+    }
+
+    @Test
+    void settlesWhereQueueingStartsToAddLatency() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(20, 4, 200, 1.5, 10, 0.2, 1_000);
+
+        // A server that runs 30 requests at once; more wait in a queue
+        for (int window = 0; window < 500; window++) {
+            int inFlight = limit.getLimit();
+            long rtt = BASELINE * Math.max(30, inFlight) / 30;
+            completeWindow(limit, rtt, inFlight);
+        }
+        assertTrue(limit.getLimit() >= 30 && limit.getLimit() <= 60, "limit " + limit.getLimit());
+    }
+
+    @Test
+    void doesNotGrowWhileMostOfTheLimitIsUnused() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(20, 4, 200, 1.5, 10, 0.2, 1_000);
+
+        for (int window = 0; window < 100; window++) {
+            completeWindow(limit, BASELINE, 3);
+        }
+        assertEquals(20, limit.getLimit());
+    }
+
+    @Test
+    void droppedRequestsCutTheLimit() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(100, 4, 200, 1.5, 2, 0.2, 1_000);
+        limit.sample(BASELINE, 100, false);
+        limit.sample(BASELINE, 100, true);
+        assertEquals(90, limit.getLimit());
+    }
+
+    @Test
+    void rejectsRequestsBeyondTheLimit() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(registry, 2, 1, 10, 1.5, 50, 0.2, 100);
+
+        assertTrue(limit.tryAcquire());
+        assertTrue(limit.tryAcquire());
+        assertFalse(limit.tryAcquire());
+        assertEquals(2, registry.get("credit_risk.concurrency.in_flight").gauge().value());
+        assertEquals(1, registry.get("credit_risk.concurrency.rejected").counter().count());
+
+        limit.release(System.nanoTime(), false);
+        assertTrue(limit.tryAcquire());
+        assertEquals(2, registry.get("credit_risk.concurrency.limit").gauge().value());
+    }
+
+    private static void completeWindow(AdaptiveConcurrencyLimit limit, long rtt, int inFlight) {
+        for (int i = 0; i < 10; i++) {
+            limit.sample(rtt, inFlight, false);
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.Raman.credit_risk_engine.limit;
+
+import com.Raman.credit_risk_engine.service.IdempotentEvaluationService;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ConcurrencyLimitInterceptorTest {
+
+    private static final long BASELINE = TimeUnit.MILLISECONDS.toNanos(10);
+
+    @Test
+    void fastResponsesThatRanNoEvaluationDoNotLowerTheLimit() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(20, 4, 200, 1.5, 10, 0.2, 1_000);
+        ConcurrencyLimitInterceptor interceptor = new ConcurrencyLimitInterceptor(limit, 1);
+
+        for (int window = 0; window < 5; window++) {
+            completeWindow(limit);
+        }
+        int before = limit.getLimit();
+
+        // Validation failures, unknown users, rule failures and replays mixed into the next windows
+        for (int window = 0; window < 5; window++) {
+            complete(interceptor, 400, false);
+            complete(interceptor, 404, false);
+            complete(interceptor, 422, false);
+            complete(interceptor, 200, true);
+            completeWindow(limit);
+        }
+
+        assertEquals(BASELINE, limit.getNoLoadRttNanos());
+        assertTrue(limit.getLimit() >= before, "limit " + limit.getLimit() + " < " + before);
+        assertEquals(0, limit.getInFlight());
+    }
+
+    @Test
+    void unavailableResponsesCountAsDrops() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(100, 4, 200, 1.5, 2, 0.2, 1_000);
+        ConcurrencyLimitInterceptor interceptor = new ConcurrencyLimitInterceptor(limit, 1);
+
+        complete(interceptor, 503, false);
+        complete(interceptor, 200, false);
+
+        assertEquals(90, limit.getLimit());
+        assertEquals(0, limit.getInFlight());
+    }
+
+    private static void complete(ConcurrencyLimitInterceptor interceptor, int status, boolean replayed) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/credit-risk/evaluate/1");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        interceptor.preHandle(request, response, new Object());
+        response.setStatus(status);
+        if (replayed) {
+            response.setHeader(IdempotentEvaluationService.REPLAYED_HEADER, "true");
+        }
+        interceptor.afterCompletion(request, response, new Object(), null);
+    }
+
+    // A fully used limit at the no-load latency
+    private static void completeWindow(AdaptiveConcurrencyLimit limit) {
+        for (int i = 0; i < 10; i++) {
+            limit.sample(BASELINE, limit.getLimit(), false);
+        }
+    }
+}
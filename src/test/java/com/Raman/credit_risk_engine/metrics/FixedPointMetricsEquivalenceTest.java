@@ -0,0 +1,115 @@
+package com.Raman.credit_risk_engine.metrics;
+
+import com.Raman.credit_risk_engine.entity.EmploymentType;
+import com.Raman.credit_risk_engine.entity.UserFinancialProfile;
+import com.Raman.credit_risk_engine.rule.BucketedRule;
+import com.Raman.credit_risk_engine.rule.CreditRule;
+import com.Raman.credit_risk_engine.service.RuleRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that {@link FixedPointMetrics} reproduces the BigDecimal HALF_UP
+ * scale-2 semantics of {@link FinancialMetricsService} bit for bit.
+ */
+class FixedPointMetricsEquivalenceTest {
+
+    private static final int RANDOM_CORPUS_SIZE = 1_000_000;
+
+    private final FinancialMetricsService metricsService = new FinancialMetricsService();
+    private final List<CreditRule> rules = RuleRegistry.orderedRules();
+
+    @Test
+    void matchesBigDecimalPathExhaustivelyForSmallIncomes() {
+        FixedPointMetrics fixedPoint = new FixedPointMetrics();
+
+        // Every EMI and loan amount up to each income covers every rounding tie.
+        for (long income = 1; income <= 400; income++) {
+            for (long emis = 0; emis <= income; emis++) {
+                long loan = emis * 37 + 1;
+                UserFinancialProfile profile = profile(income, income - emis, emis, loan);
+                assertEquivalent(profile, fixedPoint.load(profile));
+            }
+        }
+    }
+
+    @Test
+    void matchesBigDecimalPathOverRandomizedCorpus() {
+        SplittableRandom random = new SplittableRandom(20240611L);
+        FixedPointMetrics fixedPoint = new FixedPointMetrics();
+
+        for (int i = 0; i < RANDOM_CORPUS_SIZE; i++) {
+            long income = 1 + random.nextLong(magnitude(random));
+            long expenses = random.nextLong(income + 1);
+            long emis = random.nextLong(income + 1);
+            long loan = 1 + random.nextLong(magnitude(random));
+
+            UserFinancialProfile profile = profile(income, expenses, emis, loan);
+            assertEquivalent(profile, fixedPoint.load(profile));
+        }
+    }
+
+    @Test
+    void rejectsSubCentAmounts() {
+        assertTrue(FixedPointMetrics.isRepresentable(new BigDecimal("12.50")));
+        assertTrue(FixedPointMetrics.isRepresentable(new BigDecimal("12.5000")));
+        assertTrue(FixedPointMetrics.isRepresentable(new BigDecimal("1E+3")));
+        assertFalse(FixedPointMetrics.isRepresentable(new BigDecimal("12.505")));
+        assertFalse(FixedPointMetrics.isRepresentable(new BigDecimal("1E+13")));
+        assertFalse(FixedPointMetrics.isRepresentable(null));
+    }
+
+    private void assertEquivalent(UserFinancialProfile profile, FixedPointMetrics fixedPoint) {
+        FinancialMetrics expected = metricsService.computeMetrics(profile);
+        FinancialMetrics actual = fixedPoint.toFinancialMetrics();
+
+        assertEquals(expected.getDebtToIncomeRatio(), actual.getDebtToIncomeRatio(), () -> describe(profile));
+        assertEquals(expected.getDisposableIncome(), actual.getDisposableIncome(), () -> describe(profile));
+        assertEquals(expected.getLoanToIncomeRatio(), actual.getLoanToIncomeRatio(), () -> describe(profile));
+
+        for (CreditRule rule : rules) {
+            BucketedRule bucketed = (BucketedRule) rule;
+            assertEquals(bucketed.bucketOf(profile, expected), bucketed.bucketOf(fixedPoint), () -> describe(profile));
+        }
+    }
+
+    /**
+     * Mixes small and large magnitudes so both rounding ties and long
+     * intermediates are exercised.
+     */
+    private static long magnitude(SplittableRandom random) {
+        return switch (random.nextInt(4)) {
+            case 0 -> 1_000L;
+            case 1 -> 10_000_000L;
+            case 2 -> 1_000_000_000_000L;
+            default -> FixedPointMetrics.MAX_AMOUNT_CENTS;
+        };
+    }
+
+    private static UserFinancialProfile profile(long incomeCents, long expensesCents, long emisCents, long loanCents) {
+        UserFinancialProfile profile = new UserFinancialProfile();
+        profile.setMonthlyIncome(BigDecimal.valueOf(incomeCents, 2));
+        profile.setMonthlyExpenses(BigDecimal.valueOf(expensesCents, 2));
+        profile.setTotalMonthlyEmis(BigDecimal.valueOf(emisCents, 2));
+        profile.setRequestedLoanAmount(BigDecimal.valueOf(loanCents, 2));
+        profile.setPastLoanDefaults((int) (emisCents % 3));
+        profile.setCreditHistoryLengthMonths((int) (incomeCents % 48));
+        profile.setEmploymentType(incomeCents % 2 == 0 ? EmploymentType.SALARIED : EmploymentType.SELF_EMPLOYED);
+        profile.setAge(30);
+        return profile;
+    }
+
+    private static String describe(UserFinancialProfile profile) {
+        return "income=" + profile.getMonthlyIncome()
+                + " expenses=" + profile.getMonthlyExpenses()
+                + " emis=" + profile.getTotalMonthlyEmis()
+                + " loan=" + profile.getRequestedLoanAmount();
+    }
+}
@@ -0,0 +1,51 @@
+package com.Raman.credit_risk_engine.metrics;
+
+import com.Raman.credit_risk_engine.entity.EmploymentType;
+import com.Raman.credit_risk_engine.entity.UserFinancialProfile;
+import com.Raman.credit_risk_engine.rule.RuleInput;
+import com.Raman.credit_risk_engine.service.CreditScoringService;
+import com.Raman.credit_risk_engine.service.RuleRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.EnumSet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class LazyFinancialMetricsTest {
+
+    @Test
+    void metricsNoRuleReadsAreNeverComputed() {
+        CreditScoringService scoringService = new CreditScoringService(RuleRegistry.orderedRules());
+        assertEquals(
+                EnumSet.of(RuleInput.DEBT_TO_INCOME_RATIO, RuleInput.DISPOSABLE_INCOME),
+                scoringService.requiredMetrics()
+        );
+
+        int[] loanAmountReads = new int[1];
+        UserFinancialProfile profile = new UserFinancialProfile() {
+            @Override
+            public BigDecimal getRequestedLoanAmount() {
+                loanAmountReads[0]++;
+                return super.getRequestedLoanAmount();
+            }
+        };
+        profile.setMonthlyIncome(BigDecimal.valueOf(90_000));
+        profile.setMonthlyExpenses(BigDecimal.valueOf(20_000));
+        profile.setTotalMonthlyEmis(BigDecimal.valueOf(5_000));
+        profile.setRequestedLoanAmount(BigDecimal.valueOf(500_000));
+        profile.setPastLoanDefaults(0);
+        profile.setCreditHistoryLengthMonths(48);
+        profile.setEmploymentType(EmploymentType.SALARIED);
+        profile.setAge(35);
+
+        FinancialMetrics metrics = new FinancialMetricsService().computeMetrics(profile);
+        scoringService.calculateScore(profile, metrics);
+        assertEquals(0, loanAmountReads[0]);
+
+        // Read on demand, then cached
+        assertEquals(new BigDecimal("0.46"), metrics.getLoanToIncomeRatio());
+        assertEquals(new BigDecimal("0.46"), metrics.getLoanToIncomeRatio());
+        assertEquals(1, loanAmountReads[0]);
+    }
+}
@@ -0,0 +1,142 @@
+package com.Raman.credit_risk_engine.offline;
+
+import com.Raman.credit_risk_engine.decision.RiskDecisionService;
+import com.Raman.credit_risk_engine.entity.EmploymentType;
+import com.Raman.credit_risk_engine.entity.UserFinancialProfile;
+import com.Raman.credit_risk_engine.metrics.FinancialMetrics;
+import com.Raman.credit_risk_engine.metrics.FinancialMetricsService;
+import com.Raman.credit_risk_engine.rule.RuleConfiguration;
+import com.Raman.credit_risk_engine.rule.RuleSetHolder;
+import com.Raman.credit_risk_engine.service.BucketScoringEngine;
+import com.Raman.credit_risk_engine.service.CreditScoringService;
+import com.Raman.credit_risk_engine.service.RuleRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MappedFileScorerTest {
+
+    private final FinancialMetricsService metricsService = new FinancialMetricsService();
+    private final RiskDecisionService riskDecisionService = new RiskDecisionService();
+    private final CreditScoringService scoringService = new CreditScoringService(RuleRegistry.orderedRules());
+    private final BucketScoringEngine engine =
+            new BucketScoringEngine(RuleRegistry.orderedRules(), metricsService, riskDecisionService);
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void matchesBigDecimalPipelineAcrossWindowBoundaries() throws Exception {
+        Random random = new Random(3);
+        List<String[]> rows = new ArrayList<>();
+        for (int i = 0; i < 2_000; i++) {
+            int income = 5_000 + random.nextInt(150_000);
+            rows.add(new String[]{
+                    income + "." + random.nextInt(10),
+                    String.valueOf(random.nextInt(income / 2)),
+                    BigDecimal.valueOf(random.nextInt(income * 50), 2).toPlainString(),
+                    String.valueOf(random.nextInt(3)),
+                    String.valueOf(random.nextInt(60)),
+                    random.nextBoolean() ? "SALARIED" : "SELF_EMPLOYED",
+                    String.valueOf(21 + random.nextInt(40)),
+                    i % 100 == 0 ? "250000.125" : String.valueOf(income * 10)
+            });
+        }
+
+        StringBuilder csv = new StringBuilder("monthlyIncome,monthlyExpenses,totalMonthlyEmis,pastLoanDefaults,"
+                + "creditHistoryLengthMonths,employmentType,age,requestedLoanAmount\r\n");
+        for (int i = 0; i < rows.size(); i++) {
+            csv.append(String.join(",", rows.get(i))).append(i % 7 == 0 ? "\r\n" : "\n");
+        }
+
+        List<String> output = score(csv.toString(), 257);
+
+        assertEquals(rows.size() + 1, output.size());
+        for (int i = 0; i < rows.size(); i++) {
+            String[] row = rows.get(i);
+            UserFinancialProfile profile = new UserFinancialProfile();
+            profile.setMonthlyIncome(new BigDecimal(row[0]));
+            profile.setMonthlyExpenses(new BigDecimal(row[1]));
+            profile.setTotalMonthlyEmis(new BigDecimal(row[2]));
+            profile.setPastLoanDefaults(Integer.parseInt(row[3]));
+            profile.setCreditHistoryLengthMonths(Integer.parseInt(row[4]));
+            profile.setEmploymentType(EmploymentType.valueOf(row[5]));
+            profile.setAge(Integer.parseInt(row[6]));
+            profile.setRequestedLoanAmount(new BigDecimal(row[7]));
+
+            FinancialMetrics metrics = metricsService.computeMetrics(profile);
+            int score = scoringService.calculateScore(profile, metrics).getFinalScore();
+            var outcome = riskDecisionService.evaluate(score);
+
+            assertEquals(i + "," + score + "," + outcome.getRiskLevel() + "," + outcome.getDecision() + ",",
+                    output.get(i + 1));
+        }
+    }
+
+    @Test
+    void reportsInvalidRecordsInPlace() throws Exception {
+        String csv = "90000,20000,5000,0,48,SALARIED,35,500000\n"
+                + "\n"
+                + "1000,2000,0,0,48,SALARIED,35,500000\n"
+                + "90000,20000,5000,0,48,CONTRACTOR,35,500000\n"
+                + "90000,-1,5000,0,48,SALARIED,17,500000\n"
+                + "90000,20000,5000,0,48\n"
+                + "90000.001,20000,5000,0,48,SALARIED,35,500000";
+
+        List<String> output = score(csv, MappedFileScorer.DEFAULT_WINDOW_SIZE);
+
+        assertEquals(7, output.size());
+        assertTrue(output.get(1).startsWith("0,1380,LOW,APPROVE"));
+        assertEquals("1,,,,\"Monthly expenses exceed income\"", output.get(2));
+        assertEquals("2,,,,\"Unknown employment type in record\"", output.get(3));
+        assertEquals("3,,,,\"age: must be greater than or equal to 18, "
+                + "monthlyExpenses: must be greater than or equal to 0.0\"", output.get(4));
+        assertTrue(output.get(5).startsWith("4,,,,"));
+        assertTrue(output.get(6).startsWith("5,1380,LOW,APPROVE"));
+    }
+
+    @Test
+    void scoresWithThePublishedRuleSet() throws Exception {
+        Properties settings = new Properties();
+        settings.setProperty("version", "offline-test.1");
+        settings.setProperty("risk.low-min-score", "1400");
+        RuleSetHolder holder = new RuleSetHolder(RuleRegistry.orderedRules());
+        BucketScoringEngine configured =
+                new BucketScoringEngine(holder, metricsService, new RiskDecisionService(holder));
+        holder.publish(RuleConfiguration.parse(settings));
+
+        Path input = dir.resolve("input.csv");
+        Path output = dir.resolve("output.csv");
+        Files.writeString(input, "90000,20000,5000,0,48,SALARIED,35,500000\n", StandardCharsets.US_ASCII);
+
+        OfflineScoringReport report =
+                new MappedFileScorer(configured, metricsService, MappedFileScorer.DEFAULT_WINDOW_SIZE).score(input, output);
+
+        assertEquals("offline-test.1", report.ruleSetVersion());
+        assertEquals("0,1380,MEDIUM,REVIEW,", Files.readAllLines(output, StandardCharsets.US_ASCII).get(1));
+    }
+
+    private List<String> score(String csv, int windowSize) throws Exception {
+        Path input = dir.resolve("input.csv");
+        Path output = dir.resolve("output.csv");
+        Files.writeString(input, csv, StandardCharsets.US_ASCII);
+
+        OfflineScoringReport report = new MappedFileScorer(engine, metricsService, windowSize).score(input, output);
+
+        List<String> lines = Files.readAllLines(output, StandardCharsets.US_ASCII);
+        assertEquals(lines.size() - 1, report.records());
+        assertEquals(RuleConfiguration.BUILTIN_VERSION, report.ruleSetVersion());
+        return lines;
+    }
+}
@@ -0,0 +1,79 @@
+package com.Raman.credit_risk_engine.rule;
+
+import com.Raman.credit_risk_engine.service.RuleRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ReasonCodeTest {
+
+    @Test
+    void everyBuiltInOutcomeHasAUniqueCode() {
+        Set<Byte> codes = new HashSet<>();
+        for (CreditRule rule : RuleRegistry.orderedRules()) {
+            BucketedRule bucketed = (BucketedRule) rule;
+            for (int bucket = 0; bucket < bucketed.bucketCount(); bucket++) {
+                RuleResult outcome = bucketed.outcomeOf(bucket);
+                assertNotNull(outcome.getReasonCode(), outcome.getReason());
+                assertTrue(codes.add(outcome.getReasonCode().code()));
+                assertSame(outcome, ReasonCode.fromCode(outcome.getReasonCode().code()).result());
+            }
+        }
+        assertEquals(ReasonCode.values().length, codes.size());
+    }
+
+    @Test
+    void codesAreStable() {
+        // Persisted values; changing any of these breaks stored assessments
+        assertEquals(1, ReasonCode.SALARIED.code());
+        assertEquals(12, ReasonCode.HIGH_DTI.code());
+        assertEquals(22, ReasonCode.MULTIPLE_DEFAULTS.code());
+        assertEquals(31, ReasonCode.MODERATE_HISTORY.code());
+        assertEquals(42, ReasonCode.LOW_DISPOSABLE_INCOME.code());
+    }
+
+    @Test
+    void encodesOneBytePerRuleAndRoundTrips() {
+        List<RuleResult> results = List.of(
+                ReasonCode.SELF_EMPLOYED.result(),
+                ReasonCode.MODERATE_DTI.result(),
+                ReasonCode.NO_DEFAULTS.result(),
+                ReasonCode.SHORT_HISTORY.result(),
+                ReasonCode.HIGH_DISPOSABLE_INCOME.result()
+        );
+
+        byte[] codes = ReasonCode.encode(results);
+
+        assertArrayEquals(new byte[]{2, 11, 20, 32, 40}, codes);
+        assertEquals(results, ReasonCode.decode(codes));
+
+        int textBytes = 0;
+        for (RuleResult result : results) {
+            textBytes += result.getRuleName().getBytes(StandardCharsets.UTF_8).length
+                    + result.getReason().getBytes(StandardCharsets.UTF_8).length;
+        }
+        assertTrue(textBytes > 50 * codes.length, "audit text " + textBytes + " bytes vs " + codes.length);
+    }
+
+    @Test
+    void customOutcomesAreNotEncoded() {
+        List<RuleResult> results = new ArrayList<>();
+        results.add(ReasonCode.SALARIED.result());
+        results.add(new RuleResult("AgeRule", 10, "Applicant age in preferred band"));
+
+        assertNull(ReasonCode.encode(results));
+        assertThrows(IllegalStateException.class, () -> ReasonCode.fromCode((byte) 99));
+    }
+}
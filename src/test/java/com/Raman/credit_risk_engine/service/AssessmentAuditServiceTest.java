@@ -0,0 +1,113 @@
+package com.Raman.credit_risk_engine.service;
+
+import com.Raman.credit_risk_engine.decision.Decision;
+import com.Raman.credit_risk_engine.decision.RiskLevel;
+import com.Raman.credit_risk_engine.dto.AssessmentAuditDTO;
+import com.Raman.credit_risk_engine.entity.AssessmentAudit;
+import com.Raman.credit_risk_engine.entity.CreditAssessment;
+import com.Raman.credit_risk_engine.repository.AssessmentAuditRepository;
+import com.Raman.credit_risk_engine.repository.CreditAssessmentRepository;
+import com.Raman.credit_risk_engine.rule.ReasonCode;
+import com.Raman.credit_risk_engine.rule.RuleResult;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+@DataJpaTest(properties = "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect")
+class AssessmentAuditServiceTest {
+
+    private static final List<RuleResult> OUTCOMES = List.of(
+            ReasonCode.SALARIED.result(),
+            ReasonCode.LOW_DTI.result(),
+            ReasonCode.ONE_DEFAULT.result(),
+            ReasonCode.LONG_HISTORY.result(),
+            ReasonCode.LOW_DISPOSABLE_INCOME.result()
+    );
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private CreditAssessmentRepository creditAssessmentRepository;
+
+    @Autowired
+    private AssessmentAuditRepository assessmentAuditRepository;
+
+    private final AssessmentMapper assessmentMapper = new AssessmentMapper();
+
+    @Test
+    void rebuildsCodedAndLegacyTrailsAlike() {
+        CreditAssessment coded = assessment();
+        assessmentMapper.recordOutcomes(coded, OUTCOMES);
+        creditAssessmentRepository.save(coded);
+
+        // Written before reason codes existed: audit rows, no codes
+        CreditAssessment legacy = assessment();
+        legacy.setAudits(assessmentMapper.toAudits(legacy, OUTCOMES));
+        creditAssessmentRepository.save(legacy);
+
+        entityManager.flush();
+        entityManager.clear();
+
+        AssessmentAuditService service = new AssessmentAuditService(creditAssessmentRepository, assessmentAuditRepository);
+        List<AssessmentAuditDTO> codedTrail = service.getAuditTrail(coded.getId());
+        List<AssessmentAuditDTO> legacyTrail = service.getAuditTrail(legacy.getId());
+
+        assertEquals(OUTCOMES.size(), codedTrail.size());
+        assertEquals(OUTCOMES.size(), legacyTrail.size());
+        for (int i = 0; i < OUTCOMES.size(); i++) {
+            assertEquals(legacyTrail.get(i).getRuleName(), codedTrail.get(i).getRuleName());
+            assertEquals(legacyTrail.get(i).getScoreImpact(), codedTrail.get(i).getScoreImpact());
+            assertEquals(legacyTrail.get(i).getReason(), codedTrail.get(i).getReason());
+            assertNotNull(codedTrail.get(i).getCreatedAt());
+            assertNull(codedTrail.get(i).getId());
+        }
+        assertEquals(List.of(), service.getAuditTrail(-1L));
+    }
+
+    @Test
+    void auditTrailIsBuiltBesideTheEntity() {
+        CreditAssessment coded = assessment();
+        assessmentMapper.recordOutcomes(coded, OUTCOMES);
+        creditAssessmentRepository.save(coded);
+
+        AssessmentAuditService service = new AssessmentAuditService(creditAssessmentRepository, assessmentAuditRepository);
+        JsonMapper mapper = JsonMapper.builder().build();
+        JsonNode json = mapper.valueToTree(service.withAuditTrail(coded));
+
+        assertFalse(json.get("assessment").has("ruleOutcomes"));
+        assertEquals(OUTCOMES.size(), json.get("audits").size());
+        assertEquals("DtiRule", json.get("audits").get(1).get("ruleName").asString());
+
+        // The entity itself carries no audit trail
+        JsonNode entity = mapper.valueToTree(coded);
+        assertFalse(entity.has("audits"));
+        assertFalse(entity.has("ruleOutcomes"));
+    }
+
+    private static CreditAssessment assessment() {
+        CreditAssessment assessment = new CreditAssessment();
+        assessment.setMonthlyIncome(90000.0);
+        assessment.setMonthlyExpenses(20000.0);
+        assessment.setTotalMonthlyEmis(5000.0);
+        assessment.setRequestedLoanAmount(500000.0);
+        assessment.setAge(35);
+        assessment.setPastLoanDefaults(1);
+        assessment.setCreditHistoryLengthMonths(48);
+        assessment.setEmploymentType("SALARIED");
+        assessment.setCreditScore(1150);
+        assessment.setRiskLevel(RiskLevel.LOW);
+        assessment.setDecision(Decision.APPROVE);
+        return assessment;
+    }
+}
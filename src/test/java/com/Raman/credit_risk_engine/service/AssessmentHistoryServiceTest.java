@@ -0,0 +1,198 @@
+package com.Raman.credit_risk_engine.service;
+
+import com.Raman.credit_risk_engine.decision.Decision;
+import com.Raman.credit_risk_engine.decision.RiskLevel;
+import com.Raman.credit_risk_engine.dto.AssessmentAuditDTO;
+import com.Raman.credit_risk_engine.dto.AssessmentSummaryDTO;
+import com.Raman.credit_risk_engine.dto.AssessmentWithAuditsDTO;
+import com.Raman.credit_risk_engine.dto.HistoryPageDTO;
+import com.Raman.credit_risk_engine.entity.CreditAssessment;
+import com.Raman.credit_risk_engine.entity.User;
+import com.Raman.credit_risk_engine.repository.AssessmentAuditRepository;
+import com.Raman.credit_risk_engine.repository.CreditAssessmentRepository;
+import com.Raman.credit_risk_engine.repository.UserRepository;
+import com.Raman.credit_risk_engine.rule.ReasonCode;
+import com.Raman.credit_risk_engine.rule.RuleResult;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DataJpaTest(properties = {
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+class AssessmentHistoryServiceTest {
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private CreditAssessmentRepository creditAssessmentRepository;
+
+    @Autowired
+    private AssessmentAuditRepository assessmentAuditRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void pagesCoverTheHistoryNewestFirstWithoutGapsOrRepeats() {
+        User user = user("paged@example.com");
+        User other = user("other@example.com");
+
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            ids.add(save(user, i).getId());
+            save(other, i);
+        }
+        entityManager.flush();
+
+        // Groups of equal timestamps make the id tie-breaker matter at page edges
+        Instant base = Instant.parse("2026-03-01T10:00:00Z");
+        for (int i = 0; i < ids.size(); i++) {
+            entityManager.createQuery("UPDATE CreditAssessment a SET a.createdAt = :createdAt WHERE a.id = :id")
+                    .setParameter("createdAt", base.plusSeconds(i / 4))
+                    .setParameter("id", ids.get(i))
+                    .executeUpdate();
+        }
+        entityManager.clear();
+
+        AssessmentHistoryService service = service(10);
+
+        List<AssessmentSummaryDTO> seen = new ArrayList<>();
+        List<Integer> pageSizes = new ArrayList<>();
+        String cursor = null;
+        do {
+            HistoryPageDTO<AssessmentSummaryDTO> page = service.getHistory(user.getId(), cursor, 50);
+            seen.addAll(page.items());
+            pageSizes.add(page.items().size());
+            cursor = page.nextCursor();
+        } while (cursor != null);
+
+        assertEquals(List.of(10, 10, 5), pageSizes);
+
+        List<AssessmentSummaryDTO> expected = new ArrayList<>(seen);
+        expected.sort(Comparator.comparing(AssessmentSummaryDTO::createdAt)
+                .thenComparing(AssessmentSummaryDTO::id)
+                .reversed());
+        assertEquals(expected, seen);
+        assertEquals(ids.stream().sorted(Comparator.reverseOrder()).toList(),
+                seen.stream().map(AssessmentSummaryDTO::id).toList());
+        assertNotNull(seen.get(0).decision());
+    }
+
+    @Test
+    void lastPageHasNoCursorAndBadCursorsAreRejected() {
+        User user = user("short@example.com");
+        save(user, 0);
+        entityManager.flush();
+
+        AssessmentHistoryService service = service(100);
+        HistoryPageDTO<AssessmentSummaryDTO> page = service.getHistory(user.getId(), null, null);
+
+        assertEquals(1, page.items().size());
+        assertNull(page.nextCursor());
+        assertThrows(IllegalArgumentException.class, () -> service.getHistory(user.getId(), "not a cursor", null));
+        assertThrows(IllegalArgumentException.class, () -> service.getHistory(user.getId(), "AAAA", null));
+        assertThrows(IllegalArgumentException.class, () -> service.getHistory(user.getId(), null, 0));
+    }
+
+    @Test
+    void historyWithAuditsUsesAFixedNumberOfQueries() {
+        List<RuleResult> outcomes = List.of(
+                ReasonCode.SALARIED.result(),
+                ReasonCode.LOW_DTI.result(),
+                ReasonCode.NO_DEFAULTS.result(),
+                ReasonCode.LONG_HISTORY.result(),
+                ReasonCode.HIGH_DISPOSABLE_INCOME.result()
+        );
+        AssessmentMapper mapper = new AssessmentMapper();
+        User user = user("audited@example.com");
+
+        // Oldest half written before reason codes existed, newest half coded
+        for (int i = 0; i < 30; i++) {
+            CreditAssessment assessment = assessment(user, i);
+            if (i < 15) {
+                assessment.setAudits(mapper.toAudits(assessment, outcomes));
+            } else {
+                mapper.recordOutcomes(assessment, outcomes);
+            }
+            creditAssessmentRepository.save(assessment);
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        AssessmentHistoryService service = service(100);
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        statistics.clear();
+        HistoryPageDTO<AssessmentWithAuditsDTO> coded = service.getHistoryWithAudits(user.getId(), null, 10);
+        assertEquals(1, statistics.getPrepareStatementCount());
+
+        statistics.clear();
+        HistoryPageDTO<AssessmentWithAuditsDTO> mixed = service.getHistoryWithAudits(user.getId(), coded.nextCursor(), 20);
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityFetchCount());
+
+        assertEquals(10, coded.items().size());
+        assertEquals(20, mixed.items().size());
+        for (HistoryPageDTO<AssessmentWithAuditsDTO> page : List.of(coded, mixed)) {
+            for (AssessmentWithAuditsDTO item : page.items()) {
+                assertEquals(
+                        mapper.toReasons(outcomes),
+                        item.audits().stream().map(AssessmentAuditDTO::getReason).toList()
+                );
+            }
+        }
+    }
+
+    private AssessmentHistoryService service(int maxPageSize) {
+        return new AssessmentHistoryService(creditAssessmentRepository, assessmentAuditRepository, 20, maxPageSize);
+    }
+
+    private User user(String email) {
+        User user = new User();
+        user.setFullName("History User");
+        user.setEmail(email);
+        user.setPassword("secret");
+        return userRepository.save(user);
+    }
+
+    private CreditAssessment save(User user, int i) {
+        return creditAssessmentRepository.save(assessment(user, i));
+    }
+
+    private static CreditAssessment assessment(User user, int i) {
+        CreditAssessment assessment = new CreditAssessment();
+        assessment.setMonthlyIncome(90_000.0 + i);
+        assessment.setMonthlyExpenses(20_000.0);
+        assessment.setTotalMonthlyEmis(5_000.0);
+        assessment.setRequestedLoanAmount(500_000.0);
+        assessment.setAge(35);
+        assessment.setPastLoanDefaults(0);
+        assessment.setCreditHistoryLengthMonths(48);
+        assessment.setEmploymentType("SALARIED");
+        assessment.setCreditScore(1380);
+        assessment.setRiskLevel(RiskLevel.LOW);
+        assessment.setDecision(Decision.APPROVE);
+        assessment.setUser(user);
+        return assessment;
+    }
+}
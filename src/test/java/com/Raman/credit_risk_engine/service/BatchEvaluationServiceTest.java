@@ -0,0 +1,153 @@
+package com.Raman.credit_risk_engine.service;
+
+import com.Raman.credit_risk_engine.decision.RiskDecisionService;
+import com.Raman.credit_risk_engine.dto.BatchEvaluationItemDTO;
+import com.Raman.credit_risk_engine.dto.CreditRiskRequestDTO;
+import com.Raman.credit_risk_engine.entity.CreditAssessment;
+import com.Raman.credit_risk_engine.entity.EmploymentType;
+import com.Raman.credit_risk_engine.entity.UserFinancialProfile;
+import com.Raman.credit_risk_engine.metrics.FinancialMetricsService;
+import com.Raman.credit_risk_engine.repository.CreditAssessmentRepository;
+import com.Raman.credit_risk_engine.repository.UserFinancialProfileRepository;
+import com.Raman.credit_risk_engine.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Batch persistence against an in-memory H2; each batch commits on its own,
+ * as it would in the application.
+ */
+@DataJpaTest(properties = "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class BatchEvaluationServiceTest {
+
+    private static final int CHUNK_SIZE = 10;
+
+    @Autowired
+    private CreditAssessmentRepository creditAssessmentRepository;
+
+    @Autowired
+    private UserFinancialProfileRepository userFinancialProfileRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final FinancialMetricsService metricsService = new FinancialMetricsService();
+    private final ColumnarScoringService columnarScoringService = new ColumnarScoringService(
+            new BucketScoringEngine(RuleRegistry.orderedRules(), metricsService, new RiskDecisionService()),
+            metricsService,
+            new AssessmentMapper()
+    );
+    private final PortfolioScoringService portfolioScoringService =
+            new PortfolioScoringService(columnarScoringService, 1, 4096);
+
+    private int chunks;
+    private int failingChunk = -1;
+
+    @BeforeEach
+    void clean() {
+        creditAssessmentRepository.deleteAll();
+        userFinancialProfileRepository.deleteAll();
+    }
+
+    @AfterEach
+    void stop() throws InterruptedException {
+        portfolioScoringService.destroy();
+    }
+
+    @Test
+    void storesEveryScoredItem() {
+        List<CreditRiskRequestDTO> requests = requests(25);
+        requests.get(7).setMonthlyIncome(null);
+
+        List<BatchEvaluationItemDTO> items = service().evaluate(requests, 1L);
+
+        assertEquals(25, items.size());
+        assertNull(items.get(7).getResult());
+        for (int i = 0; i < items.size(); i++) {
+            if (i != 7) {
+                assertTrue(items.get(i).getResult().getAssessmentId() > 0, "item " + i);
+            }
+        }
+        assertEquals(3, chunks);
+        assertEquals(24, creditAssessmentRepository.count());
+        assertEquals(24, userFinancialProfileRepository.count());
+    }
+
+    @Test
+    void failedChunkRollsBackTheChunksBeforeIt() {
+        failingChunk = 2;
+
+        assertThrows(DataAccessResourceFailureException.class, () -> service().evaluate(requests(25), 1L));
+
+        // Chunks 0 and 1 were flushed, but nothing was committed
+        assertEquals(3, chunks);
+        assertEquals(0, creditAssessmentRepository.count());
+        assertEquals(0, userFinancialProfileRepository.count());
+    }
+
+    private BatchEvaluationService service() {
+        AssessmentWriter writer = new AssessmentWriter(
+                userFinancialProfileRepository, creditAssessmentRepository, entityManager, transactionManager) {
+            @Override
+            public void writeChunk(List<UserFinancialProfile> profiles, List<CreditAssessment> assessments) {
+                if (chunks++ == failingChunk) {
+                    throw new DataAccessResourceFailureException("database down");
+                }
+                super.writeChunk(profiles, assessments);
+            }
+        };
+        return new BatchEvaluationService(
+                Validation.buildDefaultValidatorFactory().getValidator(),
+                columnarScoringService,
+                portfolioScoringService,
+                new AssessmentMapper(),
+                writer,
+                userRepository,
+                transactionManager,
+                1_000,
+                CHUNK_SIZE
+        );
+    }
+
+    private static List<CreditRiskRequestDTO> requests(int size) {
+        List<CreditRiskRequestDTO> requests = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            CreditRiskRequestDTO request = new CreditRiskRequestDTO();
+            request.setMonthlyIncome(BigDecimal.valueOf(90_000 + i));
+            request.setMonthlyExpenses(new BigDecimal("20000"));
+            request.setTotalMonthlyEmis(new BigDecimal("5000"));
+            request.setPastLoanDefaults(0);
+            request.setCreditHistoryLengthMonths(48);
+            request.setEmploymentType(EmploymentType.SALARIED);
+            request.setAge(35);
+            request.setRequestedLoanAmount(new BigDecimal("500000"));
+            requests.add(request);
+        }
+        return requests;
+    }
+}
@@ -0,0 +1,96 @@
+package com.Raman.credit_risk_engine.service;
+
+import com.Raman.credit_risk_engine.decision.DecisionOutcome;
+import com.Raman.credit_risk_engine.decision.RiskDecisionService;
+import com.Raman.credit_risk_engine.entity.EmploymentType;
+import com.Raman.credit_risk_engine.entity.UserFinancialProfile;
+import com.Raman.credit_risk_engine.exception.RuleEvaluationException;
+import com.Raman.credit_risk_engine.metrics.FinancialMetrics;
+import com.Raman.credit_risk_engine.metrics.FinancialMetricsService;
+import com.Raman.credit_risk_engine.rule.CreditRule;
+import com.Raman.credit_risk_engine.rule.RuleResult;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class BucketScoringEngineTest {
+
+    private final FinancialMetricsService metricsService = new FinancialMetricsService();
+    private final RiskDecisionService riskDecisionService = new RiskDecisionService();
+
+    @Test
+    void tableMatchesRuleByRuleScoringForBuiltInRules() {
+        List<CreditRule> rules = RuleRegistry.orderedRules();
+        BucketScoringEngine engine = new BucketScoringEngine(rules, metricsService, riskDecisionService);
+
+        assertEquals(2 * 3 * 3 * 3 * 3, engine.tableSize());
+        assertEquals(List.of(), engine.fallbackRuleNames());
+        assertMatchesRuleByRule(engine, new CreditScoringService(rules));
+    }
+
+    @Test
+    void nonBucketedRulesFallBackToRuleByRuleScoring() {
+        List<CreditRule> rules = new ArrayList<>(RuleRegistry.orderedRules());
+        rules.add(new AgeRule());
+        BucketScoringEngine engine = new BucketScoringEngine(rules, metricsService, riskDecisionService);
+
+        assertEquals(List.of("AgeRule"), engine.fallbackRuleNames());
+        assertMatchesRuleByRule(engine, new CreditScoringService(rules));
+    }
+
+    private void assertMatchesRuleByRule(BucketScoringEngine engine, CreditScoringService scoringService) {
+        Random random = new Random(42);
+        ScoringBuffer buffer = scoringService.newBuffer();
+
+        for (int i = 0; i < 20_000; i++) {
+            UserFinancialProfile profile = randomProfile(random);
+            FinancialMetrics metrics;
+            try {
+                metrics = metricsService.computeMetrics(profile);
+            } catch (RuleEvaluationException ex) {
+                continue;
+            }
+
+            ScoringResult expected = scoringService.calculateScore(profile, metrics);
+            DecisionOutcome expectedOutcome = riskDecisionService.evaluate(expected.getFinalScore());
+
+            DecisionOutcome actual = engine.evaluate(profile, metrics);
+            assertEquals(expectedOutcome.getScore(), actual.getScore());
+            assertEquals(expectedOutcome.getRiskLevel(), actual.getRiskLevel());
+            assertEquals(expectedOutcome.getDecision(), actual.getDecision());
+
+            engine.evaluate(profile, metrics, buffer);
+            assertEquals(expected.getFinalScore(), buffer.getFinalScore());
+            for (int r = 0; r < buffer.size(); r++) {
+                assertEquals(expected.getRuleResults().get(r).getReason(), buffer.get(r).getReason());
+            }
+        }
+    }
+
+    private static UserFinancialProfile randomProfile(Random random) {
+        BigDecimal income = BigDecimal.valueOf(1_000 + random.nextInt(200_000));
+        UserFinancialProfile profile = new UserFinancialProfile();
+        profile.setMonthlyIncome(income);
+        profile.setMonthlyExpenses(BigDecimal.valueOf(random.nextInt(income.intValue())));
+        profile.setTotalMonthlyEmis(BigDecimal.valueOf(random.nextInt(income.intValue())));
+        profile.setPastLoanDefaults(random.nextInt(4));
+        profile.setCreditHistoryLengthMonths(random.nextInt(60));
+        profile.setEmploymentType(EmploymentType.values()[random.nextInt(EmploymentType.values().length)]);
+        profile.setAge(18 + random.nextInt(50));
+        profile.setRequestedLoanAmount(BigDecimal.valueOf(1 + random.nextInt(5_000_000)));
+        return profile;
+    }
+
+    private static final class AgeRule implements CreditRule {
+
+        @Override
+        public RuleResult evaluate(UserFinancialProfile profile, FinancialMetrics metrics) {
+            return new RuleResult("AgeRule", profile.getAge() - 40, "Age adjustment");
+        }
+    }
+}
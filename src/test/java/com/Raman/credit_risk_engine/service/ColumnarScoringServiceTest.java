@@ -0,0 +1,111 @@
+package com.Raman.credit_risk_engine.service;
+
+import com.Raman.credit_risk_engine.decision.DecisionOutcome;
+import com.Raman.credit_risk_engine.decision.RiskDecisionService;
+import com.Raman.credit_risk_engine.dto.CreditRiskRequestDTO;
+import com.Raman.credit_risk_engine.entity.EmploymentType;
+import com.Raman.credit_risk_engine.entity.UserFinancialProfile;
+import com.Raman.credit_risk_engine.metrics.FinancialMetrics;
+import com.Raman.credit_risk_engine.metrics.FinancialMetricsService;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ColumnarScoringServiceTest {
+
+    private final Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+    private final FinancialMetricsService metricsService = new FinancialMetricsService();
+    private final RiskDecisionService riskDecisionService = new RiskDecisionService();
+    private final AssessmentMapper assessmentMapper = new AssessmentMapper();
+    private final CreditScoringService scoringService = new CreditScoringService(RuleRegistry.orderedRules());
+    private final ColumnarScoringService columnarScoringService = new ColumnarScoringService(
+            new BucketScoringEngine(RuleRegistry.orderedRules(), metricsService, riskDecisionService),
+            metricsService,
+            assessmentMapper
+    );
+
+    @Test
+    void columnarScoresMatchSingleEvaluationInRequestOrder() {
+        Random random = new Random(11);
+        List<CreditRiskRequestDTO> requests = new ArrayList<>();
+        for (int i = 0; i < 5_000; i++) {
+            int income = 5_000 + random.nextInt(150_000);
+            requests.add(request(
+                    BigDecimal.valueOf(income),
+                    BigDecimal.valueOf(random.nextInt(income / 2)),
+                    BigDecimal.valueOf(random.nextInt(income / 2), random.nextInt(4)),
+                    random.nextInt(3),
+                    random.nextInt(60)
+            ));
+        }
+
+        ApplicantBatch batch = ApplicantBatch.decode(requests, validator);
+        columnarScoringService.score(batch);
+
+        for (int i = 0; i < requests.size(); i++) {
+            UserFinancialProfile profile = assessmentMapper.toProfile(requests.get(i));
+            FinancialMetrics metrics = metricsService.computeMetrics(profile);
+            ScoringResult expected = scoringService.calculateScore(profile, metrics);
+            DecisionOutcome actual = batch.getOutcome(i);
+
+            assertNotNull(actual, "row " + i);
+            assertEquals(expected.getFinalScore(), actual.getScore(), "row " + i);
+            assertEquals(riskDecisionService.evaluate(expected.getFinalScore()).getDecision(), actual.getDecision());
+            assertEquals(
+                    assessmentMapper.toReasons(expected.getRuleResults()),
+                    assessmentMapper.toReasons(columnarScoringService.ruleResults(batch, i))
+            );
+        }
+    }
+
+    @Test
+    void invalidItemsFailIndividually() {
+        List<CreditRiskRequestDTO> requests = new ArrayList<>();
+        requests.add(request(new BigDecimal("90000"), new BigDecimal("20000"), new BigDecimal("5000"), 0, 48));
+        requests.add(request(new BigDecimal("-1"), new BigDecimal("0"), new BigDecimal("0"), 0, 48));
+        requests.add(request(new BigDecimal("1000"), new BigDecimal("2000"), new BigDecimal("0"), 0, 48));
+        requests.add(null);
+        requests.add(request(new BigDecimal("50000.005"), new BigDecimal("100"), new BigDecimal("0"), 1, 12));
+
+        ApplicantBatch batch = ApplicantBatch.decode(requests, validator);
+        columnarScoringService.score(batch);
+
+        assertNotNull(batch.getOutcome(0));
+        assertNull(batch.getOutcome(1));
+        assertTrue(batch.getError(1).startsWith("monthlyIncome"));
+        assertNull(batch.getOutcome(2));
+        assertEquals("Monthly expenses exceed income", batch.getError(2));
+        assertEquals("Request must not be null", batch.getError(3));
+        assertEquals(ApplicantBatch.BIG_DECIMAL, batch.getRowState(4));
+        assertNotNull(batch.getOutcome(4));
+    }
+
+    private static CreditRiskRequestDTO request(
+            BigDecimal income,
+            BigDecimal expenses,
+            BigDecimal emis,
+            int defaults,
+            int historyMonths
+    ) {
+        CreditRiskRequestDTO request = new CreditRiskRequestDTO();
+        request.setMonthlyIncome(income);
+        request.setMonthlyExpenses(expenses);
+        request.setTotalMonthlyEmis(emis);
+        request.setPastLoanDefaults(defaults);
+        request.setCreditHistoryLengthMonths(historyMonths);
+        request.setEmploymentType(historyMonths % 2 == 0 ? EmploymentType.SALARIED : EmploymentType.SELF_EMPLOYED);
+        request.setAge(35);
+        request.setRequestedLoanAmount(income.multiply(BigDecimal.TEN));
+        return request;
+    }
+}
@@ -0,0 +1,110 @@
+package com.Raman.credit_risk_engine.service;
+
+import com.Raman.credit_risk_engine.entity.EmploymentType;
+import com.Raman.credit_risk_engine.entity.UserFinancialProfile;
+import com.Raman.credit_risk_engine.metrics.FinancialMetrics;
+import com.Raman.credit_risk_engine.metrics.FinancialMetricsService;
+import com.Raman.credit_risk_engine.rule.CreditRule;
+import com.Raman.credit_risk_engine.rule.RuleInput;
+import com.Raman.credit_risk_engine.rule.RuleResult;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CreditScoringServiceRescoreTest {
+
+    private final FinancialMetricsService metricsService = new FinancialMetricsService();
+
+    @Test
+    void rescoreMatchesFullEvaluationForRandomUpdates() {
+        CreditScoringService scoringService = new CreditScoringService(RuleRegistry.orderedRules());
+        Random random = new Random(13);
+
+        for (int i = 0; i < 2_000; i++) {
+            UserFinancialProfile before = randomProfile(random);
+            List<RuleResult> stored = scoringService
+                    .calculateScore(before, metricsService.computeMetrics(before))
+                    .getRuleResults();
+
+            UserFinancialProfile after = randomProfile(random);
+            after.setEmploymentType(before.getEmploymentType());
+            after.setCreditHistoryLengthMonths(before.getCreditHistoryLengthMonths());
+            after.setRequestedLoanAmount(before.getRequestedLoanAmount());
+            Set<RuleInput> changed = EnumSet.of(
+                    RuleInput.MONTHLY_INCOME,
+                    RuleInput.MONTHLY_EXPENSES,
+                    RuleInput.TOTAL_MONTHLY_EMIS,
+                    RuleInput.PAST_LOAN_DEFAULTS
+            );
+
+            ScoringResult expected = scoringService.calculateScore(after, metricsService.computeMetrics(after));
+            ScoringResult actual = scoringService.rescore(after, metricsService.computeMetrics(after), stored, changed);
+
+            assertEquals(expected.getFinalScore(), actual.getFinalScore(), "update " + i);
+            assertEquals(expected.getRuleResults(), actual.getRuleResults(), "update " + i);
+        }
+    }
+
+    @Test
+    void onlyRulesReadingAChangedInputAreReEvaluated() {
+        List<String> evaluated = new ArrayList<>();
+        List<CreditRule> rules = new ArrayList<>();
+        for (CreditRule rule : RuleRegistry.orderedRules()) {
+            rules.add(new CreditRule() {
+                @Override
+                public RuleResult evaluate(UserFinancialProfile profile, FinancialMetrics metrics) {
+                    evaluated.add(rule.getClass().getSimpleName());
+                    return rule.evaluate(profile, metrics);
+                }
+
+                @Override
+                public Set<RuleInput> inputs() {
+                    return rule.inputs();
+                }
+            });
+        }
+        CreditScoringService scoringService = new CreditScoringService(rules);
+
+        UserFinancialProfile profile = randomProfile(new Random(5));
+        List<RuleResult> stored = scoringService
+                .calculateScore(profile, metricsService.computeMetrics(profile))
+                .getRuleResults();
+        evaluated.clear();
+
+        profile.setPastLoanDefaults(profile.getPastLoanDefaults() + 1);
+        Set<RuleInput> defaultsOnly = EnumSet.of(RuleInput.PAST_LOAN_DEFAULTS);
+        assertFalse(scoringService.requiresMetrics(defaultsOnly));
+        scoringService.rescore(profile, null, stored, defaultsOnly);
+        assertEquals(List.of("DefaultHistoryRule"), evaluated);
+
+        // EMIs feed both DTI and disposable income
+        evaluated.clear();
+        Set<RuleInput> emisOnly = EnumSet.of(RuleInput.TOTAL_MONTHLY_EMIS);
+        assertTrue(scoringService.requiresMetrics(emisOnly));
+        scoringService.rescore(profile, metricsService.computeMetrics(profile), stored, emisOnly);
+        assertEquals(List.of("DtiRule", "DisposableIncomeRule"), evaluated);
+    }
+
+    private static UserFinancialProfile randomProfile(Random random) {
+        int income = 5_000 + random.nextInt(150_000);
+        UserFinancialProfile profile = new UserFinancialProfile();
+        profile.setMonthlyIncome(BigDecimal.valueOf(income));
+        profile.setMonthlyExpenses(BigDecimal.valueOf(random.nextInt(income / 2)));
+        profile.setTotalMonthlyEmis(BigDecimal.valueOf(random.nextInt(income / 2)));
+        profile.setPastLoanDefaults(random.nextInt(3));
+        profile.setCreditHistoryLengthMonths(random.nextInt(60));
+        profile.setEmploymentType(random.nextBoolean() ? EmploymentType.SALARIED : EmploymentType.SELF_EMPLOYED);
+        profile.setAge(35);
+        profile.setRequestedLoanAmount(BigDecimal.valueOf(income * 10L));
+        return profile;
+    }
+}
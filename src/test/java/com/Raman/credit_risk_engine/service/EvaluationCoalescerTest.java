@@ -0,0 +1,185 @@
+package com.Raman.credit_risk_engine.service;
+
+import com.Raman.credit_risk_engine.decision.Decision;
+import com.Raman.credit_risk_engine.decision.RiskLevel;
+import com.Raman.credit_risk_engine.dto.CreditRiskRequestDTO;
+import com.Raman.credit_risk_engine.dto.CreditRiskResponseDTO;
+import com.Raman.credit_risk_engine.entity.EmploymentType;
+import com.Raman.credit_risk_engine.exception.RuleEvaluationException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EvaluationCoalescerTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final EvaluationCoalescer coalescer = new EvaluationCoalescer(registry);
+    private final AtomicInteger evaluations = new AtomicInteger();
+    private final CountDownLatch entered = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+
+    @AfterEach
+    void shutdown() {
+        release.countDown();
+        executor.shutdownNow();
+    }
+
+    @Test
+    void identicalConcurrentRequestsShareOneEvaluation() throws Exception {
+        Future<CreditRiskResponseDTO> first = executor.submit(() -> coalescer.evaluate(1L, request("90000"), blocking()));
+        assertTrue(entered.await(5, TimeUnit.SECONDS));
+
+        // The same snapshot, one with amounts at another scale
+        List<Future<CreditRiskResponseDTO>> duplicates = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            String income = i % 2 == 0 ? "90000" : "90000.00";
+            duplicates.add(executor.submit(() -> coalescer.evaluate(1L, request(income), blocking())));
+        }
+        awaitShared(7);
+        release.countDown();
+
+        CreditRiskResponseDTO response = first.get(5, TimeUnit.SECONDS);
+        for (Future<CreditRiskResponseDTO> duplicate : duplicates) {
+            assertSame(response, duplicate.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, evaluations.get());
+        assertEquals(0, registry.get("credit_risk.coalescing.in_flight").gauge().value());
+
+        // Finished evaluations are not remembered
+        assertNotSame(response, coalescer.evaluate(1L, request("90000"), blocking()));
+        assertEquals(2, evaluations.get());
+    }
+
+    @Test
+    void differentUsersOrInputsAreEvaluatedSeparately() throws Exception {
+        Future<CreditRiskResponseDTO> first = executor.submit(() -> coalescer.evaluate(1L, request("90000"), blocking()));
+        assertTrue(entered.await(5, TimeUnit.SECONDS));
+
+        // These would block on the first evaluation if they were coalesced with it
+        coalescer.evaluate(2L, request("90000"), immediate());
+        coalescer.evaluate(1L, request("91000"), immediate());
+        assertEquals(3, evaluations.get());
+
+        release.countDown();
+        first.get(5, TimeUnit.SECONDS);
+        assertEquals(0, registry.get("credit_risk.coalescing.shared").counter().count());
+    }
+
+    @Test
+    void failureIsSharedWithWaitingDuplicates() throws Exception {
+        Supplier<CreditRiskResponseDTO> failing = () -> {
+            blocking().get();
+            throw new RuleEvaluationException("Monthly expenses exceed income");
+        };
+        Future<CreditRiskResponseDTO> first = executor.submit(() -> coalescer.evaluate(1L, request("90000"), failing));
+        assertTrue(entered.await(5, TimeUnit.SECONDS));
+        Future<CreditRiskResponseDTO> duplicate = executor.submit(() -> coalescer.evaluate(1L, request("90000"), failing));
+        awaitShared(1);
+        release.countDown();
+
+        ExecutionException firstFailure = assertThrows(ExecutionException.class, () -> first.get(5, TimeUnit.SECONDS));
+        ExecutionException duplicateFailure = assertThrows(ExecutionException.class, () -> duplicate.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(RuleEvaluationException.class, firstFailure.getCause());
+        assertSame(firstFailure.getCause(), duplicateFailure.getCause());
+        assertEquals(1, evaluations.get());
+    }
+
+    @Test
+    void duplicatesWaitForTheCommitAndRetryAfterARollback() throws Exception {
+        CountDownLatch evaluated = new CountDownLatch(1);
+        CountDownLatch complete = new CountDownLatch(1);
+        Future<?> transactional = executor.submit(() -> {
+            TransactionSynchronizationManager.initSynchronization();
+            try {
+                coalescer.evaluate(1L, request("90000"), immediate());
+                evaluated.countDown();
+                complete.await();
+                for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+                    synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK);
+                }
+            } finally {
+                TransactionSynchronizationManager.clearSynchronization();
+            }
+            return null;
+        });
+        assertTrue(evaluated.await(5, TimeUnit.SECONDS));
+
+        Future<CreditRiskResponseDTO> duplicate = executor.submit(() -> coalescer.evaluate(1L, request("90000"), immediate()));
+        awaitShared(1);
+        assertFalse(duplicate.isDone());
+
+        // Rolled back: the duplicate must not return the first response, so it evaluates itself
+        complete.countDown();
+        transactional.get(5, TimeUnit.SECONDS);
+        duplicate.get(5, TimeUnit.SECONDS);
+        assertEquals(2, evaluations.get());
+    }
+
+    private Supplier<CreditRiskResponseDTO> blocking() {
+        return () -> {
+            evaluations.incrementAndGet();
+            entered.countDown();
+            try {
+                assertTrue(release.await(5, TimeUnit.SECONDS));
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            return response();
+        };
+    }
+
+    private Supplier<CreditRiskResponseDTO> immediate() {
+        return () -> {
+            evaluations.incrementAndGet();
+            return response();
+        };
+    }
+
+    private void awaitShared(int count) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (registry.get("credit_risk.coalescing.shared").counter().count() < count) {
+            assertTrue(System.nanoTime() < deadline, "duplicates did not join the evaluation in flight");
+            Thread.sleep(5);
+        }
+    }
+
+    private CreditRiskResponseDTO response() {
+        return new CreditRiskResponseDTO((long) evaluations.get(), 780, RiskLevel.LOW, Decision.APPROVE, List.of());
+    }
+
+    private static CreditRiskRequestDTO request(String monthlyIncome) {
+        CreditRiskRequestDTO request = new CreditRiskRequestDTO();
+        request.setMonthlyIncome(new BigDecimal(monthlyIncome));
+        request.setMonthlyExpenses(new BigDecimal("20000"));
+        request.setTotalMonthlyEmis(new BigDecimal("5000"));
+        request.setPastLoanDefaults(0);
+        request.setCreditHistoryLengthMonths(48);
+        request.setEmploymentType(EmploymentType.SALARIED);
+        request.setAge(35);
+        request.setRequestedLoanAmount(new BigDecimal("500000"));
+        return request;
+    }
+}
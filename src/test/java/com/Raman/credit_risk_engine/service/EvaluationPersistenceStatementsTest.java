@@ -0,0 +1,139 @@
+package com.Raman.credit_risk_engine.service;
+
+import com.Raman.credit_risk_engine.decision.Decision;
+import com.Raman.credit_risk_engine.decision.RiskDecisionService;
+import com.Raman.credit_risk_engine.decision.RiskLevel;
+import com.Raman.credit_risk_engine.dto.CreditRiskRequestDTO;
+import com.Raman.credit_risk_engine.entity.CreditAssessment;
+import com.Raman.credit_risk_engine.entity.EmploymentType;
+import com.Raman.credit_risk_engine.entity.UserFinancialProfile;
+import com.Raman.credit_risk_engine.metrics.FinancialMetricsService;
+import com.Raman.credit_risk_engine.repository.AssessmentAuditRepository;
+import com.Raman.credit_risk_engine.repository.CreditAssessmentRepository;
+import com.Raman.credit_risk_engine.repository.UserFinancialProfileRepository;
+import com.Raman.credit_risk_engine.repository.UserRepository;
+import com.Raman.credit_risk_engine.rule.RuleSetHolder;
+import com.Raman.credit_risk_engine.telemetry.EvaluationTimers;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Counts the JDBC statements and entity writes of evaluations and updates
+ * against an in-memory H2.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+class EvaluationPersistenceStatementsTest {
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private CreditAssessmentRepository creditAssessmentRepository;
+
+    @Autowired
+    private AssessmentAuditRepository assessmentAuditRepository;
+
+    @Autowired
+    private UserFinancialProfileRepository userFinancialProfileRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void evaluationWritesOnlyProfileAndAssessmentRows() {
+        CreditRiskEvaluationService service = service();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        // Warm-up evaluations fetch the first pooled id blocks
+        for (int i = 0; i < 2; i++) {
+            service.evaluate(request(), 1L);
+            entityManager.flush();
+        }
+
+        statistics.clear();
+        service.evaluate(request(), 1L);
+        entityManager.flush();
+
+        // user lookup + profile insert + assessment insert; outcomes ride on the assessment row
+        assertEquals(3, statistics.getPrepareStatementCount());
+        assertEquals(2, statistics.getEntityInsertCount());
+        assertEquals(0, assessmentAuditRepository.count());
+    }
+
+    @Test
+    void updateRewritesOnlyTheAuditRowWhoseOutcomeChanged() {
+        CreditRiskEvaluationService service = service();
+        AssessmentMapper mapper = new AssessmentMapper();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        // An assessment audited row by row, as stored before reason codes
+        CreditRiskRequestDTO request = request();
+        CreditScoringService scoringService = new CreditScoringService(RuleRegistry.orderedRules());
+        UserFinancialProfile profile = mapper.toProfile(request);
+        ScoringResult scored = scoringService.calculateScore(profile, new FinancialMetricsService().computeMetrics(profile));
+        CreditAssessment legacy = mapper.toAssessment(request, scored.getFinalScore(), RiskLevel.LOW, Decision.APPROVE, null);
+        legacy.setAudits(mapper.toAudits(legacy, scored.getRuleResults()));
+        Long id = creditAssessmentRepository.save(legacy).getId();
+        entityManager.flush();
+        entityManager.clear();
+
+        CreditAssessment update = new CreditAssessment();
+        update.setMonthlyIncome(legacy.getMonthlyIncome());
+        update.setMonthlyExpenses(legacy.getMonthlyExpenses());
+        update.setTotalMonthlyEmis(legacy.getTotalMonthlyEmis());
+        update.setPastLoanDefaults(2);
+
+        statistics.clear();
+        CreditAssessment updated = service.updateAndReEvaluate(id, update);
+        entityManager.flush();
+
+        // The assessment row plus the DefaultHistoryRule audit row; nothing deleted or re-inserted
+        assertEquals(2, statistics.getEntityUpdateCount());
+        assertEquals(0, statistics.getEntityInsertCount());
+        assertEquals(0, statistics.getEntityDeleteCount());
+        assertEquals(scored.getFinalScore() - 100 - 250, updated.getCreditScore());
+        assertEquals("Multiple past loan defaults indicate high behavioral risk", updated.getAudits().get(2).getReason());
+    }
+
+    private CreditRiskEvaluationService service() {
+        return new CreditRiskEvaluationService(
+                new FinancialMetricsService(),
+                new CreditScoringService(RuleRegistry.orderedRules()),
+                new RiskDecisionService(),
+                creditAssessmentRepository,
+                userFinancialProfileRepository,
+                userRepository,
+                new AssessmentMapper(),
+                new EvaluationTimers(new SimpleMeterRegistry(), new RuleSetHolder(RuleRegistry.orderedRules()), 64)
+        );
+    }
+
+    private static CreditRiskRequestDTO request() {
+        CreditRiskRequestDTO request = new CreditRiskRequestDTO();
+        request.setMonthlyIncome(new BigDecimal("90000"));
+        request.setMonthlyExpenses(new BigDecimal("20000"));
+        request.setTotalMonthlyEmis(new BigDecimal("5000"));
+        request.setPastLoanDefaults(0);
+        request.setCreditHistoryLengthMonths(48);
+        request.setEmploymentType(EmploymentType.SALARIED);
+        request.setAge(35);
+        request.setRequestedLoanAmount(new BigDecimal("500000"));
+        return request;
+    }
+}
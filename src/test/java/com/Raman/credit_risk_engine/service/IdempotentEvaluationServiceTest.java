@@ -0,0 +1,261 @@
+package com.Raman.credit_risk_engine.service;
+
+import com.Raman.credit_risk_engine.decision.RiskDecisionService;
+import com.Raman.credit_risk_engine.dto.CreditRiskRequestDTO;
+import com.Raman.credit_risk_engine.dto.CreditRiskResponseDTO;
+import com.Raman.credit_risk_engine.entity.EmploymentType;
+import com.Raman.credit_risk_engine.exception.IdempotencyConflictException;
+import com.Raman.credit_risk_engine.exception.RuleEvaluationException;
+import com.Raman.credit_risk_engine.metrics.FinancialMetricsService;
+import com.Raman.credit_risk_engine.repository.CreditAssessmentRepository;
+import com.Raman.credit_risk_engine.repository.IdempotencyRecordRepository;
+import com.Raman.credit_risk_engine.repository.UserFinancialProfileRepository;
+import com.Raman.credit_risk_engine.repository.UserRepository;
+import com.Raman.credit_risk_engine.rule.RuleSetHolder;
+import com.Raman.credit_risk_engine.telemetry.EvaluationTimers;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Replays and concurrent duplicates against an in-memory H2. Each call
+ * commits on its own, as it would in the application.
+ */
+@DataJpaTest(properties = "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class IdempotentEvaluationServiceTest {
+
+    @Autowired
+    private IdempotencyRecordRepository idempotencyRecordRepository;
+
+    @Autowired
+    private CreditAssessmentRepository creditAssessmentRepository;
+
+    @Autowired
+    private UserFinancialProfileRepository userFinancialProfileRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final AtomicInteger evaluations = new AtomicInteger();
+
+    @BeforeEach
+    void clean() {
+        idempotencyRecordRepository.deleteAll();
+        creditAssessmentRepository.deleteAll();
+        userFinancialProfileRepository.deleteAll();
+    }
+
+    @Test
+    void replayReturnsTheStoredResponseWithoutWritingAgain() {
+        IdempotentEvaluationService service = service();
+        CreditRiskRequestDTO request = request();
+
+        IdempotentEvaluationService.Result first = service.evaluate("key-1", 1L, request, evaluation(request, 0));
+        IdempotentEvaluationService.Result second = service.evaluate("key-1", 1L, request, evaluation(request, 0));
+
+        assertFalse(first.replayed());
+        assertTrue(second.replayed());
+        assertSameResponse(first.response(), second.response());
+        assertEquals(1, evaluations.get());
+        assertEquals(1, creditAssessmentRepository.count());
+        assertEquals(1, userFinancialProfileRepository.count());
+    }
+
+    @Test
+    void replayAfterRestartIsReadFromTheTable() {
+        CreditRiskRequestDTO request = request();
+        CreditRiskResponseDTO first = service().evaluate("key-2", 1L, request, evaluation(request, 0)).response();
+
+        // A new instance starts with an empty cache
+        IdempotentEvaluationService.Result replay = service().evaluate("key-2", 1L, request(), evaluation(request, 0));
+
+        assertTrue(replay.replayed());
+        assertSameResponse(first, replay.response());
+        assertEquals(1, evaluations.get());
+        assertEquals(1, creditAssessmentRepository.count());
+    }
+
+    @Test
+    void concurrentDuplicatesWaitForTheFirstEvaluation() throws Exception {
+        IdempotentEvaluationService service = service();
+        CreditRiskRequestDTO request = request();
+        int callers = 8;
+        CountDownLatch start = new CountDownLatch(1);
+
+        List<Future<IdempotentEvaluationService.Result>> results = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(callers)) {
+            for (int i = 0; i < callers; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return service.evaluate("key-3", 1L, request, evaluation(request, 200));
+                }));
+            }
+            start.countDown();
+
+            int replayed = 0;
+            Long assessmentId = null;
+            for (Future<IdempotentEvaluationService.Result> result : results) {
+                IdempotentEvaluationService.Result outcome = result.get();
+                replayed += outcome.replayed() ? 1 : 0;
+                if (assessmentId == null) {
+                    assessmentId = outcome.response().getAssessmentId();
+                }
+                assertEquals(assessmentId, outcome.response().getAssessmentId());
+            }
+            assertEquals(callers - 1, replayed);
+        }
+        assertEquals(1, evaluations.get());
+        assertEquals(1, creditAssessmentRepository.count());
+        assertEquals(1, idempotencyRecordRepository.count());
+    }
+
+    @Test
+    void instancesRacingOnAKeyStoreOneAssessment() throws Exception {
+        // Separate services share nothing but the tables, like two instances
+        IdempotentEvaluationService first = service();
+        IdempotentEvaluationService second = service();
+        CreditRiskRequestDTO request = request();
+
+        // Both score and write their rows before either stores the key
+        CyclicBarrier bothEvaluated = new CyclicBarrier(2);
+        Supplier<CreditRiskResponseDTO> evaluation = evaluation(request, 0);
+        Supplier<CreditRiskResponseDTO> racing = () -> {
+            CreditRiskResponseDTO response = evaluation.get();
+            try {
+                bothEvaluated.await(10, TimeUnit.SECONDS);
+            } catch (Exception ex) {
+                throw new IllegalStateException(ex);
+            }
+            return response;
+        };
+
+        IdempotentEvaluationService.Result a;
+        IdempotentEvaluationService.Result b;
+        try (ExecutorService executor = Executors.newFixedThreadPool(2)) {
+            Future<IdempotentEvaluationService.Result> fromFirst =
+                    executor.submit(() -> first.evaluate("key-6", 1L, request, racing));
+            Future<IdempotentEvaluationService.Result> fromSecond =
+                    executor.submit(() -> second.evaluate("key-6", 1L, request, racing));
+            a = fromFirst.get();
+            b = fromSecond.get();
+        }
+
+        // The loser's assessment rolled back with its key; it answers with the winner's
+        assertEquals(2, evaluations.get());
+        assertTrue(a.replayed() != b.replayed());
+        assertSameResponse(a.response(), b.response());
+        assertEquals(1, creditAssessmentRepository.count());
+        assertEquals(1, idempotencyRecordRepository.count());
+    }
+
+    @Test
+    void keyReusedForADifferentRequestIsRefused() {
+        IdempotentEvaluationService service = service();
+        CreditRiskRequestDTO request = request();
+        service.evaluate("key-4", 1L, request, evaluation(request, 0));
+
+        CreditRiskRequestDTO changed = request();
+        changed.setRequestedLoanAmount(new BigDecimal("700000"));
+        assertThrows(IdempotencyConflictException.class,
+                () -> service.evaluate("key-4", 1L, changed, evaluation(changed, 0)));
+        assertThrows(IdempotencyConflictException.class,
+                () -> service.evaluate("key-4", 2L, request, evaluation(request, 0)));
+
+        // The same amounts at another scale are the same request
+        CreditRiskRequestDTO rescaled = request();
+        rescaled.setMonthlyIncome(new BigDecimal("90000.00"));
+        assertTrue(service.evaluate("key-4", 1L, rescaled, evaluation(rescaled, 0)).replayed());
+        assertEquals(1, evaluations.get());
+    }
+
+    @Test
+    void failedEvaluationIsNotStored() {
+        IdempotentEvaluationService service = service();
+        CreditRiskRequestDTO request = request();
+
+        assertThrows(RuleEvaluationException.class, () -> service.evaluate("key-5", 1L, request, () -> {
+            evaluations.incrementAndGet();
+            throw new RuleEvaluationException("Monthly expenses exceed income");
+        }));
+        assertEquals(0, idempotencyRecordRepository.count());
+
+        IdempotentEvaluationService.Result retry = service.evaluate("key-5", 1L, request, evaluation(request, 0));
+        assertFalse(retry.replayed());
+        assertEquals(2, evaluations.get());
+    }
+
+    private IdempotentEvaluationService service() {
+        return new IdempotentEvaluationService(idempotencyRecordRepository, transactionManager, 100, 24, 10_000, 60);
+    }
+
+    private Supplier<CreditRiskResponseDTO> evaluation(CreditRiskRequestDTO request, long delayMs) {
+        CreditRiskEvaluationService evaluationService = new CreditRiskEvaluationService(
+                new FinancialMetricsService(),
+                new CreditScoringService(RuleRegistry.orderedRules()),
+                new RiskDecisionService(),
+                creditAssessmentRepository,
+                userFinancialProfileRepository,
+                userRepository,
+                new AssessmentMapper(),
+                new EvaluationTimers(new SimpleMeterRegistry(), new RuleSetHolder(RuleRegistry.orderedRules()), 64)
+        );
+        return () -> {
+            evaluations.incrementAndGet();
+            if (delayMs > 0) {
+                try {
+                    Thread.sleep(delayMs);
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return evaluationService.evaluate(request, 1L);
+        };
+    }
+
+    private static void assertSameResponse(CreditRiskResponseDTO expected, CreditRiskResponseDTO actual) {
+        assertEquals(expected.getAssessmentId(), actual.getAssessmentId());
+        assertEquals(expected.getCreditScore(), actual.getCreditScore());
+        assertEquals(expected.getRiskLevel(), actual.getRiskLevel());
+        assertEquals(expected.getDecision(), actual.getDecision());
+        assertEquals(expected.getReasons(), actual.getReasons());
+    }
+
+    private static CreditRiskRequestDTO request() {
+        CreditRiskRequestDTO request = new CreditRiskRequestDTO();
+        request.setMonthlyIncome(new BigDecimal("90000"));
+        request.setMonthlyExpenses(new BigDecimal("20000"));
+        request.setTotalMonthlyEmis(new BigDecimal("5000"));
+        request.setPastLoanDefaults(0);
+        request.setCreditHistoryLengthMonths(48);
+        request.setEmploymentType(EmploymentType.SALARIED);
+        request.setAge(35);
+        request.setRequestedLoanAmount(new BigDecimal("500000"));
+        return request;
+    }
+}
@@ -0,0 +1,113 @@
+package com.Raman.credit_risk_engine.service;
+
+import com.Raman.credit_risk_engine.decision.Decision;
+import com.Raman.credit_risk_engine.decision.RiskDecisionService;
+import com.Raman.credit_risk_engine.dto.CreditRiskRequestDTO;
+import com.Raman.credit_risk_engine.dto.LoanCapacityDTO;
+import com.Raman.credit_risk_engine.entity.EmploymentType;
+import com.Raman.credit_risk_engine.entity.UserFinancialProfile;
+import com.Raman.credit_risk_engine.metrics.FinancialMetricsService;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LoanCapacityServiceTest {
+
+    private static final BigDecimal CENT = new BigDecimal("0.01");
+
+    private final FinancialMetricsService metricsService = new FinancialMetricsService();
+    private final CreditScoringService scoringService = new CreditScoringService(RuleRegistry.orderedRules());
+    private final RiskDecisionService decisionService = new RiskDecisionService();
+    private final AssessmentMapper mapper = new AssessmentMapper();
+    private final LoanCapacityService capacityService = new LoanCapacityService(
+            metricsService, scoringService, decisionService, mapper, 60, BigDecimal.TEN);
+
+    @Test
+    void eachTierEndsExactlyOneCentBeforeTheDecisionGetsWorse() {
+        Random random = new Random(15);
+
+        for (int i = 0; i < 2_000; i++) {
+            CreditRiskRequestDTO request = randomRequest(random);
+            LoanCapacityDTO capacity = capacityService.solve(request, null, null);
+
+            Decision current = decisionAt(request, request.getTotalMonthlyEmis());
+            assertEquals(current, capacity.decision(), "profile " + i);
+
+            for (LoanCapacityDTO.Tier tier : capacity.tiers()) {
+                if (tier.maxExtraMonthlyEmi() == null) {
+                    assertTrue(current.compareTo(tier.decision()) > 0, "profile " + i);
+                    continue;
+                }
+                BigDecimal maxEmis = request.getTotalMonthlyEmis().add(tier.maxExtraMonthlyEmi());
+                assertTrue(decisionAt(request, maxEmis).compareTo(tier.decision()) <= 0, "profile " + i);
+
+                BigDecimal beyond = maxEmis.add(CENT);
+                if (beyond.compareTo(request.getMonthlyIncome()) <= 0) {
+                    assertTrue(decisionAt(request, beyond).compareTo(tier.decision()) > 0, "profile " + i);
+                }
+            }
+        }
+    }
+
+    @Test
+    void loanAmountIsThePresentValueOfTheExtraEmi() {
+        assertEquals(new BigDecimal("11255.07"),
+                LoanCapacityService.principalFor(BigDecimal.valueOf(1000), 12, BigDecimal.valueOf(12)));
+        assertEquals(new BigDecimal("12000.00"),
+                LoanCapacityService.principalFor(BigDecimal.valueOf(1000), 12, BigDecimal.ZERO));
+
+        CreditRiskRequestDTO request = randomRequest(new Random(1));
+        assertThrows(IllegalArgumentException.class, () -> capacityService.solve(request, 0, null));
+        assertThrows(IllegalArgumentException.class, () -> capacityService.solve(request, 12, BigDecimal.valueOf(-1)));
+    }
+
+    @Test
+    void unreachableTiersHaveNoCapacity() {
+        CreditRiskRequestDTO request = randomRequest(new Random(2));
+        request.setPastLoanDefaults(3);
+        request.setCreditHistoryLengthMonths(0);
+        request.setEmploymentType(EmploymentType.SELF_EMPLOYED);
+        request.setMonthlyIncome(BigDecimal.valueOf(100_000));
+        request.setMonthlyExpenses(BigDecimal.valueOf(35_000));
+        request.setTotalMonthlyEmis(BigDecimal.valueOf(60_000));
+
+        LoanCapacityDTO capacity = capacityService.solve(request, null, null);
+
+        assertEquals(Decision.REJECT, capacity.decision());
+        assertNull(capacity.tiers().get(0).maxLoanAmount());
+        assertNull(capacity.tiers().get(1).maxLoanAmount());
+        // Only the income itself caps a rejected profile's EMIs
+        assertEquals(new BigDecimal("40000.00"), capacity.tiers().get(2).maxExtraMonthlyEmi());
+    }
+
+    private Decision decisionAt(CreditRiskRequestDTO request, BigDecimal totalMonthlyEmis) {
+        UserFinancialProfile profile = mapper.toProfile(request);
+        profile.setTotalMonthlyEmis(totalMonthlyEmis);
+        int score = scoringService.calculateScore(profile, metricsService.computeMetrics(profile)).getFinalScore();
+        return decisionService.evaluate(score).getDecision();
+    }
+
+    private static CreditRiskRequestDTO randomRequest(Random random) {
+        // Odd cents and sub-cent amounts put thresholds between whole cents
+        BigDecimal income = BigDecimal.valueOf(5_000_00L + random.nextInt(150_000_00), 2);
+        if (random.nextInt(4) == 0) {
+            income = income.add(BigDecimal.valueOf(random.nextInt(10), 3));
+        }
+        CreditRiskRequestDTO request = new CreditRiskRequestDTO();
+        request.setMonthlyIncome(income);
+        request.setMonthlyExpenses(BigDecimal.valueOf(random.nextInt(income.intValue() / 2 * 100), 2));
+        request.setTotalMonthlyEmis(BigDecimal.valueOf(random.nextInt(income.intValue() / 2 * 100), 2));
+        request.setPastLoanDefaults(random.nextInt(3));
+        request.setCreditHistoryLengthMonths(random.nextInt(60));
+        request.setEmploymentType(random.nextBoolean() ? EmploymentType.SALARIED : EmploymentType.SELF_EMPLOYED);
+        request.setAge(35);
+        request.setRequestedLoanAmount(income.multiply(BigDecimal.TEN));
+        return request;
+    }
+}
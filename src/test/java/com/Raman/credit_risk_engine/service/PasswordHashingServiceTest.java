@@ -0,0 +1,86 @@
+package com.Raman.credit_risk_engine.service;
+
+import com.Raman.credit_risk_engine.exception.PasswordHashingUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PasswordHashingServiceTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    void hashesAndVerifiesOnTheExecutor() throws Exception {
+        PasswordHashingService service = new PasswordHashingService(new BCryptPasswordEncoder(4), registry, 1, 4, 5_000);
+
+        String encoded = service.encode("secret");
+        assertTrue(service.matches("secret", encoded));
+        assertFalse(service.matches("wrong", encoded));
+
+        assertEquals(1, registry.get("credit_risk.auth.hashing").tag("operation", "encode").timer().count());
+        assertEquals(2, registry.get("credit_risk.auth.hashing").tag("operation", "matches").timer().count());
+        service.destroy();
+    }
+
+    @Test
+    void rejectsWhenSaturatedOrTooSlow() throws Exception {
+        CountDownLatch hashing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        BCryptPasswordEncoder slow = new BCryptPasswordEncoder(4) {
+            @Override
+            protected String encodeNonNullPassword(String rawPassword) {
+                hashing.countDown();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+                return super.encodeNonNullPassword(rawPassword);
+            }
+        };
+        // One thread, one queue slot
+        PasswordHashingService service = new PasswordHashingService(slow, registry, 1, 1, 200);
+        ExecutorService callers = Executors.newFixedThreadPool(2);
+        try {
+            Future<String> running = callers.submit(() -> service.encode("first"));
+            assertTrue(hashing.await(5, TimeUnit.SECONDS));
+            Future<String> queued = callers.submit(() -> service.encode("second"));
+            awaitQueued(1);
+
+            // A third request neither runs nor waits
+            assertThrows(PasswordHashingUnavailableException.class, () -> service.encode("third"));
+            assertEquals(1, registry.get("credit_risk.auth.hashing.rejected").tag("reason", "queue_full").counter().count());
+
+            // Both waiting callers give up after the timeout; the queued one leaves the queue
+            assertTrue(assertThrows(Exception.class, () -> queued.get(5, TimeUnit.SECONDS))
+                    .getCause() instanceof PasswordHashingUnavailableException);
+            assertTrue(assertThrows(Exception.class, () -> running.get(5, TimeUnit.SECONDS))
+                    .getCause() instanceof PasswordHashingUnavailableException);
+            assertEquals(2, registry.get("credit_risk.auth.hashing.rejected").tag("reason", "timeout").counter().count());
+            assertEquals(0, registry.get("credit_risk.auth.hashing.queue").gauge().value());
+        } finally {
+            release.countDown();
+            callers.shutdownNow();
+            service.destroy();
+        }
+    }
+
+    private void awaitQueued(int count) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (registry.get("credit_risk.auth.hashing.queue").gauge().value() < count) {
+            assertTrue(System.nanoTime() < deadline, "work was not queued");
+            Thread.sleep(5);
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.Raman.credit_risk_engine.service;
+
+import com.Raman.credit_risk_engine.decision.DecisionOutcome;
+import com.Raman.credit_risk_engine.decision.RiskDecisionService;
+import com.Raman.credit_risk_engine.dto.CreditRiskRequestDTO;
+import com.Raman.credit_risk_engine.entity.EmploymentType;
+import com.Raman.credit_risk_engine.metrics.FinancialMetricsService;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class PortfolioScoringServiceTest {
+
+    private final Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+    private final FinancialMetricsService metricsService = new FinancialMetricsService();
+    private final RiskDecisionService riskDecisionService = new RiskDecisionService();
+    private final ColumnarScoringService columnarScoringService = new ColumnarScoringService(
+            new BucketScoringEngine(RuleRegistry.orderedRules(), metricsService, riskDecisionService),
+            metricsService,
+            new AssessmentMapper()
+    );
+
+    @Test
+    void parallelScoresMatchSequentialInInputOrder() throws Exception {
+        List<CreditRiskRequestDTO> requests = portfolio(50_000, 5);
+        requests.set(1234, null);
+
+        ApplicantBatch sequential = ApplicantBatch.decode(requests, validator);
+        columnarScoringService.score(sequential);
+
+        PortfolioScoringService portfolio = new PortfolioScoringService(columnarScoringService, 4, 512);
+        try {
+            ApplicantBatch parallel = ApplicantBatch.decode(requests, validator);
+            portfolio.score(parallel);
+
+            for (int i = 0; i < requests.size(); i++) {
+                DecisionOutcome expected = sequential.getOutcome(i);
+                DecisionOutcome actual = parallel.getOutcome(i);
+                if (expected == null) {
+                    assertNull(actual, "row " + i);
+                    assertEquals(sequential.getError(i), parallel.getError(i));
+                    continue;
+                }
+                assertNotNull(actual, "row " + i);
+                assertEquals(expected.getScore(), actual.getScore(), "row " + i);
+                assertEquals(expected.getDecision(), actual.getDecision(), "row " + i);
+            }
+        } finally {
+            portfolio.destroy();
+        }
+    }
+
+    private static List<CreditRiskRequestDTO> portfolio(int size, long seed) {
+        Random random = new Random(seed);
+        List<CreditRiskRequestDTO> requests = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            int income = 5_000 + random.nextInt(150_000);
+            CreditRiskRequestDTO request = new CreditRiskRequestDTO();
+            request.setMonthlyIncome(BigDecimal.valueOf(income));
+            request.setMonthlyExpenses(BigDecimal.valueOf(random.nextInt(income / 2)));
+            request.setTotalMonthlyEmis(BigDecimal.valueOf(random.nextInt(income / 2)));
+            request.setPastLoanDefaults(random.nextInt(3));
+            request.setCreditHistoryLengthMonths(random.nextInt(60));
+            request.setEmploymentType(random.nextBoolean() ? EmploymentType.SALARIED : EmploymentType.SELF_EMPLOYED);
+            request.setAge(21 + random.nextInt(40));
+            request.setRequestedLoanAmount(BigDecimal.valueOf(income * 10L));
+            requests.add(request);
+        }
+        return requests;
+    }
+}
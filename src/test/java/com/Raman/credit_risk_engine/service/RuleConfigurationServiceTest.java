@@ -0,0 +1,132 @@
+package com.Raman.credit_risk_engine.service;
+
+import com.Raman.credit_risk_engine.decision.Decision;
+import com.Raman.credit_risk_engine.decision.DecisionOutcome;
+import com.Raman.credit_risk_engine.decision.RiskDecisionService;
+import com.Raman.credit_risk_engine.decision.RiskLevel;
+import com.Raman.credit_risk_engine.entity.EmploymentType;
+import com.Raman.credit_risk_engine.entity.UserFinancialProfile;
+import com.Raman.credit_risk_engine.metrics.FinancialMetrics;
+import com.Raman.credit_risk_engine.metrics.FinancialMetricsService;
+import com.Raman.credit_risk_engine.rule.ReasonCode;
+import com.Raman.credit_risk_engine.rule.RuleConfiguration;
+import com.Raman.credit_risk_engine.rule.RuleSetHolder;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class RuleConfigurationServiceTest {
+
+    private final FinancialMetricsService metricsService = new FinancialMetricsService();
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void onlyValidSettingsWithANewVersionArePublished() throws IOException {
+        RuleSetHolder holder = new RuleSetHolder(RuleRegistry.orderedRules());
+        Path file = dir.resolve("rules.properties");
+        RuleConfigurationService service = new RuleConfigurationService(holder, null, "file", file.toString(), 0);
+
+        Files.writeString(file, "version=v1\ndti.low-limit=20\n");
+        service.afterSingletonsInstantiated();
+        assertEquals("v1", holder.current().getVersion());
+
+        // Same version, different content: ignored
+        Files.writeString(file, "version=v1\ndti.low-limit=25\n");
+        service.reload();
+        assertEquals(new BigDecimal("20"), holder.current().getConfiguration().getLowDtiLimit());
+
+        // Invalid: low limit above the moderate one
+        Files.writeString(file, "version=v2\ndti.low-limit=60\n");
+        assertThrows(IllegalArgumentException.class, service::reload);
+        Files.writeString(file, "version=v2\ndti.lowlimit=25\n");
+        assertThrows(IllegalArgumentException.class, service::reload);
+        assertEquals("v1", holder.current().getVersion());
+
+        Files.writeString(file, "version=v2\ndti.low-limit=25\n");
+        service.reload();
+        assertEquals("v2", holder.current().getVersion());
+        assertEquals(new BigDecimal("25"), holder.current().getConfiguration().getLowDtiLimit());
+    }
+
+    @Test
+    void aRuleSetAListenerRejectsIsNotPublished() throws IOException {
+        RuleSetHolder holder = new RuleSetHolder(RuleRegistry.orderedRules());
+        BucketScoringEngine engine = new BucketScoringEngine(holder, metricsService, new RiskDecisionService(holder));
+        holder.addListener(ruleSet -> {
+            throw new IllegalStateException("cannot prepare " + ruleSet.getVersion());
+        });
+        Path file = dir.resolve("rules.properties");
+        RuleConfigurationService service = new RuleConfigurationService(holder, null, "file", file.toString(), 0);
+
+        Files.writeString(file, "version=v1\ndti.low-limit=20\n");
+        assertThrows(IllegalStateException.class, service::reload);
+
+        // Neither the rule set nor the table prepared for it was switched
+        assertEquals(RuleConfiguration.BUILTIN_VERSION, holder.current().getVersion());
+        assertEquals(RuleConfiguration.BUILTIN_VERSION, engine.ruleSetVersion());
+    }
+
+    @Test
+    void scoringFollowsThePublishedRuleSet() {
+        RuleSetHolder holder = new RuleSetHolder(RuleRegistry.orderedRules());
+        CreditScoringService scoringService = new CreditScoringService(holder);
+        RiskDecisionService riskDecisionService = new RiskDecisionService(holder);
+        BucketScoringEngine engine = new BucketScoringEngine(holder, metricsService, riskDecisionService);
+
+        UserFinancialProfile profile = profile();
+        FinancialMetrics metrics = metricsService.computeMetrics(profile);
+        ScoringResult before = scoringService.calculateScore(profile, metrics);
+
+        Properties settings = new Properties();
+        settings.setProperty("version", "v1");
+        settings.setProperty("dti.low-limit", "20");
+        settings.setProperty("risk.low-min-score", "1350");
+        settings.setProperty("risk.medium-min-score", "1000");
+        settings.setProperty("impact.NO_DEFAULTS", "90");
+        holder.publish(RuleConfiguration.parse(settings));
+
+        ScoringResult after = scoringService.calculateScore(profile, metrics);
+        DecisionOutcome outcome = riskDecisionService.evaluate(after.getFinalScore(), after.getRuleSet().getConfiguration());
+
+        // 1000 + SALARIED 50 + MODERATE_DTI 30 + NO_DEFAULTS 90 + LONG_HISTORY 70 + HIGH_DISPOSABLE_INCOME 80
+        assertEquals(1320, after.getFinalScore());
+        assertEquals("v1", after.getRuleSet().getVersion());
+        assertEquals(ReasonCode.MODERATE_DTI.result(), after.getRuleResults().get(1));
+        assertEquals(RiskLevel.MEDIUM, outcome.getRiskLevel());
+        assertEquals(Decision.REVIEW, outcome.getDecision());
+        // A changed impact is not in the catalog any more
+        assertNull(ReasonCode.encode(after.getRuleResults()));
+
+        DecisionOutcome tabled = engine.evaluate(profile, metrics);
+        assertEquals(outcome.getScore(), tabled.getScore());
+        assertEquals(outcome.getDecision(), tabled.getDecision());
+
+        // A result keeps the rule set it was scored with
+        assertEquals(RuleConfiguration.BUILTIN_VERSION, before.getRuleSet().getVersion());
+        assertEquals(1380, before.getFinalScore());
+    }
+
+    private static UserFinancialProfile profile() {
+        UserFinancialProfile profile = new UserFinancialProfile();
+        profile.setMonthlyIncome(BigDecimal.valueOf(100_000));
+        profile.setMonthlyExpenses(BigDecimal.valueOf(20_000));
+        profile.setTotalMonthlyEmis(BigDecimal.valueOf(25_000));
+        profile.setPastLoanDefaults(0);
+        profile.setCreditHistoryLengthMonths(48);
+        profile.setEmploymentType(EmploymentType.SALARIED);
+        profile.setAge(35);
+        profile.setRequestedLoanAmount(BigDecimal.valueOf(1_000_000));
+        return profile;
+    }
+}
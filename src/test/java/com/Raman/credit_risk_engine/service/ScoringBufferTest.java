@@ -0,0 +1,66 @@
+package com.Raman.credit_risk_engine.service;
+
+import com.Raman.credit_risk_engine.entity.EmploymentType;
+import com.Raman.credit_risk_engine.entity.UserFinancialProfile;
+import com.Raman.credit_risk_engine.metrics.FinancialMetrics;
+import com.Raman.credit_risk_engine.metrics.FinancialMetricsService;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Allocation per evaluation is measured by {@code ScoringBenchmark} with
+ * {@code -prof gc}; this only checks that one buffer serves every pass.
+ */
+class ScoringBufferTest {
+
+    @Test
+    void bufferIsReusedWithoutResizing() {
+        CreditScoringService scoringService = new CreditScoringService(RuleRegistry.orderedRules());
+        FinancialMetricsService metricsService = new FinancialMetricsService();
+        UserFinancialProfile[] profiles = {
+                profile(EmploymentType.SALARIED, "90000", "20000", "10000", 0, 48),
+                profile(EmploymentType.SELF_EMPLOYED, "40000", "15000", "16000", 1, 20),
+                profile(EmploymentType.SALARIED, "30000", "12000", "17000", 3, 6)
+        };
+
+        ScoringBuffer buffer = scoringService.newBuffer();
+        int ruleCount = RuleRegistry.orderedRules().size();
+        assertEquals(ruleCount, buffer.ruleNanos.length);
+
+        for (int pass = 0; pass < 3; pass++) {
+            for (UserFinancialProfile profile : profiles) {
+                FinancialMetrics metrics = metricsService.computeMetrics(profile);
+                ScoringResult expected = scoringService.calculateScore(profile, metrics);
+
+                scoringService.calculateScore(profile, metrics, buffer);
+
+                assertEquals(ruleCount, buffer.size());
+                assertEquals(expected.getFinalScore(), buffer.getFinalScore());
+                assertEquals(expected.getRuleResults(), buffer.toList());
+            }
+        }
+    }
+
+    private static UserFinancialProfile profile(
+            EmploymentType employmentType,
+            String income,
+            String expenses,
+            String emis,
+            int defaults,
+            int historyMonths
+    ) {
+        UserFinancialProfile profile = new UserFinancialProfile();
+        profile.setEmploymentType(employmentType);
+        profile.setMonthlyIncome(new BigDecimal(income));
+        profile.setMonthlyExpenses(new BigDecimal(expenses));
+        profile.setTotalMonthlyEmis(new BigDecimal(emis));
+        profile.setPastLoanDefaults(defaults);
+        profile.setCreditHistoryLengthMonths(historyMonths);
+        profile.setAge(30);
+        profile.setRequestedLoanAmount(new BigDecimal("500000"));
+        return profile;
+    }
+}
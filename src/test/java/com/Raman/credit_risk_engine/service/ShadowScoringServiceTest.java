@@ -0,0 +1,186 @@
+package com.Raman.credit_risk_engine.service;
+
+import com.Raman.credit_risk_engine.decision.Decision;
+import com.Raman.credit_risk_engine.decision.RiskDecisionService;
+import com.Raman.credit_risk_engine.dto.CreditRiskRequestDTO;
+import com.Raman.credit_risk_engine.dto.CreditRiskResponseDTO;
+import com.Raman.credit_risk_engine.dto.ShadowStatsDTO;
+import com.Raman.credit_risk_engine.entity.EmploymentType;
+import com.Raman.credit_risk_engine.entity.UserFinancialProfile;
+import com.Raman.credit_risk_engine.metrics.FinancialMetricsService;
+import com.Raman.credit_risk_engine.rule.CreditRule;
+import com.Raman.credit_risk_engine.rule.RuleConfiguration;
+import com.Raman.credit_risk_engine.rule.RuleResult;
+import com.Raman.credit_risk_engine.rule.RuleSet;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ShadowScoringServiceTest {
+
+    private final FinancialMetricsService metricsService = new FinancialMetricsService();
+    private final RiskDecisionService decisionService = new RiskDecisionService();
+    private final AssessmentMapper mapper = new AssessmentMapper();
+    private final CreditScoringService live = new CreditScoringService(RuleRegistry.orderedRules());
+
+    @Test
+    void countsScoreAndDecisionDisagreements() throws InterruptedException {
+        // Challenger: a harsher penalty for any past default
+        List<CreditRule> challengerRules = new ArrayList<>(RuleRegistry.orderedRules());
+        challengerRules.add((profile, metrics) -> new RuleResult(
+                "StrictDefaultRule",
+                profile.getPastLoanDefaults() > 0 ? -200 : 0,
+                "Any past default is penalized"
+        ));
+        RuleSet ruleSet = RuleSet.compile(RuleConfiguration.defaults(), challengerRules);
+        CreditScoringService challenger = new CreditScoringService(challengerRules);
+        ShadowScoringService shadow = new ShadowScoringService(
+                ruleSet, metricsService, decisionService, mapper, 2, 10_000, 0.01);
+
+        Random random = new Random(16);
+        long scoreDisagreements = 0;
+        long decisionDisagreements = 0;
+        for (int i = 0; i < 1_000; i++) {
+            CreditRiskRequestDTO request = randomRequest(random);
+            CreditRiskResponseDTO response = liveResponse(request);
+            shadow.submit(request, response);
+
+            UserFinancialProfile profile = mapper.toProfile(request);
+            int expected = challenger.calculateScore(profile, metricsService.computeMetrics(profile)).getFinalScore();
+            if (expected != response.getCreditScore()) {
+                scoreDisagreements++;
+            }
+            if (decisionService.evaluate(expected).getDecision() != response.getDecision()) {
+                decisionDisagreements++;
+            }
+        }
+        shadow.destroy();
+
+        ShadowStatsDTO stats = shadow.getStats();
+        assertEquals(1_000, stats.submitted());
+        assertEquals(0, stats.dropped());
+        assertEquals(1_000, stats.compared());
+        assertTrue(scoreDisagreements > 0 && decisionDisagreements > 0);
+        assertEquals(scoreDisagreements, stats.scoreDisagreements());
+        assertEquals(decisionDisagreements, stats.decisionDisagreements());
+        assertEquals(-200.0 * scoreDisagreements / 1_000, stats.meanScoreDelta(), 1e-9);
+
+        long matrixTotal = stats.decisions().values().stream()
+                .flatMap(row -> row.values().stream())
+                .mapToLong(Long::longValue)
+                .sum();
+        assertEquals(1_000, matrixTotal);
+    }
+
+    @Test
+    void scoresAndDecidesWithTheChallengerSettingsFile(@TempDir Path dir) throws IOException, InterruptedException {
+        // Candidate: a milder low-DTI impact and a higher bar for approval
+        Path file = dir.resolve("shadow-rules.properties");
+        Files.writeString(file, """
+                version=candidate-7
+                impact.LOW_DTI=60
+                risk.low-min-score=800
+                """);
+        RuleConfiguration candidate = ShadowScoringService.readConfiguration(file);
+        RuleSet ruleSet = RuleSet.compile(candidate, RuleRegistry.orderedRules());
+        ShadowScoringService shadow = new ShadowScoringService(
+                ruleSet, metricsService, decisionService, mapper, 2, 10_000, 0.0);
+
+        Random random = new Random(7);
+        long scoreDisagreements = 0;
+        long decisionDisagreements = 0;
+        for (int i = 0; i < 1_000; i++) {
+            CreditRiskRequestDTO request = randomRequest(random);
+            CreditRiskResponseDTO response = liveResponse(request);
+            shadow.submit(request, response);
+
+            UserFinancialProfile profile = mapper.toProfile(request);
+            int expected = live.calculateScore(ruleSet, profile, metricsService.computeMetrics(profile)).getFinalScore();
+            if (expected != response.getCreditScore()) {
+                scoreDisagreements++;
+            }
+            if (decisionService.evaluate(expected, candidate).getDecision() != response.getDecision()) {
+                decisionDisagreements++;
+            }
+        }
+        shadow.destroy();
+
+        ShadowStatsDTO stats = shadow.getStats();
+        assertEquals("candidate-7", stats.challengerVersion());
+        assertEquals(1_000, stats.compared());
+        assertTrue(scoreDisagreements > 0 && decisionDisagreements > 0);
+        assertEquals(scoreDisagreements, stats.scoreDisagreements());
+        assertEquals(decisionDisagreements, stats.decisionDisagreements());
+    }
+
+    @Test
+    void dropsWorkWhenTheQueueIsFull() throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<CreditRule> challengerRules = List.of((profile, metrics) -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            return new RuleResult("SlowRule", 0, "Slow");
+        });
+        ShadowScoringService shadow = new ShadowScoringService(
+                RuleSet.compile(RuleConfiguration.defaults(), challengerRules),
+                metricsService, decisionService, mapper, 1, 1, 0.0);
+
+        Random random = new Random(3);
+        CreditRiskRequestDTO first = randomRequest(random);
+        shadow.submit(first, liveResponse(first));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        // One more fits in the queue; the rest are dropped without blocking
+        for (int i = 0; i < 4; i++) {
+            CreditRiskRequestDTO request = randomRequest(random);
+            shadow.submit(request, liveResponse(request));
+        }
+        release.countDown();
+        shadow.destroy();
+
+        ShadowStatsDTO stats = shadow.getStats();
+        assertEquals(5, stats.submitted());
+        assertEquals(3, stats.dropped());
+        assertEquals(2, stats.compared());
+    }
+
+    private CreditRiskResponseDTO liveResponse(CreditRiskRequestDTO request) {
+        UserFinancialProfile profile = mapper.toProfile(request);
+        ScoringResult result = live.calculateScore(profile, metricsService.computeMetrics(profile));
+        Decision decision = decisionService.evaluate(result.getFinalScore()).getDecision();
+        return new CreditRiskResponseDTO(result.getFinalScore(),
+                decisionService.determineRiskLevel(result.getFinalScore()), decision,
+                mapper.toReasons(result.getRuleResults()));
+    }
+
+    private static CreditRiskRequestDTO randomRequest(Random random) {
+        int income = 5_000 + random.nextInt(150_000);
+        CreditRiskRequestDTO request = new CreditRiskRequestDTO();
+        request.setMonthlyIncome(BigDecimal.valueOf(income));
+        request.setMonthlyExpenses(BigDecimal.valueOf(random.nextInt(income / 2)));
+        request.setTotalMonthlyEmis(BigDecimal.valueOf(random.nextInt(income / 2)));
+        request.setPastLoanDefaults(random.nextInt(3));
+        request.setCreditHistoryLengthMonths(random.nextInt(60));
+        request.setEmploymentType(random.nextBoolean() ? EmploymentType.SALARIED : EmploymentType.SELF_EMPLOYED);
+        request.setAge(35);
+        request.setRequestedLoanAmount(BigDecimal.valueOf(income * 10L));
+        return request;
+    }
+}
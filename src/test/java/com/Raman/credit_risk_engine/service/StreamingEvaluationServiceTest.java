@@ -0,0 +1,204 @@
+package com.Raman.credit_risk_engine.service;
+
+import com.Raman.credit_risk_engine.decision.RiskDecisionService;
+import com.Raman.credit_risk_engine.entity.CreditAssessment;
+import com.Raman.credit_risk_engine.entity.UserFinancialProfile;
+import com.Raman.credit_risk_engine.metrics.FinancialMetricsService;
+import com.Raman.credit_risk_engine.repository.UserRepository;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.CannotCreateTransactionException;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class StreamingEvaluationServiceTest {
+
+    private static final String VALID = "{\"monthlyIncome\":90000,\"monthlyExpenses\":20000,"
+            + "\"totalMonthlyEmis\":5000,\"pastLoanDefaults\":0,\"creditHistoryLengthMonths\":48,"
+            + "\"employmentType\":\"SALARIED\",\"age\":35,\"requestedLoanAmount\":500000}";
+
+    private final ObjectMapper objectMapper = JsonMapper.builder().build();
+    private final ByteArrayOutputStream output = new ByteArrayOutputStream();
+    private final List<Integer> chunkSizes = new ArrayList<>();
+    // Lines already written when each chunk was committed
+    private final List<Integer> linesAtCommit = new ArrayList<>();
+    private int failingChunk = -1;
+    private long nextId = 1;
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+
+    private final AssessmentWriter writer = new AssessmentWriter(null, null, null, null) {
+        @Override
+        public void writeChunk(List<UserFinancialProfile> profiles, List<CreditAssessment> assessments) {
+            if (!assessments.isEmpty()) {
+                assertEquals(profiles.size(), assessments.size());
+                linesAtCommit.add(lines().length);
+                if (chunkSizes.size() == failingChunk) {
+                    throw new CannotCreateTransactionException("database down");
+                }
+                chunkSizes.add(assessments.size());
+                assessments.forEach(assessment -> assessment.setId(nextId++));
+            }
+        }
+    };
+
+    @AfterEach
+    void stopExecutor() {
+        executor.shutdownNow();
+    }
+
+    private StreamingEvaluationService service() {
+        return service(60_000);
+    }
+
+    private StreamingEvaluationService service(long lingerMs) {
+        UserRepository userRepository = mock(UserRepository.class);
+        when(userRepository.findById(any())).thenReturn(Optional.empty());
+
+        return new StreamingEvaluationService(
+                Validation.buildDefaultValidatorFactory().getValidator(),
+                new FinancialMetricsService(),
+                new CreditScoringService(RuleRegistry.orderedRules()),
+                new RiskDecisionService(),
+                new AssessmentMapper(),
+                writer,
+                userRepository,
+                objectMapper,
+                100,
+                lingerMs
+        );
+    }
+
+    @Test
+    void answersEveryLineInOrderAndPersistsInChunks() throws Exception {
+        StringBuilder input = new StringBuilder();
+        for (int i = 0; i < 250; i++) {
+            input.append(VALID).append('\n');
+            if (i == 10) {
+                input.append("{not json\n");
+            }
+            if (i == 20) {
+                input.append("\n");
+                input.append(VALID.replace("\"monthlyExpenses\":20000", "\"monthlyExpenses\":200000")).append('\n');
+            }
+        }
+
+        int records = service().evaluate(
+                new ByteArrayInputStream(input.toString().getBytes(StandardCharsets.UTF_8)), output, 1L);
+
+        String[] lines = lines();
+        assertEquals(252, records);
+        assertEquals(252, lines.length);
+
+        long expectedId = 1;
+        for (int i = 0; i < lines.length; i++) {
+            JsonNode item = objectMapper.readTree(lines[i]);
+            assertEquals(i, item.get("index").asInt());
+            if (i == 11) {
+                assertTrue(item.get("error").asString().startsWith("Malformed record"));
+            } else if (i == 22) {
+                assertEquals("Monthly expenses exceed income", item.get("error").asString());
+            } else {
+                assertEquals("APPROVE", item.get("result").get("decision").asString(), lines[i]);
+                assertEquals(expectedId++, item.get("result").get("assessmentId").asLong(), lines[i]);
+            }
+        }
+
+        // Chunks of 100 lines; no line was written before its chunk was stored
+        assertEquals(List.of(98, 100, 52), chunkSizes);
+        assertEquals(List.of(0, 100, 200), linesAtCommit);
+    }
+
+    @Test
+    void slowInputIsNotCommittedPerLine() throws Exception {
+        PipedOutputStream producer = new PipedOutputStream();
+        PipedInputStream input = new PipedInputStream(producer);
+        Future<Integer> records = executor.submit(() -> service().evaluate(input, output, 1L));
+
+        for (int i = 0; i < 10; i++) {
+            producer.write((VALID + "\n").getBytes(StandardCharsets.UTF_8));
+            producer.flush();
+            Thread.sleep(5);
+        }
+        producer.close();
+
+        assertEquals(10, records.get(10, TimeUnit.SECONDS));
+        assertEquals(List.of(10), chunkSizes);
+    }
+
+    @Test
+    void commitsAPendingChunkWhenTheInputStalls() throws Exception {
+        PipedOutputStream producer = new PipedOutputStream();
+        PipedInputStream input = new PipedInputStream(producer);
+        Future<Integer> records = executor.submit(() -> service(20).evaluate(input, output, 1L));
+
+        producer.write((VALID + "\n" + VALID + "\n" + VALID + "\n").getBytes(StandardCharsets.UTF_8));
+        producer.flush();
+
+        // The producer waits for its answers before sending more
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (lines().length < 3 && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(3, lines().length);
+
+        producer.write((VALID + "\n" + VALID + "\n").getBytes(StandardCharsets.UTF_8));
+        producer.close();
+
+        assertEquals(5, records.get(10, TimeUnit.SECONDS));
+        assertEquals(List.of(3, 2), chunkSizes);
+    }
+
+    @Test
+    void answersAChunkThatCannotBeStoredWithErrors() {
+        StringBuilder input = new StringBuilder();
+        for (int i = 0; i < 250; i++) {
+            input.append(i == 150 ? "{not json" : VALID).append('\n');
+        }
+        failingChunk = 1;
+
+        assertThrows(CannotCreateTransactionException.class, () -> service().evaluate(
+                new ByteArrayInputStream(input.toString().getBytes(StandardCharsets.UTF_8)), output, 1L));
+
+        // The stored chunk keeps its results; the failed one is all errors and nothing follows it
+        String[] lines = lines();
+        assertEquals(200, lines.length);
+        for (int i = 0; i < lines.length; i++) {
+            JsonNode item = objectMapper.readTree(lines[i]);
+            assertEquals(i, item.get("index").asInt());
+            if (i < 100) {
+                assertEquals("APPROVE", item.get("result").get("decision").asString(), lines[i]);
+            } else if (i == 150) {
+                assertTrue(item.get("error").asString().startsWith("Malformed record"));
+            } else {
+                assertEquals(StreamingEvaluationService.NOT_STORED, item.get("error").asString(), lines[i]);
+            }
+        }
+    }
+
+    private String[] lines() {
+        String text = output.toString(StandardCharsets.UTF_8);
+        return text.isEmpty() ? new String[0] : text.split("\n");
+    }
+}
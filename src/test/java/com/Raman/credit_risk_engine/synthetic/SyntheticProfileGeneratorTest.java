@@ -0,0 +1,135 @@
+package com.Raman.credit_risk_engine.synthetic;
+
+import com.Raman.credit_risk_engine.decision.RiskDecisionService;
+import com.Raman.credit_risk_engine.dto.CreditRiskRequestDTO;
+import com.Raman.credit_risk_engine.entity.EmploymentType;
+import com.Raman.credit_risk_engine.metrics.FinancialMetricsService;
+import com.Raman.credit_risk_engine.offline.MappedFileScorer;
+import com.Raman.credit_risk_engine.offline.OfflineScoringReport;
+import com.Raman.credit_risk_engine.rule.RuleConfiguration;
+import com.Raman.credit_risk_engine.rule.RuleResult;
+import com.Raman.credit_risk_engine.service.AssessmentMapper;
+import com.Raman.credit_risk_engine.service.BucketScoringEngine;
+import com.Raman.credit_risk_engine.service.CreditScoringService;
+import com.Raman.credit_risk_engine.service.RuleRegistry;
+import com.Raman.credit_risk_engine.entity.UserFinancialProfile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Properties;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SyntheticProfileGeneratorTest {
+
+    private final FinancialMetricsService metricsService = new FinancialMetricsService();
+    private final AssessmentMapper mapper = new AssessmentMapper();
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void populationDependsOnlyOnSeedAndIndex() throws Exception {
+        assertEquals(ndjson(generator(PopulationSpec.defaults(), 7), 2_000),
+                ndjson(generator(PopulationSpec.defaults(), 7), 2_000));
+        assertNotEquals(ndjson(generator(PopulationSpec.defaults(), 7), 2_000),
+                ndjson(generator(PopulationSpec.defaults(), 8), 2_000));
+
+        SyntheticProfileGenerator generator = generator(PopulationSpec.defaults(), 7);
+        List<String> parallel = generator.stream(2_000).parallel().map(this::fields).toList();
+        for (int i = 0; i < parallel.size(); i++) {
+            assertEquals(fields(generator.generate(i)), parallel.get(i));
+        }
+
+        // An NDJSON line is a request body
+        String firstLine = ndjson(generator, 1).trim();
+        CreditRiskRequestDTO parsed = JsonMapper.builder().build().readValue(firstLine, CreditRiskRequestDTO.class);
+        assertEquals(fields(generator.generate(0)), fields(parsed));
+    }
+
+    @Test
+    void defaultPopulationFollowsItsDistributions() {
+        SyntheticProfileGenerator generator = generator(PopulationSpec.defaults(), 1);
+        int records = 20_000;
+        long salaried = generator.stream(records)
+                .filter(request -> request.getEmploymentType() == EmploymentType.SALARIED)
+                .count();
+        long withoutDefaults = generator.stream(records)
+                .filter(request -> request.getPastLoanDefaults() == 0)
+                .count();
+
+        assertEquals(0.7, salaried / (double) records, 0.02);
+        assertEquals(0.8, withoutDefaults / (double) records, 0.02);
+        generator.stream(records).forEach(request -> {
+            assertTrue(request.getMonthlyIncome().signum() > 0);
+            assertTrue(request.getMonthlyExpenses().signum() >= 0);
+            assertTrue(request.getTotalMonthlyEmis().signum() >= 0);
+            assertTrue(request.getAge() >= 18 + request.getCreditHistoryLengthMonths() / 12);
+        });
+    }
+
+    @Test
+    void fullBucketCoverageReachesEveryRuleOutcomeCombination() {
+        Properties settings = new Properties();
+        settings.setProperty("bucket-coverage", "1");
+        SyntheticProfileGenerator generator = generator(PopulationSpec.parse(settings), 3);
+        CreditScoringService scoringService = new CreditScoringService(RuleRegistry.orderedRules());
+
+        Set<List<RuleResult>> combinations = new HashSet<>();
+        generator.stream(5_000).forEach(request -> {
+            UserFinancialProfile profile = mapper.toProfile(request);
+            combinations.add(scoringService.calculateScore(profile, metricsService.computeMetrics(profile)).getRuleResults());
+        });
+
+        // 2 employment types x 3 buckets for each of the other four rules
+        assertEquals(2 * 3 * 3 * 3 * 3, combinations.size());
+    }
+
+    @Test
+    void csvOutputIsAcceptedByOfflineScoring() throws Exception {
+        Properties settings = new Properties();
+        settings.setProperty("bucket-coverage", "0.5");
+        Path input = dir.resolve("population.csv");
+        Path output = dir.resolve("scores.csv");
+        SyntheticDataWriter.write(generator(PopulationSpec.parse(settings), 11), 3_000, SyntheticDataWriter.Format.CSV, input);
+
+        BucketScoringEngine engine =
+                new BucketScoringEngine(RuleRegistry.orderedRules(), metricsService, new RiskDecisionService());
+        OfflineScoringReport report = new MappedFileScorer(engine, metricsService).score(input, output);
+
+        assertEquals(3_000, report.records());
+        assertEquals(0, report.rejected());
+        assertTrue(Files.readString(input).startsWith(SyntheticDataWriter.CSV_HEADER));
+    }
+
+    private static SyntheticProfileGenerator generator(PopulationSpec spec, long seed) {
+        return new SyntheticProfileGenerator(spec, RuleConfiguration.defaults(), seed);
+    }
+
+    private static String ndjson(SyntheticProfileGenerator generator, long count) throws Exception {
+        StringWriter writer = new StringWriter();
+        SyntheticDataWriter.write(generator, count, SyntheticDataWriter.Format.NDJSON, writer);
+        return writer.toString();
+    }
+
+    private String fields(CreditRiskRequestDTO request) {
+        return String.join(",",
+                request.getMonthlyIncome().toPlainString(),
+                request.getMonthlyExpenses().toPlainString(),
+                request.getTotalMonthlyEmis().toPlainString(),
+                request.getPastLoanDefaults().toString(),
+                request.getCreditHistoryLengthMonths().toString(),
+                request.getEmploymentType().name(),
+                request.getAge().toString(),
+                request.getRequestedLoanAmount().toPlainString());
+    }
+}
@@ -0,0 +1,80 @@
+package com.Raman.credit_risk_engine.telemetry;
+
+import com.Raman.credit_risk_engine.decision.Decision;
+import com.Raman.credit_risk_engine.decision.RiskDecisionService;
+import com.Raman.credit_risk_engine.entity.EmploymentType;
+import com.Raman.credit_risk_engine.entity.UserFinancialProfile;
+import com.Raman.credit_risk_engine.metrics.FinancialMetrics;
+import com.Raman.credit_risk_engine.metrics.FinancialMetricsService;
+import com.Raman.credit_risk_engine.rule.RuleSetHolder;
+import com.Raman.credit_risk_engine.service.CreditScoringService;
+import com.Raman.credit_risk_engine.service.RuleRegistry;
+import com.Raman.credit_risk_engine.service.ScoringResult;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.prometheusmetrics.PrometheusConfig;
+import io.micrometer.prometheusmetrics.PrometheusMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Registration of the pipeline timers, recorded into a Prometheus registry
+ * as in production. Their overhead and allocation are measured by
+ * {@code ScoringBenchmark.calculateScoreBufferedTimed} under {@code -prof gc}.
+ */
+class EvaluationTimersTest {
+
+    private final RuleSetHolder holder = new RuleSetHolder(RuleRegistry.orderedRules());
+    private final FinancialMetricsService metricsService = new FinancialMetricsService();
+    private final UserFinancialProfile profile = profile();
+    private final FinancialMetrics metrics = metricsService.computeMetrics(profile);
+
+    @Test
+    void everyTimerIsRegisteredUpFront() {
+        PrometheusMeterRegistry registry = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+        EvaluationTimers timers = new EvaluationTimers(registry, holder, 1);
+
+        int decisions = Decision.values().length;
+        // Stages also have a FAILED slot for requests that ended without a decision
+        assertEquals(EvaluationTimers.Stage.values().length * (decisions + 1),
+                registry.find(EvaluationTimers.STAGE_TIMER).timers().size());
+        timers.record(EvaluationTimers.Stage.VALIDATION, null, 0, 1_000);
+        assertEquals(1, registry.get(EvaluationTimers.STAGE_TIMER)
+                .tags("stage", "validation", "decision", EvaluationTimers.FAILED).timer().count());
+        assertEquals(holder.current().size() * decisions, registry.find(EvaluationTimers.RULE_TIMER).timers().size());
+        assertEquals(decisions, registry.find(EvaluationTimers.EVALUATION_TIMER).timers().size());
+
+        CreditScoringService scoringService = new CreditScoringService(holder, timers);
+        Decision decision = null;
+        for (int i = 0; i < 10; i++) {
+            ScoringResult result = scoringService.calculateScore(profile, metrics);
+            decision = new RiskDecisionService().evaluate(result.getFinalScore()).getDecision();
+            scoringService.recordRuleTimings(result, decision);
+        }
+        final Decision sampled = decision;
+        // Rule timings carry the decision the caller reached
+        assertEquals(10, registry.get(EvaluationTimers.RULE_TIMER)
+                .tags("rule", "DtiRule", "decision", sampled.name()).timer().count());
+        assertEquals(10, registry.find(EvaluationTimers.RULE_TIMER).tag("rule", "DtiRule").timers().stream()
+                .mapToLong(Timer::count).sum());
+        assertTrue(registry.scrape().lines().anyMatch(line -> line.startsWith("credit_risk_rule_seconds_bucket{")
+                && line.contains("decision=\"" + sampled.name() + "\"")
+                && line.contains("rule=\"DtiRule\"")));
+    }
+
+    private static UserFinancialProfile profile() {
+        UserFinancialProfile profile = new UserFinancialProfile();
+        profile.setEmploymentType(EmploymentType.SALARIED);
+        profile.setMonthlyIncome(new BigDecimal("90000"));
+        profile.setMonthlyExpenses(new BigDecimal("20000"));
+        profile.setTotalMonthlyEmis(new BigDecimal("10000"));
+        profile.setPastLoanDefaults(0);
+        profile.setCreditHistoryLengthMonths(48);
+        profile.setAge(30);
+        profile.setRequestedLoanAmount(new BigDecimal("500000"));
+        return profile;
+    }
+}
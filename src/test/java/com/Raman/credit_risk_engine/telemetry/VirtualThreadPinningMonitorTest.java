@@ -0,0 +1,46 @@
+package com.Raman.credit_risk_engine.telemetry;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class VirtualThreadPinningMonitorTest {
+
+    private final Object lock = new Object();
+
+    @Test
+    void reportsBlockingInsideSynchronizedBySite() throws Exception {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        VirtualThreadPinningMonitor monitor = new VirtualThreadPinningMonitor(registry, 10);
+        monitor.afterSingletonsInstantiated();
+        try {
+            String site = getClass().getName() + ".sleepWhileHoldingMonitor";
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(20);
+            // JFR delivers events to the stream about once a second
+            while (!monitor.sites().containsKey(site) && System.nanoTime() < deadline) {
+                Thread.ofVirtual().start(this::sleepWhileHoldingMonitor).join();
+                Thread.sleep(100);
+            }
+
+            assertTrue(monitor.sites().containsKey(site), () -> "Pinning sites: " + monitor.sites().keySet());
+            assertTrue(registry.get(VirtualThreadPinningMonitor.PINNED_TIMER).tag("site", site).timer().count() >= 1);
+            assertEquals(site, registry.get(VirtualThreadPinningMonitor.PINNED_TIMER).timer().getId().getTag("site"));
+        } finally {
+            monitor.destroy();
+        }
+    }
+
+    private void sleepWhileHoldingMonitor() {
+        synchronized (lock) {
+            try {
+                Thread.sleep(30);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}